@@ -0,0 +1,168 @@
+/*
+ * Bench.java  -  Microbenchmark harness
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Microbenchmark harness, and the list of benchmarks of the hot paths
+ * (projection, star drawing, planet positions, nutation, delta T).
+ * Run by "ant bench".  Usage:
+ * <pre>
+ *   java -cp build:build-bench com.nvastro.nvj.Bench [options] [names]
+ *
+ *   -quick           1 warmup and 3 measured iterations (default 5 and 10)
+ *   -warmup n        Warmup iterations
+ *   -iter n          Measured iterations
+ *   -time ms         Length of an iteration (default 200)
+ *   names            Run only the benchmarks whose names contain one
+ *                    of these (e.g. "rd2xy" or "StarDB.draw")
+ * </pre>
+ * Each benchmark is calibrated to find how many operations fill an
+ * iteration, then run for the warmup iterations (to let the JIT compile
+ * it), then for the measured iterations.  Reported are the mean time
+ * per operation, its standard deviation over the measured iterations,
+ * and the fastest iteration.  Results of the operations are summed into
+ * a volatile field, so that the JIT cannot discard the work.
+ * <p>
+ * All benchmarks use the fixed view parameters of BenchView, so runs
+ * on different builds can be compared.
+ *
+ * @author Brian Simpson
+ */
+public abstract class Bench {
+  /** Sink for results (keeps the JIT from discarding the work) */
+  static public volatile double sink = 0;
+
+  private String name;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param name Name of benchmark (e.g. "MapParms.rd2xyhit(ra,dec)")
+   */
+  public Bench(String name) { this.name = name; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the name of the benchmark.
+   */
+  public String getName() { return name; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Prepares the benchmark (not timed).  Does nothing unless overridden.
+   */
+  public void setup() {}
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Performs the operation being measured n times.
+   *
+   * @param n Number of operations
+   * @return Something computed from the results (added to sink)
+   */
+  public abstract double run(int n);
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Runs the benchmarks.
+   *
+   * @param args Options (see class description)
+   */
+  public static void main(String[] args) {
+    int warmup = 5, iter = 10;
+    long time = 200;
+    ArrayList<String> names = new ArrayList<String>();
+
+    for ( int i = 0; i < args.length; i++ ) {
+      String a = args[i];
+      try {
+        if ( a.equals("-quick") ) { warmup = 1; iter = 3; }
+        else if ( a.equals("-warmup") ) warmup = Integer.parseInt(args[++i]);
+        else if ( a.equals("-iter") ) iter = Integer.parseInt(args[++i]);
+        else if ( a.equals("-time") ) time = Long.parseLong(args[++i]);
+        else if ( a.startsWith("-") ) throw new IllegalArgumentException(a);
+        else names.add(a);
+      }
+      catch ( RuntimeException e ) {    // Bad number, missing value, ...
+        System.err.println("Bad option: " + a);
+        System.exit(1);
+      }
+    }
+    if ( iter < 1 ) iter = 1;
+
+    List<Bench> all = new ArrayList<Bench>();
+    ProjectionBench.addTo(all);
+    StarDrawBench.addTo(all);
+    NearSkyBench.addTo(all);
+    TimeBench.addTo(all);
+
+    System.out.println(String.format("%-36s%14s%12s%14s", "Benchmark",
+                                     "ns/op", "+-", "min"));
+    for ( Bench b : all ) {
+      if ( !names.isEmpty() ) {
+        boolean match = false;
+        for ( String s : names )
+          if ( b.getName().contains(s) ) match = true;
+        if ( !match ) continue;
+      }
+      b.setup();
+      double[] r = b.measure(warmup, iter, time * 1000000);
+      System.out.println(String.format("%-36s%14.1f%12.1f%14.1f",
+                                       b.getName(), r[0], r[1], r[2]));
+    }
+    System.exit(0);                     // (Worker threads)
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Calibrates, warms up and measures.  Returns the mean, standard
+   * deviation and minimum of the iterations (nanosecs per operation).
+   */
+  private double[] measure(int warmup, int iter, long nanos) {
+    /* Find the number of operations filling an iteration */
+    int n = 1;
+    long t;
+    while ( (t = time(n)) < nanos / 10 && n < (1 << 30) ) n *= 2;
+    n = (int)Math.max(1, Math.min(Integer.MAX_VALUE, n * (double)nanos / t));
+
+    for ( int i = 0; i < warmup; i++ ) time(n);
+
+    double[] ns = new double[iter];
+    for ( int i = 0; i < iter; i++ ) ns[i] = (double)time(n) / n;
+
+    double mean = 0, var = 0;
+    for ( double d : ns ) mean += d;
+    mean /= iter;
+    for ( double d : ns ) var += (d - mean) * (d - mean);
+    var = (iter > 1) ? var / (iter - 1) : 0;
+    Arrays.sort(ns);
+    return new double[] { mean, Math.sqrt(var), ns[0] };
+  }
+
+  /* Returns the time taken by n operations */
+  private long time(int n) {
+    long t0 = System.nanoTime();
+    double r = run(n);
+    long t1 = System.nanoTime();
+    sink += r;
+    return t1 - t0;
+  }
+}
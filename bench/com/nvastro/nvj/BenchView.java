@@ -0,0 +1,124 @@
+/*
+ * BenchView.java  -  Fixed view parameters for the benchmarks
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Fixed, reproducible view parameters for the benchmarks:  A 1024x768
+ * window in RA-Dec mode centered on Orion (RA 5.5h, Dec 0), seen from
+ * Boston on 2020-03-20 at 21:00 local time.  The preferences read from
+ * the ini file are overridden where they affect the benchmarks.
+ *
+ * @author Brian Simpson
+ */
+final class BenchView {
+  static final int WIDTH = 1024, HEIGHT = 768;
+  static final double RAHRS = 5.5, DECDEG = 0;
+
+  static private Preferences base = null;
+
+  /* Not instantiated */
+  private BenchView() {}
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Reads the data bases and preferences (once).
+   */
+  static synchronized void init() {
+    if ( base != null ) return;
+    Nvj.setWorkingDir();
+    Nvj.initDataBases(null);
+    base = new Preferences();
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns preferences for the fixed view.
+   *
+   * @param zoom Zoom (1 = default field)
+   * @param limMag10 Star limiting magnitude times 10 (at any zoom)
+   * @param minutes Minutes to add to the fixed time
+   */
+  static Preferences prefs(double zoom, int limMag10, int minutes) {
+    init();
+    Preferences p = (Preferences)base.clone();
+    p.setLocation(new Location(null, "-71:04", "42:22", "-5:00"), "0");
+    GregorianCalendar gc = p.getLocDateTime();
+    gc.clear(Calendar.MILLISECOND);
+    gc.set(2020, 2, 20, 21, 0, 0);
+    gc.add(Calendar.MINUTE, minutes);
+    p.setLocDateTime();
+    p.lst.stop();
+    p.modeRADec = true;
+    p.setAzAltZoom(360 - RAHRS * 15, DECDEG, zoom / p.getZoom());
+    p.setZoLimMag10(limMag10);
+    p.setZiLimMag10(limMag10);
+    return p;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns mapping parameters for the fixed view (without graphics).
+   *
+   * @param zoom Zoom (1 = default field)
+   * @param limMag10 Star limiting magnitude times 10
+   * @param minutes Minutes to add to the fixed time
+   */
+  static MapParms mapParms(double zoom, int limMag10, int minutes) {
+    MapParms mp = new MapParms(prefs(zoom, limMag10, minutes));
+    mp.update(new Dimension(WIDTH, HEIGHT),
+              Math.min(0.95 * WIDTH, 1.30 * HEIGHT) / Math.PI);
+    return mp;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets up mp to draw into an off-screen image (as ChartRenderer does).
+   *
+   * @param mp Mapping parameters
+   * @return The image
+   */
+  static BufferedImage setGraphics(MapParms mp) {
+    BufferedImage image = new BufferedImage(WIDTH, HEIGHT,
+                                            BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(mp.prefer.colorBackGnd());
+    g.fillRect(0, 0, WIDTH, HEIGHT);
+    mp.clip1 = new Rectangle(0, 0, WIDTH, HEIGHT);
+    g.setClip(mp.clip1);
+    double diameter = Math.PI * mp.pelsPerRadian;  // 180 degrees
+    double radius = diameter / 2;                  //  90 degrees
+    double diagonal = Math.sqrt(WIDTH * WIDTH + HEIGHT * HEIGHT);
+    mp.clip2 = ( diameter > diagonal ) ? null :
+               new Ellipse2D.Double(mp.getMidX() - radius,
+                                    mp.getMidY() - radius,
+                                    diameter, diameter);
+    g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                       RenderingHints.VALUE_ANTIALIAS_OFF);
+    mp.g = g;
+    return image;
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * NearSkyBench.java  -  Benchmarks of planet and Moon positions
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.List;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Benchmarks of the positions of the Sun, Moon and planets (NearSkyDB).
+ * An operation computes the apparent position of all of them, at one
+ * of a fixed set of times 37 minutes apart (so no result can be reused
+ * from the previous operation).
+ *
+ * @author Brian Simpson
+ */
+final class NearSkyBench {
+  static final private int NUM = 256;           // Times (power of 2)
+  static final private int MOON = 9;            // (See NearSkyDB.tellName())
+  static final private double ORBITDT = 0.37;   // Years between orbit times
+
+  /* Not instantiated */
+  private NearSkyBench() {}
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds the benchmarks to a list.
+   */
+  static void addTo(List<Bench> list) {
+    list.add(new Bench("NearSkyDB.getAppLocation (all)") {
+      private NearSkyDB db;
+      private MapParms[] mps;
+
+      public void setup() {
+        db = new NearSkyDB();
+        mps = new MapParms[NUM];
+        for ( int k = 0; k < NUM; k++ )
+          mps[k] = BenchView.mapParms(1, 60, 37 * k);
+      }
+      public double run(int n) {
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          MapParms mp = mps[i & (NUM - 1)];
+          for ( int j = 0; j < db.getNumberOfObjects(); j++ )
+            s += db.getAppLocation(j, mp, null).getRA();
+        }
+        return s;
+      }
+    });
+    list.add(new Bench("NearSkyDB.getAppLocation (Moon)") {
+      private NearSkyDB db;
+      private MapParms[] mps;
+
+      public void setup() {
+        db = new NearSkyDB();
+        mps = new MapParms[NUM];
+        for ( int k = 0; k < NUM; k++ )
+          mps[k] = BenchView.mapParms(1, 60, 37 * k);
+      }
+      public double run(int n) {
+        double s = 0;
+        for ( int i = 0; i < n; i++ )
+          s += db.getAppLocation(MOON, mps[i & (NUM - 1)], null).getRA();
+        return s;
+      }
+    });
+    /* Solar system orbits (SSWin.genOrbit()) need planet positions at
+       scattered times:  an operation computes the 8 planets at one of a
+       set of times ORBITDT years apart, with the cached full series
+       (which must fit a span for each), and with the truncated series
+       used by the "fastorbits" option */
+    list.add(new Bench("Planet orbit points (full, cached)") {
+      private Planet[] planets;
+
+      public void setup() { planets = orbitPlanets(false); }
+      public double run(int n) {
+        double[] l = new double[1], b = new double[1], r = new double[1];
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          double t = orbitTime(i);
+          for ( int j = 0; j < planets.length; j++ ) {
+            planets[j].calcHelioCentricCoord(t, l, b, r);
+            s += r[0];
+          }
+        }
+        return s;
+      }
+    });
+    list.add(new Bench("Planet orbit points (truncated)") {
+      private Planet[] planets;
+
+      public void setup() { planets = orbitPlanets(true); }
+      public double run(int n) {
+        double[] v = new double[3];
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          double t = orbitTime(i);
+          for ( int j = 0; j < planets.length; j++ ) {
+            planets[j].calcSeries(t, v);
+            s += v[2];
+          }
+        }
+        return s;
+      }
+    });
+  }
+
+  /* Returns the 8 planets, full or truncated to Planet.DISPLAYAMP */
+  static private Planet[] orbitPlanets(boolean truncated) {
+    Planet[] p = { Planet.Mercury, Planet.Venus, Planet.Earth, Planet.Mars,
+                   Planet.Jupiter, Planet.Saturn, Planet.Uranus,
+                   Planet.Neptune };
+    if ( truncated )
+      for ( int j = 0; j < p.length; j++ )
+        p[j] = p[j].truncate(Planet.DISPLAYAMP);
+    return p;
+  }
+
+  /* Returns orbit time i (Julian millennia; more times than cache slots) */
+  static private double orbitTime(int i) {
+    return ((i & (NUM - 1)) - NUM / 2) * ORBITDT / 1000;
+  }
+}
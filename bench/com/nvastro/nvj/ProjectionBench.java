@@ -0,0 +1,122 @@
+/*
+ * ProjectionBench.java  -  Benchmarks of MapParms projections
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.List;
+import java.util.Random;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Benchmarks of the MapParms projections:  rd2xyhit (spherical and
+ * rectangular), rd2xydist and xy2rd.  Each operation converts one of a
+ * fixed set of points (uniform over the sphere, or over the window),
+ * so about a quarter of the points project into the window.
+ *
+ * @author Brian Simpson
+ */
+final class ProjectionBench {
+  static final private int NUM = 4096;          // Points (power of 2)
+
+  static private MapParms mp;
+  static private double[] ra, dec, rx, ry, rz;
+  static private int[] px, py;
+
+  /* Not instantiated */
+  private ProjectionBench() {}
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds the benchmarks to a list.
+   */
+  static void addTo(List<Bench> list) {
+    list.add(new Bench("MapParms.rd2xyhit(ra,dec)") {
+      public void setup() { points(); }
+      public double run(int n) {
+        float[] x = new float[1], y = new float[1];
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          int k = i & (NUM - 1);
+          s += mp.rd2xyhit(ra[k], dec[k], x, y) + x[0];
+        }
+        return s;
+      }
+    });
+    list.add(new Bench("MapParms.rd2xyhit(x,y,z)") {
+      public void setup() { points(); }
+      public double run(int n) {
+        float[] x = new float[1], y = new float[1];
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          int k = i & (NUM - 1);
+          s += mp.rd2xyhit(rx[k], ry[k], rz[k], x, y) + x[0];
+        }
+        return s;
+      }
+    });
+    list.add(new Bench("MapParms.rd2xydist") {
+      public void setup() { points(); }
+      public double run(int n) {
+        float[] x = new float[1], y = new float[1];
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          int k = i & (NUM - 1);
+          s += mp.rd2xydist(ra[k], dec[k], x, y) + x[0];
+        }
+        return s;
+      }
+    });
+    list.add(new Bench("MapParms.xy2rd") {
+      public void setup() { points(); }
+      public double run(int n) {
+        SphereCoords sc = new SphereCoords();
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          int k = i & (NUM - 1);
+          mp.xy2rd(px[k], py[k], sc);
+          s += sc.getRA();
+        }
+        return s;
+      }
+    });
+  }
+
+  /* Makes the points (once) */
+  private static synchronized void points() {
+    if ( mp != null ) return;
+    mp = BenchView.mapParms(1, 60, 0);
+    Random r = new Random(12345);
+    ra = new double[NUM];
+    dec = new double[NUM];
+    rx = new double[NUM];
+    ry = new double[NUM];
+    rz = new double[NUM];
+    px = new int[NUM];
+    py = new int[NUM];
+    for ( int k = 0; k < NUM; k++ ) {
+      ra[k] = r.nextDouble() * 2 * Math.PI;
+      dec[k] = Math.asin(2 * r.nextDouble() - 1);
+      rx[k] = Math.cos(dec[k]) * Math.cos(ra[k]);
+      ry[k] = Math.cos(dec[k]) * Math.sin(ra[k]);
+      rz[k] = Math.sin(dec[k]);
+      px[k] = r.nextInt(BenchView.WIDTH);
+      py[k] = r.nextInt(BenchView.HEIGHT);
+    }
+  }
+}
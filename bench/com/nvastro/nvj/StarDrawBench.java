@@ -0,0 +1,63 @@
+/*
+ * StarDrawBench.java  -  Benchmarks of star drawing
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.List;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Benchmarks of StarDB.draw into an off-screen image, at several zooms
+ * and limiting magnitudes.  Label decluttering is off, so only the stars
+ * (and their Bayer/Flamsteed labels, if on in the ini file) are timed.
+ * Stars are drawn on several threads unless "serialstars" is given.
+ *
+ * @author Brian Simpson
+ */
+final class StarDrawBench {
+  static final private double[] ZOOM = { 1, 4, 16 };
+  static final private int[] LIMMAG10 = { 60, 90, 120 };
+
+  /* Not instantiated */
+  private StarDrawBench() {}
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds the benchmarks to a list.
+   */
+  static void addTo(List<Bench> list) {
+    for ( final double zoom : ZOOM )
+      for ( final int mag : LIMMAG10 )
+        list.add(new Bench(String.format("StarDB.draw zoom %-2d mag %d",
+                                         (int)zoom, mag / 10)) {
+          private StarDB stardb;
+          private MapParms mp;
+
+          public void setup() {
+            mp = BenchView.mapParms(zoom, mag, 0);
+            BenchView.setGraphics(mp);
+            stardb = new StarDB();
+          }
+          public double run(int n) {
+            for ( int i = 0; i < n; i++ ) stardb.draw(mp);
+            return mp.getInWindow();
+          }
+        });
+  }
+}
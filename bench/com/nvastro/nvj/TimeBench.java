@@ -0,0 +1,63 @@
+/*
+ * TimeBench.java  -  Benchmarks of nutation and delta T
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.List;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Benchmarks of Nutate.setJDay and DeltaT.calcDeltaT, over a fixed set
+ * of dates around 2020.
+ *
+ * @author Brian Simpson
+ */
+final class TimeBench {
+  static final private int NUM = 1024;          // Dates (power of 2)
+  static final private double JD2020 = 2458849.5;
+
+  /* Not instantiated */
+  private TimeBench() {}
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds the benchmarks to a list.
+   */
+  static void addTo(List<Bench> list) {
+    list.add(new Bench("Nutate.setJDay") {
+      private Nutate nut = new Nutate();
+      public double run(int n) {
+        double s = 0;
+        for ( int i = 0; i < n; i++ ) {
+          nut.setJDay(JD2020 + 0.37 * (i & (NUM - 1)));
+          s += nut.getdpsi();
+        }
+        return s;
+      }
+    });
+    list.add(new Bench("DeltaT.calcDeltaT") {
+      public double run(int n) {
+        double s = 0;
+        for ( int i = 0; i < n; i++ )
+          s += DeltaT.calcDeltaT(JD2020 + 3.7 * (i & (NUM - 1)));
+        return s;
+      }
+    });
+  }
+}
@@ -0,0 +1,698 @@
+/*
+ * Almanac.java  -  Rise, transit and set times, without a window
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.Dimension;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Computes rise, transit and set times (and twilight for the Sun) of
+ * bodies at locations over a range of dates, without a window (headless),
+ * and writes them as CSV.
+ * <p>
+ * The apparent geocentric positions of the bodies are computed once, an
+ * hour apart over the whole range (on the worker threads), and shared by
+ * all locations:  for a location, positions in between are interpolated
+ * (cubic), and the altitude is computed from them and the sidereal time.
+ * Each local day is scanned in 10 minute steps, and the times at which the
+ * altitude crosses that of rising or setting (or the hour angle crosses 0,
+ * for transit) are found by bisection, to the second.  Rising and setting
+ * are taken at altitude -0.5667 degrees (refraction) for planets and
+ * stars, -0.8333 for the Sun (also its semidiameter), and 0.7275 times
+ * the parallax less 0.5667 for the Moon, as in "Astronomical Algorithms"
+ * (chapter 15); twilight at -6, -12 and -18 degrees.  Locations are done
+ * on the worker threads, a block of days at a time, and written in order.
+ * Usage:
+ * <pre>
+ *   java -cp nvj.jar com.nvastro.nvj.Almanac [options]
+ *
+ *   -out file        Output file (CSV); "-" (the default) for standard
+ *                    output
+ *   -bodies list     Bodies, separated by commas:  sun, moon, planets,
+ *                    mercury, ..., pluto, or names from the deep sky or
+ *                    star name data bases (e.g. M31, Sirius)
+ *                    (default sun,moon,planets)
+ *   -city name       Location from the city data base, or "all" for
+ *                    all of them (may be repeated)
+ *   -loc lon,lat,tz  Location:  [-]D:MM,[-]D:MM,[-]H:MM or time zone ID
+ *                    (may be repeated)
+ *                    (default location is that of the ini file)
+ *   -from date       First local date:  yyyy-mm-dd (default is today)
+ *   -to date         Last local date (default is -from)
+ * </pre>
+ * Output has one line per event:  location, latitude, longitude (degrees),
+ * local date, body, event (rise, transit, set, civil_dawn, ...,
+ * astronomical_dusk; or always_up or always_down if a body neither rises
+ * nor sets that day), local time, UT (ISO 8601), azimuth (degrees from
+ * north through east) and altitude (degrees, without refraction).
+ *
+ * @author Brian Simpson
+ */
+public class Almanac {
+  static final private double D2R = Math.PI / 180;
+  static final private long SAMPLE = 3600000;   // Time between positions
+  static final private long SCAN = 600000;      // Step of search for events
+  static final private long TOL = 1000;         // Precision of events (ms)
+  static final private int CHUNK = 256;         // Positions per task
+  static final private int DAYBLOCK = 32;       // Days per task
+  static final private int MAXDAYS = 3660;
+  static final private String[] NSNAMES = { "mercury", "venus", "mars",
+    "jupiter", "saturn", "uranus", "neptune", "pluto", "sun", "moon" };
+  static final private int SUN = 8, MOON = 9;
+  static final private double H0 = -0.5667;     // Rise/set altitudes (deg)
+  static final private double H0SUN = -0.8333;
+  static final private double[] TWILIGHT = { -6, -12, -18 };
+  static final private String[] TWNAMES = { "civil", "nautical",
+                                            "astronomical" };
+
+  private TaskGraph init;         // Reading of data bases
+  private Preferences base;       // Preferences from the ini file
+  private CityDB cities;
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Options given on the command line.
+   */
+  private static class Options {
+    String out = "-";
+    List<String> bodies = new ArrayList<String>();
+    List<String> cities = new ArrayList<String>();
+    List<String> locs = new ArrayList<String>();
+    String from = null, to = null;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * A body, with its positions (apparent geocentric RA (made continuous,
+   * i.e. not wrapped at 2 Pi), Dec in radians, distance in AU) at times
+   * t0 + k * SAMPLE.
+   */
+  private static class Body {
+    String name;
+    int type;                   // SkyObject.NS, STARNM or DS
+    int num;                    // Index into its data base
+    double[] ra, dec, dist;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  Reads the data bases and the preferences (ini file).
+   * (Nvj.main() does the same before opening the main window.)
+   */
+  public Almanac() {
+    Nvj.setWorkingDir();
+    init = Nvj.initDataBases(null);
+    base = new Preferences();
+    cities = new CityDB();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Computes the almanac per the options, writing it to out.
+   * Returns the number of lines written (not counting the header).
+   */
+  private long run(Options o, Writer out) throws IOException {
+    /* Bodies */
+    List<Body> bodies = new ArrayList<Body>();
+    List<String> names = new ArrayList<String>(o.bodies);
+    if ( names.isEmpty() ) names.add("sun,moon,planets");
+    for ( String item : names )
+      for ( String s : item.split(",") ) {
+        s = s.trim();
+        if ( s.length() == 0 ) continue;
+        if ( s.equalsIgnoreCase("planets") )
+          for ( int i = 0; i < 8; i++ ) bodies.add(findBody(NSNAMES[i]));
+        else bodies.add(findBody(s));
+      }
+    if ( bodies.isEmpty() ) throw new IllegalArgumentException("No bodies");
+
+    /* Locations */
+    List<Location> sites = new ArrayList<Location>();
+    for ( String c : o.cities ) {
+      if ( c.equalsIgnoreCase("all") ) {
+        for ( int i = 0; i < cities.getNumberOfCities(); i++ )
+          sites.add(cities.getLocation(i));
+        continue;
+      }
+      Location loc = cities.getLocationForCity(c);
+      if ( loc == null )
+        throw new IllegalArgumentException("City not found: " + c);
+      sites.add(loc);
+    }
+    for ( String l : o.locs ) {
+      String[] f = l.split(",");
+      if ( f.length != 3 )
+        throw new IllegalArgumentException("Bad location: " + l);
+      sites.add(new Location(null, f[0], f[1], f[2]));  // May throw IAE
+    }
+    if ( sites.isEmpty() ) sites.add(base.lst.getLocation());
+
+    /* Dates */
+    int[] from = (o.from == null) ? today() : date(o.from);
+    int[] to = (o.to == null) ? from : date(o.to);
+    int days = (int)Math.round((new GregorianCalendar(to[0], to[1] - 1,
+               to[2]).getTimeInMillis() - new GregorianCalendar(from[0],
+               from[1] - 1, from[2]).getTimeInMillis()) / 86400000.0) + 1;
+    if ( days < 1 )
+      throw new IllegalArgumentException("Last date (-to) is before first " +
+                                         "date (-from)");
+    if ( days > MAXDAYS )
+      throw new IllegalArgumentException(days + " days (more than " +
+                                         MAXDAYS + ")");
+
+    /* Positions, covering every location's days (and a bit) */
+    long lo = Long.MAX_VALUE, hi = Long.MIN_VALUE;
+    for ( Location loc : sites ) {
+      lo = Math.min(lo, midnight(loc, from, 0));
+      hi = Math.max(hi, midnight(loc, from, days));
+    }
+    long t0 = lo / SAMPLE * SAMPLE;
+    if ( t0 > lo ) t0 -= SAMPLE;        // (Before 1970)
+    t0 -= 2 * SAMPLE;
+    int n = (int)((hi - t0) / SAMPLE) + 4;
+    positions(bodies, t0, n);
+
+    /* Events, a block of days of a location per task */
+    out.write("location,latitude,longitude,date,body,event,time,ut," +
+              "azimuth,altitude\r\n");
+    int ahead = 2 * WorkerPool.getThreads();    // Tasks queued at most
+    LinkedList<Future<String>> queued = new LinkedList<Future<String>>();
+    long lines = 0;
+    try {
+      for ( final Location loc : sites ) {
+        for ( int d = 0; d < days; d += DAYBLOCK ) {
+          final int first = d, last = Math.min(days, d + DAYBLOCK);
+          final List<Body> b = bodies;
+          final int[] f = from;
+          final long start = t0;
+          if ( queued.size() == ahead ) lines += write(queued, out);
+          queued.add(WorkerPool.submit(new Callable<String>() {
+            public String call() {
+              return events(b, start, loc, f, first, last);
+            }
+          }));
+        }
+      }
+      while ( !queued.isEmpty() ) lines += write(queued, out);
+    }
+    finally {
+      for ( Future<String> f : queued ) f.cancel(false);
+    }
+    return lines;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the result of the first queued task.  Returns its line count.
+   */
+  private static long write(LinkedList<Future<String>> queued, Writer out)
+                            throws IOException {
+    String s;
+    try {
+      s = queued.removeFirst().get();
+    }
+    catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted");
+    }
+    catch ( ExecutionException e ) {
+      Throwable t = e.getCause();
+      if ( t instanceof RuntimeException ) throw (RuntimeException)t;
+      if ( t instanceof Error ) throw (Error)t;
+      throw new RuntimeException(t);
+    }
+    out.write(s);
+    long lines = 0;
+    for ( int i = s.indexOf('\n'); i >= 0; i = s.indexOf('\n', i + 1) )
+      lines++;
+    return lines;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds a body by name:  sun, moon, a planet, or a deep sky object or
+   * star name (exact name first, else the best match of the Find dialogs).
+   */
+  private Body findBody(String name) {
+    Body b = new Body();
+    NearSkyDB nsdb = new NearSkyDB();
+    for ( int i = 0; i < NSNAMES.length; i++ )
+      if ( name.equalsIgnoreCase(NSNAMES[i]) ||
+           name.equalsIgnoreCase(nsdb.tellName(i)) ) {
+        b.type = SkyObject.NS;
+        b.num = i;
+        b.name = nsdb.tellName(i);
+        return b;
+      }
+
+    DeepSkyDB dsdb = new DeepSkyDB();
+    StarNameDB sndb = new StarNameDB();
+    int[] ds = dsdb.getSearchIndex().find(name);
+    int[] sn = sndb.getSearchIndex().find(name);
+    for ( int pass = 0; pass < 2; pass++ ) {
+      for ( int j = 0; j < ds.length; j++ ) {
+        int i = dsdb.getIndexOfFileEntry(ds[j]);
+        if ( pass == 1 || dsdb.tellName(i).equalsIgnoreCase(name) ) {
+          b.type = SkyObject.DS;
+          b.num = i;
+          b.name = dsdb.tellName(i);
+          return b;
+        }
+      }
+      for ( int j = 0; j < sn.length; j++ ) {
+        int i = sn[j];
+        if ( pass == 1 || sndb.tellName(i).equalsIgnoreCase(name) ) {
+          b.type = SkyObject.STARNM;
+          b.num = i;
+          b.name = sndb.tellName(i);
+          return b;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Body not found: " + name);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Computes the positions of the bodies at n times from t0, SAMPLE apart,
+   * CHUNK positions of a body per task.
+   */
+  private void positions(List<Body> bodies, final long t0, int n) {
+    List<Runnable> tasks = new ArrayList<Runnable>();
+    for ( final Body b : bodies ) {
+      b.ra = new double[n];
+      b.dec = new double[n];
+      b.dist = new double[n];
+      for ( int k = 0; k < n; k += CHUNK ) {
+        final int first = k, last = Math.min(n, k + CHUNK);
+        final Preferences p = (Preferences)base.clone();  // (Not thread-safe)
+        p.lst.stop();
+        tasks.add(new Runnable() {
+          public void run() {
+            MapParms mp = new MapParms(p);
+            Dimension size = new Dimension(1, 1);
+            NearSkyDB nsdb = new NearSkyDB();
+            DeepSkyDB dsdb = new DeepSkyDB();
+            StarNameDB sndb = new StarNameDB();
+            GregorianCalendar gc = p.lst.getLocDateTime();
+            double[] dist = new double[1];
+            for ( int k = first; k < last; k++ ) {
+              gc.setTimeInMillis(t0 + k * SAMPLE);
+              p.lst.setLocDateTime();
+              mp.update(size, 1, true);       // (Precession interpolated)
+              SphereCoords sc;
+              dist[0] = 0;
+              if ( b.type == SkyObject.NS )
+                sc = nsdb.getGeoAppLocation(b.num, mp, dist);
+              else if ( b.type == SkyObject.DS )
+                sc = dsdb.getAppLocation(b.num, mp, null);
+              else
+                sc = sndb.getAppLocation(b.num, mp, null);
+              b.ra[k] = sc.getRA();
+              b.dec[k] = sc.getDec();
+              b.dist[k] = dist[0];
+            }
+          }
+        });
+      }
+    }
+    WorkerPool.runAll(tasks);
+
+    /* Make RA continuous, for interpolation */
+    for ( Body b : bodies )
+      for ( int k = 1; k < n; k++ ) {
+        while ( b.ra[k] - b.ra[k-1] >  Math.PI ) b.ra[k] -= 2 * Math.PI;
+        while ( b.ra[k] - b.ra[k-1] < -Math.PI ) b.ra[k] += 2 * Math.PI;
+      }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the events of the bodies at loc on days first to last - 1
+   * (counted from the date from), returning them as CSV lines.
+   */
+  private static String events(List<Body> bodies, long t0, Location loc,
+                               int[] from, int first, int last) {
+    StringBuilder sb = new StringBuilder(8192);
+    Observer obs = new Observer(loc, t0);
+    String site = csv(loc.tellLocation()) + "," +
+                  String.format(Locale.US, "%.4f,%.4f", loc.getLatDeg(),
+                                loc.getLongDeg());
+    TimeZone tz = loc.getTZ();
+    GregorianCalendar local = new GregorianCalendar(tz);
+    GregorianCalendar ut = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+    List<Event> ev = new ArrayList<Event>();
+
+    for ( int d = first; d < last; d++ ) {
+      long ta = midnight(loc, from, d), tb = midnight(loc, from, d + 1);
+      local.setTimeInMillis(ta);
+      String date = String.format(Locale.US, "%04d-%02d-%02d",
+                    local.get(Calendar.YEAR), local.get(Calendar.MONTH) + 1,
+                    local.get(Calendar.DATE));
+      for ( Body b : bodies ) {
+        ev.clear();
+        obs.find(b, ta, tb, ev);
+        for ( Event e : ev ) {
+          sb.append(site).append(',').append(date).append(',')
+            .append(csv(b.name)).append(',').append(e.name);
+          if ( e.t < 0 ) {
+            sb.append(",,,,\r\n");
+            continue;
+          }
+          local.setTimeInMillis(e.t);
+          ut.setTimeInMillis(e.t);
+          sb.append(String.format(Locale.US, ",%02d:%02d:%02d,%04d-%02d-%02dT" +
+                    "%02d:%02d:%02dZ,%.1f,%.1f\r\n",
+                    local.get(Calendar.HOUR_OF_DAY),
+                    local.get(Calendar.MINUTE), local.get(Calendar.SECOND),
+                    ut.get(Calendar.YEAR), ut.get(Calendar.MONTH) + 1,
+                    ut.get(Calendar.DATE), ut.get(Calendar.HOUR_OF_DAY),
+                    ut.get(Calendar.MINUTE), ut.get(Calendar.SECOND),
+                    e.az, e.alt));
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * An event found:  its name, time (ms, or -1 for always_up/down),
+   * azimuth and altitude (degrees).
+   */
+  private static class Event {
+    String name;
+    long t;
+    double az, alt;
+
+    Event(String name, long t, double az, double alt) {
+      this.name = name;
+      this.t = t;
+      this.az = az;
+      this.alt = alt;
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Computes altitudes at a location from the positions of the bodies.
+   * (One per task; not thread-safe.)
+   */
+  private static class Observer {
+    double sinlat, coslat, lon;
+    long t0;                    // Time of the first position
+    double ra, dec, dist;       // Position, set by at()
+    double ha, alt, az;         // Hour angle (-Pi to Pi), altitude,
+                                //   azimuth (radians), set by at()
+
+    Observer(Location loc, long t0) {
+      sinlat = Math.sin(loc.getLatDeg() * D2R);
+      coslat = Math.cos(loc.getLatDeg() * D2R);
+      lon = loc.getLongDeg();
+      this.t0 = t0;
+    }
+
+    /* Finds the events of body b from ta to tb (ms), in order */
+    void find(Body b, long ta, long tb, List<Event> ev) {
+      boolean sun = (b.type == SkyObject.NS && b.num == SUN);
+      boolean moon = (b.type == SkyObject.NS && b.num == MOON);
+      int levels = sun ? 1 + TWILIGHT.length : 1;
+
+      /* Scan, noting changes of side of each level, and transit */
+      boolean rise = false, set = false;
+      at(b, ta);
+      double[] f = new double[levels];
+      for ( int i = 0; i < levels; i++ ) f[i] = above(b, i, moon);
+      boolean up = f[0] >= 0;
+      double ha0 = ha;
+      for ( long t = ta; t < tb; ) {
+        long t1 = Math.min(tb, t + SCAN);
+        at(b, t1);
+        double ha1 = ha;
+        for ( int i = 0; i < levels; i++ ) {
+          double f1 = above(b, i, moon);
+          if ( (f[i] >= 0) != (f1 >= 0) ) {
+            boolean rising = f1 >= 0;
+            long te = cross(b, i, moon, t, t1, rising);
+            if ( te < tb ) {
+              at(b, te);
+              String name = (i == 0) ? (rising ? "rise" : "set") :
+                            TWNAMES[i-1] + (rising ? "_dawn" : "_dusk");
+              ev.add(new Event(name, te, deg(az), deg(alt)));
+              if ( i == 0 ) {
+                if ( rising ) rise = true;
+                else set = true;
+              }
+            }
+            at(b, t1);
+          }
+          f[i] = f1;
+        }
+        if ( ha0 < 0 && ha1 >= 0 && ha1 - ha0 < Math.PI ) {
+          long te = transit(b, t, t1);
+          if ( te < tb ) {
+            at(b, te);
+            ev.add(new Event("transit", te, deg(az), deg(alt)));
+            at(b, t1);
+          }
+        }
+        ha0 = ha1;
+        t = t1;
+      }
+      if ( !rise && !set )
+        ev.add(new Event(up ? "always_up" : "always_down", -1, 0, 0));
+
+      /* Order by time (insertion sort; there are few) */
+      for ( int i = 1; i < ev.size(); i++ ) {
+        Event e = ev.get(i);
+        int j = i;
+        while ( j > 0 && e.t >= 0 && ev.get(j-1).t > e.t ) {
+          ev.set(j, ev.get(j-1));
+          j--;
+        }
+        ev.set(j, e);
+      }
+    }
+
+    /* Altitude above level i (radians), per the last at() */
+    double above(Body b, int i, boolean moon) {
+      double h0;
+      if ( i > 0 ) h0 = TWILIGHT[i-1];
+      else if ( moon )
+        h0 = 0.7275 * Math.asin(6378.14 / (dist * NearSkyDB.AU2KM)) / D2R +
+             H0;
+      else if ( b.type == SkyObject.NS && b.num == SUN ) h0 = H0SUN;
+      else h0 = H0;
+      return alt - h0 * D2R;
+    }
+
+    /* Time (bisection) between ta and tb at which the altitude crosses
+       level i */
+    long cross(Body b, int i, boolean moon, long ta, long tb,
+               boolean rising) {
+      while ( tb - ta > TOL ) {
+        long tm = (ta + tb) / 2;
+        at(b, tm);
+        if ( (above(b, i, moon) >= 0) == rising ) tb = tm;
+        else ta = tm;
+      }
+      return tb;
+    }
+
+    /* Time (bisection) between ta and tb at which the hour angle
+       crosses 0 */
+    long transit(Body b, long ta, long tb) {
+      while ( tb - ta > TOL ) {
+        long tm = (ta + tb) / 2;
+        at(b, tm);
+        if ( ha >= 0 ) tb = tm;
+        else ta = tm;
+      }
+      return tb;
+    }
+
+    /* Sets the position of b at time t (interpolated), and the hour
+       angle, altitude and azimuth */
+    void at(Body b, long t) {
+      double x = (t - t0) / (double)SAMPLE;
+      int k = (int)Math.floor(x);
+      k = Math.max(1, Math.min(b.ra.length - 3, k));
+      double p = x - k;
+      // 4 point Lagrange interpolation on k-1 to k+2
+      double c0 = -p * (p - 1) * (p - 2) / 6;
+      double c1 = (p + 1) * (p - 1) * (p - 2) / 2;
+      double c2 = -(p + 1) * p * (p - 2) / 2;
+      double c3 = (p + 1) * p * (p - 1) / 6;
+      ra   = c0 * b.ra[k-1] + c1 * b.ra[k] + c2 * b.ra[k+1] + c3 * b.ra[k+2];
+      dec  = c0 * b.dec[k-1] + c1 * b.dec[k] + c2 * b.dec[k+1] +
+             c3 * b.dec[k+2];
+      dist = c0 * b.dist[k-1] + c1 * b.dist[k] + c2 * b.dist[k+1] +
+             c3 * b.dist[k+2];
+
+      double jd = t / 86400000.0 + 2440587.5;
+      ha = LST.calcLSTHrs(jd, lon) * Math.PI / 12 - ra;
+      ha -= 2 * Math.PI * Math.floor((ha + Math.PI) / (2 * Math.PI));
+      double cosha = Math.cos(ha), sinha = Math.sin(ha);
+      double cosdec = Math.cos(dec), sindec = Math.sin(dec);
+      alt = Math.asin(Math.max(-1, Math.min(1,
+                      sinlat * sindec + coslat * cosdec * cosha)));
+      // (Chapter 13, measured from north rather than south)
+      az = Math.atan2(sinha * cosdec,
+                      cosha * cosdec * sinlat - sindec * coslat) + Math.PI;
+    }
+  }
+
+  /* Degrees (azimuth 0 to 360) */
+  private static double deg(double rad) {
+    double d = rad / D2R;
+    return (d >= 360) ? d - 360 : d;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the time (ms) of local midnight days after the date from.
+   */
+  private static long midnight(Location loc, int[] from, int days) {
+    GregorianCalendar gc = new GregorianCalendar(loc.getTZ());
+    gc.clear();
+    gc.set(from[0], from[1] - 1, from[2]);
+    gc.add(Calendar.DATE, days);
+    return gc.getTimeInMillis();
+  }
+
+  /* Parses yyyy-mm-dd */
+  private static int[] date(String s) {
+    String[] f = s.trim().split("-");
+    if ( f.length != 3 )
+      throw new IllegalArgumentException("Bad date: " + s);
+    int[] d = new int[3];
+    for ( int i = 0; i < 3; i++ )
+      d[i] = Integer.parseInt(f[i]);          // May throw NFE (an IAE)
+    if ( d[1] < 1 || d[1] > 12 || d[2] < 1 || d[2] > 31 )
+      throw new IllegalArgumentException("Bad date: " + s);
+    return d;
+  }
+
+  /* Today's date (in the default time zone) */
+  private static int[] today() {
+    GregorianCalendar gc = new GregorianCalendar();
+    return new int[] { gc.get(Calendar.YEAR), gc.get(Calendar.MONTH) + 1,
+                       gc.get(Calendar.DATE) };
+  }
+
+  /* Quotes a CSV field if needed */
+  private static String csv(String s) {
+    if ( s.indexOf(',') < 0 && s.indexOf('"') < 0 ) return s;
+    return "\"" + s.replace("\"", "\"\"") + "\"";
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Parses the options.
+   */
+  private static Options parse(String[] args) {
+    Options o = new Options();
+    for ( int i = 0; i < args.length; i++ ) {
+      String arg = args[i];
+      if ( arg.length() < 2 || arg.charAt(0) != '-' )
+        throw new IllegalArgumentException("Unexpected: " + arg);
+      if ( i + 1 >= args.length )
+        throw new IllegalArgumentException("No value for " + arg);
+      String val = args[++i];
+      arg = arg.substring(1).toLowerCase();
+
+      if      ( arg.equals("out") || arg.equals("o") ) o.out = val;
+      else if ( arg.equals("bodies") ) o.bodies.add(val);
+      else if ( arg.equals("city") ) o.cities.add(val);
+      else if ( arg.equals("loc") ) o.locs.add(val);
+      else if ( arg.equals("from") ) o.from = val;
+      else if ( arg.equals("to") ) o.to = val;
+      else throw new IllegalArgumentException("Unknown option: -" + arg);
+    }
+    return o;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Computes the almanac given on the command line (see class description).
+   * Exits with 1 if it could not be done, 2 for a usage error.
+   *
+   * @param args Arguments passed on command line
+   */
+  public static void main(String[] args) {
+    System.setProperty("java.awt.headless", "true");  // Before any AWT use
+
+    Options o;
+    try {
+      o = parse(args);
+      if ( o.from != null ) date(o.from);
+      if ( o.to != null ) date(o.to);
+    }
+    catch ( IllegalArgumentException e ) {
+      System.err.println(e.getMessage());
+      System.err.println("Usage:  Almanac [-out file.csv] [-bodies list] " +
+                         "[-city name|all] [-loc lon,lat,tz] " +
+                         "[-from yyyy-mm-dd] [-to yyyy-mm-dd]");
+      System.exit(2);
+      return;
+    }
+
+    /* Messages go to standard error if the CSV goes to standard output */
+    boolean stdout = o.out.equals("-");
+    PrintStream msg = stdout ? System.err : System.out;
+
+    long start = System.currentTimeMillis();
+    Almanac al = new Almanac();
+    for ( String err : ErrLogger.getErrors() )
+      System.err.println(err);
+    msg.print(al.init.tellTimes());
+
+    long lines;
+    Writer out = null;
+    try {
+      out = new BufferedWriter(new OutputStreamWriter(stdout ? System.out :
+                               new FileOutputStream(o.out), "UTF-8"), 65536);
+      lines = al.run(o, out);
+      out.flush();
+    }
+    catch ( IllegalArgumentException e ) {
+      System.err.println(e.getMessage());
+      System.exit(1);
+      return;
+    }
+    catch ( IOException e ) {
+      System.err.println(o.out + ":  " + e.getMessage());
+      System.exit(1);
+      return;
+    }
+    finally {
+      try { if ( out != null && !stdout ) out.close(); }
+      catch ( IOException e ) {}
+    }
+
+    msg.println(lines + " event(s) written, in " +
+                (System.currentTimeMillis() - start) + " ms");
+    System.exit(0);
+  }
+}
@@ -0,0 +1,391 @@
+/*
+ * AnimWriter.java  -  Writes the frames of an animation to files
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Writes the frames of an animation (see ChartRenderer) as a numbered
+ * sequence of PNG files, an animated GIF, or a Motion-JPEG AVI, chosen by
+ * the extension of the file name.  Images are encoded with ImageIO; the
+ * containers are written here.
+ * <p>
+ * Encoding is the slow part, so it is separate from writing:  encode()
+ * may be called on any number of threads at once (e.g. by the threads
+ * drawing the frames), while write() is called on one thread, once per
+ * frame, in order.
+ *
+ * @author Brian Simpson
+ */
+abstract public class AnimWriter {
+  protected String file;
+  protected int width, height;
+  protected int frames;         // Number of frames to be written
+  protected int fps;            // Frames per second
+  protected int written = 0;    // Number of frames written
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a writer for the file, per its extension:  .png (numbered
+   * files, e.g. sky.png -&gt; sky0001.png, sky0002.png, ...), .gif or .avi.
+   *
+   * @param file Name of file
+   * @param width Width of frames in pels
+   * @param height Height of frames in pels
+   * @param frames Number of frames
+   * @param fps Frames per second
+   * @throws IllegalArgumentException If the extension is not known
+   * @throws IOException If the file cannot be created
+   */
+  public static AnimWriter open(String file, int width, int height,
+                                int frames, int fps) throws IOException {
+    ImageIO.setUseCache(false);         // Encode in memory, not in temp files
+    String name = file.toLowerCase();
+    AnimWriter w;
+    if ( name.endsWith(".png") )      w = new PngSequence();
+    else if ( name.endsWith(".gif") ) w = new AnimatedGif();
+    else if ( name.endsWith(".avi") ) w = new MjpegAvi();
+    else throw new IllegalArgumentException("Animation file must be .png, " +
+                                            ".gif or .avi: " + file);
+    w.file = file;
+    w.width = width;
+    w.height = height;
+    w.frames = frames;
+    w.fps = fps;
+    w.start();
+    return w;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Encodes a frame.  May be called on several threads at once.
+   *
+   * @param image Frame (width x height)
+   * @return Encoded frame, to be passed to write()
+   */
+  abstract public byte[] encode(BufferedImage image) throws IOException;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the next frame.
+   *
+   * @param data Frame, as returned by encode()
+   */
+  public void write(byte[] data) throws IOException {
+    if ( written == frames )
+      throw new IllegalStateException("More frames than expected");
+    writeFrame(data);
+    written++;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finishes the file.  (If fewer frames than expected were written,
+   * the file is still closed, and describes the frames written.)
+   */
+  abstract public void close() throws IOException;
+
+  /* Starts the file */
+  abstract void start() throws IOException;
+
+  /* Writes a frame */
+  abstract void writeFrame(byte[] data) throws IOException;
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Encodes an image with ImageIO (quality is used if 0 to 1).
+   */
+  static byte[] encode(BufferedImage image, String format, float quality)
+                       throws IOException {
+    ImageWriter iw = ImageIO.getImageWritersByFormatName(format).next();
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(65536);
+    ImageOutputStream out = ImageIO.createImageOutputStream(bytes);
+    try {
+      ImageWriteParam param = iw.getDefaultWriteParam();
+      if ( quality >= 0 && quality <= 1 ) {
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+      }
+      iw.setOutput(out);
+      iw.write(null, new IIOImage(image, null, null), param);
+    }
+    finally {
+      iw.dispose();
+      out.close();
+    }
+    return bytes.toByteArray();
+  }
+}
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Numbered sequence of PNG files (name0001.png, ...; more digits if
+ * there are more than 9999 frames).
+ */
+class PngSequence extends AnimWriter {
+  private String prefix;
+  private String format;
+
+  void start() {
+    prefix = file.substring(0, file.length() - 4);
+    int digits = Math.max(4, String.valueOf(frames).length());
+    format = "%s%0" + digits + "d%s";
+  }
+
+  public byte[] encode(BufferedImage image) throws IOException {
+    return encode(image, "png", -1);
+  }
+
+  void writeFrame(byte[] data) throws IOException {
+    String name = String.format(format, prefix, written + 1,
+                                file.substring(file.length() - 4));
+    OutputStream out = new FileOutputStream(name);
+    try {
+      out.write(data);
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  public void close() {}
+}
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Animated GIF, looping forever.
+ * <p>
+ * Each frame is encoded as a GIF of its own (with its own palette), from
+ * which the image (palette and LZW data) is copied into the animation as
+ * a frame with a local color table, preceded by a graphic control
+ * extension giving its delay.  (GIF delays are in 1/100 seconds; they are
+ * rounded so that the frame rate is right on average.)
+ */
+class AnimatedGif extends AnimWriter {
+  private OutputStream out;
+
+  void start() throws IOException {
+    if ( width > 65535 || height > 65535 )
+      throw new IllegalArgumentException("Too large for GIF");
+    out = new BufferedOutputStream(new FileOutputStream(file), 65536);
+    out.write(new byte[] { 'G', 'I', 'F', '8', '9', 'a' });
+    short2(width);                      // Logical screen descriptor
+    short2(height);
+    out.write(new byte[] { 0, 0, 0 });  // (No global color table)
+    out.write(new byte[] { 0x21, (byte)0xFF, 11,  // Loop forever
+                           'N', 'E', 'T', 'S', 'C', 'A', 'P', 'E',
+                           '2', '.', '0', 3, 1, 0, 0, 0 });
+  }
+
+  public byte[] encode(BufferedImage image) throws IOException {
+    return encode(image, "gif", -1);
+  }
+
+  void writeFrame(byte[] gif) throws IOException {
+    int delay = (int)Math.round((written + 1) * 100.0 / fps) -
+                (int)Math.round(written * 100.0 / fps);
+
+    /* Global color table of the frame */
+    int p = 13;
+    int gct = 0, gctlen = 0;
+    if ( (gif[10] & 0x80) != 0 ) {
+      gct = p;
+      gctlen = 3 << ((gif[10] & 7) + 1);
+      p += gctlen;
+    }
+
+    /* Skip extensions up to the image descriptor */
+    while ( gif[p] == 0x21 ) p = skipBlocks(gif, p + 2);
+    if ( gif[p] != 0x2C ) throw new IOException("Bad GIF frame");
+
+    out.write(new byte[] { 0x21, (byte)0xF9, 4,     // Graphic control ext.
+                           4,                       // (Do not dispose)
+                           (byte)delay, (byte)(delay >> 8), 0, 0 });
+    int packed = gif[p + 9] & 0xFF;
+    out.write(gif, p, 9);
+    p += 10;
+    if ( (packed & 0x80) != 0 ) {       // Local color table
+      out.write(packed);
+      int len = 3 << ((packed & 7) + 1);
+      out.write(gif, p, len);
+      p += len;
+    }
+    else {                              // Global table becomes local
+      out.write(0x80 | (packed & 0x40) | (gif[10] & 7));
+      out.write(gif, gct, gctlen);
+    }
+    int end = skipBlocks(gif, p + 1);   // LZW code size, data sub-blocks
+    out.write(gif, p, end - p);
+  }
+
+  public void close() throws IOException {
+    out.write(0x3B);                    // Trailer
+    out.close();
+  }
+
+  /* Returns the index after the sub-blocks starting at gif[p] */
+  private static int skipBlocks(byte[] gif, int p) {
+    int n;
+    while ( (n = gif[p] & 0xFF) != 0 ) p += n + 1;
+    return p + 1;
+  }
+
+  /* Writes a little-endian short */
+  private void short2(int v) throws IOException {
+    out.write(v);
+    out.write(v >> 8);
+  }
+}
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Motion-JPEG AVI (each frame a JPEG image, in one video stream, with an
+ * index).  The sizes in the headers are filled in by close().  Layout:
+ * <pre>
+ *   RIFF 'AVI '
+ *     LIST 'hdrl'
+ *       avih               Main header
+ *       LIST 'strl'
+ *         strh             Stream header ('vids', 'MJPG')
+ *         strf             BITMAPINFOHEADER
+ *     LIST 'movi'
+ *       00dc ...           Frames
+ *     idx1                 Index (offsets from 'movi')
+ * </pre>
+ */
+class MjpegAvi extends AnimWriter {
+  static final private float QUALITY = 0.9f;    // JPEG quality
+  static final private int HEADER = 224;        // Bytes up to 'movi' data
+  static final private long MAXSIZE = 0xFFFFFFFFL;
+
+  private RandomAccessFile out;
+  private ByteBuffer index;     // idx1 entries
+  private long moviEnd = HEADER;
+  private int maxFrame = 0;     // Size of largest frame
+
+  void start() throws IOException {
+    File f = new File(file);
+    f.delete();
+    out = new RandomAccessFile(f, "rw");
+    index = ByteBuffer.allocate(16 * frames).order(ByteOrder.LITTLE_ENDIAN);
+    out.write(header());
+  }
+
+  public byte[] encode(BufferedImage image) throws IOException {
+    return encode(image, "jpeg", QUALITY);
+  }
+
+  void writeFrame(byte[] jpeg) throws IOException {
+    int pad = jpeg.length & 1;          // Chunks are of even length
+    if ( moviEnd + 8 + jpeg.length + pad + 8 + index.capacity() > MAXSIZE )
+      throw new IOException("AVI file would be over 4 GB");
+
+    ByteBuffer b = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    b.put(fourcc("00dc")).putInt(jpeg.length);
+    out.seek(moviEnd);
+    out.write(b.array());
+    out.write(jpeg);
+    if ( pad != 0 ) out.write(0);
+
+    index.put(fourcc("00dc")).putInt(0x10)          // AVIIF_KEYFRAME
+         .putInt((int)(moviEnd - (HEADER - 4))).putInt(jpeg.length);
+    moviEnd += 8 + jpeg.length + pad;
+    maxFrame = Math.max(maxFrame, jpeg.length);
+  }
+
+  public void close() throws IOException {
+    try {
+      ByteBuffer b = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+      b.put(fourcc("idx1")).putInt(index.position());
+      out.seek(moviEnd);
+      out.write(b.array());
+      out.write(index.array(), 0, index.position());
+      out.setLength(out.getFilePointer());
+      out.seek(0);
+      out.write(header());
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the headers, up to the 'movi' data, for the frames written.
+   */
+  private byte[] header() {
+    int moviSize = (int)(moviEnd - (HEADER - 4));
+    int fileSize = (int)(moviEnd + 8 + index.position() - 8);
+    int rate = (int)Math.min(Integer.MAX_VALUE, (long)maxFrame * fps);
+
+    ByteBuffer b = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+    b.put(fourcc("RIFF")).putInt(fileSize).put(fourcc("AVI "));
+    b.put(fourcc("LIST")).putInt(192).put(fourcc("hdrl"));
+    b.put(fourcc("avih")).putInt(56);
+    b.putInt(1000000 / fps);            // Microseconds per frame
+    b.putInt(rate);                     // Max bytes per second
+    b.putInt(0);                        // Padding granularity
+    b.putInt(0x10);                     // AVIF_HASINDEX
+    b.putInt(written);                  // Total frames
+    b.putInt(0);                        // Initial frames
+    b.putInt(1);                        // Streams
+    b.putInt(maxFrame);                 // Suggested buffer size
+    b.putInt(width).putInt(height);
+    b.putInt(0).putInt(0).putInt(0).putInt(0);      // Reserved
+    b.put(fourcc("LIST")).putInt(116).put(fourcc("strl"));
+    b.put(fourcc("strh")).putInt(56);
+    b.put(fourcc("vids")).put(fourcc("MJPG"));
+    b.putInt(0);                        // Flags
+    b.putShort((short)0).putShort((short)0);        // Priority, language
+    b.putInt(0);                        // Initial frames
+    b.putInt(1).putInt(fps);            // Scale, rate (rate/scale = fps)
+    b.putInt(0);                        // Start
+    b.putInt(written);                  // Length (frames)
+    b.putInt(maxFrame);                 // Suggested buffer size
+    b.putInt(-1);                       // Quality (default)
+    b.putInt(0);                        // Sample size (varies)
+    b.putShort((short)0).putShort((short)0);        // Frame rectangle
+    b.putShort((short)width).putShort((short)height);
+    b.put(fourcc("strf")).putInt(40);   // BITMAPINFOHEADER
+    b.putInt(40).putInt(width).putInt(height);
+    b.putShort((short)1).putShort((short)24);       // Planes, bits/pel
+    b.put(fourcc("MJPG"));
+    b.putInt(width * height * 3);       // Image size
+    b.putInt(0).putInt(0).putInt(0).putInt(0);
+    b.put(fourcc("LIST")).putInt(moviSize).put(fourcc("movi"));
+    return b.array();
+  }
+
+  /* Returns the bytes of a four character code */
+  private static byte[] fourcc(String s) {
+    return new byte[] { (byte)s.charAt(0), (byte)s.charAt(1),
+                        (byte)s.charAt(2), (byte)s.charAt(3) };
+  }
+}
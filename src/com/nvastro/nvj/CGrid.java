@@ -32,7 +32,6 @@ import java.awt.geom.*;
 public class CGrid {
   static final private double D2R = Math.PI / 180;  // Degrees to radians
   static final private double H2R = Math.PI / 12;   // RA hours to radians
-  static final private double HALFPI = Math.PI / 2; // Pi / 2
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * No constructor available.
@@ -54,10 +53,10 @@ public class CGrid {
     float[] am = new float[24]; // angle at midpt    number of midpts
     float[] sm = new float[24]; // score at midpt    along a full circle)
     int nm = 0;                 // number of midpts
+    int proj = 0;               // points projected (for statistics)
     boolean labels;
     FontMetrics fm = mp.g.getFontMetrics();
     int yoffset = fm.getAscent() / 4;
-    AffineTransform trans = mp.g.getTransform();
 
     if ( !mp.prefer.drawCGrid() || !mp.isDrawing() ) return;
 
@@ -91,6 +90,7 @@ public class CGrid {
         if ( k  != 0 && (j > 80 || j < -80) ) continue;
         if ( k2 != 0 && (j > 86 || j < -86) ) continue;
 
+        proj++;
         if ( mp.rd2xydist(ra, j * D2R, x, y, true) < 1.66f ) { // 95 deg
           if ( l++ == 0 )
             gp.moveTo(x[0], y[0]);
@@ -115,15 +115,9 @@ public class CGrid {
       }
       if ( l > 1 ) { mp.g.draw(gp); gp.reset(); }
 
-      if ( labels && ((j = selectpt(sm, nm)) >= 0) ) {
-        mp.g.translate(xm[j], ym[j]);
-        if      ( am[j] <= -HALFPI ) am[j] += Math.PI;
-        else if ( am[j]  >  HALFPI ) am[j] -= Math.PI;
-        mp.g.rotate(am[j]);
-        mp.g.drawString(Integer.toString(i),
-                        -fm.stringWidth(Integer.toString(i)) / 2, -yoffset);
-        mp.g.setTransform(trans); // Reset to original transform
-      }
+      if ( labels )
+        mp.drawLineLabel(Integer.toString(i), fm, xm, ym, am, sm, nm,
+                         yoffset);
     }
 
     /* Draw lines of Declination (Latitude) - 1 segment per 4' at equator */
@@ -144,6 +138,7 @@ public class CGrid {
         for ( k = 0; k < segsPerHour; k += 1 ) {
           ra = rahr + k * inc;          // Convert to ra in radians
 
+          proj++;
           if ( mp.rd2xydist(ra, decl, x, y, true) < 1.66f ) { // 95 deg
             if ( l++ == 0 )
               gp.moveTo(x[0], y[0]);
@@ -186,19 +181,14 @@ public class CGrid {
       //  gp.moveTo(xm[j]-10, ym[j]+10);
       //  gp.lineTo(xm[j]+10, ym[j]-10);
       //}
-      if ( labels && ((j = selectpt(sm, nm)) >= 0) ) {
-        mp.g.translate(xm[j], ym[j]);
-        if      ( am[j] <= -HALFPI ) am[j] += Math.PI;
-        else if ( am[j]  >  HALFPI ) am[j] -= Math.PI;
-        mp.g.rotate(am[j]);
-        mp.g.drawString(Integer.toString(i),
-                        -fm.stringWidth(Integer.toString(i)) / 2, -yoffset);
-        mp.g.setTransform(trans); // Reset to original transform
-      }
+      if ( labels )
+        mp.drawLineLabel(Integer.toString(i), fm, xm, ym, am, sm, nm,
+                         yoffset);
     }
 
     if ( mp.clip2 != null ) mp.g.setClip(mp.clip1); // Reset if changed
     if ( mp.printing ) mp.g.setStroke(oldStroke);
+    mp.count(proj, 0);
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -211,17 +201,5 @@ public class CGrid {
     return (x * (r - x)) * (y * (b - y));
   }
 
-  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Selects best score (above 0)
-   */
-  static private int selectpt(float[] s, int n) {
-    int ret = -1;    // Setting to -1 unnecessary, but avoids warning
-    float top = 0;
-
-    for ( int i = 0; i < n; i++ )
-      if ( top < s[i] ) { top = s[i]; ret = i; }
-
-    return (top > 0) ? ret : -1;
-  }
 }
 
@@ -0,0 +1,690 @@
+/*
+ * ChartRenderer.java  -  Draws star charts to files, without a window
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Draws star charts to PNG or SVG files, without a window (headless).
+ * <p>
+ * The data bases are read once, and then any number of charts may be
+ * drawn:  one from the command line, or one per line of a job file.
+ * Charts are drawn with the same code (and the same preferences, from
+ * the ini file) as the star window.  Options on a job file line
+ * override those on the command line.
+ * <p>
+ * A chart with an end time (-to) is an animation:  the chart is drawn at
+ * times from -time to -to, -step apart, and the frames are written as a
+ * numbered sequence of PNG files (sky.png -&gt; sky0001.png, ...), an
+ * animated GIF or a Motion-JPEG AVI (see AnimWriter).  Frames are drawn
+ * and encoded on the worker threads, each frame with its own preferences
+ * and MapParms (and each thread with its own data base objects), and
+ * written in order.  Usage:
+ * <pre>
+ *   java -cp nvj.jar com.nvastro.nvj.ChartRenderer [options]
+ *
+ *   -out file        Output file (.png or .svg; .png, .gif or .avi for
+ *                    an animation)
+ *   -size WxH        Size in pels (default 800x600)
+ *   -city name       Location from the city data base, or
+ *   -loc lon,lat,tz  Location:  [-]D:MM,[-]D:MM,[-]H:MM or time zone ID
+ *   -dst A|0|1       Daylight saving time:  auto, off, on (default A)
+ *   -time t          Local date and time:  yyyy-mm-dd[Thh:mm[:ss]]
+ *                    (default is now)
+ *   -radec ra,dec    Center (RA in hours, Dec in degrees), RA-Dec mode
+ *   -azalt az,alt    Center (degrees), Alt-Az mode
+ *   -zoom z          Zoom (1 = default field, larger to zoom in)
+ *   -fld deg         Field rotation (degrees)
+ *   -to t            End time of an animation (as -time; "none" for
+ *                    a single chart)
+ *   -step n[s|m|h|d] Time between frames of an animation, in seconds,
+ *                    minutes (the default unit), hours or days
+ *                    (default 10 minutes)
+ *   -fps n           Frames per second of a .gif or .avi (default 25)
+ *   -layers list     Layers to turn on (+name or name) or off (-name),
+ *                    separated by commas; "all" and "none" allowed.
+ *                    Names:  milkyway horizon cgrid cgridlabels agrid
+ *                    agridlabels ecliptic constlines constnames
+ *                    constbounds deepsky deepskynames starnames bayer
+ *                    flamsteed nearsky
+ *   -job file        Job file:  one chart per line, with options as above
+ *                    (blank lines and lines starting with # are ignored,
+ *                    "quoted strings" may contain blanks)
+ * </pre>
+ *
+ * @author Brian Simpson
+ */
+public class ChartRenderer {
+  private static final String[] LAYERS = {
+    "milkyway", "horizon", "cgrid", "cgridlabels", "agrid", "agridlabels",
+    "ecliptic", "constlines", "constnames", "constbounds", "deepsky",
+    "deepskynames", "starnames", "bayer", "flamsteed", "nearsky"
+  };
+  private static final int MAXFRAMES = 1000000;
+
+  private TaskGraph init;         // Reading of data bases
+  private Preferences base;       // Preferences from the ini file
+  private boolean[] baseLayers;   // Layers on in base
+  private CityDB cities;
+  private ThreadLocal<Painter> painters = new ThreadLocal<Painter>() {
+    protected Painter initialValue() { return new Painter(); }
+  };
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Data base objects that draw the layers.  (Some keep work areas and
+   * results between calls, so each thread drawing charts has its own.)
+   */
+  private static class Painter {
+    StarDB stardb = new StarDB();
+    StarNameDB starnamedb = new StarNameDB();
+    DeepSkyDB deepskydb = new DeepSkyDB();
+    NearSkyDB nearskydb = new NearSkyDB();
+    ConstLines constlines = new ConstLines();
+    ConstBounds constbounds = new ConstBounds();
+    MilkyWay milkyway = new MilkyWay();
+    Horizon horizon = new Horizon();
+
+    /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+     * Draws a chart (and disposes of g).  If serial, stars are drawn on
+     * the calling thread only.
+     */
+    void draw(Preferences prefer, Graphics2D g, int width, int height,
+              boolean serial) {
+      MapParms mp = new MapParms(prefer);
+      mp.serialStars = serial;
+      mp.update(new Dimension(width, height),
+                Math.min(0.95 * width, 1.30 * height) / Math.PI);
+      mp.g = g;
+
+      /* Same set up as StarWin.run() */
+      mp.g.setColor(prefer.colorBackGnd());
+      mp.g.fillRect(0, 0, width, height);
+      mp.clip1 = new Rectangle(0, 0, width, height);
+      mp.g.setClip(mp.clip1);
+      double diameter = Math.PI * mp.pelsPerRadian;  // 180 degrees
+      double radius = diameter / 2;                  //  90 degrees
+      double diagonal = Math.sqrt(width * width + height * height);
+      mp.clip2 = ( diameter > diagonal ) ? null :
+                 new Ellipse2D.Double(mp.getMidX() - radius,
+                                      mp.getMidY() - radius,
+                                      diameter, diameter);
+      mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                            RenderingHints.VALUE_ANTIALIAS_OFF);
+      mp.labels = new LabelPlacer(width, height);
+
+      /* Draw (in the same order as StarWin) */
+      try {
+        milkyway.draw(mp);
+        horizon.draw(mp);
+        CGrid.draw(mp);
+        AGrid.draw(mp);
+        Ecliptic.draw(mp);
+        constlines.draw(mp);
+        constbounds.draw(mp);
+        Constellation.draw(mp);
+        deepskydb.draw(mp);
+        stardb.draw(mp);
+        starnamedb.draw(mp);
+        nearskydb.draw(mp);
+      }
+      finally {
+        mp.g.dispose();
+      }
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Options of one chart.
+   */
+  private static class Chart implements Cloneable {
+    String out = null;
+    int width = 800, height = 600;
+    String city = null, loc = null, dst = "A", time = null;
+    double[] radec = null, azalt = null;
+    double zoom = 1;
+    Integer fld = null;
+    String to = null;               // End time of an animation
+    long step = 600000;             // Time between frames (ms)
+    int fps = 25;
+    List<String> layers = new ArrayList<String>();
+
+    Chart copy() {
+      try {
+        Chart c = (Chart)super.clone();
+        c.layers = new ArrayList<String>(layers);
+        return c;
+      } catch ( CloneNotSupportedException e ) { /* Should never happen */
+        throw new RuntimeException(e);
+      }
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  Reads the data bases and the preferences (ini file).
+   * (Nvj.main() does the same before opening the main window.)
+   */
+  public ChartRenderer() {
+    Nvj.setWorkingDir();
+    init = Nvj.initDataBases(null);
+    base = new Preferences();
+    cities = new CityDB();
+    painters.get();
+
+    baseLayers = new boolean[LAYERS.length];
+    for ( int i = 0; i < LAYERS.length; i++ )
+      baseLayers[i] = getLayer(base, i);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws a chart and writes it to a file.
+   *
+   * @param args Options of the chart (see class description)
+   * @throws IllegalArgumentException If an option is not valid
+   * @throws IOException If the file cannot be written
+   */
+  public void render(String[] args) throws IOException {
+    Chart c = new Chart();
+    parse(args, c);
+    render(c);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws a chart (or an animation) and writes it to a file.
+   * Returns the number of images drawn.
+   */
+  private int render(Chart c) throws IOException {
+    if ( c.out == null )
+      throw new IllegalArgumentException("No output file (-out)");
+    if ( c.to != null ) return animate(c);
+    String name = c.out.toLowerCase();
+    boolean svg = name.endsWith(".svg");
+    if ( !svg && !name.endsWith(".png") )
+      throw new IllegalArgumentException("Output file must be .png or .svg: "
+                                         + c.out);
+
+    Preferences prefer = setup(c);
+    BufferedImage image = null;
+    SvgGraphics sg = null;
+    if ( svg ) sg = new SvgGraphics(c.width, c.height);
+    else image = new BufferedImage(c.width, c.height,
+                                   BufferedImage.TYPE_INT_RGB);
+
+    /* Stars are drawn on one thread for SVG, so that the file is the
+       same each time */
+    painters.get().draw(prefer, svg ? sg : image.createGraphics(),
+                        c.width, c.height, svg);
+
+    /* Write file */
+    OutputStream out = new FileOutputStream(c.out);
+    try {
+      if ( svg ) sg.write(out);
+      else if ( !ImageIO.write(image, "png", out) )
+        throw new IOException("No PNG writer");
+    }
+    finally {
+      out.close();
+    }
+    return 1;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws the frames of an animation and writes them to a file.  Frames
+   * are drawn and encoded on the worker threads, a few ahead of the one
+   * being written, and written in order on this thread.  Returns the
+   * number of frames.
+   */
+  private int animate(Chart c) throws IOException {
+    Preferences prefer = setup(c);
+    long t0 = prefer.lst.getLocDateTime().getTimeInMillis();
+    LST end = (LST)prefer.lst.clone();
+    setTime(end, c.to);
+    long t1 = end.getLocDateTime().getTimeInMillis();
+    if ( t1 < t0 )
+      throw new IllegalArgumentException("End time (-to) is before start " +
+                                         "time: " + c.to);
+    long n = (t1 - t0) / c.step + 1;
+    if ( n > MAXFRAMES )
+      throw new IllegalArgumentException(n + " frames (more than " +
+                                         MAXFRAMES + ")");
+    int frames = (int)n;
+
+    final AnimWriter out = AnimWriter.open(c.out, c.width, c.height,
+                                           frames, c.fps);
+    final int width = c.width, height = c.height;
+    int ahead = 2 * WorkerPool.getThreads();    // Frames queued at most
+    LinkedList<Future<byte[]>> queued = new LinkedList<Future<byte[]>>();
+
+    /* Stars are drawn on one thread per frame (frames being drawn at
+       once keep the worker threads busy) */
+    try {
+      int next = 0;                     // Next frame to queue
+      for ( int i = 0; i < frames; i++ ) {
+        for ( ; next < frames && queued.size() < ahead; next++ ) {
+          final Preferences p = (Preferences)prefer.clone();
+          GregorianCalendar gc = p.lst.getLocDateTime();
+          gc.setTimeInMillis(t0 + next * c.step);
+          p.lst.setLocDateTime();
+          queued.add(WorkerPool.submit(new Callable<byte[]>() {
+            public byte[] call() throws IOException {
+              BufferedImage image = new BufferedImage(width, height,
+                                    BufferedImage.TYPE_INT_RGB);
+              painters.get().draw(p, image.createGraphics(), width, height,
+                                  true);
+              return out.encode(image);
+            }
+          }));
+        }
+        out.write(result(queued.removeFirst()));
+      }
+    }
+    finally {
+      for ( Future<byte[]> f : queued ) f.cancel(false);
+      out.close();
+    }
+    return frames;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Waits for a frame, rethrowing any exception thrown drawing it.
+   */
+  private static byte[] result(Future<byte[]> f) throws IOException {
+    try {
+      return f.get();
+    }
+    catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted");
+    }
+    catch ( ExecutionException e ) {
+      Throwable t = e.getCause();
+      if ( t instanceof IOException ) throw (IOException)t;
+      if ( t instanceof RuntimeException ) throw (RuntimeException)t;
+      if ( t instanceof Error ) throw (Error)t;
+      throw new RuntimeException(t);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a copy of the base preferences, changed per the chart options.
+   */
+  private Preferences setup(Chart c) {
+    Preferences prefer = (Preferences)base.clone();
+
+    /* Location */
+    if ( c.city != null || c.loc != null ) {
+      Location loc;
+      if ( c.city != null ) {
+        loc = cities.getLocationForCity(c.city);
+        if ( loc == null )
+          throw new IllegalArgumentException("City not found: " + c.city);
+      }
+      else {
+        String[] f = c.loc.split(",");
+        if ( f.length != 3 )
+          throw new IllegalArgumentException("Bad location: " + c.loc);
+        loc = new Location(null, f[0], f[1], f[2]);  // May throw IAE
+      }
+      prefer.setLocation(loc, c.dst);
+    }
+
+    /* Time */
+    if ( c.time != null ) setTime(prefer.lst, c.time);
+    prefer.lst.stop();
+
+    /* View */
+    if ( c.radec != null ) {
+      prefer.modeRADec = true;
+      prefer.setAzAltZoom(360 - c.radec[0] * 15, c.radec[1],
+                          c.zoom / prefer.getZoom());
+    }
+    else if ( c.azalt != null ) {
+      prefer.modeRADec = false;
+      prefer.setAzAltZoom(c.azalt[0], c.azalt[1], c.zoom / prefer.getZoom());
+    }
+    else
+      prefer.setAzAltZoom(prefer.getAz() / View.Deg2Rad,
+                          prefer.getAlt() / View.Deg2Rad,
+                          c.zoom / prefer.getZoom());
+    if ( c.fld != null )
+      prefer.setFld(((c.fld.intValue() % 360) + 360) % 360);
+
+    /* Layers (The clone shares its toggles with base, so all are set) */
+    boolean[] on = baseLayers.clone();
+    for ( String item : c.layers ) {
+      for ( String s : item.split(",") ) {
+        s = s.trim().toLowerCase();
+        if ( s.length() == 0 ) continue;
+        boolean b = !s.startsWith("-");
+        if ( s.startsWith("-") || s.startsWith("+") ) s = s.substring(1);
+        if ( s.equals("all") || s.equals("none") ) {
+          for ( int i = 0; i < on.length; i++ ) on[i] = s.equals("all");
+          continue;
+        }
+        int i = 0;
+        while ( i < LAYERS.length && !LAYERS[i].equals(s) ) i++;
+        if ( i == LAYERS.length )
+          throw new IllegalArgumentException("Unknown layer: " + s);
+        on[i] = b;
+      }
+    }
+    for ( int i = 0; i < on.length; i++ )
+      setLayer(prefer, i, on[i]);
+
+    return prefer;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the local date and time (yyyy-mm-dd[Thh:mm[:ss]]).
+   */
+  private static void setTime(LST lst, String time) {
+    int[] t = new int[6];
+    String[] f = time.split("[-T:]");
+    if ( f.length != 3 && f.length != 5 && f.length != 6 )
+      throw new IllegalArgumentException("Bad time: " + time);
+    for ( int i = 0; i < f.length; i++ )
+      t[i] = Integer.parseInt(f[i]);          // May throw NFE (an IAE)
+    GregorianCalendar gc = lst.getLocDateTime();
+    gc.clear(Calendar.MILLISECOND);
+    gc.set(t[0], t[1] - 1, t[2], t[3], t[4], t[5]);
+    lst.setLocDateTime();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns whether layer i (of LAYERS) is on.
+   */
+  private static boolean getLayer(Preferences p, int i) {
+    switch ( i ) {
+      case 0:  return p.drawMilkyWay();
+      case 1:  return p.drawHorizon();
+      case 2:  return p.drawCGrid();
+      case 3:  return p.drawCGridLabels();
+      case 4:  return p.drawAGrid();
+      case 5:  return p.drawAGridLabels();
+      case 6:  return p.drawEcliptic();
+      case 7:  return p.drawConstLines();
+      case 8:  return p.drawConstNames();
+      case 9:  return p.drawConstBounds();
+      case 10: return p.drawDeepSky();
+      case 11: return p.drawDeepSkyNames();
+      case 12: return p.drawStarNames();
+      case 13: return p.drawBayer();
+      case 14: return p.drawFlamsteed();
+      default: return p.drawNearSky();
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Turns layer i (of LAYERS) on or off.
+   */
+  private static void setLayer(Preferences p, int i, boolean b) {
+    switch ( i ) {
+      case 0:  p.drawMilkyWay(b);     break;
+      case 1:  p.drawHorizon(b);      break;
+      case 2:  p.drawCGrid(b);        break;
+      case 3:  p.drawCGridLabels(b);  break;
+      case 4:  p.drawAGrid(b);        break;
+      case 5:  p.drawAGridLabels(b);  break;
+      case 6:  p.drawEcliptic(b);     break;
+      case 7:  p.drawConstLines(b);   break;
+      case 8:  p.drawConstNames(b);   break;
+      case 9:  p.drawConstBounds(b);  break;
+      case 10: p.drawDeepSky(b);      break;
+      case 11: p.drawDeepSkyNames(b); break;
+      case 12: p.drawStarNames(b);    break;
+      case 13: p.drawBayer(b);        break;
+      case 14: p.drawFlamsteed(b);    break;
+      default: p.drawNearSky(b);      break;
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Parses options into c.  Returns the job file (or null).
+   */
+  private static String parse(String[] args, Chart c) {
+    String job = null;
+    for ( int i = 0; i < args.length; i++ ) {
+      String arg = args[i];
+      if ( arg.length() < 2 || arg.charAt(0) != '-' )
+        throw new IllegalArgumentException("Unexpected: " + arg);
+      if ( i + 1 >= args.length )
+        throw new IllegalArgumentException("No value for " + arg);
+      String val = args[++i];
+      arg = arg.substring(1).toLowerCase();
+
+      if      ( arg.equals("out") || arg.equals("o") ) c.out = val;
+      else if ( arg.equals("size") ) {
+        String[] f = val.toLowerCase().split("x");
+        if ( f.length != 2 )
+          throw new IllegalArgumentException("Bad size: " + val);
+        c.width = Integer.parseInt(f[0].trim());
+        c.height = Integer.parseInt(f[1].trim());
+        if ( c.width < 1 || c.height < 1 || c.width > 20000 ||
+             c.height > 20000 )
+          throw new IllegalArgumentException("Bad size: " + val);
+      }
+      else if ( arg.equals("city") ) { c.city = val;  c.loc = null; }
+      else if ( arg.equals("loc") )  { c.loc = val;   c.city = null; }
+      else if ( arg.equals("dst") )  {
+        c.dst = val.toUpperCase();
+        if ( !c.dst.equals("A") && !c.dst.equals("0") && !c.dst.equals("1") )
+          throw new IllegalArgumentException("Bad dst: " + val);
+      }
+      else if ( arg.equals("time") ) c.time = val.equalsIgnoreCase("now") ?
+                                              null : val;
+      else if ( arg.equals("radec") ) { c.radec = pair(val);  c.azalt = null; }
+      else if ( arg.equals("azalt") ) { c.azalt = pair(val);  c.radec = null; }
+      else if ( arg.equals("zoom") ) {
+        c.zoom = Double.parseDouble(val);
+        if ( !(c.zoom > 0) )
+          throw new IllegalArgumentException("Bad zoom: " + val);
+      }
+      else if ( arg.equals("fld") ) c.fld = Integer.valueOf(val.trim());
+      else if ( arg.equals("to") ) c.to = val.equalsIgnoreCase("none") ?
+                                          null : val;
+      else if ( arg.equals("step") ) c.step = interval(val);
+      else if ( arg.equals("fps") ) {
+        c.fps = Integer.parseInt(val.trim());
+        if ( c.fps < 1 || c.fps > 100 )
+          throw new IllegalArgumentException("Bad fps: " + val);
+      }
+      else if ( arg.equals("layers") ) c.layers.add(val);
+      else if ( arg.equals("job") ) job = val;
+      else throw new IllegalArgumentException("Unknown option: -" + arg);
+    }
+    return job;
+  }
+
+  /* Parses a time interval ("10", "10m", "30s", "2h", "1d") into ms */
+  private static long interval(String s) {
+    String v = s.trim().toLowerCase();
+    long unit = 60000;
+    if ( v.length() > 0 ) {
+      int u = "smhd".indexOf(v.charAt(v.length() - 1));
+      if ( u >= 0 ) {
+        unit = new long[] { 1000, 60000, 3600000, 86400000 }[u];
+        v = v.substring(0, v.length() - 1);
+      }
+    }
+    double ms = Double.parseDouble(v) * unit;
+    if ( !(ms >= 1 && ms <= 1e12) )
+      throw new IllegalArgumentException("Bad step: " + s);
+    return Math.round(ms);
+  }
+
+  /* Parses "a,b" */
+  private static double[] pair(String s) {
+    String[] f = s.split(",");
+    if ( f.length != 2 )
+      throw new IllegalArgumentException("Expected 2 numbers: " + s);
+    return new double[] { Double.parseDouble(f[0].trim()),
+                          Double.parseDouble(f[1].trim()) };
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Splits a job file line into words (blanks separate words, except
+   * within double quotes).
+   */
+  private static String[] split(String line) {
+    List<String> words = new ArrayList<String>();
+    StringBuilder w = null;
+    boolean quoted = false;
+    for ( int i = 0; i < line.length(); i++ ) {
+      char ch = line.charAt(i);
+      if ( ch == '"' ) {
+        quoted = !quoted;
+        if ( w == null ) w = new StringBuilder();
+      }
+      else if ( !quoted && Character.isWhitespace(ch) ) {
+        if ( w != null ) words.add(w.toString());
+        w = null;
+      }
+      else {
+        if ( w == null ) w = new StringBuilder();
+        w.append(ch);
+      }
+    }
+    if ( w != null ) words.add(w.toString());
+    return words.toArray(new String[words.size()]);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws the charts given on the command line (see class description).
+   * Exits with 1 if any chart could not be drawn, 2 for a usage error.
+   *
+   * @param args Arguments passed on command line
+   */
+  public static void main(String[] args) {
+    System.setProperty("java.awt.headless", "true");  // Before any AWT use
+
+    Chart dft = new Chart();
+    String job;
+    try {
+      job = parse(args, dft);
+      if ( job == null && dft.out == null )
+        throw new IllegalArgumentException("No output file (-out) or job " +
+                                           "file (-job)");
+    }
+    catch ( IllegalArgumentException e ) {
+      System.err.println(e.getMessage());
+      System.err.println("Usage:  ChartRenderer -out file.png|file.svg " +
+                         "[options]  or  ChartRenderer -out file.png|" +
+                         "file.gif|file.avi -time t -to t [options]  or  " +
+                         "ChartRenderer -job file [options]");
+      System.exit(2);
+      return;
+    }
+
+    long start = System.currentTimeMillis();
+    ChartRenderer cr = new ChartRenderer();
+    for ( String err : ErrLogger.getErrors() )
+      System.err.println(err);
+    System.out.print(cr.init.tellTimes());
+
+    int failed = 0, done = 0;
+    if ( job == null ) {
+      if ( !renderOne(cr, dft, null) ) failed++;
+      else done++;
+    }
+    else {
+      BufferedReader br = null;
+      try {
+        br = new BufferedReader(new FileReader(new File(job)));
+        String line;
+        int n = 0;
+        while ( (line = br.readLine()) != null ) {
+          n++;
+          line = line.trim();
+          if ( line.length() == 0 || line.startsWith("#") ) continue;
+          Chart c = dft.copy();
+          String where = job + ":" + n;
+          try {
+            if ( parse(split(line), c) != null )
+              throw new IllegalArgumentException("-job not allowed in " +
+                                                 "a job file");
+          }
+          catch ( IllegalArgumentException e ) {
+            System.err.println(where + ":  " + e.getMessage());
+            failed++;
+            continue;
+          }
+          if ( !renderOne(cr, c, where) ) failed++;
+          else done++;
+        }
+      }
+      catch ( IOException e ) {
+        System.err.println(job + ":  " + e.getMessage());
+        failed++;
+      }
+      finally {
+        try { if ( br != null ) br.close(); } catch ( IOException e ) {}
+      }
+    }
+
+    System.out.println(done + " chart(s) drawn, " + failed + " failed, in " +
+                       (System.currentTimeMillis() - start) + " ms");
+    System.exit((failed == 0) ? 0 : 1);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws one chart, reporting the result.  Returns false on failure.
+   */
+  private static boolean renderOne(ChartRenderer cr, Chart c, String where) {
+    long start = System.currentTimeMillis();
+    String prefix = (where == null) ? "" : where + ":  ";
+    int images;
+    try {
+      images = cr.render(c);
+    }
+    catch ( IllegalArgumentException e ) {
+      System.err.println(prefix + e.getMessage());
+      return false;
+    }
+    catch ( IOException e ) {
+      System.err.println(prefix + c.out + ":  " + e.getMessage());
+      return false;
+    }
+    System.out.println(prefix + c.out + " (" +
+                       ((c.to == null) ? "" : images + " frames, ") +
+                       (System.currentTimeMillis() - start) + " ms)");
+    return true;
+  }
+}
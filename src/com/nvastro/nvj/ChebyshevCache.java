@@ -0,0 +1,340 @@
+/*
+ * ChebyshevCache.java  -  Chebyshev polynomial cache of a time series
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Chebyshev polynomial cache of a slowly varying function of time, such as
+ * the coordinates of a planet.
+ * <p>
+ * Time is cut into spans of fixed length.  The first time a span is
+ * needed, the function is evaluated at the Chebyshev nodes of the span and
+ * a polynomial is fitted to each component.  Later values in that span
+ * take a few multiply-adds.  Each new fit is checked against the function
+ * at points between the nodes; if the difference exceeds the tolerance
+ * (or the time is outside the cached range), the function is used
+ * directly.  Thus the cache never returns a value further than the
+ * tolerance (as verified at the check points) from the function.
+ * <p>
+ * Components that are angles may be marked as such; they are unwrapped
+ * before fitting so that a jump of 2 pi in the function does not spoil
+ * the fit.
+ * <p>
+ * The most recently used spans (SLOTS of them) are kept, separately for
+ * each thread, so that threads working at different times (as in the
+ * event search) do not evict each other's spans.
+ * This class is thread safe.
+ *
+ * @author Brian Simpson
+ */
+public class ChebyshevCache {
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * The function being cached.
+   */
+  public interface Source {
+    /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+     * Evaluates the function.
+     *
+     * @param t Time
+     * @param v On return, has the components of the function
+     */
+    public void eval(double t, double[] v);
+  }
+
+  static final private double PI2 = Math.PI * 2;
+  static final private int SLOTS = 16;     // Number of spans kept
+  static final private int CHECKS = 4;     // Check points per fitted span
+  static final private double CHECKTOL = 1e-8;  // Tolerance checked by main
+  static final private double DISPLAYTOL = 2e-5; // Same, truncated series
+
+  private Source src;
+  private int ncomp;                       // Number of components
+  private boolean[] angle;                 // Components that are angles
+  private double span;                     // Length of span
+  private int n;                           // Number of coefficients
+  private double tmin, tmax;               // Cached range
+  private double tol;                      // Tolerance
+
+  private ThreadLocal<Slots> slots = new ThreadLocal<Slots>() {
+    protected Slots initialValue() { return new Slots(); }
+  };
+
+  /* Spans kept by one thread */
+  private class Slots {
+    long[] span = new long[SLOTS];         // Span in each slot
+    boolean[] ok = new boolean[SLOTS];     // False: use src directly
+    double[][] coef = new double[SLOTS][]; // [comp * n + j]
+    double[] v = new double[ncomp];        // Work area (fit)
+    double[] val = new double[ncomp];      // Work area (eval)
+    int hits = 0, fits = 0, rejects = 0;
+
+    Slots() {
+      for ( int i = 0; i < SLOTS; i++ ) span[i] = Long.MIN_VALUE;
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param src Function to be cached
+   * @param angle One entry per component; true if component is an angle
+   *              (radians)
+   * @param span Length of each span (in the units of time used by src)
+   * @param degree Degree of the polynomials
+   * @param tmin Start of cached range
+   * @param tmax End of cached range
+   * @param tol Tolerance (in the units of the components)
+   */
+  public ChebyshevCache(Source src, boolean[] angle, double span, int degree,
+                        double tmin, double tmax, double tol) {
+    this.src = src;
+    this.ncomp = angle.length;
+    this.angle = angle.clone();
+    this.span = span;
+    this.n = degree + 1;
+    this.tmin = tmin;
+    this.tmax = tmax;
+    this.tol = tol;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Evaluates the function (from the cache if possible).  Angles are
+   * returned between 0 and 2 pi.
+   *
+   * @param t Time
+   * @param val On return, has the components of the function
+   */
+  public void eval(double t, double[] val) {
+    if ( !(t >= tmin && t < tmax) ) {   // (Also catches NaN)
+      src.eval(t, val);
+      normalize(val);
+      return;
+    }
+
+    Slots sl = slots.get();
+    long s = (long)Math.floor((t - tmin) / span);
+    int slot = (int)(s % SLOTS);
+    if ( sl.span[slot] != s ) fit(sl, s, slot);
+    if ( !sl.ok[slot] ) {
+      src.eval(t, val);
+      normalize(val);
+      return;
+    }
+
+    sl.hits++;
+    double t0 = tmin + s * span;
+    double x = 2 * (t - t0) / span - 1;  // -1 <= x < 1
+    double[] c = sl.coef[slot];
+    for ( int i = 0; i < ncomp; i++ )
+      val[i] = clenshaw(c, i * n, x);
+    normalize(val);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Evaluates a function of 3 components (from the cache if possible),
+   * returning each component in its own 1-element array.  Uses the
+   * calling thread's work area, so nothing is allocated.
+   *
+   * @param t Time
+   * @param c0 On return, has component 0
+   * @param c1 On return, has component 1
+   * @param c2 On return, has component 2
+   */
+  public void eval(double t, double[] c0, double[] c1, double[] c2) {
+    double[] val = slots.get().val;
+    eval(t, val);
+    c0[0] = val[0];
+    c1[0] = val[1];
+    c2[0] = val[2];
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns usage statistics of the calling thread (for debugging).
+   */
+  public String tellStats() {
+    Slots sl = slots.get();
+    return "hits = " + sl.hits + ", fits = " + sl.fits +
+           ", rejects = " + sl.rejects;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Checks the planet and moon caches against the series, at random times
+   * within 500 years of J2000, and prints the largest differences.
+   * Then checks the planet series truncated for display (used by the
+   * "fastorbits" option) against the full series, printing the number of
+   * terms kept and the largest differences.  Exits with 1 if any cache
+   * difference exceeds 1e-8, or any truncation difference exceeds 2e-5
+   * (radians or AU).
+   * Run by "ant check".
+   *
+   * @param args Optional number of times checked per body (dft 10000)
+   */
+  public static void main(String[] args) {
+    Planet[] planets = { Planet.Earth, Planet.Mercury, Planet.Venus,
+                         Planet.Mars, Planet.Jupiter, Planet.Saturn,
+                         Planet.Uranus, Planet.Neptune, Planet.EJ2000 };
+    String[] names = new String[planets.length + 1];
+    for ( int p = 0; p < planets.length; p++ )
+      names[p] = planets[p].getName();
+    names[planets.length - 1] = "Earth (J2000)";  // EJ2000 is named Pluto
+    names[planets.length] = "Moon";
+    int count = (args.length > 0) ? Integer.parseInt(args[0]) : 10000;
+    java.util.Random rand = new java.util.Random(2000);
+    double[] l = new double[1], b = new double[1], r = new double[1];
+    double[] v = new double[3];
+    boolean failed = false;
+
+    for ( int p = 0; p <= planets.length; p++ ) {
+      double[] err = new double[3];
+      for ( int i = 0; i < count; i++ ) {
+        double t = rand.nextDouble() - 0.5;   // Julian millennia
+        if ( p < planets.length ) {
+          planets[p].calcHelioCentricCoord(t, l, b, r);
+          planets[p].calcSeries(t, v);
+        }
+        else {
+          t = 2451545 + t * 365250;           // Julian date
+          Moon.getCoordinates(t, l, b, r);
+          Moon.calcSeries(t, v);
+        }
+        err[0] = Math.max(err[0], Math.abs(unwrap(l[0], v[0]) - v[0]));
+        err[1] = Math.max(err[1], Math.abs(b[0] - v[1]));
+        err[2] = Math.max(err[2], Math.abs(r[0] - v[2]));
+      }
+      boolean ok = err[0] <= CHECKTOL && err[1] <= CHECKTOL &&
+                   err[2] <= CHECKTOL;
+      System.out.println(names[p] + ":  " + err[0] + " " + err[1] + " " +
+                         err[2] + (ok ? "" : "  exceeds " + CHECKTOL));
+      if ( !ok ) failed = true;
+    }
+
+    /* Truncated series (Planet.truncate()) used for display */
+    System.out.println("Truncated to " + Planet.DISPLAYAMP + ":");
+    double[] w = new double[3];
+    for ( int p = 0; p < planets.length; p++ ) {
+      Planet tp = planets[p].truncate(Planet.DISPLAYAMP);
+      double[] err = new double[3];
+      for ( int i = 0; i < count; i++ ) {
+        double t = rand.nextDouble() - 0.5;   // Julian millennia
+        planets[p].calcSeries(t, v);
+        tp.calcSeries(t, w);
+        err[0] = Math.max(err[0], Math.abs(unwrap(w[0], v[0]) - v[0]));
+        err[1] = Math.max(err[1], Math.abs(w[1] - v[1]));
+        err[2] = Math.max(err[2], Math.abs(w[2] - v[2]));
+      }
+      boolean ok = err[0] <= DISPLAYTOL && err[1] <= DISPLAYTOL &&
+                   err[2] <= DISPLAYTOL;
+      System.out.println(names[p] + ":  " + planets[p].getTermCount() +
+                         " -> " + tp.getTermCount() + " terms,  " + err[0] +
+                         " " + err[1] + " " + err[2] +
+                         (ok ? "" : "  exceeds " + DISPLAYTOL));
+      if ( !ok ) failed = true;
+    }
+    System.exit(failed ? 1 : 0);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Fits polynomials to span s, storing them in slot of sl.
+   */
+  private void fit(Slots sl, long s, int slot) {
+    double t0 = tmin + s * span;
+    double[][] f = new double[ncomp][n];   // Function at nodes
+    double[] prev = null;
+    double[] v = sl.v;
+    int i, j, k;
+
+    sl.fits++;
+    /* Evaluate at Chebyshev nodes, unwrapping angles */
+    for ( k = 0; k < n; k++ ) {
+      double x = Math.cos(Math.PI * (k + 0.5) / n);
+      src.eval(t0 + (x + 1) * span / 2, v);
+      for ( i = 0; i < ncomp; i++ ) {
+        if ( angle[i] && prev != null )
+          v[i] = unwrap(v[i], prev[i]);
+        f[i][k] = v[i];
+      }
+      if ( prev == null ) prev = new double[ncomp];
+      System.arraycopy(v, 0, prev, 0, ncomp);
+    }
+
+    /* Coefficients:  c[j] = 2/n * sum of f(x[k]) * T[j](x[k]) */
+    double[] c = (sl.coef[slot] != null) ? sl.coef[slot] :
+                                           new double[ncomp * n];
+    for ( i = 0; i < ncomp; i++ ) {
+      for ( j = 0; j < n; j++ ) {
+        double sum = 0;
+        for ( k = 0; k < n; k++ )
+          sum += f[i][k] * Math.cos(Math.PI * j * (k + 0.5) / n);
+        c[i * n + j] = 2 * sum / n;
+      }
+    }
+    sl.coef[slot] = c;
+    sl.span[slot] = s;
+
+    /* Check fit between nodes */
+    sl.ok[slot] = true;
+    for ( k = 0; k < CHECKS; k++ ) {
+      double x = -1 + (2 * k + 1.0) / CHECKS;   // Away from the nodes
+      src.eval(t0 + (x + 1) * span / 2, v);
+      for ( i = 0; i < ncomp; i++ ) {
+        double d = clenshaw(c, i * n, x);
+        double e = angle[i] ? unwrap(v[i], d) - d : v[i] - d;
+        if ( !(Math.abs(e) <= tol) ) {
+          sl.ok[slot] = false;
+          sl.rejects++;
+          return;
+        }
+      }
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Evaluates a Chebyshev series (Clenshaw's recurrence).
+   */
+  private double clenshaw(double[] c, int off, double x) {
+    double b0 = 0, b1 = 0, b2;
+    for ( int j = n - 1; j >= 1; j-- ) {
+      b2 = b1;
+      b1 = b0;
+      b0 = 2 * x * b1 - b2 + c[off + j];
+    }
+    return x * b0 - b1 + c[off] / 2;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns angle a, changed by a multiple of 2 pi to be near ref.
+   */
+  private static double unwrap(double a, double ref) {
+    return a - PI2 * Math.floor((a - ref) / PI2 + 0.5);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Puts angles between 0 and 2 pi.
+   */
+  private void normalize(double[] val) {
+    for ( int i = 0; i < ncomp; i++ ) {
+      if ( angle[i] ) {
+        val[i] %= PI2;
+        if ( val[i] < 0 ) val[i] += PI2;
+      }
+    }
+  }
+}
@@ -21,10 +21,11 @@
 package com.nvastro.nvj;
 
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.Vector;
 
 import javax.swing.JOptionPane;
@@ -41,6 +42,7 @@ public class CityDB {
   static private Vector<Location> cities = new Vector<Location>();
   static private int num = 0;
   static private boolean initialized = false;
+  static final private int SNAPVERSION = 1; // Of snapshot content
   //#------ Location name --------|--Long-|--Lat-|-Timezone--------
   //Addis Ababa, Ethiopia            38:47   9:00 Africa/Addis_Ababa
   //Adelaide, Australia             138:35 -34:54 Australia/Adelaide
@@ -73,15 +75,16 @@ public class CityDB {
       BufferedReader in = null;
       String line;
       Location loc;
+      int errors = 0;
 
-      try {                 // FileReader can throw FileNotFoundException
-        if ( source.exists() )
-          in = new BufferedReader(new FileReader(source));
-        else
-          in = new BufferedReader(new InputStreamReader(
-                   Nvj.class.getResourceAsStream("/com/nvastro/nvj/" +SOURCE)));
+      try {
+        DBSnapshot snap = new DBSnapshot(source, SOURCE, SNAPVERSION, 0);
+        if ( ! snap.exists() ) throw new FileNotFoundException(SOURCE);
+        /* Use the snapshot if current, else parse the file */
+        in = readSnapshot(snap.load()) ? null : snap.getReader();
 
-        while ( (line = in.readLine()) != null ) {  // Can throw IOException
+        while ( in != null &&
+                (line = in.readLine()) != null ) {  // Can throw IOException
           /* line will not contain \r or \n or \0 */
           if ( line.length() == 0 || line.charAt(0) == '#' ) continue;
           if ( line.trim().length() == 0 ) continue;
@@ -102,9 +105,17 @@ public class CityDB {
           }
           ErrLogger.logError(ErrLogger.formatError(
                     TextBndl.getString("LocDB.Reject"), SOURCE, "  " + line));
+          errors++;
         }
 
-        in.close();
+        if ( in != null ) {
+          in.close();
+          if ( errors == 0 ) snap.save(new DBSnapshot.Content() {
+            public void write(DataOutputStream out) throws IOException {
+              writeSnapshot(out);
+            }
+          });
+        }
       }
       catch ( Exception e ) {
         String msg = ErrLogger.formatError(TextBndl.getString("LocDB.RdErr"),
@@ -125,6 +136,51 @@ public class CityDB {
     }
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the cities to a snapshot (see DBSnapshot).
+   */
+  static private void writeSnapshot(DataOutputStream out) throws IOException {
+    out.writeInt(num);
+    for ( int i = 0; i < num; i++ ) {
+      Location loc = cities.elementAt(i);
+      out.writeUTF(loc.tellCity2());
+      out.writeDouble(loc.getLongDeg());
+      out.writeDouble(loc.getLatDeg());
+      out.writeInt(loc.getTZOffsetMin());
+      String tzs = loc.getTZString();
+      out.writeUTF(tzs == null ? "" : tzs);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Reads the cities from a snapshot.  Returns false (with no cities)
+   * if there is no snapshot or it cannot be read.
+   */
+  static private boolean readSnapshot(DataInputStream in) {
+    if ( in == null ) return false;
+
+    try {
+      int n = in.readInt();
+      cities.ensureCapacity(n);
+      for ( int i = 0; i < n; i++ ) {
+        String city = in.readUTF();
+        double lon = in.readDouble();
+        double lat = in.readDouble();
+        int zn = in.readInt();
+        String tzs = in.readUTF();
+        cities.addElement(new Location(city, lon, lat, zn,
+                                       tzs.length() == 0 ? null : tzs));
+      }
+      num = n;
+      return true;
+    }
+    catch ( Exception e ) {   // (Location can throw if JVM lacks timezone)
+      cities.removeAllElements();
+      num = 0;
+      return false;
+    }
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns number of cities.
    */
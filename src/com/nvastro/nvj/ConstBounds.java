@@ -89,6 +89,7 @@ public class ConstBounds {
     float[] y = new float[1];
     GeneralPath gp = new GeneralPath();
     int n = 0;
+    int proj = 0;                       // (For drawing statistics)
 
     if ( !mp.prefer.drawConstBounds() || !mp.isDrawing() ) return;
 
@@ -100,6 +101,7 @@ public class ConstBounds {
       mp.g.clip(mp.clip2);    // Intersects existing clip (clip1)
 
     for ( int i = 0; i < num && mp.isDrawing(); i++ ) {
+      if ( ra[i] >= 0 ) proj++;
       if ( ra[i] >= 0 && mp.rd2xydist(ra[i], dec[i], x, y) < 1.62f ) { // 1.62
         // is approx. 92.8 degrees.  Max increment of data is 2 degrees.
         if ( n++ == 0 ) gp.moveTo(x[0], y[0]);
@@ -114,6 +116,7 @@ public class ConstBounds {
 
     /* Cancel restrictive clipping */
     if ( mp.clip2 != null ) mp.g.setClip(mp.clip1); // Reset if changed
+    mp.count(proj, 0);
   }
 }
 
@@ -89,6 +89,7 @@ public class ConstLines {
     float[] y = new float[2];
     boolean newsection = true, newpt, oldpt = false;
     Line2D.Float line = new Line2D.Float();
+    int proj = 0;                       // (For drawing statistics)
 
     if ( !mp.prefer.drawConstLines() || !mp.isDrawing() ) return;
 
@@ -102,6 +103,7 @@ public class ConstLines {
     for ( int i = 0; i < num && mp.isDrawing(); i++ ) {
       if ( ra[i] >= 0 ) {
         newpt = mp.rd2xydist(ra[i], dec[i], x, y) < 1.58f; // ~90.5 deg
+        proj++;
         if ( (newpt || oldpt) && newsection == false ) {
           line.setLine(x[1], y[1], x[0], y[0]);
           mp.g.draw(line);
@@ -119,6 +121,7 @@ public class ConstLines {
 
     /* Cancel restrictive clipping */
     if ( mp.clip2 != null ) mp.g.setClip(mp.clip1); // Reset if changed
+    mp.count(proj, 0);
   }
 }
 
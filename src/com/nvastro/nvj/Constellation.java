@@ -199,6 +199,7 @@ public class Constellation {
     float[] y = new float[1];
     SphereCoords scoord = new SphereCoords();
     String s;
+    int proj = 0, inwin = 0;            // (For drawing statistics)
 
     if ( !mp.prefer.drawConstNames() || !mp.isDrawing() ) return;
     boolean full = mp.prefer.drawConstNFull();
@@ -219,7 +220,9 @@ public class Constellation {
     for ( int i = 0; i < 89 && mp.isDrawing(); i++ ) {
       scoord.set(loc[2*i] * Math.PI / 120, loc[2*i+1] * Math.PI / 180);
 
+      proj++;
       if ( mp.rd2xyhit(scoord, x, y) > 0 ) {
+        inwin++;
         s = full ? tellName(i) : tellAbbr(i);
         x[0] -= fm.stringWidth(s) / 2;
         y[0] += yoffset;
@@ -229,6 +232,7 @@ public class Constellation {
     if ( mp.prefer.antialiasing && !mp.printing )
       mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                             RenderingHints.VALUE_ANTIALIAS_OFF);
+    mp.count(proj, inwin);
   }
 
   /* For testing */
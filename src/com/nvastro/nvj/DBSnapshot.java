@@ -0,0 +1,258 @@
+/*
+ * DBSnapshot.java  -  Binary snapshot of a parsed text data base
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.zip.CRC32;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Binary snapshot of a parsed text data base (deep sky objects, star
+ * names, cities, external stars).
+ * <p>
+ * The text file (in the working directory, or else the copy inside the
+ * jar) is read into memory and hashed.  If a snapshot file made from the
+ * same text (same size, modification time and CRC-32, and same version
+ * of the data base code) exists, the data base loads the snapshot
+ * instead of parsing the text.  Otherwise the data base parses the text
+ * (from memory), and if there were no errors, saves a new snapshot.
+ * Snapshots are kept in the working directory, named after the text file
+ * with ".snap" in place of ".txt".  If a snapshot cannot be written (e.g.
+ * read-only directory), the text is simply parsed each time.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   int    MAGIC ("NVSS")
+ *   int    FORMAT
+ *   int    Version of the data base code
+ *   long   Size of text
+ *   long   Modification time of text (0 if inside the jar)
+ *   long   CRC-32 of text
+ *   long   Dependency (e.g. key of the star data base that star names
+ *          refer to, 0 if none)
+ *   int    Size of content (n)
+ *   long   CRC-32 of content
+ *   byte[n] Content (written by the data base)
+ * </pre>
+ *
+ * @author Brian Simpson
+ */
+public class DBSnapshot {
+  static final private int MAGIC = 0x4E565353;  // "NVSS"
+  static final private int FORMAT = 1;
+  static final private int HEADER_BYTES = 56;
+
+  /** Snapshots are disabled (for testing) */
+  static public boolean disabled = false;
+
+  private String source;        // Name of text file
+  private int version;
+  private long depend;
+  private byte[] text = null;   // Contents of text file
+  private long mtime = 0;
+  private long crc = 0;
+  private boolean external = false;
+  private File snapfile;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the content of a snapshot.
+   */
+  public interface Content {
+    /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+     * Writes the data base.
+     *
+     * @param out Stream to write to
+     */
+    public void write(DataOutputStream out) throws IOException;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  Reads the text file.
+   *
+   * @param file Text file (or null), used if it exists
+   * @param source Name of the copy inside the jar (e.g. "nvdeepsky.txt"),
+   *               used if file does not exist (or null for none)
+   * @param version Version of the data base code (to be incremented when
+   *                the content written changes)
+   * @param depend Key of anything else the content depends on (or 0)
+   * @throws IOException If the text file cannot be read
+   */
+  public DBSnapshot(File file, String source, int version, long depend)
+                    throws IOException {
+    this.version = version;
+    this.depend = depend;
+
+    InputStream in;
+    if ( file != null && file.exists() ) {
+      this.source = file.getName();
+      external = true;
+      mtime = file.lastModified();
+      in = new FileInputStream(file);
+    }
+    else if ( source != null ) {
+      this.source = source;
+      in = Nvj.class.getResourceAsStream("/com/nvastro/nvj/" + source);
+      if ( in == null ) return;
+    }
+    else return;
+
+    String base = this.source.endsWith(".txt") ?
+           this.source.substring(0, this.source.length() - 4) : this.source;
+    snapfile = new File(Nvj.workingDir, base + ".snap");
+
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                               external ? (int)file.length() + 1 : 65536);
+      byte[] buf = new byte[65536];
+      int n;
+      while ( (n = in.read(buf)) > 0 ) bytes.write(buf, 0, n);
+      text = bytes.toByteArray();
+    }
+    finally {
+      in.close();
+    }
+    CRC32 c = new CRC32();
+    c.update(text);
+    crc = c.getValue();
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns true if the text file was found.
+   */
+  public boolean exists() { return text != null; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns true if the text file is in the working directory
+   * (as opposed to inside the jar).
+   */
+  public boolean isExternal() { return external; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a key for the text (for use as a dependency of another
+   * snapshot), or 0 if there is no text.
+   */
+  public long getKey() {
+    if ( text == null ) return 0;
+    return (crc << 32) ^ ((long)text.length << 8) ^ mtime ^ version;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a reader of the text (as FileReader would read the file).
+   */
+  public BufferedReader getReader() {
+    return new BufferedReader(new InputStreamReader(
+                              new ByteArrayInputStream(text)));
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the content of the snapshot if it is current, or null if
+   * there is no current snapshot (in which case the text is to be parsed).
+   */
+  public DataInputStream load() {
+    if ( disabled || text == null || !snapfile.exists() ) return null;
+
+    try {
+      DataInputStream in = new DataInputStream(new FileInputStream(snapfile));
+      try {
+        if ( in.readInt() != MAGIC || in.readInt() != FORMAT ||
+             in.readInt() != version || in.readLong() != text.length ||
+             in.readLong() != mtime || in.readLong() != crc ||
+             in.readLong() != depend ) return null;
+        int n = in.readInt();
+        long ccrc = in.readLong();
+        if ( n < 0 || n != snapfile.length() - HEADER_BYTES ) return null;
+        byte[] content = new byte[n];
+        in.readFully(content);
+        CRC32 c = new CRC32();
+        c.update(content);
+        if ( c.getValue() != ccrc ) return null;
+        return new DataInputStream(new ByteArrayInputStream(content));
+      }
+      finally {
+        in.close();
+      }
+    }
+    catch ( IOException e ) {
+      return null;
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Saves a snapshot (after a successful parse).  Failure is not
+   * reported; the text will be parsed again next time.
+   *
+   * @param content Writes the data base
+   */
+  public void save(Content content) {
+    if ( disabled || text == null ) return;
+
+    File tmp = new File(snapfile.getPath() + ".tmp");
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(65536);
+      DataOutputStream dout = new DataOutputStream(bytes);
+      content.write(dout);
+      dout.flush();
+      byte[] data = bytes.toByteArray();
+      CRC32 c = new CRC32();
+      c.update(data);
+
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                                                  new FileOutputStream(tmp)));
+      try {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT);
+        out.writeInt(version);
+        out.writeLong(text.length);
+        out.writeLong(mtime);
+        out.writeLong(crc);
+        out.writeLong(depend);
+        out.writeInt(data.length);
+        out.writeLong(c.getValue());
+        out.write(data);
+      }
+      finally {
+        out.close();
+      }
+      snapfile.delete();        // (Needed on Windoze for rename to work)
+      if ( !tmp.renameTo(snapfile) ) tmp.delete();
+    }
+    catch ( IOException e ) {
+      tmp.delete();
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the name of the text file (without directory),
+   * or null if there is none.
+   */
+  public String getSource() { return source; }
+}
@@ -27,15 +27,20 @@ import java.awt.geom.Ellipse2D;
 import java.awt.geom.Line2D;
 import java.awt.geom.Rectangle2D;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.InputStreamReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.StringTokenizer;
 import java.util.Vector;
 
 
 /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
- * Helper class for DS object.
+ * Helper class for DS object.  (Used while reading the DB; see DSStore.)
  *
  * @author Brian Simpson
  */
@@ -67,24 +72,137 @@ class DSObject {
   }
 }
 
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Deep sky objects, stored by column (one array per field) and sorted by
+ * magnitude, brightest first (so drawing can stop at the magnitude limit,
+ * as for stars).  Objects of equal magnitude stay in file order, and
+ * fileorder gives the (DB) index of each object of the file, for lists
+ * shown to the user.  Objects without a magnitude (0) sort as magnitude 0.
+ * <p>
+ * A store is not changed once built.  DeepSkyDB replaces the whole store
+ * when the DB is reloaded, so a draw in progress (on another thread) just
+ * finishes with the old one.
+ *
+ * @author Brian Simpson
+ */
+final class DSStore {
+  static final private String COMMA = ", ";
+  //atic final private String DASH = " - ";
+  final int num;
+  final String[] name;
+  final String[] altname;
+  final String[] commonname;
+  final byte[]   type;
+  final byte[]   flag;
+  final double[] ra;
+  final double[] dec;
+  final double[] rx, ry, rz;    // Unit vector (J2000)
+  final short[]  mag100;
+  final String[] size;
+  final int[]    fileorder;     // DB index of n-th object in file
+  final boolean  empty;         // Limits below are undefined if empty
+  final int      minmag100, maxmag100;
+  private SearchIndex searchindex = null;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param objects Objects, in file order
+   * @param empty True if no magnitudes were read
+   * @param minmag100 Minimum magnitude (times 100)
+   * @param maxmag100 Maximum magnitude (times 100)
+   */
+  DSStore(List<DSObject> objects, boolean empty, int minmag100,
+          int maxmag100) {
+    num = objects.size();
+    this.empty = empty;
+    this.minmag100 = minmag100;
+    this.maxmag100 = maxmag100;
+    name       = new String[num];
+    altname    = new String[num];
+    commonname = new String[num];
+    type       = new byte[num];
+    flag       = new byte[num];
+    ra         = new double[num];
+    dec        = new double[num];
+    rx         = new double[num];
+    ry         = new double[num];
+    rz         = new double[num];
+    mag100     = new short[num];
+    size       = new String[num];
+    fileorder  = new int[num];
+
+    /* Sort by magnitude, then file order (packed together so that
+       a plain sort of longs is stable) */
+    long[] order = new long[num];
+    for ( int n = 0; n < num; n++ )
+      order[n] = ((long)objects.get(n).mag100 << 32) | n;
+    Arrays.sort(order);
+
+    for ( int i = 0; i < num; i++ ) {
+      int n = (int)order[i];
+      DSObject ds = objects.get(n);
+      fileorder[n]  = i;
+      name[i]       = ds.name;
+      altname[i]    = ds.altname;
+      commonname[i] = ds.commonname;
+      type[i]       = ds.type;
+      flag[i]       = ds.flag;
+      ra[i]         = ds.ra;
+      dec[i]        = ds.dec;
+      mag100[i]     = ds.mag100;
+      size[i]       = ds.size;
+
+      double cosde = Math.cos(ds.dec);
+      rx[i] = cosde * Math.cos(ds.ra);
+      ry[i] = cosde * Math.sin(ds.ra);
+      rz[i] = Math.sin(ds.dec);
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the name (and alt &amp; common names if available).
+   *
+   * @param i Index
+   */
+  String name2(int i) {
+    String n = name[i];
+    if ( altname[i].length() != 0 ) n += COMMA + altname[i];
+    if ( commonname[i].length() != 0 ) n += COMMA + commonname[i];
+    return n;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the search index (by name2()), in file order, building it
+   * if needed.
+   */
+  synchronized SearchIndex getSearchIndex() {
+    if ( searchindex == null ) {
+      String[] names = new String[num];
+      for ( int n = 0; n < num; n++ ) names[n] = name2(fileorder[n]);
+      searchindex = new SearchIndex(names);
+    }
+    return searchindex;
+  }
+}
+
 /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
  * Deep sky object database and methods.
  *
  * @author Brian Simpson
  */
 public class DeepSkyDB {
-  static Vector<DSObject> dsobjects = new Vector<DSObject>();  // Perhaps I
-         // should just use arrays to store all of the DS data, but maybe, just
-         // maybe, I might want to dynamically change the number of objects...
+  static private volatile DSStore store =     // Replaced on reInit
+                 new DSStore(new Vector<DSObject>(), true, 0, 0);
+  static private volatile int version = 0;    // Incremented with store
   /** Name of deep sky database file (nvdeepsky.txt) */
   static final public  String SOURCE = "nvdeepsky.txt";
   static final private String NOTHING = "";
-  static final private String COMMA = ", ";
-  //atic final private String DASH = " - ";
   static final private int    MAXERR= 10;
+  static final private int    SNAPVERSION = 1; // Of snapshot content
   static private boolean initialized = false;
-  static private boolean empty = true; // DB initially empty
-  static private int minmag100, maxmag100; // Limits of objects in DB
+  static private boolean empty = true; // (Used while reading the DB:
+  static private int minmag100, maxmag100; // limits of objects read)
   static final private int MINMAG100 = -100; // -1st mag abs. minimum
   static final private int MAXMAG100 = 2000; // 20th mag abs. maximum
   static private File ExtFile = null;
@@ -119,7 +237,7 @@ public class DeepSkyDB {
    * Reads deep sky database file and creates DB.  Called by Nvj during
    * program startup.
    */
-  public static void init() {
+  public static synchronized void init() {
     int i, j, k, errors = 0;
     byte type;
     byte[] flag    = new byte[1];
@@ -130,22 +248,23 @@ public class DeepSkyDB {
     String[] field = new String[8];
     BufferedReader in = null;
     String fname = null;
+    final Vector<DSObject> objects = new Vector<DSObject>();
+    HashSet<String> names = new HashSet<String>();
 
     if ( initialized == false ) {
+      empty = true;
       if ( ExtFile == null )
         ExtFile = new File(Nvj.workingDir, SOURCE);
 
-      try {                 // FileReader can throw FileNotFoundException
-        if ( ExtFile.exists() ) {
-          fname = ExtFile.getName();
-          in = new BufferedReader(new FileReader(ExtFile));
-        } else {
-          fname = SOURCE;
-          in = new BufferedReader(new InputStreamReader(
-                   Nvj.class.getResourceAsStream("/com/nvastro/nvj/" + fname)));
-        }
+      fname = ExtFile.exists() ? ExtFile.getName() : SOURCE;
+      try {
+        final DBSnapshot snap = new DBSnapshot(ExtFile, SOURCE, SNAPVERSION, 0);
+        if ( ! snap.exists() ) throw new FileNotFoundException(fname);
+        /* Use the snapshot if current, else parse the file */
+        in = readSnapshot(snap.load(), objects) ? null : snap.getReader();
 
-        while ( (line = in.readLine()) != null ) {  // Can throw IOException
+        while ( in != null &&
+                (line = in.readLine()) != null ) {  // Can throw IOException
           if ( (i = line.indexOf('#')) >= 0 ) line = line.substring(0, i);
           line = line.trim();
           if ( line.length() == 0 ) continue;
@@ -171,7 +290,7 @@ public class DeepSkyDB {
             else if ( errors == MAXERR+1 ) ErrLogger.logError("...");
             continue;
           }
-          if ( ! uniqueName(name) ) {
+          if ( names.contains(name) ) {
             if ( errors++ < MAXERR )
               ErrLogger.logError(ErrLogger.formatError(
                  TextBndl.getString("DSFile.Nm2Err"), fname, "  " + line));
@@ -203,11 +322,19 @@ public class DeepSkyDB {
 
           commonname = field[7].trim();
 
-          dsobjects.addElement(new DSObject(name, altname, commonname, type,
-                                   flag[0], ra[0], dec[0], mag100[0], size));
+          objects.addElement(new DSObject(name, altname, commonname, type,
+                                 flag[0], ra[0], dec[0], mag100[0], size));
+          names.add(name);
         }
 
-        in.close();
+        if ( in != null ) {
+          in.close();
+          if ( errors == 0 ) snap.save(new DBSnapshot.Content() {
+            public void write(DataOutputStream out) throws IOException {
+              writeSnapshot(out, objects);
+            }
+          });
+        }
       }
       catch ( Exception e ) {
         String msg = TextBndl.getString("DSFile.RdErr");
@@ -216,36 +343,90 @@ public class DeepSkyDB {
 
       mag_format = new DecNumFormat("0.0");
 
-      dsobjects.trimToSize();
+      store = new DSStore(objects, empty, minmag100, maxmag100);
+      version++;
       initialized = true;
     }
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a number that changes whenever the DB is (re)initialized, so
+   * that drawings of it (e.g. StarWin's deep sky layer) can tell they are
+   * out of date.
+   */
+  public static int getVersion() { return version; }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Reinitializes the DB with the selected file.  Called by LoadDSDlg.
    */
-  public static void reInit(File file) {
+  public static synchronized void reInit(File file) {
     ExtFile = file;
 
-    synchronized ( dsobjects ) { // Synchronize here and in draw to prevent
-      // two threads from interfering with each other
-      dsobjects.removeAllElements();
-      initialized = false;
-      empty = true;
-      init();
+    // init() replaces the store when done; until then, anything drawing
+    // (on another thread) keeps using the old one
+    initialized = false;
+    init();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the DB to a snapshot (see DBSnapshot).
+   */
+  static private void writeSnapshot(DataOutputStream out,
+                                    List<DSObject> objects) throws IOException {
+    int n = objects.size();
+    out.writeBoolean(empty);
+    out.writeShort(minmag100);
+    out.writeShort(maxmag100);
+    out.writeInt(n);
+    for ( int i = 0; i < n; i++ ) {
+      DSObject ds = objects.get(i);
+      out.writeUTF(ds.name);
+      out.writeUTF(ds.altname);
+      out.writeUTF(ds.commonname);
+      out.writeByte(ds.type);
+      out.writeByte(ds.flag);
+      out.writeDouble(ds.ra);
+      out.writeDouble(ds.dec);
+      out.writeShort(ds.mag100);
+      out.writeUTF(ds.size);
     }
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Returns true if name is unique.
+   * Reads the DB from a snapshot into objects.  Returns false (with
+   * objects left empty) if there is no snapshot or it cannot be read.
    */
-  static private boolean uniqueName(String name) {
-    int i, j;
+  static private boolean readSnapshot(DataInputStream in,
+                                      List<DSObject> objects) {
+    if ( in == null ) return false;
 
-    j = dsobjects.size();
-    for ( i = 0; i < j; i++ )
-      if ( name.equals(((DSObject)dsobjects.elementAt(i)).name) ) return false;
-    return true;
+    try {
+      boolean e = in.readBoolean();
+      int min = in.readShort();
+      int max = in.readShort();
+      int n = in.readInt();
+
+      for ( int i = 0; i < n; i++ ) {
+        String name = in.readUTF();
+        String altname = in.readUTF();
+        String commonname = in.readUTF();
+        byte type = in.readByte();
+        byte flag = in.readByte();
+        double ra = in.readDouble();
+        double dec = in.readDouble();
+        short mag100 = in.readShort();
+        objects.add(new DSObject(name, altname, commonname, type,
+                                 flag, ra, dec, mag100, in.readUTF()));
+      }
+      empty = e;
+      minmag100 = min;
+      maxmag100 = max;
+      return true;
+    }
+    catch ( IOException e ) {
+      objects.clear();
+      return false;
+    }
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -363,21 +544,23 @@ public class DeepSkyDB {
    * Returns the number of deep sky objects.
    */
   public int getNumberOfObjects() {
-    return dsobjects.size();
+    return store.num;
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns (100X) the minimum magnitude of deep sky objects.
    */
   public int getMinMag100() {
-    return empty ? 0 : minmag100;
+    DSStore s = store;
+    return s.empty ? 0 : s.minmag100;
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns (100X) the maximum magnitude of deep sky objects.
    */
   public int getMaxMag100() {
-    return empty ? 0 : maxmag100;
+    DSStore s = store;
+    return s.empty ? 0 : s.maxmag100;
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -387,8 +570,9 @@ public class DeepSkyDB {
    * @return "" if out of range
    */
   public String tellName(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return NOTHING;
-    return ((DSObject)dsobjects.elementAt(i)).name;
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return NOTHING;
+    return s.name[i];
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -399,17 +583,31 @@ public class DeepSkyDB {
    * @return "" if out of range
    */
   public String tellName2(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return NOTHING;
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return NOTHING;
+    return s.name2(i);
+  }
 
-    String name = ((DSObject)dsobjects.elementAt(i)).name;
-    if ( ((DSObject)dsobjects.elementAt(i)).altname.length() != 0 ) {
-      name += COMMA + ((DSObject)dsobjects.elementAt(i)).altname;
-    }
-    if ( ((DSObject)dsobjects.elementAt(i)).commonname.length() != 0 ) {
-      //me += DASH + ((DSObject)dsobjects.elementAt(i)).commonname;
-      name += COMMA + ((DSObject)dsobjects.elementAt(i)).commonname;
-    }
-    return name;
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the search index of the deep sky objects (by tellName2()),
+   * building it if needed.  Its entries are in file order; see
+   * getIndexOfFileEntry().  Used by FindDSDlg.
+   */
+  public SearchIndex getSearchIndex() {
+    return store.getSearchIndex();
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the index of an object given its position in the deep sky
+   * file.  (The DB is in order of magnitude.)
+   *
+   * @param n Position in file (0 = first object)
+   * @return Index into deep sky database, or -1 if out of range
+   */
+  public int getIndexOfFileEntry(int n) {
+    DSStore s = store;
+    if ( n < 0 || n >= s.num ) return -1;
+    return s.fileorder[n];
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -419,9 +617,10 @@ public class DeepSkyDB {
    * @return "" if out of range
    */
   public String tellType(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return NOTHING;
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return NOTHING;
 
-    int j = ((DSObject)dsobjects.elementAt(i)).type;
+    int j = s.type[i];
     return TextBndl.getString("DS." + types[j]);
   }
 
@@ -432,9 +631,10 @@ public class DeepSkyDB {
    * @return 0 if out of range (for unspecified)
    */
   public int getGenType(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return 0;
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return 0;
 
-    return types2[((DSObject)dsobjects.elementAt(i)).type];
+    return types2[s.type[i]];
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -444,8 +644,9 @@ public class DeepSkyDB {
    * @return Right ascension in radians
    */
   public double getRARad(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return 0;
-    return ((DSObject)dsobjects.elementAt(i)).ra;
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return 0;
+    return s.ra[i];
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -455,8 +656,9 @@ public class DeepSkyDB {
    * @return Declination in radians
    */
   public double getDecRad(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return 0;
-    return ((DSObject)dsobjects.elementAt(i)).dec;
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return 0;
+    return s.dec[i];
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -467,8 +669,9 @@ public class DeepSkyDB {
    * @return Coordinates of object (containing RA/Dec in radians)
    */
   public SphereCoords getJ2000Location(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return new SphereCoords(0.0, 0.0);
-    return new SphereCoords(getRARad(i), getDecRad(i));
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return new SphereCoords(0.0, 0.0);
+    return new SphereCoords(s.ra[i], s.dec[i]);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -482,8 +685,9 @@ public class DeepSkyDB {
    */
   public SphereCoords getAppLocation(int i, MapParms mp,
                                      SphereCoords J2000Coords) {
-    if ( i < 0 || i >= dsobjects.size() ) return new SphereCoords(0.0, 0.0);
-    SphereCoords sc = new SphereCoords(getRARad(i), getDecRad(i));
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return new SphereCoords(0.0, 0.0);
+    SphereCoords sc = new SphereCoords(s.ra[i], s.dec[i]);
     if ( J2000Coords != null ) J2000Coords.set(sc);
     mp.precessNutate(sc);
     mp.adjustEquatForAberration(sc);
@@ -497,8 +701,9 @@ public class DeepSkyDB {
    * @return Magnitude multiplied by 100 (so (short) integer can be used)
    */
   public short getMag100(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return 0;
-    return ((DSObject)dsobjects.elementAt(i)).mag100;
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return 0;
+    return s.mag100[i];
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -508,9 +713,10 @@ public class DeepSkyDB {
    * @return Magnitude as a String
    */
   public String tellMag(int i) {
-    if ( i < 0 || i >= dsobjects.size() ) return NOTHING;
-    short m = getMag100(i);
-    if ( m == 0 || ((DSObject)dsobjects.elementAt(i)).flag != 0 )
+    DSStore s = store;
+    if ( i < 0 || i >= s.num ) return NOTHING;
+    short m = s.mag100[i];
+    if ( m == 0 || s.flag[i] != 0 )
       return NOTHING;
     return mag_format.format(m / 100.0);
   }
@@ -524,7 +730,7 @@ public class DeepSkyDB {
    */
   public boolean isViewable(int i, Preferences pref) {
     return pref.drawDeepSky() &&
-           ((DSObject)dsobjects.elementAt(i)).mag100 <= getClipLimit100(pref);
+           store.mag100[i] <= getClipLimit100(pref);
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -555,7 +761,7 @@ public class DeepSkyDB {
     double dtmp;
     double ra = sc.getRA();
     double dec = sc.getDec();
-    DSObject object;
+    DSStore s = store;
 
     int close = -1;                       // No close object found (yet)
     if ( ! mp.prefer.drawDeepSky() ) return close;
@@ -565,13 +771,11 @@ public class DeepSkyDB {
     /* Reject objects farther than 4 pels + 1/16 inch (= .0625) */
     sep[0] = (4 + .0625 * MapParms.pelsPerInch) / mp.pelsPerRadian; // Radians
 
-    int k = dsobjects.size();
-    for ( int i = 0; i < k; i++ ) {
-      object = (DSObject)dsobjects.elementAt(i);
-      if ( object.mag100 > limMag100 ) continue;
-      dtmp = MapParms.separation(object.ra, object.dec, ra, dec);
+    for ( int i = 0; i < s.num; i++ ) {
+      if ( s.mag100[i] > limMag100 ) break;  // (Rest are dimmer)
+      dtmp = MapParms.separation(s.ra[i], s.dec[i], ra, dec);
       if ( sep[0] > dtmp &&
-           mp.rd2xyhit(object.ra, object.dec, x, y) == 1 ) {
+           mp.rd2xyhit(s.rx[i], s.ry[i], s.rz[i], x, y) == 1 ) {
         sep[0] = dtmp;
         close = i;
       }
@@ -580,7 +784,6 @@ public class DeepSkyDB {
     if ( close >= 0 ) {
       str.append(IdentifyDlg.TYPE + tellType(close) + "\n");
 
-      object = (DSObject)dsobjects.elementAt(close);
       str.append(IdentifyDlg.NAME + /* object.name */ tellName2(close) + "\n");
 
       String mag = tellMag(close);
@@ -588,7 +791,7 @@ public class DeepSkyDB {
         str.append(IdentifyDlg.MAG + mag + "\n");
       }
 
-      String size = ((DSObject)dsobjects.elementAt(close)).size;
+      String size = s.size[close];
       if ( ! size.equals("") ) {
         str.append(IdentifyDlg.ANGSZ + size + "\n");
       }
@@ -602,13 +805,12 @@ public class DeepSkyDB {
    * @param mp Mapping parameters
    */
   public void draw(MapParms mp) {
-    synchronized ( dsobjects ) { // This method is likely called by the 2nd
-    // thread; others are called by the GUI thread; use synchronized
-    // on this method and the method for changing/loading dsobjects
-    int k = dsobjects.size();
+    DSStore s = store; // This method is likely called by the 2nd thread;
+    // reInit (on the GUI thread) replaces the store rather than changing it
+    int k = s.num;
     float[] x = new float[1];
     float[] y = new float[1];
-    DSObject object;
+    int proj = 0, inwin = 0;            // (For drawing statistics)
 
     if ( !mp.prefer.drawDeepSky() || !mp.isDrawing() ) return;
     boolean names = mp.prefer.drawDeepSkyNames();
@@ -633,14 +835,16 @@ public class DeepSkyDB {
         mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                               RenderingHints.VALUE_ANTIALIAS_ON);
       for ( int i = 0; i < k && mp.isDrawing(); i++ ) {
-        object = (DSObject)dsobjects.elementAt(i);
-        if ( object.mag100 > limMag100 ) continue;
-        if ( mp.rd2xyhit(object.ra, object.dec, x, y) > 0 ) {
-          mp.g.drawImage(images[object.type],
+        if ( s.mag100[i] > limMag100 ) break;  // (Rest are dimmer)
+        proj++;
+        if ( mp.rd2xyhit(s.rx[i], s.ry[i], s.rz[i], x, y) > 0 ) {
+          inwin++;
+          mp.g.drawImage(images[s.type[i]],
                          (int)(x[0] - offset), (int)(y[0] - offset), null);
 
-          if ( names )
-            mp.g.drawString(object.name, x[0] + xoffset, y[0] + yoffset);
+          if ( names && mp.placeLabel(s.name[i], fm, x[0] + xoffset,
+                                      y[0] + yoffset) )
+            mp.g.drawString(s.name[i], x[0] + xoffset, y[0] + yoffset);
         }
       }
       if ( mp.prefer.antialiasing )
@@ -653,10 +857,11 @@ public class DeepSkyDB {
       Line2D.Float line = new Line2D.Float();
 
       for ( int i = 0; i < k && mp.isDrawing(); i++ ) {
-        object = (DSObject)dsobjects.elementAt(i);
-        if ( object.mag100 > limMag100 ) continue;
-        if ( mp.rd2xyhit(object.ra, object.dec, x, y) > 0 ) {
-          switch ( object.type ) {
+        if ( s.mag100[i] > limMag100 ) break;  // (Rest are dimmer)
+        proj++;
+        if ( mp.rd2xyhit(s.rx[i], s.ry[i], s.rz[i], x, y) > 0 ) {
+          inwin++;
+          switch ( s.type[i] ) {
 
            /* This section must match "types" (static variable above) */
 
@@ -742,25 +947,27 @@ public class DeepSkyDB {
             break;
           }
 
-          if ( names ) {
-            mp.g.drawString(object.name, (int)(x[0] + xoffset),
-                                         (int)(y[0] + yoffset));
+          if ( names && mp.placeLabel(s.name[i], fm,
+                                      (int)(x[0] + xoffset),
+                                      (int)(y[0] + yoffset)) ) {
+            mp.g.drawString(s.name[i], (int)(x[0] + xoffset),
+                                       (int)(y[0] + yoffset));
           }
         }
       }
     }
-    } // End synchronized
+    mp.count(proj, inwin);
   }
 
   /* For testing */
   //static public void main(String[] args) {
   //  DeepSkyDB db = new DeepSkyDB();
-  //  for ( int i = 0; i < dsobjects.size(); i++ ) {
+  //  for ( int i = 0; i < db.getNumberOfObjects(); i++ ) {
   //    System.out.println(db.tellName(i) + " " +
   //                       db.tellType(i) + " " + db.tellMag(i) + " " +
   //                       db.getRARad(i)*12/Math.PI + " " +
   //                       db.getDecRad(i)*180/Math.PI + " " +
-  //                       ((DSObject)dsobjects.elementAt(i)).commonname);
+  //                       store.commonname[i]);
   //  }
   //}
 }
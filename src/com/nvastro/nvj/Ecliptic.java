@@ -57,6 +57,7 @@ public class Ecliptic {
     float[] y = new float[2];
     boolean newpt, oldpt = false;
     Line2D.Float line = new Line2D.Float();
+    int proj = 0;                       // Points projected (statistics)
 
     if ( !mp.prefer.drawEcliptic() || !mp.isDrawing() ) return;
 
@@ -70,6 +71,7 @@ public class Ecliptic {
     for ( int i = 0; i <= 360 && mp.isDrawing(); i++ ) {
       convEclipToEquat(i * Math.PI / 180, ras, dec); // J2000 ecliptic
       newpt = mp.rd2xydist(ras[0], dec[0], x, y) < 1.6f; // 91.7 degrees
+      proj++;
       if ( (newpt || oldpt) && (i > 0) ) {
         line.setLine(x[1], y[1], x[0], y[0]);
         mp.g.draw(line);
@@ -81,6 +83,7 @@ public class Ecliptic {
 
     /* Cancel restrictive clipping */
     if ( mp.clip2 != null ) mp.g.setClip(mp.clip1); // Reset if changed
+    mp.count(proj, 0);
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -22,6 +22,7 @@ package com.nvastro.nvj;
 
 import java.awt.BorderLayout;
 import java.awt.Frame;
+import java.awt.GraphicsEnvironment;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.text.MessageFormat;
@@ -51,7 +52,7 @@ public class ErrLogger extends EscapeDlg {
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Logs error.  Assumes no \n at end of line.
    */
-  public static void logError(String err) {
+  public static synchronized void logError(String err) {
     errors.addElement(err);
     num++;
     if ( el != null && ta != null ) {
@@ -65,10 +66,17 @@ public class ErrLogger extends EscapeDlg {
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns number of errors.
    */
-  public static int getNumberOfErrors() {
+  public static synchronized int getNumberOfErrors() {
     return num;
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the errors logged so far (for reporting without a window).
+   */
+  public static synchronized String[] getErrors() {
+    return errors.toArray(new String[0]);
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Sets up control of menu items for main window, and sets initial values.
    */
@@ -179,7 +187,8 @@ public class ErrLogger extends EscapeDlg {
    */
   public static void die(String msg) {
     System.err.println(msg + "\n" + TextBndl.getString("Pgm.Term"));
-    OptionDlg.showMessageDialog(Nvj.parentFrame,
+    if ( !GraphicsEnvironment.isHeadless() )
+      OptionDlg.showMessageDialog(Nvj.parentFrame,
                          msg + "\n" + TextBndl.getString("Pgm.Term"),
                          Nvj.PgmName, JOptionPane.ERROR_MESSAGE);
     System.exit(1);
@@ -0,0 +1,584 @@
+/*
+ * EventSearch.java  -  Finds conjunctions, Moon phases, occultations, ...
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Finds astronomical events over a range of time:  conjunctions,
+ * oppositions, greatest elongations, phases of the Moon, occultations by
+ * the Moon, and crossings of an altitude.
+ * <p>
+ * Each kind of event is where a function of time (e.g. the difference in
+ * ecliptic longitude of two bodies) crosses zero, or (for elongations)
+ * has a maximum.  The range is split into spans, which are scanned on the
+ * background worker threads, each with its own MapParms and data bases.
+ * Zeros are scanned for with a step adapted to the value:  given a bound
+ * on how fast the function can change, the step is as long as the
+ * function cannot reach zero within it (so e.g. the Moon far from a star
+ * is passed over in a few steps), but no shorter than a minimum.  A change
+ * of sign is then refined by bisection, to the second.  Maxima are
+ * scanned for a day at a time, and refined by golden section search, to
+ * the minute.
+ * <p>
+ * Where a search has several functions (e.g. the objects the Moon may
+ * occult), they are scanned together, each with its own step, so that
+ * positions needed by several (e.g. the Moon's) are computed once per
+ * time, and each task moves forward in time (which suits the position
+ * caches).
+ * <p>
+ * Positions are those of the user preferences' location (so the Moon is
+ * topocentric, unless geocentric positions are preferred), except for
+ * conjunctions, oppositions, elongations and phases, which are geocentric,
+ * in apparent ecliptic longitude of date.  Altitudes are without
+ * refraction.
+ * <p>
+ * Bodies are given by their index into the near sky database (0 = Mercury,
+ * ..., 7 = Pluto, 8 = Sun, 9 = Moon).  A search may be cancelled from
+ * another thread.
+ *
+ * @author Brian Simpson
+ */
+public class EventSearch {
+  /** Conjunction in ecliptic longitude of two bodies */
+  static final public int CONJUNCTION = 0;
+  /** Opposition of a planet to the Sun */
+  static final public int OPPOSITION  = 1;
+  /** Greatest elongation of Mercury or Venus (detail:  0 = east, 1 = west) */
+  static final public int ELONGATION  = 2;
+  /** Phase of the Moon (detail:  0 = new, 1 = first quarter, 2 = full,
+      3 = last quarter) */
+  static final public int PHASE       = 3;
+  /** Occultation by the Moon (detail:  0 = disappearance, 1 = reappearance) */
+  static final public int OCCULTATION = 4;
+  /** Crossing of an altitude (detail:  0 = rising, 1 = setting) */
+  static final public int ALTITUDE    = 5;
+
+  static final private double D2R = Math.PI / 180;
+  static final private long MINUTE = 60000;
+  static final private long HOUR = 3600000;
+  static final private long DAY = 86400000;
+  static final private long TOL = 1000;         // Precision of zeros (ms)
+  static final private long XTOL = MINUTE;      // Precision of maxima (ms)
+  static final private long MINSPAN = 30 * DAY; // Shortest span per task
+  static final private int SUN = 8, MOON = 9;
+  /* Bounds on the motion in geocentric ecliptic longitude (degrees/day) */
+  static final private double[] RATE = { 2.5, 1.5, 1.0, 0.3, 0.15, 0.1,
+                                         0.05, 0.05, 1.05, 16.5 };
+  /* Bounds on the motion of the Moon against the stars as seen from the
+     surface (with parallax), and on the change of altitude (degrees/day) */
+  static final private double TOPORATE = 24;
+  static final private double ALTRATE = 16 * 24;
+  static final private double MOONRADIUS = 1737.4;      // km
+  static final private double OCCLAT = 7.5;     // Ecliptic latitude (deg)
+                                                //   within which the Moon
+                                                //   may occult objects
+  static final private double EP2000 = 23.4392911 * D2R;        // Obliquity
+  static final private double GOLD = (3 - Math.sqrt(5)) / 2;
+
+  private Preferences prefer;
+  private volatile boolean cancelled = false;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * An event found.
+   */
+  public static class Event {
+    /** Time in milliseconds since 1970 (UT) */
+    final public long time;
+    /** CONJUNCTION, ... */
+    final public int kind;
+    /** Which of a kind (see the kinds) */
+    final public int detail;
+    /** Object to show (the body, or the object occulted) */
+    final public SkyObject obj;
+    /** Name of the body (or object occulted) */
+    final public String name;
+    /** Name of the other body of a conjunction (else null) */
+    final public String name2;
+    /** Degrees:  separation (conjunction), elongation (opposition,
+        elongation), altitude of the Moon (occultation), or azimuth
+        (altitude); 0 for phases */
+    final public double value;
+
+    Event(long time, int kind, int detail, SkyObject obj, String name,
+          String name2, double value) {
+      this.time = time;
+      this.kind = kind;
+      this.detail = detail;
+      this.obj = obj;
+      this.name = name;
+      this.name2 = name2;
+      this.value = value;
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param prefer User preferences (copied; for the location)
+   */
+  public EventSearch(Preferences prefer) {
+    this.prefer = (Preferences)prefer.clone();
+    this.prefer.lst.stop();
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Cancels the search in progress (which returns what it has found).
+   */
+  public void cancel() { cancelled = true; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the conjunctions of two bodies.
+   *
+   * @param a Body
+   * @param b Other body
+   * @param from Start of range (ms since 1970)
+   * @param to End of range (ms since 1970)
+   * @return Events, in order of time
+   */
+  public List<Event> findConjunctions(final int a, final int b,
+                                      long from, long to) {
+    List<Scan> scans = new ArrayList<Scan>();
+    scans.add(new Scan(1, RATE[a] + RATE[b], HOUR, 30 * DAY) {
+      double value(Context c, long t, int i) {
+        return wrap(c.longitude(a, t) - c.longitude(b, t));
+      }
+      Event found(Context c, long t, int i, boolean rising) {
+        SphereCoords sa = c.geo(a, t), sb = c.geo(b, t);
+        return new Event(t, CONJUNCTION, 0, new SkyObject(SkyObject.NS, a),
+                         c.nsdb.tellName(a), c.nsdb.tellName(b),
+                         sa.getDistanceFrom(sb) / D2R);
+      }
+    });
+    return search(scans, from, to);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the oppositions of a planet (Mars, ..., Pluto) to the Sun.
+   *
+   * @param p Planet
+   * @param from Start of range (ms since 1970)
+   * @param to End of range (ms since 1970)
+   * @return Events, in order of time
+   */
+  public List<Event> findOppositions(final int p, long from, long to) {
+    List<Scan> scans = new ArrayList<Scan>();
+    scans.add(new Scan(1, RATE[p] + RATE[SUN], HOUR, 30 * DAY) {
+      double value(Context c, long t, int i) {
+        return wrap(c.longitude(p, t) - c.longitude(SUN, t) - Math.PI);
+      }
+      Event found(Context c, long t, int i, boolean rising) {
+        return new Event(t, OPPOSITION, 0, new SkyObject(SkyObject.NS, p),
+                         c.nsdb.tellName(p), null,
+                         c.geo(p, t).getDistanceFrom(c.geo(SUN, t)) / D2R);
+      }
+    });
+    return search(scans, from, to);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the greatest elongations of Mercury or Venus from the Sun.
+   *
+   * @param p Planet (0 or 1)
+   * @param from Start of range (ms since 1970)
+   * @param to End of range (ms since 1970)
+   * @return Events, in order of time
+   */
+  public List<Event> findElongations(final int p, long from, long to) {
+    List<Scan> scans = new ArrayList<Scan>();
+    scans.add(new Scan(1, 0, DAY, DAY) {        // (Maxima)
+      double value(Context c, long t, int i) {
+        return c.geo(p, t).getDistanceFrom(c.geo(SUN, t));
+      }
+      Event found(Context c, long t, int i, boolean rising) {
+        boolean east = wrap(c.longitude(p, t) - c.longitude(SUN, t)) > 0;
+        return new Event(t, ELONGATION, east ? 0 : 1,
+                         new SkyObject(SkyObject.NS, p), c.nsdb.tellName(p),
+                         null, value(c, t, 0) / D2R);
+      }
+    });
+    return search(scans, from, to);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the phases of the Moon (new, first quarter, full, last quarter).
+   *
+   * @param from Start of range (ms since 1970)
+   * @param to End of range (ms since 1970)
+   * @return Events, in order of time
+   */
+  public List<Event> findPhases(long from, long to) {
+    List<Scan> scans = new ArrayList<Scan>();
+    scans.add(new Scan(4, RATE[MOON] + RATE[SUN], HOUR, 30 * DAY) {
+      double value(Context c, long t, int i) {
+        return wrap(c.longitude(MOON, t) - c.longitude(SUN, t) -
+                    i * Math.PI / 2);
+      }
+      Event found(Context c, long t, int i, boolean rising) {
+        return new Event(t, PHASE, i, new SkyObject(SkyObject.NS, MOON),
+                         c.nsdb.tellName(MOON), null, 0);
+      }
+    });
+    return search(scans, from, to);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the occultations by the Moon of the planets and of the stars
+   * up to a magnitude, with the Moon above the horizon.
+   *
+   * @param mag100 Faintest magnitude of stars, times 100
+   * @param from Start of range (ms since 1970)
+   * @param to End of range (ms since 1970)
+   * @return Events (disappearances and reappearances), in order of time
+   */
+  public List<Event> findOccultations(int mag100, long from, long to) {
+    List<Integer> types = new ArrayList<Integer>();
+    List<Integer> nums = new ArrayList<Integer>();
+    List<String> names = new ArrayList<String>();
+    NearSkyDB nsdb = new NearSkyDB();
+    for ( int p = 0; p < 8; p++ ) {
+      types.add(SkyObject.NS);
+      nums.add(p);
+      names.add(nsdb.tellName(p));
+    }
+
+    /* Stars (which are in order of magnitude) near the ecliptic */
+    StarDB stardb = new StarDB();
+    StarNameDB sndb = new StarNameDB();
+    int[] cns = new int[1], grk = new int[1], flm = new int[1];
+    double sinep = Math.sin(EP2000), cosep = Math.cos(EP2000);
+    int num = stardb.getNumberOfStars();
+    for ( int i = 0; i < num && stardb.getMag100(i) <= mag100; i++ ) {
+      double ra = stardb.getRARad(i), dec = stardb.getDecRad(i);
+      double beta = Math.asin(Math.sin(dec) * cosep -
+                              Math.cos(dec) * sinep * Math.sin(ra));
+      if ( Math.abs(beta) > OCCLAT * D2R ) continue;
+
+      String name = sndb.tellNameForStarIndex(i);
+      if ( name == null ) {
+        String dsgn = stardb.getDesignations(i, cns, grk, flm);
+        if ( cns[0] == 0 ) name = "(" + stardb.tellMagnitude(i) + ")";
+        else name = ((dsgn != null) ? dsgn : Integer.toString(flm[0])) +
+                    " " + Constellation.tellAbbr(cns[0] - 1);
+      }
+      types.add(SkyObject.STAR);
+      nums.add(i);
+      names.add(name);
+    }
+
+    List<Scan> scans = new ArrayList<Scan>();
+    scans.add(new Occultation(types, nums, names));
+    return search(scans, from, to);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the times a body rises above or sets below an altitude.
+   *
+   * @param b Body
+   * @param alt Altitude in degrees
+   * @param from Start of range (ms since 1970)
+   * @param to End of range (ms since 1970)
+   * @return Events, in order of time
+   */
+  public List<Event> findAltitudes(final int b, final double alt,
+                                   long from, long to) {
+    List<Scan> scans = new ArrayList<Scan>();
+    scans.add(new Scan(1, ALTRATE, 10 * MINUTE, DAY) {
+      double value(Context c, long t, int i) {
+        return c.altaz(c.app(b, t)).getAlt() - alt * D2R;
+      }
+      Event found(Context c, long t, int i, boolean rising) {
+        return new Event(t, ALTITUDE, rising ? 0 : 1,
+                         new SkyObject(SkyObject.NS, b), c.nsdb.tellName(b),
+                         null, c.altaz(c.app(b, t)).getAz() / D2R);
+      }
+    });
+    return search(scans, from, to);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Occultations of objects (planets and stars) by the Moon:  for each
+   * object, the separation less the Moon's semidiameter crosses zero.
+   */
+  private static class Occultation extends Scan {
+    int[] type, num;
+    String[] name;
+
+    Occultation(List<Integer> types, List<Integer> nums, List<String> names) {
+      super(types.size(), TOPORATE, 10 * MINUTE, 30 * DAY);
+      type = new int[n];
+      num = new int[n];
+      name = names.toArray(new String[n]);
+      for ( int i = 0; i < n; i++ ) {
+        type[i] = types.get(i);
+        num[i] = nums.get(i);
+      }
+    }
+
+    double value(Context c, long t, int i) {
+      SphereCoords moon = c.app(MOON, t);
+      double sd = Math.asin(MOONRADIUS / (c.dist[0] * NearSkyDB.AU2KM));
+      SphereCoords sc = (type[i] == SkyObject.NS) ? c.app(num[i], t) :
+                        c.stardb.getAppLocation(num[i], c.mp, null);
+      return moon.getDistanceFrom(sc) - sd;
+    }
+
+    Event found(Context c, long t, int i, boolean rising) {
+      double alt = c.altaz(c.app(MOON, t)).getAlt();
+      if ( alt < 0 ) return null;
+      return new Event(t, OCCULTATION, rising ? 1 : 0,
+                       new SkyObject(type[i], num[i]), name[i], null,
+                       alt / D2R);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Functions of time whose zeros (or, if rate is 0, maxima) are events.
+   */
+  private abstract static class Scan {
+    int n;              // Number of functions
+    double rate;        // Bound on rate of change (radians/ms), or 0
+    long minstep, maxstep;
+
+    Scan(int n, double degPerDay, long minstep, long maxstep) {
+      this.n = n;
+      rate = degPerDay * D2R / DAY;
+      this.minstep = minstep;
+      this.maxstep = maxstep;
+    }
+
+    /* Value of function i at time t (radians) */
+    abstract double value(Context c, long t, int i);
+
+    /* Event of function i at time t (or null to skip it); rising if the
+       value goes from negative to positive */
+    abstract Event found(Context c, long t, int i, boolean rising);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Positions at a time, for one task.
+   */
+  private static class Context {
+    Preferences p;
+    MapParms mp;
+    NearSkyDB nsdb = new NearSkyDB();
+    StarDB stardb = new StarDB();
+    GregorianCalendar gc;
+    Dimension size = new Dimension(1, 1);
+    long t = Long.MIN_VALUE;
+    double[] dist = new double[1];
+    SphereCoords aa = new SphereCoords(0.0, 0.0);
+    SphereCoords[] geos = new SphereCoords[10];  // Positions at t (or null)
+    SphereCoords[] apps = new SphereCoords[10];
+    double[] geodist = new double[10], appdist = new double[10];
+
+    Context(Preferences p) {
+      this.p = p;
+      mp = new MapParms(p);
+      gc = p.lst.getLocDateTime();
+    }
+
+    /* Sets the time */
+    void at(long t) {
+      if ( t == this.t ) return;
+      this.t = t;
+      for ( int i = 0; i < 10; i++ ) geos[i] = apps[i] = null;
+      gc.setTimeInMillis(t);
+      p.lst.setLocDateTime();
+      mp.update(size, 1, true);         // (Precession interpolated)
+    }
+
+    /* Apparent geocentric position of a body (sets dist) */
+    SphereCoords geo(int i, long t) {
+      at(t);
+      if ( geos[i] == null ) {
+        geos[i] = nsdb.getGeoAppLocation(i, mp, dist);
+        geodist[i] = dist[0];
+      }
+      dist[0] = geodist[i];
+      return geos[i];
+    }
+
+    /* Apparent position of a body from the location (sets dist) */
+    SphereCoords app(int i, long t) {
+      at(t);
+      if ( apps[i] == null ) {
+        apps[i] = nsdb.getAppLocationDist(i, mp, dist);
+        appdist[i] = dist[0];
+      }
+      dist[0] = appdist[i];
+      return apps[i];
+    }
+
+    /* Apparent geocentric ecliptic longitude of a body (radians) */
+    double longitude(int i, long t) {
+      SphereCoords sc = geo(i, t);
+      double ep = mp.time.ep;
+      double ra = sc.getRA(), dec = sc.getDec();
+      return Math.atan2(Math.sin(ra) * Math.cos(ep) +
+                        Math.tan(dec) * Math.sin(ep), Math.cos(ra));
+    }
+
+    /* Azimuth and altitude of an apparent position */
+    SphereCoords altaz(SphereCoords sc) {
+      mp.rd2aa(sc, aa);
+      return aa;
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Splits the range into spans (whole days), scans each on the
+   * background worker threads (so drawing, which uses the other worker
+   * threads, does not wait behind a long search), and returns the events
+   * in order.
+   */
+  private List<Event> search(final List<Scan> scans, long from, long to) {
+    long span = (to - from) / (4 * WorkerPool.getThreads());
+    span = Math.max(MINSPAN, (span + DAY - 1) / DAY * DAY);
+
+    List<Runnable> tasks = new ArrayList<Runnable>();
+    final List<List<Event>> found = new ArrayList<List<Event>>();
+    for ( long a = from; a < to; a += span ) {
+      final long ta = a, tb = Math.min(to, a + span);
+      final Preferences p = (Preferences)prefer.clone();  // (Not thread-safe)
+      final List<Event> ev = new ArrayList<Event>();
+      found.add(ev);
+      tasks.add(new Runnable() {
+        public void run() {
+          Context c = new Context(p);
+          for ( Scan s : scans ) {
+            if ( cancelled ) return;
+            if ( s.rate > 0 ) zeros(c, s, ta, tb, ev);
+            else              maxima(c, s, ta, tb, ev);
+          }
+        }
+      });
+    }
+    WorkerPool.runAllInBackground(tasks);
+
+    List<Event> events = new ArrayList<Event>();
+    for ( List<Event> ev : found ) events.addAll(ev);
+    Collections.sort(events, new Comparator<Event>() {
+      public int compare(Event e1, Event e2) {
+        return (e1.time < e2.time) ? -1 : ((e1.time > e2.time) ? 1 : 0);
+      }
+    });
+    return events;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the zeros of the functions of s in (ta, tb].  (A change of sign
+   * by more than Pi is an angle wrapping around, not a zero.)
+   */
+  private void zeros(Context c, Scan s, long ta, long tb, List<Event> ev) {
+    int n = s.n;
+    long[] ti = new long[n], next = new long[n];
+    double[] v = new double[n];
+    for ( int i = 0; i < n; i++ ) {
+      ti[i] = ta;
+      v[i] = s.value(c, ta, i);
+      next[i] = step(s, ta, v[i], tb);
+    }
+
+    while ( !cancelled ) {
+      long t1 = Long.MAX_VALUE;           // Earliest time due
+      for ( int i = 0; i < n; i++ ) t1 = Math.min(t1, next[i]);
+      if ( t1 == Long.MAX_VALUE ) break;
+
+      for ( int i = 0; i < n; i++ ) {
+        if ( next[i] != t1 ) continue;
+        double v1 = s.value(c, t1, i);
+        if ( (v[i] >= 0) != (v1 >= 0) && Math.abs(v1 - v[i]) < Math.PI ) {
+          boolean rising = v1 >= 0;
+          long lo = ti[i], hi = t1;       // Bisection
+          while ( hi - lo > TOL ) {
+            long mid = (lo + hi) / 2;
+            if ( (s.value(c, mid, i) >= 0) == rising ) hi = mid;
+            else lo = mid;
+          }
+          Event e = s.found(c, hi, i, rising);
+          if ( e != null ) ev.add(e);
+        }
+        ti[i] = t1;
+        v[i] = v1;
+        next[i] = (t1 < tb) ? step(s, t1, v1, tb) : Long.MAX_VALUE;
+      }
+    }
+  }
+
+  /* Time of the next value of a function of s, from value v at time t.
+     (Steps are multiples of s.minstep, so that functions often fall due
+     together, and share positions.) */
+  private static long step(Scan s, long t, double v, long tb) {
+    long step = (long)Math.min(s.maxstep, Math.abs(v) / s.rate);
+    step = Math.max(s.minstep, step) / s.minstep * s.minstep;
+    return Math.min(tb, t + step);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the maxima of (the first function of) s, sampled every
+   * s.minstep from ta (the samples of all spans being on the same grid),
+   * that are in [ta, tb).
+   */
+  private void maxima(Context c, Scan s, long ta, long tb, List<Event> ev) {
+    long step = s.minstep;
+    double v0 = s.value(c, ta - step, 0), v1 = s.value(c, ta, 0);
+    for ( long t = ta; t < tb && !cancelled; t += step ) {
+      double v2 = s.value(c, t + step, 0);
+      if ( v1 > v0 && v1 >= v2 ) {
+        /* Golden section search in (t - step, t + step) */
+        long lo = t - step, hi = t + step;
+        long x1 = hi - (long)((hi - lo) * (1 - GOLD));
+        long x2 = lo + (long)((hi - lo) * (1 - GOLD));
+        double f1 = s.value(c, x1, 0), f2 = s.value(c, x2, 0);
+        while ( hi - lo > XTOL ) {
+          if ( f1 < f2 ) {
+            lo = x1;
+            x1 = x2;  f1 = f2;
+            x2 = lo + (long)((hi - lo) * (1 - GOLD));
+            f2 = s.value(c, x2, 0);
+          }
+          else {
+            hi = x2;
+            x2 = x1;  f2 = f1;
+            x1 = hi - (long)((hi - lo) * (1 - GOLD));
+            f1 = s.value(c, x1, 0);
+          }
+        }
+        Event e = s.found(c, (lo + hi) / 2, 0, false);
+        if ( e != null ) ev.add(e);
+      }
+      v0 = v1;
+      v1 = v2;
+    }
+  }
+
+  /* Angle wrapped to -Pi to Pi */
+  private static double wrap(double a) {
+    return a - 2 * Math.PI * Math.floor((a + Math.PI) / (2 * Math.PI));
+  }
+}
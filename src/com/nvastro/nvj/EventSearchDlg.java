@@ -0,0 +1,484 @@
+/*
+ * EventSearchDlg.java  -  "Find events" dialog
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.AWTEventMulticaster;
+import java.awt.BorderLayout;
+import java.awt.Frame;
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.Toolkit;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.text.MessageFormat;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import javax.swing.Box;
+import javax.swing.DefaultListModel;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.ListSelectionModel;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * "Find events" dialog.  Searches a range of years for events (see
+ * EventSearch), and sets the date/time to (and shows) one selected.
+ *
+ * @author Brian Simpson
+ */
+@SuppressWarnings("serial")
+public class EventSearchDlg extends EscapeDlg {
+  private EComboBox kind, body1, body2, alt, mag, from, to;
+  private JLabel status;
+  private JButton Search, Goto;
+  private JList<String> list;
+  private DefaultListModel<String> model = new DefaultListModel<String>();
+  private ActionListener listeners = null;
+  private Preferences prefer;
+  private EventSearch search = null;        // Search in progress (or null)
+  private List<EventSearch.Event> events = null;
+  private int[] bodies;                     // Bodies in body1
+  private String altitude;                  // Altitude searched for
+  private DecNumFormat format = new DecNumFormat("0.0");
+  static private EventSearchDlg dlg = null;
+
+  static final private int YR0 = 1000;      // Range of years
+  static final private int YRL = 3000;      //   (as DateTimeDlg)
+  static final private int MAXSHOWN = 5000; // Most events listed
+  /* The following must be kept in sync with string values ! */
+  static final private int ALTVALUES[] = { -18, -12, -6, 0, 10, 20, 30, 45,
+                                           60, 90 };
+  static final private int MAGVALUES[] = { 100, 200, 300, 400 };
+  /* Bodies (near sky database indexes) that may be chosen */
+  static final private int ALL[] = { 8, 9, 0, 1, 2, 3, 4, 5, 6, 7 };
+  static final private int OUTER[] = { 2, 3, 4, 5, 6, 7 };
+  static final private int INNER[] = { 0, 1 };
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Shows the dialog.
+   *
+   * @param owner Main window
+   * @param prefer User preferences
+   */
+  public static void showDlg(Frame owner, Preferences prefer) {
+    if ( dlg == null ) dlg = new EventSearchDlg(owner, prefer);
+
+    dlg.setVisible(true);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Private constructor.
+   * @param owner Main window
+   * @param prefer User preferences
+   */
+  private EventSearchDlg(Frame owner, Preferences prefer) {
+    /* Set window name */
+    super(owner, TextBndl.getString("EventSearchDlg.Title"), false);
+    this.prefer = prefer;
+    int i;
+
+    /* Add an action listener ... */
+    ActionListener listener = new ActionListener() {
+      public void actionPerformed(ActionEvent e) {
+        String cmd = e.getActionCommand();
+        if      ( cmd.equals("Kind") )   setKind();
+        else if ( cmd.equals("Search") ) startSearch();
+        else if ( cmd.equals("Stop") )   stopSearch();
+        else if ( cmd.equals("Goto") )   gotoEvent();
+        else                             EventSearchDlg.this.close();
+      }
+    };
+    listeners = AWTEventMulticaster.add(null, (ActionListener)owner);
+
+    /* Look for double clicks */
+    list = new JList<String>(model);
+    list.addMouseListener(new MouseAdapter() {
+      public void mouseClicked(MouseEvent e) {
+        if ( e.getClickCount() == 2 ) gotoEvent();
+      }
+    });
+
+    /* Create controls for this window */
+    kind = new EComboBox();
+      /* Keep the following in sync with EventSearch.CONJUNCTION, ... */
+      kind.addItem(TextBndl.getString("EventSearchDlg.Conj"));
+      kind.addItem(TextBndl.getString("EventSearchDlg.Opp"));
+      kind.addItem(TextBndl.getString("EventSearchDlg.Elong"));
+      kind.addItem(TextBndl.getString("EventSearchDlg.Phase"));
+      kind.addItem(TextBndl.getString("EventSearchDlg.Occ"));
+      kind.addItem(TextBndl.getString("EventSearchDlg.Alt"));
+    kind.setActionCommand("Kind");
+    kind.addActionListener(listener);
+    NearSkyDB nsdb = new NearSkyDB();
+    body1 = new EComboBox();
+    body2 = new EComboBox();
+    for ( i = 0; i < ALL.length; i++ ) body2.addItem(nsdb.tellName(ALL[i]));
+    body2.setSelectedIndex(3);      // Venus
+    alt = new EComboBox();
+    for ( i = 0; i < ALTVALUES.length; i++ )
+      alt.addItem(Integer.toString(ALTVALUES[i]));
+    alt.setSelectedIndex(3);
+    mag = new EComboBox();
+    for ( i = 0; i < MAGVALUES.length; i++ )
+      mag.addItem(Integer.toString(MAGVALUES[i] / 100));
+    from = new EComboBox();
+    to = new EComboBox();
+    for ( i = YR0; i <= YRL; i++ ) {
+      from.addItem(Integer.toString(i));
+      to.addItem(Integer.toString(i));
+    }
+    int year = prefer.getLocDateTime().get(Calendar.YEAR);
+    year = Math.max(YR0, Math.min(year, YRL));
+    from.setSelectedIndex(year - YR0);
+    to.setSelectedIndex(year - YR0);
+    setKind();
+
+    JLabel L1 = new JLabel(TextBndl.getString("EventSearchDlg.Find"));
+    JLabel L2 = new JLabel(TextBndl.getString("EventSearchDlg.Body"));
+    JLabel L3 = new JLabel(TextBndl.getString("EventSearchDlg.And"));
+    JLabel L4 = new JLabel(TextBndl.getString("EventSearchDlg.AltDeg"));
+    JLabel L5 = new JLabel(TextBndl.getString("EventSearchDlg.Mag"));
+    JLabel L6 = new JLabel(TextBndl.getString("EventSearchDlg.From"));
+    JLabel L7 = new JLabel(TextBndl.getString("EventSearchDlg.To"));
+
+    /* Create a constraints object to control placement
+       and set some defaults */
+    GridBagConstraints c = new GridBagConstraints();
+    c.anchor = GridBagConstraints.WEST; // dft is CENTER
+    c.gridwidth = c.gridheight = 1;
+    c.weightx = 0.0; c.weighty = 0.0;
+    c.insets = new Insets(3, 0, 3, 6);  // top, left, bottom, right
+
+    /* Create a JPanel to hold the labels and comboboxes */
+    JPanel criteria = new JPanel();
+    criteria.setLayout(new GridBagLayout());
+    //-----
+    c.gridx = 0; c.gridy = 0;
+    criteria.add(L1, c);
+    c.gridx = 1; c.gridwidth = 3;
+    criteria.add(kind, c);
+    c.gridwidth = 1;
+    //-----
+    c.gridx = 0; c.gridy = 1;
+    criteria.add(L2, c);
+    c.gridx = 1;
+    criteria.add(body1, c);
+    c.gridx = 2;
+    criteria.add(L3, c);
+    c.gridx = 3;
+    criteria.add(body2, c);
+    //-----
+    c.gridx = 0; c.gridy = 2;
+    criteria.add(L4, c);
+    c.gridx = 1;
+    criteria.add(alt, c);
+    //-----
+    c.gridx = 0; c.gridy = 3;
+    criteria.add(L5, c);
+    c.gridx = 1;
+    criteria.add(mag, c);
+    //-----
+    c.gridx = 0; c.gridy = 4;
+    criteria.add(L6, c);
+    c.gridx = 1;
+    criteria.add(from, c);
+    c.gridx = 2;
+    criteria.add(L7, c);
+    c.gridx = 3;
+    criteria.add(to, c);
+
+    /* Create the Search button and status line */
+    Search = new JButton(TextBndl.getString("EventSearchDlg.Search"));
+    Search.setActionCommand("Search");
+    Search.addActionListener(listener);
+    status = new JLabel(" ");
+    Box s = Box.createHorizontalBox();
+    s.add(Search);
+    s.add(Box.createHorizontalStrut(12));
+    s.add(status);
+    s.add(Box.createHorizontalGlue());
+
+    /* Create the list of events */
+    list.setVisibleRowCount(10);
+    list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    list.setPrototypeCellValue("0000/00/00 00:00:00 PM   " +
+                               "Jupiter and Saturn in conjunction, 0.0d");
+    NFScrollPane slist = new NFScrollPane(list);
+
+    Box a = Box.createVerticalBox();
+    criteria.setAlignmentX(0.0f);
+    a.add(criteria);
+    a.add(Box.createVerticalStrut(8));
+    s.setAlignmentX(0.0f);
+    a.add(s);
+    a.add(Box.createVerticalStrut(8));
+    slist.setAlignmentX(0.0f);
+    a.add(slist);
+
+    /* Create some buttons */
+    Goto = new JButton(TextBndl.getString("EventSearchDlg.Goto"));
+    Goto.setActionCommand("Goto");
+    Goto.addActionListener(listener);
+    Goto.setEnabled(false);          // Initially disabled
+    JButton Close = new JButton(TextBndl.getString("Dlg.Close"));
+    Close.setActionCommand("Close");
+    Close.addActionListener(listener);
+    HelpButton Help = new HelpButton(TextBndl.getString("Dlg.Help"),"events");
+    setHelpPage("events");
+
+    /* Create a box and add buttons for Go to, Close, & Help */
+    Box b = Box.createHorizontalBox();
+    b.add(Box.createHorizontalGlue());
+    b.add(Goto);
+    b.add(Box.createHorizontalStrut(7));
+    b.add(Box.createHorizontalGlue());
+    b.add(Close);
+    b.add(Box.createHorizontalStrut(7));
+    b.add(Box.createHorizontalGlue());
+    b.add(Help);
+    b.add(Box.createHorizontalGlue());
+
+    /* Enable Go to when an event is selected */
+    list.addListSelectionListener(new ListSelectionListener() {
+      public void valueChanged(ListSelectionEvent e) {
+        Goto.setEnabled(list.getSelectedIndex() >= 0);
+      }
+    });
+
+    /* Add everything to window */
+    // Set top, left, bottom, right (in that order)
+    ((JComponent)getContentPane()).setBorder(new EmptyBorder(14, 14, 14, 14));
+    ((BorderLayout)getContentPane().getLayout()).setVgap(20);
+    getContentPane().add(a);
+    getContentPane().add(b, BorderLayout.SOUTH);
+    getRootPane().setDefaultButton(Search);
+
+    /* Finally, set the dialog to its preferred size. */
+    pack();
+    setResizable(false);
+    setLocationRelativeTo(owner);
+
+    /* Set which component receives focus first */
+    setFirstFocus(kind);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Hides the dialog, stopping any search in progress.
+   */
+  public void close() {
+    stopSearch();
+    super.close();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the bodies that may be chosen, and enables the comboboxes used,
+   * for the kind of event selected.
+   */
+  private void setKind() {
+    int k = kind.getSelectedIndex();
+    bodies = (k == EventSearch.OPPOSITION) ? OUTER :
+             (k == EventSearch.ELONGATION) ? INNER : ALL;
+
+    NearSkyDB nsdb = new NearSkyDB();
+    body1.removeAllItems();
+    for ( int i = 0; i < bodies.length; i++ )
+      body1.addItem(nsdb.tellName(bodies[i]));
+    if ( k == EventSearch.CONJUNCTION ) body1.setSelectedIndex(1);  // Moon
+
+    body1.setEnabled(k != EventSearch.PHASE && k != EventSearch.OCCULTATION);
+    body2.setEnabled(k == EventSearch.CONJUNCTION);
+    alt.setEnabled(k == EventSearch.ALTITUDE);
+    mag.setEnabled(k == EventSearch.OCCULTATION);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Starts a search (on a worker thread).
+   */
+  private void startSearch() {
+    final int k = kind.getSelectedIndex();
+    final int a = bodies[Math.max(0, body1.getSelectedIndex())];
+    final int b = ALL[body2.getSelectedIndex()];
+    final int h = ALTVALUES[alt.getSelectedIndex()];
+    altitude = alt.getSelectedItem() + TextBndl.getDegSym();
+    final int m = MAGVALUES[mag.getSelectedIndex()];
+    int y0 = from.getSelectedIndex() + YR0;
+    int y1 = to.getSelectedIndex() + YR0;
+    if ( (k == EventSearch.CONJUNCTION && a == b) || y1 < y0 ) {
+      Toolkit.getDefaultToolkit().beep();
+      return;
+    }
+
+    /* Local midnight starting year y0, through the end of year y1 */
+    GregorianCalendar gc = (GregorianCalendar)prefer.getLocDateTime().clone();
+    gc.clear();
+    gc.set(y0, Calendar.JANUARY, 1);
+    final long t0 = gc.getTimeInMillis();
+    gc.set(y1 + 1, Calendar.JANUARY, 1);
+    final long t1 = gc.getTimeInMillis();
+
+    model.clear();
+    events = null;
+    status.setText(TextBndl.getString("EventSearchDlg.Searching"));
+    Search.setText(TextBndl.getString("EventSearchDlg.Stop"));
+    Search.setActionCommand("Stop");
+
+    final EventSearch es = search = new EventSearch(prefer);
+    SwingWorker3 worker = new SwingWorker3() {
+      public Object construct() {
+        if      ( k == EventSearch.CONJUNCTION )
+          return es.findConjunctions(a, b, t0, t1);
+        else if ( k == EventSearch.OPPOSITION )
+          return es.findOppositions(a, t0, t1);
+        else if ( k == EventSearch.ELONGATION )
+          return es.findElongations(a, t0, t1);
+        else if ( k == EventSearch.PHASE )
+          return es.findPhases(t0, t1);
+        else if ( k == EventSearch.OCCULTATION )
+          return es.findOccultations(m, t0, t1);
+        else /* ( k == EventSearch.ALTITUDE ) */
+          return es.findAltitudes(a, h, t0, t1);
+      }
+
+      /* The following runs in the event dispatching thread */
+      @SuppressWarnings("unchecked")
+      public void finished() {
+        if ( es != search ) return;       // Stopped (& maybe restarted)
+        showEvents((List<EventSearch.Event>)get());
+      }
+    };
+    worker.start();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Stops the search in progress (if any).
+   */
+  private void stopSearch() {
+    if ( search == null ) return;
+    search.cancel();
+    search = null;
+    status.setText(" ");
+    Search.setText(TextBndl.getString("EventSearchDlg.Search"));
+    Search.setActionCommand("Search");
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Lists the events found.
+   */
+  private void showEvents(List<EventSearch.Event> found) {
+    search = null;
+    events = found;
+    Search.setText(TextBndl.getString("EventSearchDlg.Search"));
+    Search.setActionCommand("Search");
+
+    int n = Math.min(events.size(), MAXSHOWN);
+    String line = TextBndl.getString("EventSearchDlg.Line");
+    boolean ampm = !prefer.is24Hr();
+    for ( int i = 0; i < n; i++ ) {
+      EventSearch.Event e = events.get(i);
+      model.addElement(MessageFormat.format(line, new Object[] {
+                       prefer.lst.tellLocDateTime(e.time, ampm),
+                       describe(e) }));
+    }
+    if ( n < events.size() )
+      status.setText(MessageFormat.format(
+                     TextBndl.getString("EventSearchDlg.Shown"), new Object[]
+                     { Integer.toString(events.size()), Integer.toString(n) }));
+    else
+      status.setText(MessageFormat.format(
+                     TextBndl.getString("EventSearchDlg.Found"), new Object[]
+                     { Integer.toString(n) }));
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the description of an event.
+   */
+  private String describe(EventSearch.Event e) {
+    String deg = format.format(e.value) + TextBndl.getDegSym();
+    String key;
+    Object[] args;
+
+    if ( e.kind == EventSearch.CONJUNCTION ) {
+      key = "EventSearchDlg.ConjL";
+      args = new Object[] { e.name, e.name2, deg };
+    }
+    else if ( e.kind == EventSearch.OPPOSITION ) {
+      key = "EventSearchDlg.OppL";
+      args = new Object[] { e.name };
+    }
+    else if ( e.kind == EventSearch.ELONGATION ) {
+      key = (e.detail == 0) ? "EventSearchDlg.EastL" : "EventSearchDlg.WestL";
+      args = new Object[] { e.name, deg };
+    }
+    else if ( e.kind == EventSearch.PHASE ) {
+      key = "EventSearchDlg.Phase" + e.detail + "L";
+      args = new Object[0];
+    }
+    else if ( e.kind == EventSearch.OCCULTATION ) {
+      key = (e.detail == 0) ? "EventSearchDlg.DisapL" :
+                              "EventSearchDlg.ReapL";
+      args = new Object[] { e.name, deg };
+    }
+    else /* ( e.kind == EventSearch.ALTITUDE ) */ {
+      key = (e.detail == 0) ? "EventSearchDlg.RiseL" : "EventSearchDlg.SetL";
+      args = new Object[] { e.name, altitude, deg };
+    }
+    return MessageFormat.format(TextBndl.getString(key), args);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the date/time to that of the event selected, and shows its object.
+   */
+  private void gotoEvent() {
+    int select = list.getSelectedIndex();
+    if ( select < 0 || events == null ) return;
+    EventSearch.Event e = events.get(select);
+
+    GregorianCalendar gc = prefer.getLocDateTime();
+    gc.setTimeInMillis(e.time);
+    prefer.setLocDateTime();
+    LocationDlg.updateDlg();  // Update LocationDlg with latest dst info
+    if ( listeners != null )
+      listeners.actionPerformed(new ActionEvent(this,
+                                ActionEvent.ACTION_PERFORMED, "update"));
+
+    if ( (e.obj.isViewable(prefer) == false) &&
+         (OptionDlg.showConfirmDialog(this,
+                                      TextBndl.getString("FindDlgW.NoSee"),
+                                      TextBndl.getString("FindDlgW.Title"),
+                                      JOptionPane.YES_NO_OPTION,
+                                      JOptionPane.QUESTION_MESSAGE)
+           != JOptionPane.YES_OPTION) )
+      return;
+    ((Nvj)owner).gotoObject(e.obj);
+  }
+}
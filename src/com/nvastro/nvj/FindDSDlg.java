@@ -47,6 +47,7 @@ import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
 import javax.swing.ListSelectionModel;
+import javax.swing.Timer;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
 import javax.swing.event.DocumentEvent;
@@ -72,6 +73,7 @@ public class FindDSDlg extends EscapeDlg {
   private JTextField text;
   private JList<String> list;
   private int[] map;
+  private Timer typetimer;   // Delays filtering until typing pauses
   private JButton OK;
   private JButton Apply;
   private ActionListener listeners = null;
@@ -80,6 +82,7 @@ public class FindDSDlg extends EscapeDlg {
 
   static private FindDSDlg dlg = null;
   static private boolean ignorefeedback = false;
+  static final private int TYPEDELAY = 150; // Milliseconds
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Shows the dialog.
@@ -166,14 +169,21 @@ public class FindDSDlg extends EscapeDlg {
       }
     };
 
-    /* Add a DocumentListener for changes in filter text */
+    /* Add a DocumentListener for changes in filter text, which filters
+       the list once typing pauses */
+    typetimer = new Timer(TYPEDELAY, new ActionListener() {
+      public void actionPerformed(ActionEvent e) {
+        setListData();
+      }
+    });
+    typetimer.setRepeats(false);
     DocumentListener docListener = new DocumentListener() {
       public void changedUpdate(DocumentEvent e) { }
       public void insertUpdate(DocumentEvent e) {
-        setListData();
+        if ( !ignorefeedback ) typetimer.restart();
       }
       public void removeUpdate(DocumentEvent e) {
-        setListData();
+        if ( !ignorefeedback ) typetimer.restart();
       }
     };
 
@@ -300,11 +310,11 @@ public class FindDSDlg extends EscapeDlg {
    * Sets the data in the listbox.
    */
   private void setListData() {
-    int i, j, type, num;
+    int i, j, k, type, num;
     boolean ga, gc, oc, pn, dn, dk, ot;
-    String txt;
 
     if ( ignorefeedback ) return;
+    typetimer.stop();           // (In case called while typing)
 
     ga = galxy.isSelected();
     gc = globc.isSelected();
@@ -313,15 +323,17 @@ public class FindDSDlg extends EscapeDlg {
     dn = dffnb.isSelected();
     dk = drknb.isSelected();
     ot = other.isSelected();
-    txt = text.getText().trim().toLowerCase();
-    //stem.out.println("Filter text = \"" + txt + "\"");
-    if ( txt.length() == 0 ) txt = null;
 
+    /* Objects whose names contain the filter text (all if blank), ranked
+       (by position in file, not index into the DB, which is by magnitude) */
     DeepSkyDB db = new DeepSkyDB();
-    num = db.getNumberOfObjects();
+    SearchIndex index = db.getSearchIndex();
+    int[] found = index.find(text.getText());
+    num = found.length;
     Vector<String> data = new Vector<String>(num);
     map = new int[num];
-    for ( i = 0, j = 0; i < num; i++ ) {
+    for ( k = 0, j = 0; k < num; k++ ) {
+      i = db.getIndexOfFileEntry(found[k]);
       type = db.getGenType(i);
 
       /* Note:  The following must be kept in sync */
@@ -332,10 +344,8 @@ public class FindDSDlg extends EscapeDlg {
             (type == 3 && pn) ||
             (type == 4 && dn) ||
             (type == 5 && dk) ||
-            (type == 6 && ot)) &&
-           (txt == null ||    // Blank -> don't filter text
-            db.tellName2(i).toLowerCase().contains(txt)) ) {
-        data.addElement(db.tellName2(i));
+            (type == 6 && ot)) ) {
+        data.addElement(index.getName(found[k]));
         map[j++] = i;
       }
     }
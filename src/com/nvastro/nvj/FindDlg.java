@@ -156,7 +156,8 @@ public class FindDlg extends EscapeDlg {
       DeepSkyDB db = new DeepSkyDB();
       int num = db.getNumberOfObjects();
       data = new String[num];
-      for ( i = 0; i < num; i++ ) data[i] = db.tellName2(i);
+      for ( i = 0; i < num; i++ )     // (In file order)
+        data[i] = db.tellName2(db.getIndexOfFileEntry(i));
     }
     else /* ( dlgtype == NS ) */ {
       NearSkyDB db = new NearSkyDB();
@@ -244,7 +245,8 @@ public class FindDlg extends EscapeDlg {
       skyobj = new SkyObject(SkyObject.STARNM, select);
     }
     else if ( dlgtype == DS ) {
-      skyobj = new SkyObject(SkyObject.DS, select);
+      skyobj = new SkyObject(SkyObject.DS,
+                             new DeepSkyDB().getIndexOfFileEntry(select));
     }
     else { /* dlgtype == NS */
       skyobj = new SkyObject(SkyObject.NS, select);
@@ -35,6 +35,10 @@ import javax.swing.border.*;
 @SuppressWarnings("serial")
 public class FindStarDlg extends EscapeDlg {
   private JList<String> namelist, conslist, dsgnlist;
+  private JTextField text;      // Filter for namelist
+  private SearchIndex index;    // Of star names
+  private int[] map;            // namelist entry -> star name index
+  private Timer typetimer;      // Delays filtering until typing pauses
   private JButton OK;
   private JButton Apply;
   private Preferences prefer;
@@ -43,6 +47,7 @@ public class FindStarDlg extends EscapeDlg {
   static private FindStarDlg dlg = null;
   static private StarDsgnDB sddb = null;
   static private boolean ignorefeedback = false;
+  static final private int TYPEDELAY = 150; // Milliseconds
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Shows the dialog.
@@ -84,10 +89,11 @@ public class FindStarDlg extends EscapeDlg {
     };
 
     /* Get data to display */
-    StarNameDB db = new StarNameDB();
-    num = db.getNumberOfNames();
+    index = new StarNameDB().getSearchIndex();
+    map = index.find("");
+    num = map.length;
     data = new String[num];
-    for ( i = 0; i < num; i++ ) data[i] = db.tellName2(i);
+    for ( i = 0; i < num; i++ ) data[i] = index.getName(map[i]);
     // - - -
     cons = new String[88];
     for ( i = 0; i <  88; i++ ) cons[i] = Constellation.tellName88(i);
@@ -105,6 +111,21 @@ public class FindStarDlg extends EscapeDlg {
     NFScrollPane snamelist = new NFScrollPane(namelist);
     addKeyBindings(namelist);
     // - - -
+    text = new JTextField(20);
+    text.setMaximumSize(new Dimension(Integer.MAX_VALUE,
+                                      text.getPreferredSize().height));
+    typetimer = new Timer(TYPEDELAY, new ActionListener() {
+      public void actionPerformed(ActionEvent e) {
+        setNameData();
+      }
+    });
+    typetimer.setRepeats(false);
+    text.getDocument().addDocumentListener(new DocumentListener() {
+      public void changedUpdate(DocumentEvent e) { }
+      public void insertUpdate(DocumentEvent e) { typetimer.restart(); }
+      public void removeUpdate(DocumentEvent e) { typetimer.restart(); }
+    });
+    // - - -
     conslist = new JList<String>(cons);
     conslist.setVisibleRowCount(7);
     conslist.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -121,6 +142,7 @@ public class FindStarDlg extends EscapeDlg {
     /* Create vertical box */
     Box v = Box.createVerticalBox();
     v.add(new JLabel(TextBndl.getString("FindStarDlg.SelectName")));
+    v.add(text);
     v.add(snamelist);
     v.add(Box.createVerticalStrut(7));
     v.add(new JLabel(TextBndl.getString("FindStarDlg.SelectDsgn")));
@@ -239,13 +261,23 @@ public class FindStarDlg extends EscapeDlg {
     setFirstFocus(namelist);
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the names in namelist to those containing the filter text.
+   */
+  private void setNameData() {
+    map = index.find(text.getText());
+    String[] data = new String[map.length];
+    for ( int i = 0; i < map.length; i++ ) data[i] = index.getName(map[i]);
+    namelist.setListData(data);
+  }
+
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Sets skyobj to the object selected (or null for none).
    */
   private boolean setSkyObject() {
     int select = namelist.getSelectedIndex();
     if ( select >= 0 ) {
-      skyobj = new SkyObject(SkyObject.STARNM, select);
+      skyobj = new SkyObject(SkyObject.STARNM, map[select]);
     }
     else {
       int con = conslist.getSelectedIndex();
@@ -0,0 +1,69 @@
+/*
+ * FrameTime.java  -  The instant being drawn
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * The instant being drawn, with the time values derived from it.
+ * <p>
+ * MapParms.update() makes one of these per frame (after freezing its
+ * LST), and the layers read the times from it (mp.time) rather than from
+ * the LST, whose methods recompute them (Julian day, delta T, sidereal
+ * time) on each call.  All layers thus see the same instant, and the
+ * work is done once.  Immutable, so it may be shared (e.g. by clones of
+ * the MapParms).
+ *
+ * @author Brian Simpson
+ */
+public final class FrameTime {
+  /** Julian Day (UT) */
+  final public double jd;
+  /** Delta T (TT - UT) in seconds */
+  final public double deltaT;
+  /** Julian Ephemeris Day (TT) */
+  final public double jde;
+  /** Local sidereal time in hours, from 0 to 24 */
+  final public double lst;
+  /** Location */
+  final public Location loc;
+  /** Latitude in degrees */
+  final public double latDeg;
+  /** True obliquity of the ecliptic in radians */
+  final public double ep;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param lst (Stopped) time and location
+   * @param jd Julian Day of lst
+   * @param deltaT Delta T for jd in seconds
+   * @param pn Nutation (already set for the time)
+   */
+  public FrameTime(LST lst, double jd, double deltaT, Nutate pn) {
+    this.jd = jd;
+    this.deltaT = deltaT;
+    jde = jd + deltaT / 86400;
+    loc = lst.getLocation();
+    latDeg = loc.getLatDeg();
+    this.lst = LST.calcLSTHrs(jd, loc.getLongDeg());
+    ep = pn.getep();
+  }
+}
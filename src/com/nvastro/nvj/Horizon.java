@@ -92,6 +92,7 @@ public class Horizon {
     int circle;  // Non-zero if horizon represented by circle 90 deg from center
     double rad;
     GeneralPath gp;
+    int proj = 0;               // Points projected (for statistics)
 
     if ( !mp.prefer.drawHorizon() || !mp.isDrawing() ) return;
 
@@ -162,6 +163,7 @@ public class Horizon {
           j = az - 90;
           k = j + 180;
           for ( i = j; i <= k; i += 2 ) {
+            proj++;
             mp.aa2xydist(i * MapParms.Deg2Rad, 0.0, x, y);
             if ( i == j ) gp.moveTo(x[0], y[0]);
             else          gp.lineTo(x[0], y[0]);
@@ -202,6 +204,7 @@ public class Horizon {
 
         /* Set x & y to be approximate location of text */
         rad = j * MapParms.Deg2Rad;
+        proj++;
         mp.aa2xydist(rad, 0.0, x, y);
 
         /* Correct for north or south pole */
@@ -260,6 +263,7 @@ public class Horizon {
         mp.g.setColor(Color.lightGray);
 
         azz = viewaa.getAz() / MapParms.Deg2Rad - 90;
+        proj++;
         mp.aa2xydist(azz * MapParms.Deg2Rad, 0.0, x, y);
         azz = Math.atan2(y[0]-midy, x[0]-midx) / MapParms.Deg2Rad;
         for ( i = 0; i <= 180; i += 2 ) {
@@ -292,6 +296,7 @@ public class Horizon {
 
           // Construct arc
           for ( i = 0; i <= 180; i += 2 ) {
+            proj++;
             mp.aa2xydist((azz + i) * MapParms.Deg2Rad, 0.0, x, y);
             if ( i == 0 ) gp.moveTo(x[0], y[0]);
             else          gp.lineTo(x[0], y[0]);
@@ -335,6 +340,7 @@ public class Horizon {
 
         /* Set x & y to be approximate location of text */
         rad = j * MapParms.Deg2Rad;
+        proj++;
         mp.aa2xydist(rad, 0.0, x, y);
 
         /* Correct for north or south pole */
@@ -352,6 +358,7 @@ public class Horizon {
         double xoff = - Math.sin(rad) * sAlt;
         double yoff = saAlt * (1 - Math.cos(rad)) - 1;
         // Allow for rotations
+        proj++;
         mp.aa2xydist(viewaa.getAz() - HalfPI, 0.0, x2, y2);
         azz = Math.atan2(y2[0]-midy, x2[0]-midx) + Math.PI;
         cosfld = Math.cos(azz);
@@ -368,6 +375,7 @@ public class Horizon {
         mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                               RenderingHints.VALUE_ANTIALIAS_OFF);
     }
+    mp.count(proj, 0);
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -0,0 +1,145 @@
+/*
+ * IntIntMap.java  -  Hash map of int keys to non-negative int values
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.Arrays;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Hash map of int keys to non-negative int values (typically indexes into
+ * a data base), using open addressing with linear probing in two plain
+ * int arrays, so no Integer objects are created.  Entries cannot be
+ * removed.  Not synchronized; the data bases build their maps once, at
+ * load time, and only read them afterwards.
+ *
+ * @author Brian Simpson
+ */
+public class IntIntMap {
+  /** Value returned by get() for a key not in the map */
+  static final public int NONE = -1;
+
+  private int[] keys;
+  private int[] values;         // NONE marks an empty slot
+  private int mask;             // Table size - 1 (size is a power of 2)
+  private int size = 0;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param expected Expected number of entries (the map grows if needed)
+   */
+  public IntIntMap(int expected) {
+    allocate(tableSize(expected));
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the value for key, or NONE if key is not in the map.
+   *
+   * @param key Key
+   */
+  public int get(int key) {
+    int i = slot(key);
+    while ( values[i] != NONE ) {
+      if ( keys[i] == key ) return values[i];
+      i = (i + 1) & mask;
+    }
+    return NONE;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the value for key, replacing any previous value.
+   *
+   * @param key Key
+   * @param value Value (must be &gt;= 0)
+   */
+  public void put(int key, int value) {
+    insert(key, value, true);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the value for key only if key is not already in the map.
+   * (Adding indexes in increasing order thus maps each key to its
+   * first index.)
+   *
+   * @param key Key
+   * @param value Value (must be &gt;= 0)
+   * @return True if added
+   */
+  public boolean putIfAbsent(int key, int value) {
+    return insert(key, value, false);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of entries.
+   */
+  public int size() { return size; }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds or (if replace) replaces an entry.  Returns true if changed.
+   */
+  private boolean insert(int key, int value, boolean replace) {
+    if ( value < 0 )
+      throw new IllegalArgumentException("Negative value");
+
+    int i = slot(key);
+    while ( values[i] != NONE ) {
+      if ( keys[i] == key ) {
+        if ( replace ) values[i] = value;
+        return replace;
+      }
+      i = (i + 1) & mask;
+    }
+    keys[i] = key;
+    values[i] = value;
+    if ( ++size > (mask + 1) / 2 ) grow();  // Keep load factor <= 1/2
+    return true;
+  }
+
+  /* Doubles the table */
+  private void grow() {
+    int[] k = keys, v = values;
+    allocate(keys.length * 2);
+    size = 0;
+    for ( int i = 0; i < k.length; i++ )
+      if ( v[i] != NONE ) insert(k[i], v[i], true);
+  }
+
+  /* Allocates an empty table of n (a power of 2) slots */
+  private void allocate(int n) {
+    keys = new int[n];
+    values = new int[n];
+    Arrays.fill(values, NONE);
+    mask = n - 1;
+  }
+
+  /* Home slot of key (Fibonacci hashing spreads sequential keys) */
+  private int slot(int key) {
+    int h = key * 0x9E3779B9;
+    return (h ^ (h >>> 16)) & mask;
+  }
+
+  /* Smallest power of 2 holding n entries at load factor <= 1/2 */
+  private static int tableSize(int n) {
+    int s = 16;
+    while ( s < 2 * n && s < (1 << 30) ) s <<= 1;
+    return s;
+  }
+}
@@ -232,8 +232,17 @@ public class LST {
    * Returns local sidereal time in hours.
    */
   public double getLSTHrs() {
-    double jd = getJulianDay();    // Does calcDateTime
+    return calcLSTHrs(getJulianDay(), loc.getLongDeg()); // Does calcDateTime
+  }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns local sidereal time in hours (Greenwich mean sidereal time
+   * if longitude is 0).
+   *
+   * @param jd Julian Day
+   * @param longDeg Longitude in degrees (east is positive)
+   */
+  public static double calcLSTHrs(double jd, double longDeg) {
     /* Separate jd into jd0, the Julian date at 0hr UTC, */
     /* and ut, the UTC hours of that day.                */
     /* (At 0hr UTC, jd0 must end with .5)                */
@@ -250,7 +259,7 @@ public class LST {
     gst += ut * 1.00273790935;
 
     /* Now adjust for longitude */
-    double lst = gst + loc.getLongDeg() / 15.0;
+    double lst = gst + longDeg / 15.0;
     while ( lst >= 24.0 ) lst -= 24.0;
     while ( lst  <  0.0 ) lst += 24.0;
     return lst;
@@ -403,19 +412,38 @@ public class LST {
    */
   public String tellLocDateTime(boolean ampm) {
     calcDateTime();
+    gc.setTime(new Date(datetime));
+    return tellDateTime(gc, ampm);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a date and time (e.g. of an event) as a string, in the same
+   * form (and time zone) as the current one.  (The time is set in a
+   * calendar of its own, as gc is also read by other threads.)
+   *
+   * @param time Time in milliseconds since 1970 (UT)
+   * @param ampm True for am/pm, false for 24 hour
+   */
+  public String tellLocDateTime(long time, boolean ampm) {
+    GregorianCalendar cal = new GregorianCalendar(gc.getTimeZone());
+    cal.setTime(new Date(time));
+    return tellDateTime(cal, ampm);
+  }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the date and time of a calendar as a string.
+   */
+  private static String tellDateTime(Calendar cal, boolean ampm) {
     /* May be able to use DateFormat, but must be able to coax it to display
        time in both 24 hour mode and am / pm, and must also change DateTimeDlg
        to use 00 instead of 12, or 24 instead of 00 if the locale displays
        hours in this fashion... */
 
-    gc.setTime(new Date(datetime));
-
-    int year = gc.get(Calendar.YEAR);
-    int mon  = gc.get(Calendar.MONTH) + 1;
-    int day  = gc.get(Calendar.DAY_OF_MONTH);
-    int hr   = gc.get(Calendar.HOUR_OF_DAY);
-    int mn   = gc.get(Calendar.MINUTE);
+    int year = cal.get(Calendar.YEAR);
+    int mon  = cal.get(Calendar.MONTH) + 1;
+    int day  = cal.get(Calendar.DAY_OF_MONTH);
+    int hr   = cal.get(Calendar.HOUR_OF_DAY);
+    int mn   = cal.get(Calendar.MINUTE);
 
     String hour, ampms = "";
     if ( ampm ) {
@@ -0,0 +1,232 @@
+/*
+ * LabelPlacer.java  -  Keeps labels from overlapping
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.Arrays;
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Keeps labels from overlapping.
+ * <p>
+ * The things that draw labels (star labels and names, deep sky names,
+ * grid labels, ...) ask, through MapParms.placeLabel(), for the space
+ * (bounding rectangle) of each label before drawing it.  If the space
+ * overlaps a label already placed, the label is not to be drawn.
+ * Thus labels placed first have priority:  layers are drawn in order,
+ * and within a layer objects are visited brightest first.
+ * <p>
+ * Placed rectangles are kept in a uniform grid of CELL x CELL pel cells,
+ * so a placement only looks at the labels in the cells it covers, and
+ * placing n labels takes time roughly proportional to n.
+ *
+ * @author Brian Simpson
+ */
+public class LabelPlacer {
+  static final private int CELL = 32;    // Cell size in pels
+  static final private int PAD = 1;      // Pels of space between labels
+
+  private int cols, rows;
+  private int[] head;          // First node of each cell (-1 if none)
+  private int[] nodeRect;      // Rectangle of each node
+  private int[] nodeNext;      // Next node in cell (-1 if none)
+  private int nodes = 0;
+  private float[] rect;        // x0, y0, x1, y1 of each placed label
+  private int n = 0;           // Number of placed labels
+  private int requests = 0;    // Number of calls to place()
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param width Width of drawing area
+   * @param height Height of drawing area
+   */
+  public LabelPlacer(int width, int height) {
+    cols = Math.max(1, (width + CELL - 1) / CELL);
+    rows = Math.max(1, (height + CELL - 1) / CELL);
+    head = new int[cols * rows];
+    nodeRect = new int[256];
+    nodeNext = new int[256];
+    rect = new float[256];
+    clear();
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Removes all labels.
+   */
+  public void clear() {
+    Arrays.fill(head, -1);
+    nodes = n = requests = 0;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Places a label if its space is free.
+   *
+   * @param x Left edge of label
+   * @param y Top edge of label
+   * @param w Width of label
+   * @param h Height of label
+   * @return True if placed (label should be drawn), false if it
+   *         would overlap a label already placed
+   */
+  public boolean place(float x, float y, float w, float h) {
+    requests++;
+    if ( !isFree(x, y, w, h) ) return false;
+    reserve(x, y, w, h);
+    return true;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns true if a label would not overlap a label already placed.
+   *
+   * @param x Left edge of label
+   * @param y Top edge of label
+   * @param w Width of label
+   * @param h Height of label
+   */
+  public boolean isFree(float x, float y, float w, float h) {
+    float x1 = x + w, y1 = y + h;
+    int c0 = col(x - PAD), c1 = col(x1 + PAD);
+    int r0 = row(y - PAD), r1 = row(y1 + PAD);
+
+    for ( int r = r0; r <= r1; r++ ) {
+      for ( int c = c0; c <= c1; c++ ) {
+        for ( int k = head[r * cols + c]; k >= 0; k = nodeNext[k] ) {
+          int i = nodeRect[k] * 4;
+          if ( x < rect[i+2] + PAD && rect[i] < x1 + PAD &&
+               y < rect[i+3] + PAD && rect[i+1] < y1 + PAD )
+            return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Places a label whether or not its space is free (for labels that
+   * are always drawn).
+   *
+   * @param x Left edge of label
+   * @param y Top edge of label
+   * @param w Width of label
+   * @param h Height of label
+   */
+  public void reserve(float x, float y, float w, float h) {
+    if ( rect.length < 4 * (n + 1) ) rect = grow(rect);
+    int i = 4 * n;
+    rect[i]   = x;
+    rect[i+1] = y;
+    rect[i+2] = x + w;
+    rect[i+3] = y + h;
+
+    int c0 = col(x), c1 = col(x + w), r0 = row(y), r1 = row(y + h);
+    for ( int r = r0; r <= r1; r++ ) {
+      for ( int c = c0; c <= c1; c++ ) {
+        if ( nodes == nodeRect.length ) {
+          nodeRect = grow(nodeRect);
+          nodeNext = grow(nodeNext);
+        }
+        nodeRect[nodes] = n;
+        nodeNext[nodes] = head[r * cols + c];
+        head[r * cols + c] = nodes++;
+      }
+    }
+    n++;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of labels placed.
+   */
+  public int size() { return n; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of calls to place() (whether successful or not).
+   */
+  public int getRequests() { return requests; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the rectangles (x0, y0, x1, y1) of the labels placed
+   * since the first "from" labels.  (Used with addRects() to restore
+   * the labels of a layer that was not redrawn.)
+   *
+   * @param from Number of labels to skip
+   */
+  public float[] getRects(int from) {
+    float[] r = new float[4 * (n - from)];
+    System.arraycopy(rect, 4 * from, r, 0, r.length);
+    return r;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Places labels (without checking for overlap) from the rectangles
+   * returned by getRects().
+   *
+   * @param r Rectangles (x0, y0, x1, y1)
+   */
+  public void addRects(float[] r) {
+    for ( int i = 0; i + 3 < r.length; i += 4 )
+      reserve(r[i], r[i+1], r[i+2] - r[i], r[i+3] - r[i+1]);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns true if two sets of rectangles (from getRects()) are the
+   * same to within half a pel.
+   *
+   * @param a Rectangles (may be null)
+   * @param b Rectangles (may be null)
+   */
+  public static boolean same(float[] a, float[] b) {
+    if ( a == null || b == null ) return a == b;
+    if ( a.length != b.length ) return false;
+    for ( int i = 0; i < a.length; i++ )
+      if ( Math.abs(a[i] - b[i]) > 0.5f ) return false;
+    return true;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the column of x (clamped to the grid).
+   */
+  private int col(float x) {
+    int c = (int)Math.floor(x / CELL);
+    return (c < 0) ? 0 : (c >= cols) ? cols - 1 : c;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the row of y (clamped to the grid).
+   */
+  private int row(float y) {
+    int r = (int)Math.floor(y / CELL);
+    return (r < 0) ? 0 : (r >= rows) ? rows - 1 : r;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a copy of an array with twice the length.
+   */
+  private static int[] grow(int[] a) {
+    int[] b = new int[a.length * 2];
+    System.arraycopy(a, 0, b, 0, a.length);
+    return b;
+  }
+
+  private static float[] grow(float[] a) {
+    float[] b = new float[a.length * 2];
+    System.arraycopy(a, 0, b, 0, a.length);
+    return b;
+  }
+}
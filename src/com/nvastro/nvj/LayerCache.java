@@ -0,0 +1,202 @@
+/*
+ * LayerCache.java  -  Off-screen images of the star window layers
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Off-screen images of the star window layers (Milky Way, horizon,
+ * grids, ..., stars, planets).
+ * <p>
+ * Each layer is drawn into its own transparent image, and the images
+ * are composited (in order) to build the window.  A layer image is
+ * reused as long as the things that layer depends on have not changed:
+ * the preferences it uses (supplied by the caller as an array of values)
+ * and, depending on the kind of layer, the view:
+ * <ul>
+ * <li>SKY - Objects fixed on the celestial sphere.  Depends on the view
+ *     matrix, and (slowly, through precession, nutation and aberration)
+ *     on the date.  Reused while neither has changed by more than
+ *     TOLERANCE pels.  (In Alt-Az mode the view changes as time passes,
+ *     so these are redrawn on each time update.)
+ * <li>GROUND - Objects fixed to the horizon.  Depends on field rotation,
+ *     altitude, azimuth, and in RA-Dec mode on the view, latitude and
+ *     local sidereal time.
+ * <li>TIME - Objects that move (planets).  Reused only if the view and
+ *     the time are unchanged.
+ * </ul>
+ *
+ * @author Brian Simpson
+ */
+public class LayerCache {
+  /** Layer kind:  Objects fixed on the celestial sphere */
+  public static final int SKY = 0;
+  /** Layer kind:  Objects fixed to the horizon */
+  public static final int GROUND = 1;
+  /** Layer kind:  Objects that move with time */
+  public static final int TIME = 2;
+
+  /* Allowed shift (pels) of a reused SKY layer */
+  private static final double TOLERANCE = 0.25;
+  /* Upper bound of apparent motion (radians/day) of a "fixed" object due
+     to precession (~50"/yr), nutation and annual aberration (~0.35"/day) */
+  private static final double DRIFT = 3e-6;
+
+  private int width, height;
+  private int[] kind;
+  private BufferedImage[] image;
+  private ViewKey[] view;             // View when layer was drawn
+  private Object[][] prefs;           // Preferences when layer was drawn
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  (Images are created as needed.)
+   *
+   * @param width Width of images (screen width)
+   * @param height Height of images (screen height)
+   * @param kind Kind (SKY, GROUND, TIME) of each layer
+   */
+  public LayerCache(int width, int height, int[] kind) {
+    this.width = width;
+    this.height = height;
+    this.kind = kind.clone();
+    image = new BufferedImage[kind.length];
+    view = new ViewKey[kind.length];
+    prefs = new Object[kind.length][];
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns true if the image of a layer may be used as is.
+   *
+   * @param layer Layer number
+   * @param mp Mapping parameters for the new image
+   * @param pref Values of the preferences the layer depends on
+   */
+  public boolean isCurrent(int layer, MapParms mp, Object[] pref) {
+    if ( view[layer] == null || !Arrays.equals(prefs[layer], pref) )
+      return false;
+    return view[layer].matches(new ViewKey(mp), kind[layer]);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Clears the image of a layer and returns a Graphics object to draw
+   * the layer into.  The caller is to dispose of the Graphics object,
+   * and then call endLayer().
+   *
+   * @param layer Layer number
+   * @throws OutOfMemoryError If the image cannot be created
+   */
+  public Graphics2D startLayer(int layer) {
+    view[layer] = null;
+    if ( image[layer] == null )
+      image[layer] = new BufferedImage(width, height,
+                                       BufferedImage.TYPE_INT_ARGB_PRE);
+
+    Graphics2D g = image[layer].createGraphics();
+    g.setComposite(AlphaComposite.Clear);
+    g.fillRect(0, 0, width, height);
+    g.setComposite(AlphaComposite.SrcOver);
+    return g;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Records that a layer has been drawn.  (If drawing was cancelled,
+   * the image is not complete and will not be reused.)
+   *
+   * @param layer Layer number
+   * @param mp Mapping parameters used to draw the layer
+   * @param pref Values of the preferences the layer depends on
+   */
+  public void endLayer(int layer, MapParms mp, Object[] pref) {
+    if ( mp.isDrawing() ) {
+      view[layer] = new ViewKey(mp);
+      prefs[layer] = pref;
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the image of a layer.
+   *
+   * @param layer Layer number
+   */
+  public BufferedImage getImage(int layer) { return image[layer]; }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * The parts of MapParms that layers depend on.
+   */
+  private static class ViewKey {
+    int width, height;
+    double ppr;
+    boolean radec;
+    double[] view = new double[9];
+    double[] falt = new double[9];
+    double az, lat, lst, jday;
+
+    ViewKey(MapParms mp) {
+      width  = mp.getWidth();
+      height = mp.getHeight();
+      ppr    = mp.pelsPerRadian;
+      radec  = mp.prefer.modeRADec;
+      for ( int i = 0; i < 3; i++ ) {
+        System.arraycopy(mp.getView().num[i], 0, view, 3 * i, 3);
+        System.arraycopy(mp.getFldAlt().num[i], 0, falt, 3 * i, 3);
+      }
+      az   = mp.prefer.getAz();
+      lat  = mp.prefer.getLatDeg();
+      lst  = mp.time.lst;
+      jday = mp.time.jde;
+    }
+
+    /* Returns true if a layer of kind k drawn with this view
+       may be used for view v */
+    boolean matches(ViewKey v, int k) {
+      if ( width != v.width || height != v.height || ppr != v.ppr ||
+           radec != v.radec ) return false;
+
+      // A change of d in the matrix elements moves a point
+      // by at most about 2 * d radians
+      double tol = TOLERANCE / ppr;   // Radians
+
+      switch ( k ) {
+        case SKY:
+          return close(view, v.view, tol / 2) &&
+                 Math.abs(jday - v.jday) * DRIFT <= tol;
+        case GROUND:
+          if ( !Arrays.equals(falt, v.falt) || az != v.az ) return false;
+          if ( !radec ) return true;
+          return Arrays.equals(view, v.view) && lat == v.lat && lst == v.lst;
+        default:
+          return Arrays.equals(view, v.view) && jday == v.jday &&
+                 lat == v.lat && lst == v.lst;
+      }
+    }
+
+    /* Returns true if the elements of a and b are within tol */
+    static boolean close(double[] a, double[] b, double tol) {
+      for ( int i = 0; i < a.length; i++ )
+        if ( Math.abs(a[i] - b[i]) > tol ) return false;
+      return true;
+    }
+  }
+}
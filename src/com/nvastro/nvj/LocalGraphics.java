@@ -33,10 +33,12 @@ import java.awt.image.*;
 public class LocalGraphics {
   private final static GraphicsEnvironment ge =
                        GraphicsEnvironment.getLocalGraphicsEnvironment();
+  // (No screen device if running headless, see ChartRenderer)
   private final static GraphicsDevice gd =
+                       ge.isHeadlessInstance() ? null :
                        ge.getDefaultScreenDevice();
   private final static GraphicsConfiguration gc =
-                       gd.getDefaultConfiguration();
+                       (gd == null) ? null : gd.getDefaultConfiguration();
   private final static String[] fontfamilynames =
                        ge.getAvailableFontFamilyNames();
 
@@ -52,6 +54,8 @@ public class LocalGraphics {
    * @param h Height
    */
   public static BufferedImage getBufferedImage(int w, int h) {
+    if ( gc == null )
+      return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
     return gc.createCompatibleImage(w, h, Transparency.BITMASK);
     // There is also Transparency.TRANSLUCENT
   }
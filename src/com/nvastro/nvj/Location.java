@@ -20,7 +20,7 @@
 
 package com.nvastro.nvj;
 
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.SimpleTimeZone;
 import java.util.StringTokenizer;
 import java.util.TimeZone;
@@ -55,7 +55,7 @@ public class Location implements Cloneable {
   static private String ANGSEP2; // 1 or 2 choices for angular separator
   static private String TMSEP2;  // 1 or 2 choices for time separator
   static private String[] tzstrings;
-  static private HashMap<String, Integer> hash;
+  static private HashSet<String> tzids;  // Timezone IDs of form string/string
   private String city;
   private double lat, lon;        // In Degrees
   private int tz_offset;          // In Minutes, negative for W of Greenwich
@@ -69,14 +69,13 @@ public class Location implements Cloneable {
    * and ANGSEP2 and TMSEP2...
    */
   static {
+    // (Only the IDs are needed; creating a TimeZone for every ID just to
+    // learn its offset took a good part of startup time)
     tzstrings = TimeZone.getAvailableIDs();
-    hash = new HashMap<String, Integer>(tzstrings.length + 1, 1.0f);// Hopefully
-                                                                // avoids rehash
+    tzids = new HashSet<String>(tzstrings.length * 2);
     for ( int i = 0; i < tzstrings.length; i++ ) {
       if ( tzstrings[i].indexOf('/') > 0 ) // If string/string
-        hash.put(tzstrings[i],             // Associate string with
-                 new Integer(TimeZone.getTimeZone(tzstrings[i]).getRawOffset() /
-                             60000));      // number of minutes from GMT
+        tzids.add(tzstrings[i]);
     }
 
     /* If a locale has an angular separator that is different from ':',
@@ -143,6 +142,21 @@ public class Location implements Cloneable {
     construct(ci, lo, la, zn, null);
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor for a location already validated (i.e. read back from a
+   * CityDB snapshot), taking what tellCity2(), getLongDeg(), getLatDeg(),
+   * getTZOffsetMin() and getTZString() return.
+   *
+   * @param ci City (untrimmed)
+   * @param lo Longitude in degrees
+   * @param la Latitude in degrees
+   * @param zn Timezone offset in minutes (ignored if ds is non-null)
+   * @param ds JVM TimeZone string, or null
+   */
+  Location(String ci, double lo, double la, int zn, String ds) {
+    construct(ci, lo, la, zn / 60.0, ds);
+  }
+
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Constructor helper function.
    */
@@ -163,7 +177,7 @@ public class Location implements Cloneable {
     if ( ds != null ) {                        // If non null
       tzs = ds.trim();
       if ( tzs.length() > 0 ) {                // If non blank
-        if ( !hash.containsKey(tzs) ) {        // If string not recognized
+        if ( !tzids.contains(tzs) ) {          // If string not recognized
           ErrLogger.logError(ErrLogger.formatError(
                              TextBndl.getString("LocDB.UnknownTZ") + "  ",
                              CityDB.SOURCE, tzs));
@@ -290,6 +304,12 @@ public class Location implements Cloneable {
    */
   public TimeZone getTZ() { return tz; }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the (JVM recognized) timezone string this Location was
+   * created with, or null if none.
+   */
+  String getTZString() { return tzs; }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Indicates if enclosed TimeZone auto-handles DST.  (This does not mean
    * that the TimeZone does DST, only that it has correct DST information
@@ -375,8 +395,9 @@ public class Location implements Cloneable {
   /* For testing */
   //public static void main(String[] args) {
   //  for ( int i = 0; i < tzstrings.length; i++ )
-  //    if ( hash.containsKey(tzstrings[i]) )
-  //      System.out.println(tzstrings[i] + ", " + hash.get(tzstrings[i]));
+  //    if ( tzids.contains(tzstrings[i]) )
+  //      System.out.println(tzstrings[i] + ", " +
+  //                   TimeZone.getTimeZone(tzstrings[i]).getRawOffset()/60000);
   //}
 }
 
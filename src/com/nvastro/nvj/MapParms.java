@@ -21,9 +21,12 @@
 package com.nvastro.nvj;
 
 import java.awt.Dimension;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
 import java.awt.Shape;
 import java.awt.Toolkit;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 
 
@@ -61,25 +64,34 @@ import java.awt.geom.Area;
  */
 public class MapParms extends Rotation implements Cloneable {
   final static public double pelsPerInch =     // Screen res for close testing
+                             GraphicsEnvironment.isHeadless() ? 96 :
                              Toolkit.getDefaultToolkit().getScreenResolution();
   /** User preferences */
   public Preferences prefer;
   /** This lst is used rather than the lst in prefer; it is a "frozen" copy
       of prefer's lst */
   public LST lst;
+  /** The times of lst, computed by update() */
+  public FrameTime time;
   /** Pels per radians factor */
   public double pelsPerRadian;        // Horiz. res. = vert. res.
   public Graphics2D g;
   public boolean printing;            // Are we printing or painting
+  /** If true, stars are drawn on the calling thread only (see StarDB) */
+  public boolean serialStars = false;
   public Shape clip1 = null,          // Full clip outline
                clip2 = null;          // If non-null, used to intersect clip1
   public Area  milk  = null;          // Milky Way during printing
+  /** Keeps labels from overlapping (if null, all labels are drawn) */
+  public LabelPlacer labels = null;
+  /* Objects projected, and those found in the window, as counted by the
+     layers drawn (for drawing statistics; see count()) */
+  private int projected = 0, inWindow = 0;
   private boolean drawing;            // If false, cancel print/paint
   private int width, height;
   private double midx, midy;
   private double maxoffx, maxoffy;
-  // The following for speed purposes... (may present multithreading problems)
-  private double m_0, m_1, m_2, s_0, s_1, s_2;
+  private boolean pnExact = true;     // Precession/nutation not interpolated
 
   // TwoPI = Math.PI * 2  -  defined in superclass
   /** Deg to rad factor */ public static final double Deg2Rad = Math.PI / 180;
@@ -92,6 +104,10 @@ public class MapParms extends Rotation implements Cloneable {
   public MapParms(Preferences prefer) {
     this.prefer = prefer;
     this.lst = (LST)(prefer.lst.clone());
+    double jd = lst.getJulianDay();
+    double deltaT = DeltaT.calcDeltaT(jd);
+    setJDay(jd + deltaT / 86400, true); // (So time gets its obliquity)
+    time = new FrameTime(lst, jd, deltaT, this);
     drawing = true;
     printing = false;
     setSize(new Dimension(100, 100)); // No significance to these numbers
@@ -127,8 +143,15 @@ public class MapParms extends Rotation implements Cloneable {
     mp.clip2 = null;
     mp.milk  = null;
     mp.g     = null;
+    mp.labels = null;
+    mp.projected = mp.inWindow = 0;
     mp.lst.stop();  // (Should already be stopped, but be safe...)
-    mp.setLSTHrs(mp.lst.getLSTHrs());
+    if ( !pnExact ) {               // Exact for ID functions and printing
+      mp.setJDay(time.jde);
+      mp.pnExact = true;
+      mp.time = new FrameTime(mp.lst, time.jd, time.deltaT, mp);
+    }
+    mp.setLSTHrs(time.lst);         // (time is immutable, so is shared)
     mp.reCalc(prefer.modeRADec);
     return mp;
   }
@@ -136,17 +159,46 @@ public class MapParms extends Rotation implements Cloneable {
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Updates drawing parameters, copies and pauses time,
    * and sets rotation matrix.  To be done after Preferences
-   * has been changed and before drawing.
+   * has been changed and before drawing.  (Precession and nutation
+   * are computed exactly.)
    *
    * @param size Drawing area dimensions
    * @param dppr Default pels per radian (0.95 * screen width)
    */
   public void update(Dimension size, double dppr) {
+    pnExact = true;
+    doUpdate(size, dppr);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Updates drawing parameters, copies and pauses time,
+   * and sets rotation matrix.  To be done after Preferences
+   * has been changed and before drawing.
+   *
+   * @param size Drawing area dimensions
+   * @param dppr Default pels per radian (0.95 * screen width)
+   * @param animating If true, or if time is running, precession and
+   *        nutation are interpolated (see Rotation.setJDay(jday, exact))
+   *        rather than computed for each frame
+   */
+  public void update(Dimension size, double dppr, boolean animating) {
+    pnExact = !animating && !prefer.lst.isRunning();
+    doUpdate(size, dppr);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Does update() (with pnExact set).
+   */
+  private void doUpdate(Dimension size, double dppr) {
     lst.updateStop(prefer.lst);      // Update time and stop
     setSize(size);
     pelsPerRadian = dppr * prefer.getZoom();
-    setJDay(lst.getJulianEphDay());
-    setLSTHrs(lst.getLSTHrs());
+    double jd = lst.getJulianDay();
+    double deltaT = DeltaT.calcDeltaT(jd);
+    double jday = jd + deltaT / 86400;
+    setJDay(jday, pnExact);
+    time = new FrameTime(lst, jd, deltaT, this);
+    setLSTHrs(time.lst);
     setAzRad(prefer.getAz());
     setAltRad(prefer.getAlt());
     setLatDeg(prefer.getLatDeg());
@@ -156,6 +208,22 @@ public class MapParms extends Rotation implements Cloneable {
     drawing = true;
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Updates only the view (zoom, azimuth, altitude, field rotation) from
+   * Preferences, keeping the time, location and size of the last
+   * update().  For a view that changes rapidly while time does not (e.g.
+   * while the mouse is dragged).
+   *
+   * @param dppr Default pels per radian (0.95 * screen width)
+   */
+  public void updateView(double dppr) {
+    pelsPerRadian = dppr * prefer.getZoom();
+    setAzRad(prefer.getAz());
+    setAltRad(prefer.getAlt());
+    setFldDeg(prefer.getFld());
+    reCalc(prefer.modeRADec);
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Return width of drawing area (in pels).
    */
@@ -180,16 +248,163 @@ public class MapParms extends Rotation implements Cloneable {
    */
   public double getMidY() { return midy; }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Angular distance (in radians) from center of area to its corners.
+   * No object farther than this from the center is "in window".
+   */
+  public double getFieldRadius() {
+    return Math.sqrt(maxoffx * maxoffx + maxoffy * maxoffy) / pelsPerRadian;
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns flag to indicate if drawing is progressing.
    */
   public boolean isDrawing() { return drawing; }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds to the number of objects projected and found in the window.
+   * Layers count in local variables while drawing, and call this once
+   * at the end (for drawing statistics).
+   *
+   * @param proj Objects projected
+   * @param inWin Objects found in the window
+   */
+  public void count(int proj, int inWin) {
+    projected += proj;
+    inWindow += inWin;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Clears the counts of objects projected and found in the window.
+   */
+  public void resetCounts() { projected = inWindow = 0; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of objects projected since resetCounts().
+   */
+  public int getProjected() { return projected; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of objects found in the window since resetCounts().
+   */
+  public int getInWindow() { return inWindow; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Asks for the space of a label (see LabelPlacer).
+   *
+   * @param x Left edge of label
+   * @param y Top edge of label
+   * @param w Width of label
+   * @param h Height of label
+   * @return True if the label should be drawn
+   */
+  public boolean placeLabel(float x, float y, float w, float h) {
+    return labels == null || labels.place(x, y, w, h);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Asks for the space of a string to be drawn with drawString().
+   *
+   * @param s String
+   * @param fm Font metrics of the font used to draw s
+   * @param x x coordinate of start of baseline
+   * @param y y coordinate of baseline
+   * @return True if the string should be drawn
+   */
+  public boolean placeLabel(String s, FontMetrics fm, float x, float y) {
+    return placeLabel(x, y - fm.getAscent(), fm.stringWidth(s),
+                      fm.getAscent() + fm.getDescent());
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Takes the space of a string that is always drawn, so that later
+   * labels avoid it.
+   *
+   * @param s String
+   * @param fm Font metrics of the font used to draw s
+   * @param x x coordinate of start of baseline
+   * @param y y coordinate of baseline
+   */
+  public void reserveLabel(String s, FontMetrics fm, float x, float y) {
+    if ( labels != null )
+      labels.reserve(x, y - fm.getAscent(), fm.stringWidth(s),
+                     fm.getAscent() + fm.getDescent());
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws a grid line's label, rotated along the line, at the best
+   * scoring midpoint whose space is free (see placeLabel()), if any.
+   * (Used by CGrid and AGrid.)
+   *
+   * @param s Label
+   * @param fm Font metrics used to center the label
+   * @param xm x coordinates of the midpoints
+   * @param ym y coordinates of the midpoints
+   * @param am Angles of the line at the midpoints (changed)
+   * @param sm Scores of the midpoints (changed)
+   * @param nm Number of midpoints
+   * @param yoffset Pels to raise the label off the line
+   */
+  public void drawLineLabel(String s, FontMetrics fm, float[] xm,
+                            float[] ym, float[] am, float[] sm, int nm,
+                            int yoffset) {
+    FontMetrics lfm = g.getFontMetrics();  // Label font
+    float hw = lfm.stringWidth(s) / 2f;
+    float hh = (lfm.getAscent() + lfm.getDescent()) / 2f;
+    float cy = -yoffset + (lfm.getDescent() - lfm.getAscent()) / 2f;
+    float cx = hw - fm.stringWidth(s) / 2;
+    int j;
+
+    while ( (j = selectpt(sm, nm)) >= 0 ) {
+      sm[j] = 0;                  // Don't try this point again
+      if      ( am[j] <= -Math.PI / 2 ) am[j] += Math.PI;
+      else if ( am[j]  >  Math.PI / 2 ) am[j] -= Math.PI;
+
+      /* Bounding box of rotated label */
+      float cos = (float)Math.cos(am[j]), sin = (float)Math.sin(am[j]);
+      float ex = Math.abs(cos) * hw + Math.abs(sin) * hh;
+      float ey = Math.abs(sin) * hw + Math.abs(cos) * hh;
+      float x = xm[j] + cx * cos - cy * sin;
+      float y = ym[j] + cx * sin + cy * cos;
+      if ( !placeLabel(x - ex, y - ey, 2 * ex, 2 * ey) ) continue;
+
+      AffineTransform trans = g.getTransform();
+      g.translate(xm[j], ym[j]);
+      g.rotate(am[j]);
+      g.drawString(s, -fm.stringWidth(s) / 2, -yoffset);
+      g.setTransform(trans); // Reset to original transform
+      return;
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Selects best score (above 0)
+   */
+  static private int selectpt(float[] s, int n) {
+    int ret = -1;    // Setting to -1 unnecessary, but avoids warning
+    float top = 0;
+
+    for ( int i = 0; i < n; i++ )
+      if ( top < s[i] ) { top = s[i]; ret = i; }
+
+    return (top > 0) ? ret : -1;
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Sets flag to signal cancellation of drawing.
    */
   public void cancelDrawing() { drawing = false; }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns an immutable snapshot of the current projection, which may be
+   * shared between threads.  (Later changes to this MapParms do not affect
+   * the snapshot; get a new one after update().)
+   */
+  public Projection getProjection() {
+    return new Projection(getView(), midx, midy, maxoffx, maxoffy,
+                          pelsPerRadian);
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Converts RA/Dec to x,y (window coordinates) if within 90 degrees of center.
    * Coordinates are precessed and nutated.
@@ -251,7 +466,7 @@ public class MapParms extends Rotation implements Cloneable {
    */
   public int rd2xyhit(double ras, double dec, float[] x, float[] y,
                       boolean nopn) {
-    double offx, offy;
+    double offx, offy, m_0, m_1, m_2, s_0, s_1, s_2;
     int rc;
 
     /* Would like to perform the following statement:
@@ -323,7 +538,7 @@ public class MapParms extends Rotation implements Cloneable {
    *              (coordinates not calculated)
    */
   public int rd2xyhit(double rx, double ry, double rz, float[] x, float[] y) {
-    double offx, offy, pels;
+    double offx, offy, pels, m_0, m_1, m_2;
     int rc;
 
     Matrix3x3 r = getView();
@@ -411,6 +626,7 @@ public class MapParms extends Rotation implements Cloneable {
   public float rd2xydist(double ras, double dec, float[] x, float[] y,
                          boolean nopn) {
     /* (See comments in rd2xyhit function for hints on methodology) */
+    double m_0, m_1, m_2, s_0, s_1, s_2;
     double sinra = Math.sin(ras);
     double cosra = Math.cos(ras);
     double sinde = Math.sin(dec);
@@ -452,6 +668,7 @@ public class MapParms extends Rotation implements Cloneable {
       return rd2xydist(rd, x, y);
     }
 
+    double m_0, m_1, m_2, s_0, s_1, s_2;
     az -= prefer.getAz();         // Rotate azimuth
 
     /* Rotate altitude */
@@ -88,6 +88,7 @@ public class MilkyWay {
     float[] x = new float[1];
     float[] y = new float[1];
     int pts;
+    int proj = 0;                       // (For drawing statistics)
 
     mp.milk = null;
     if ( !mp.prefer.drawMilkyWay() || !mp.isDrawing() ) return;
@@ -102,11 +103,13 @@ public class MilkyWay {
     GeneralPath gp = new GeneralPath();
     int i = 0;
     while ( i < num && mp.isDrawing() ) {
+      proj++;
       if ( mp.rd2xydist(ra[i], dec[i], x, y) < 2.18 ) { // < 125 degrees
         gp.reset();
         pts = 0;            // No previous coordinate
         while ( ++i < num && ra[i] >= 0 && mp.isDrawing() ) {
           mp.rd2xydist(ra[i], dec[i], x, y);
+          proj++;
           if ( pts++ == 0 ) gp.moveTo(x[0], y[0]);
           else              gp.lineTo(x[0], y[0]);
         }
@@ -128,6 +131,7 @@ public class MilkyWay {
 
     /* Cancel restrictive clipping */
     if ( mp.clip2 != null ) mp.g.setClip(mp.clip1); // Reset if changed
+    mp.count(proj, 0);
   }
 }
 
@@ -33,6 +33,8 @@ public class Nutate implements Cloneable {
   /** Pi / 2 */ public static final double HalfPI = Math.PI / 2;
   /** J2000.0 */ static final public double J2000_0 = 2451545.0;
   static final private double D2R = Math.PI/180;
+  /** Number of parameters set by setJDay (see calcParms) */
+  static final int NPARMS = 6;
   private Matrix3x3 nut;      // Nutation matrix
   private double dpsi, dep;   // Nutation parameters (rad)
   private double ep0;         // Mean obliquity of the ecliptic (rad)
@@ -76,11 +78,21 @@ public class Nutate implements Cloneable {
    * @param jday Julian Ephemeris Day
    */
   public void setJDay(double jday) {
+    double[] p = new double[NPARMS];
+    calcParms(jday, p);
+    setParms(p);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Calculates the parameters for jday (Julian Ephemeris Day) into
+   * p[0 to NPARMS-1]:  dpsi, dep, ep0, ec, pi, LSun.
+   */
+  static void calcParms(double jday, double[] p) {
     /* Calculate nutation parameters (Chapter 22, P. 144) */
     // (Using higher accuracy formula)
     int i;
     double arg;
-    dpsi = dep = 0;
+    double dpsi = 0, dep = 0;
     double T = (jday - J2000_0) / 36525; // Julian centuries from J2000.0
     double D  = 297.85036 + T * (445267.111480 - T * (0.0019142 - T / 189474));
     double M  = 357.52772 + T * ( 35999.050340 - T * (0.0001603 + T / 300000));
@@ -116,11 +128,40 @@ public class Nutate implements Cloneable {
     /* Calculate the obliquity of the ecliptic */
     // (Using formula on P. 147)
     double U = T / 10; // 10K Julian years from J2000.0
-    ep0 = 21.448 - U * (4680.93 + U * (1.55 - U * (1999.25 - U * (51.38 +
-          U * (249.67 + U * (39.05 - U * (7.12 + U * (27.87 + U * (5.79 +
-          U * 2.45)))))))));
+    double ep0 = 21.448 - U * (4680.93 + U * (1.55 - U * (1999.25 - U *
+          (51.38 + U * (249.67 + U * (39.05 - U * (7.12 + U * (27.87 + U *
+          (5.79 + U * 2.45)))))))));
     ep0 = (23 + (26 + ep0 / 60) / 60) * D2R;
     //stem.out.println("ep0 = " + (ep0 / D2R) + " degrees");
+
+    /* Calculate variables for aberration */
+    // Use "low accuracy" formulas on P. 163-164.  Accuracy is sufficient
+    // for calculating aberration, as aberration amounts to arc seconds,
+    // and being a very small fraction of a second off is OK.  Also
+    // use formulas on P. 151.
+    T *= 10; // T back to Julian centuries from J2000
+    double L0 = 280.46646 + T * (36000.76983 + T * 0.0003032);
+    M = ((357.52911 + T * (35999.05029 - T * 0.0001537)) % 360) * D2R;
+    double C = (1.914602 - T * (0.004817 + T * 0.000014)) * Math.sin(M) +
+               (0.019993 - T * 0.000101) * Math.sin(2 * M) +
+                0.000289 * Math.sin(3 * M);
+    double LSun = (L0 + C) % 360; // 2 % 360 = 2, (-2) % 360 = -2
+    if ( LSun < 0 ) LSun += 360;
+    LSun *= D2R;
+    double ec = 0.016708634 - T * (0.000042037 + T * 0.0000001267);
+    double pi = (102.93735 + T * (1.71946 + T * 0.00046)) * D2R;
+
+    p[0] = dpsi;  p[1] = dep;  p[2] = ep0;
+    p[3] = ec;    p[4] = pi;   p[5] = LSun;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the parameters (as from calcParms) and the nutation matrix.
+   */
+  void setParms(double[] p) {
+    dpsi = p[0];  dep = p[1];  ep0 = p[2];
+    ec   = p[3];  pi  = p[4];  LSun = p[5];
+
     double ep = ep0 + dep; // True obliquity of the ecliptic
     //stem.out.println("ep  = " + (ep / D2R) + " degrees");
 
@@ -143,23 +184,6 @@ public class Nutate implements Cloneable {
     nut.set(cdp,     -ce0*sdp,              -se0*sdp,
             cep*sdp, ce0*cep*cdp + se0*sep, se0*cep*cdp - ce0*sep,
             sep*sdp, ce0*sep*cdp - se0*cep, se0*sep*cdp + ce0*cep);
-
-    /* Calculate variables for aberration */
-    // Use "low accuracy" formulas on P. 163-164.  Accuracy is sufficient
-    // for calculating aberration, as aberration amounts to arc seconds,
-    // and being a very small fraction of a second off is OK.  Also
-    // use formulas on P. 151.
-    T *= 10; // T back to Julian centuries from J2000
-    double L0 = 280.46646 + T * (36000.76983 + T * 0.0003032);
-    M = ((357.52911 + T * (35999.05029 - T * 0.0001537)) % 360) * D2R;
-    double C = (1.914602 - T * (0.004817 + T * 0.000014)) * Math.sin(M) +
-               (0.019993 - T * 0.000101) * Math.sin(2 * M) +
-                0.000289 * Math.sin(3 * M);
-    LSun = (L0 + C) % 360; // 2 % 360 = 2, (-2) % 360 = -2
-    if ( LSun < 0 ) LSun += 360;
-    LSun *= D2R;
-    ec = 0.016708634 - T * (0.000042037 + T * 0.0000001267);
-    pi = (102.93735 + T * (1.71946 + T * 0.00046)) * D2R;
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -28,6 +28,7 @@ import java.awt.Event;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
 import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
@@ -74,6 +75,7 @@ import javax.swing.JTextArea;
 import javax.swing.JToggleButton;
 import javax.swing.JToolBar;
 import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
 import javax.swing.event.MenuEvent;
 import javax.swing.event.MenuListener;
 
@@ -108,10 +110,13 @@ public class Nvj extends JFrame implements ActionListener,
   static private InitDlg initDlg;
   static final public String minjavareq = "1.5"; // Minimum Java required
   static final public String javaver = System.getProperty("java.version");
-  static public Dimension dimScrn = Toolkit.getDefaultToolkit().getScreenSize();
+  static public Dimension dimScrn = GraphicsEnvironment.isHeadless() ?
+                 new Dimension(1024, 768) :  // (See ChartRenderer)
+                 Toolkit.getDefaultToolkit().getScreenSize();
   static public Component parentFrame = null;  // Used for parent of popup dlgs
          // so that null won't be needed (null results in minimize btn on dlg)
   static private long initDlgStartTime;
+  static private boolean initTimes = false;  // Print data base read times
   static public String workingDir = ".";
   static public String iniDir = ".";
 
@@ -656,6 +661,11 @@ public class Nvj extends JFrame implements ActionListener,
          new String[] { TextBndl.getString("M.Time.Rates") },
          new String[] { "time_rts" },
          null);
+    time.addSeparator();
+    addMenuItems(time, this,
+         new String[] { TextBndl.getString("M.Time.Events") },
+         new String[] { "time_evts" },
+         null);
     if ( mn != null ) mn.add(time);
     if ( pu != null ) pu.add(time);
 
@@ -1137,6 +1147,9 @@ public class Nvj extends JFrame implements ActionListener,
     else if ( cmd.equals("time_rts") ) {
       TimeRateDlg.showDlg(this, prefer);
     }
+    else if ( cmd.equals("time_evts") ) {
+      EventSearchDlg.showDlg(this, prefer);
+    }
     else if ( cmd.equals("help_gen") ) {
       long now = new Date().getTime();
       if ( now - menuCloseTime < 200 ) HelpWin.showHelpPage("menu");
@@ -1265,7 +1278,7 @@ public class Nvj extends JFrame implements ActionListener,
       moved = prefer.mouseMoveZBar(e.getValue(), zbar.getValueIsAdjusting());
     else   /* e.getAdjustable() == fbar */
       moved = prefer.mouseMoveFBar(e.getValue(), fbar.getValueIsAdjusting());
-    if ( moved ) starwin.restartpaint();
+    if ( moved ) starwin.previewpaint();  // Rebuilds when bar stops
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -1277,6 +1290,12 @@ public class Nvj extends JFrame implements ActionListener,
     time_bomb();
     checkForOldJava();
     checkForCleanup(args);
+    for ( String arg : args ) {                 // Undocumented; checked here
+      if ( arg.equalsIgnoreCase("-inittimes") ) // as they are needed before
+        initTimes = true;                       // checkArgs() is called
+      else if ( arg.equalsIgnoreCase("-nosnapshots") )
+        DBSnapshot.disabled = true;
+    }
 
     /* Show splash window */
     initDlg = new InitDlg(PgmInfo2, "...");
@@ -1285,31 +1304,16 @@ public class Nvj extends JFrame implements ActionListener,
     parentFrame = initDlg;   // Used by popup error msgs
 
     /* Set working (& ini) directory and read star (& ...) data */
-    initDlg.setMessage(TextBndl.getString("Startup.star"));
     setWorkingDir();
-    StarDB.init();
-    StarDsgnDB.init();
-
-    /* Read constellation data */
-    initDlg.setMessage(TextBndl.getString("Startup.const"));
-    ConstLines.init();
-    ConstBounds.init();
-
-    /* Read Milky Way data */
-    initDlg.setMessage(TextBndl.getString("Startup.milkyway"));
-    MilkyWay.init();
-
-    /* Read star name data */
-    initDlg.setMessage(TextBndl.getString("Startup.strname"));
-    StarNameDB.init();
-
-    /* Read deep sky data */
-    initDlg.setMessage(TextBndl.getString("Startup.ds"));
-    DeepSkyDB.init();
-
-    /* Read location data */
-    initDlg.setMessage(TextBndl.getString("Startup.loc"));
-    CityDB.init();
+    TaskGraph init = initDataBases(new TaskGraph.Listener() {
+      public void started(String name, final String message) {
+        if ( message != null )        // (Called on worker threads)
+          SwingUtilities.invokeLater(new Runnable() {
+            public void run() { initDlg.setMessage(message); }
+          });
+      }
+    });
+    if ( initTimes ) ErrLogger.logError(init.tellTimes());
 
     /* Read preferences (from ini file) */
     initDlg.setMessage(TextBndl.getString("Startup.ini"));
@@ -1324,9 +1328,52 @@ public class Nvj extends JFrame implements ActionListener,
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Set working directory (Windoze only).
+   * Reads the data bases (star, constellation, ..., location).  Those
+   * that don't depend on each other are read concurrently; the star
+   * designations and names need the stars.  Returns the TaskGraph used,
+   * from which the times taken may be had.  (Also used by ChartRenderer
+   * and Almanac.)
+   */
+  static TaskGraph initDataBases(TaskGraph.Listener listener) {
+    TaskGraph init = new TaskGraph(Math.max(2,
+                               Runtime.getRuntime().availableProcessors()));
+    init.setListener(listener);
+    init.add("StarDB", TextBndl.getString("Startup.star"), new Runnable() {
+      public void run() { StarDB.init(); }
+    });
+    init.add("ConstLines", TextBndl.getString("Startup.const"),
+             new Runnable() {
+      public void run() { ConstLines.init(); }
+    });
+    init.add("ConstBounds", null, new Runnable() {
+      public void run() { ConstBounds.init(); }
+    });
+    init.add("MilkyWay", TextBndl.getString("Startup.milkyway"),
+             new Runnable() {
+      public void run() { MilkyWay.init(); }
+    });
+    init.add("DeepSkyDB", TextBndl.getString("Startup.ds"), new Runnable() {
+      public void run() { DeepSkyDB.init(); }
+    });
+    init.add("CityDB", TextBndl.getString("Startup.loc"), new Runnable() {
+      public void run() { CityDB.init(); }
+    });
+    init.add("StarDsgnDB", null, new Runnable() {
+      public void run() { StarDsgnDB.init(); }
+    }, "StarDB");
+    init.add("StarNameDB", TextBndl.getString("Startup.strname"),
+             new Runnable() {
+      public void run() { StarNameDB.init(); }
+    }, "StarDB");
+    init.run();
+    return init;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Set working directory (Windoze only).  (Also used by ChartRenderer
+   * and Almanac.)
    */
-  private static void setWorkingDir() {
+  static void setWorkingDir() {
     final String QBase = "reg query \"HKCU\\Software\\Microsoft\\Windows\\" +
                      "CurrentVersion\\Explorer\\Shell Folders\" /v ";
     final Properties props = System.getProperties();
@@ -1445,6 +1492,12 @@ public class Nvj extends JFrame implements ActionListener,
           Preferences.geocentric = true;
         else if ( arg.equalsIgnoreCase("nodeltat") ) // Undocumented
           Preferences.usedeltat = false;
+        else if ( arg.equalsIgnoreCase("serialstars") ) // Undocumented
+          Preferences.parallelStars = false;
+        else if ( arg.equalsIgnoreCase("renderstats") ) // Undocumented
+          Preferences.renderStats = true;
+        else if ( arg.equalsIgnoreCase("fastorbits") ) // See ss.html
+          Preferences.fastOrbits = true;
         else if ( arg.equalsIgnoreCase("shadehorizon") ) // Undocumented
           prefer.shadeHorizon = true;                    // Put in new window?
         //else if ( arg.equalsIgnoreCase("popup") )
@@ -102,6 +102,7 @@ public class Preferences extends View implements Cloneable {
     fntAGrid, fntHorizon, fntStarLabel = null;
   static private String slewout = null; // null means no Slew btn
   static private String scopein = null; // null means no scope monitoring
+  static private int scopeport = 0;     // 0 means no scope port
   // The following appears to be the dft font for a new JPanel
   private final static Font dftFont = new Font("Dialog", Font.PLAIN, 12);
   private final static Font grdFont = new Font("Dialog", Font.PLAIN, 10);
@@ -113,6 +114,9 @@ public class Preferences extends View implements Cloneable {
   static public boolean mnphases = true;
   static public boolean geocentric = false;
   static public boolean usedeltat = true;
+  static public boolean parallelStars = true; // False: draw on 1 thread
+  static public boolean renderStats = false;  // True: show drawing times
+  static public boolean fastOrbits = false;   // True: truncated SS orbits
   public boolean shadeHorizon = false;
   //last printer, ...
   /*- Initialization file keys -----------------------------------------------*/
@@ -213,6 +217,7 @@ public class Preferences extends View implements Cloneable {
 
   private final static String keySlew  = "SlewOut";
   private final static String keyScope = "ScopeIn";
+  private final static String keyScopePort = "ScopePort";
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Constructor.
@@ -351,7 +356,7 @@ public class Preferences extends View implements Cloneable {
     zoDSLimMag10   = Initor.getInt(keyZoDSLimMag10, 70); // 6th mag for now...
     ziDSLimMag10   = Initor.getInt(keyZiDSLimMag10,120); // 12th mag for now...
     updatePeriod   = Initor.getInt(keyUpdtPer, 60); // Dft 60 seconds
-    updatePeriod   = Math.max(1, Math.min(updatePeriod, 120));
+    updatePeriod   = Math.max(0, Math.min(updatePeriod, 120)); // 0: Animate
     winLt          = Initor.getInt(keyWinLt, 100); // Dft dist from left side
     winTp          = Initor.getInt(keyWinTp, 100); // Dft distance from top
     winWd          = Initor.getInt(keyWinWd, 575); // Dft width of window
@@ -384,6 +389,9 @@ public class Preferences extends View implements Cloneable {
                   System.getProperty("file.separator") + scope;
     }
     // else scopein (already) null
+
+    scopeport      = Initor.getInt(keyScopePort, 0);
+    if ( scopeport < 0 || scopeport > 65535 ) scopeport = 0;
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -675,6 +683,7 @@ public class Preferences extends View implements Cloneable {
 
   static public String SlewOut() { return slewout; }
   static public String ScopeIn() { return scopein; }
+  static public int    ScopePort() { return scopeport; }
 
   /* StarLabel is for Bayer and Flamsteed star labels */
   public Color   colorStarLabel() { return clrStarName; }
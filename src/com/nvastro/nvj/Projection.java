@@ -0,0 +1,169 @@
+/*
+ * Projection.java  -  Immutable snapshot of the map projection
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Immutable snapshot of the map projection.
+ * <p>
+ * MapParms changes as the user pans, zooms and as time passes, so sharing
+ * one between threads requires cloning it.  A Projection instead copies
+ * the view matrix and window geometry from MapParms (see
+ * MapParms.getProjection()) and never changes afterwards, so any number
+ * of threads may use the same Projection at the same time.  No function
+ * here allocates memory; results are written into caller supplied arrays.
+ * <p>
+ * The projection is the same as MapParms.rd2xyhit (azimuthal equidistant
+ * about the center of the window), and includes precession/nutation.
+ *
+ * @author Brian Simpson
+ */
+public final class Projection {
+  private final double v00, v01, v02,   // View matrix
+                       v10, v11, v12,
+                       v20, v21, v22;
+  private final double midx, midy;
+  private final double maxoffx, maxoffy;
+  private final double pelsPerRadian;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param view View matrix (J2000 rectangular to window)
+   * @param midx Window x midpoint
+   * @param midy Window y midpoint
+   * @param maxoffx Maximum x offset from midpoint still in window
+   * @param maxoffy Maximum y offset from midpoint still in window
+   * @param pelsPerRadian Pels per radian factor
+   */
+  public Projection(Matrix3x3 view, double midx, double midy,
+                    double maxoffx, double maxoffy, double pelsPerRadian) {
+    v00 = view.num[0][0]; v01 = view.num[0][1]; v02 = view.num[0][2];
+    v10 = view.num[1][0]; v11 = view.num[1][1]; v12 = view.num[1][2];
+    v20 = view.num[2][0]; v21 = view.num[2][1]; v22 = view.num[2][2];
+    this.midx = midx;
+    this.midy = midy;
+    this.maxoffx = maxoffx;
+    this.maxoffy = maxoffy;
+    this.pelsPerRadian = pelsPerRadian;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Converts rectangular coordinates to x,y (window coordinates) if within
+   * 90 degrees of center.
+   *
+   * @param rx x part of rectangular input coordinates
+   * @param ry y part of rectangular input coordinates
+   * @param rz z part of rectangular input coordinates
+   * @param x Array to return x value (in x[k])
+   * @param y Array to return y value (in y[k])
+   * @param k Index into x and y
+   * @return  1 - in window
+   * <br>     0 - out of window, but within 90 deg. of center
+   * <br>    -1 - more that 90 degrees from center of window
+   *              (coordinates not calculated)
+   */
+  public int rd2xyhit(double rx, double ry, double rz,
+                      float[] x, float[] y, int k) {
+    double m0, m1, m2, offx, offy, pels;
+
+    m0 = v00*rx + v01*ry + v02*rz;
+    m1 = v10*rx + v11*ry + v12*rz;
+    m2 = v20*rx + v21*ry + v22*rz;
+
+    /* See comments in MapParms.rd2xyhit */
+    if ( m2 < -0.0002 ) return(-1); // > 90.01 degree beyond center
+    else if ( m2 > 1 ) pels = 0.0;
+    else               pels = Math.acos(m2) * pelsPerRadian;
+    m2 = Math.sqrt((m0*m0) + (m1*m1));
+    if ( m2 != 0 ) {
+      pels /= m2;
+      offx = pels * m1;
+      offy = pels * m0;
+    }
+    else offx = offy = 0;
+
+    x[k] = (float)(midx + offx);
+    y[k] = (float)(midy - offy);
+    if ( maxoffx <= Math.abs(offx) || maxoffy <= Math.abs(offy) ) return(0);
+    return(1);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Converts RA/Dec to x,y (window coordinates) if within 90 degrees of
+   * center.
+   *
+   * @param ras RA value in radians
+   * @param dec Dec value in radians
+   * @param x Array to return x value (in x[k])
+   * @param y Array to return y value (in y[k])
+   * @param k Index into x and y
+   * @return  (See rd2xyhit for rectangular coordinates)
+   */
+  public int rd2xyhit(double ras, double dec, float[] x, float[] y, int k) {
+    double cosde = Math.cos(dec);
+    return rd2xyhit(cosde * Math.cos(ras), cosde * Math.sin(ras),
+                    Math.sin(dec), x, y, k);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Converts a range of rectangular coordinates to x,y (window coordinates)
+   * in one pass.  Entry i of the input arrays is written to entry
+   * i - from + off of x, y and hit.
+   *
+   * @param rx x parts of rectangular input coordinates
+   * @param ry y parts of rectangular input coordinates
+   * @param rz z parts of rectangular input coordinates
+   * @param from First input entry
+   * @param to Last input entry + 1
+   * @param x Array to return x values
+   * @param y Array to return y values
+   * @param hit Array to return result of rd2xyhit for each entry
+   *            (x and y are not set where hit is -1)
+   * @param off First output entry
+   * @return Number of entries in window (hit of 1)
+   */
+  public int project(double[] rx, double[] ry, double[] rz, int from, int to,
+                     float[] x, float[] y, byte[] hit, int off) {
+    int count = 0;
+    for ( int i = from, k = off; i < to; i++, k++ ) {
+      int rc = rd2xyhit(rx[i], ry[i], rz[i], x, y, k);
+      hit[k] = (byte)rc;
+      if ( rc == 1 ) count++;
+    }
+    return count;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the x midpoint of the window.
+   */
+  public double getMidX() { return midx; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the y midpoint of the window.
+   */
+  public double getMidY() { return midy; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the pels per radian factor.
+   */
+  public double getPelsPerRadian() { return pelsPerRadian; }
+}
@@ -0,0 +1,181 @@
+/*
+ * RenderStats.java  -  Timing statistics of chart drawing
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.Arrays;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Timing statistics of chart drawing.  For each layer (Milky Way, stars,
+ * ...), keeps the drawing times of the last WINDOW times the layer was
+ * drawn (a layer whose cached image is reused is not drawn), and the
+ * number of objects projected and found in the window the last time.
+ * The same is kept for complete images.  Reports give the last time and
+ * the 50th, 90th and 99th percentiles and maximum of the kept times.
+ * <p>
+ * Recording costs a few reads of System.nanoTime() per image, so is
+ * always done.  Reports are only made when asked for (see the
+ * "renderstats" option).  Synchronized, as the image is drawn by one
+ * thread and reported by another.
+ *
+ * @author Brian Simpson
+ */
+public class RenderStats {
+  /** Number of times kept for each layer */
+  static final public int WINDOW = 200;
+  /* Number of images over which the image rate is measured */
+  static final private int RATEWINDOW = 32;
+
+  private String[] names;       // Layer names, then "Image"
+  private long[][] times;       // Ring buffers of times (nanosecs)
+  private int[] num;            // Times recorded (total)
+  private int[] projected;      // Objects projected (last time)
+  private int[] visible;        // Objects in window (last time)
+  private int[] frame;          // Image of last time
+  private int frames = 0;       // Images completed
+  private long[] ends = new long[RATEWINDOW]; // Completion times (ring)
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param layers Names of the layers
+   */
+  public RenderStats(String[] layers) {
+    int n = layers.length + 1;
+    names = new String[n];
+    System.arraycopy(layers, 0, names, 0, n - 1);
+    names[n - 1] = "Image";
+    times = new long[n][WINDOW];
+    num = new int[n];
+    projected = new int[n];
+    visible = new int[n];
+    frame = new int[n];
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Records the drawing of a layer.
+   *
+   * @param layer Layer
+   * @param nanos Time taken (nanosecs)
+   * @param proj Objects projected
+   * @param vis Objects in window
+   */
+  public synchronized void recordLayer(int layer, long nanos,
+                                       int proj, int vis) {
+    add(layer, nanos);
+    projected[layer] = proj;
+    visible[layer] = vis;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Records the completion of an image.
+   *
+   * @param nanos Time taken (nanosecs)
+   * @return Number of images completed
+   */
+  public synchronized int recordImage(long nanos) {
+    int n = names.length - 1;
+    int proj = 0, vis = 0;
+    for ( int i = 0; i < n; i++ )
+      if ( frame[i] == frames + 1 ) {
+        proj += projected[i];
+        vis += visible[i];
+      }
+    add(n, nanos);
+    projected[n] = proj;
+    visible[n] = vis;
+    ends[frames % RATEWINDOW] = System.nanoTime();
+    return ++frames;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the rate (images per second) at which the recent images
+   * were completed, over at most the last 2 seconds (0 if unknown).
+   */
+  public synchronized double getImageRate() {
+    int n = Math.min(frames, RATEWINDOW);
+    if ( n < 2 ) return 0;
+    long last = ends[(frames - 1) % RATEWINDOW];
+    if ( System.nanoTime() - last > 2000000000L ) return 0; // Stopped
+    int k = 1;
+    while ( k < n - 1 &&
+            last - ends[(frames - 1 - (k + 1)) % RATEWINDOW] <= 2000000000L )
+      k++;
+    long first = ends[(frames - 1 - k) % RATEWINDOW];
+    return (last > first) ? k * 1e9 / (last - first) : 0;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns one line per layer (and one for the image):  Name, last time,
+   * percentiles and maximum (millisecs), objects projected and in window.
+   * Layers not drawn for the last image have their last time in
+   * parentheses.
+   */
+  public synchronized String[] tellLines() {
+    String[] lines = new String[names.length + 1];
+    lines[0] = String.format("%-13s%8s%7s%7s%7s%7s%9s%8s", "", "Last",
+                             "50%", "90%", "99%", "Max", "Proj", "InWin");
+    for ( int i = 0; i < names.length; i++ ) {
+      int n = Math.min(num[i], WINDOW);
+      if ( n == 0 ) {
+        lines[i + 1] = String.format("%-13s%8s", names[i], "-");
+        continue;
+      }
+      long[] t = new long[n];
+      System.arraycopy(times[i], 0, t, 0, n);
+      Arrays.sort(t);
+      double last = ms(times[i][(num[i] - 1) % WINDOW]);
+      String l = (frame[i] == frames) ? String.format("%.1f ", last) :
+                                        String.format("(%.1f)", last);
+      lines[i + 1] = String.format("%-13s%8s%7.1f%7.1f%7.1f%7.1f%9d%8d",
+                                   names[i], l, ms(t[(n - 1) / 2]),
+                                   ms(t[(n - 1) * 9 / 10]),
+                                   ms(t[(n - 1) * 99 / 100]), ms(t[n - 1]),
+                                   projected[i], visible[i]);
+    }
+    return lines;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the report of tellLines() as one string (for logging; no
+   * \n at end).
+   */
+  public String tellStats() {
+    String[] lines = tellLines();
+    StringBuilder sb = new StringBuilder();
+    synchronized ( this ) {
+      sb.append("Drawing times (ms), last ").append(Math.min(frames, WINDOW))
+        .append(" of ").append(frames).append(" images");
+    }
+    for ( String l : lines ) sb.append('\n').append(l);
+    return sb.toString();
+  }
+
+  /* Adds a time to a ring buffer */
+  private void add(int i, long nanos) {
+    times[i][num[i]++ % WINDOW] = nanos;
+    if ( num[i] == 2 * WINDOW ) num[i] = WINDOW;  // Avoid overflow
+    frame[i] = frames + 1;
+  }
+
+  /* Nanosecs to millisecs */
+  private static double ms(long nanos) { return nanos / 1e6; }
+}
@@ -49,6 +49,8 @@ import java.awt.geom.GeneralPath;
 import java.awt.image.BufferedImage; // For 2nd thread
 import java.util.Calendar;
 import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import javax.swing.AbstractAction;
 import javax.swing.ActionMap;
@@ -125,7 +127,9 @@ class Vector3 {
 }
 
 /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
- * Orbit data class.  Basically just a public structure to hold orbit info.
+ * Orbit data class.  Basically just a public structure to hold orbit info:
+ * the Keplerian elements of a planet's orbit at the start of an epoch
+ * bucket (see SSWin.getOrbit()), and the orbit they describe.
  *
  * @author Brian Simpson
  */
@@ -137,22 +141,56 @@ class OrbitData {
   public double omega; // Argument of periapsis (radians)
   public double nu;    // True anomaly (radians)
 
-  public double t0;    // Julian time for orbit
+  public double t0;    // Julian millennia from J2000.0 for orbit
+  public long bucket;  // Epoch bucket
 
-  public double[] x;   // x position every 2 degrees
+  public double[] x;   // Heliocentric ecliptical x position (AU) every
+                       // 2 degrees of true anomaly, starting at periapsis
   public double[] y;   // y position every 2 degrees
   public double[] z;   // z position every 2 degrees
 
-  public int near;
+  OrbitData() {
+    x = new double[180];
+    y = new double[180];
+    z = new double[180];
+    t0 = 0;
+  }
+}
 
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Orbit view class.  Holds what the Solar System window needs to draw
+ * a planet and its orbit:  the orbit for the current epoch bucket (and
+ * the orbit for the next one, being computed in the background), and the
+ * orbit as projected for the current tilt, rotation and zoom, ready to
+ * draw as arcs.  Used only by the thread building images.
+ *
+ * @author Brian Simpson
+ */
+class OrbitView {
   public String name;
 
-  OrbitData(String name) {
+  public OrbitData orbit;         // Orbit for the current epoch bucket
+  public Future<OrbitData> next;  // Orbit for nextBucket (or null)
+  public long nextBucket;
+
+  public OrbitData shown;         // Orbit projected (null if none yet)
+  public int tilt, rotate, zoom;  // View it was projected for
+  public double[] x;   // x pels from sun (positive is to right of sun)
+  public double[] y;   // y pels from sun (positive is below sun)
+  public double[] z;   // used to determine if nearer/farther from sun
+  public int near;     // Point where z transitions from - to +
+  public GeneralPath[] arcs;      // Arcs of the orbit (see SSWin.ARCS)
+
+  public double px, py, pz;       // Planet position (as x, y, z)
+
+  OrbitView(String name, int numarcs) {
     this.name = TextBndl.getString(name);
     x = new double[180];
     y = new double[180];
     z = new double[180];
-    t0 = 0;
+    arcs = new GeneralPath[numarcs];
+    for ( int k = 0; k < numarcs; k++ )
+      arcs[k] = new GeneralPath(GeneralPath.WIND_NON_ZERO, 16);
   }
 }
 
@@ -208,9 +246,12 @@ public class SSWin extends JFrame implements ActionListener,
   private Graphics2D bldGraph;         // Will point to bufGraph2 or 1
   private boolean update = false;      // Access only when synchronized
 
-  // Need Java 1.5: private Vector<OrbitData> orbits;
-  private Vector<OrbitData> orbits;
+  // Need Java 1.5: private Vector<OrbitView> orbits;
+  private Vector<OrbitView> orbits;
   private NearSkyDB planets;
+  private Color[] arcColors;           // Colors of orbit arcs (see ARCS)
+  private int arcTilt = -1;            // Tilt, planet and background colors
+  private Color arcPlanet, arcBckgnd;  //   used for arcColors
 
   // Canonical time unit ("Fundamentals of Astrodynamics"
   // by Bate, Mueller, White; 1971, P. 429)
@@ -237,6 +278,18 @@ public class SSWin extends JFrame implements ActionListener,
     "NS.Mercury", "NS.Venus", "NS.Earth", "NS.Mars", "NS.Jupiter",
     "NS.Saturn", "NS.Uranus", "NS.Neptune", "NS.Pluto" };
   final static private int NumPlanets = T2.length;
+  // Orbits are recomputed every 1/9 of T2 (about 2 degrees of orbit)
+  final static private int BUCKETS = 9;
+
+  // Arcs of an orbit:  Points (of 180, counting from where the orbit
+  // comes nearer than the sun) at which the arcs start and end.  Arcs
+  // 0 - 6 are nearer than the sun, 7 - 13 farther.  Arc brightness is
+  // adjusted (see drawArcs()) by ARCADJ times the sine of the tilt.
+  final static private int[] ARCS   = { 0, 7, 22, 37, 52, 67, 82, 90,
+                                        97, 112, 127, 142, 157, 172, 180 };
+  final static private int[] ARCADJ = { 0, 20, 35, 40, 35, 20, 0,
+                                        0, -20, -35, -40, -35, -20, 0 };
+  final static private int NEARARCS = 7;
 
   final static private int TSCRLMAX  = 360; // Max value for vert (tilt) scroll
   final static private int RSCRLMAX  = 360; // Max value for horz(rotate) scroll
@@ -284,9 +337,10 @@ public class SSWin extends JFrame implements ActionListener,
 
     /* Set up planets (position data) and orbits (orbit data) */
     planets = new NearSkyDB();
-    orbits = new Vector<OrbitData>(NumPlanets);
+    orbits = new Vector<OrbitView>(NumPlanets);
     for ( int i = 0; i < NumPlanets; i++ )
-      orbits.addElement(new OrbitData(Names[i]));
+      orbits.addElement(new OrbitView(Names[i], ARCADJ.length));
+    arcColors = new Color[ARCADJ.length];
 
     /* Create a client area to display Sun, planets, and orbits */
     ssw = new JComponent() {
@@ -812,105 +866,72 @@ public class SSWin extends JFrame implements ActionListener,
 
     Ellipse2D.Float ellipse = new Ellipse2D.Float();
 
-    double rotation = (rotate - 180) * Math.PI / 180; // Shift by 180 degrees
-
-    int tlt = tilt;  // Don't want the GUI thread to change the value of tilt
-    // between the next 2 statements, so copy it to tlt and use the copy
+    int rot = rotate; // Don't want the GUI thread to change the view while
+    int tlt = tilt;   // it is being used, so copy it and use the copy
+    int zmv = zoom;
+    double rotation = (rot - 180) * Math.PI / 180; // Shift by 180 degrees
+    double cosrot = Math.cos(rotation);
+    double sinrot = Math.sin(rotation);
     double costilt = Math.cos(tlt * Math.PI / 180);
     double sintilt = Math.sin(tlt * Math.PI / 180);
-    double asintilt = Math.abs(sintilt);
 
     // The following (done by trial & error) produces a good zoom range
-    double zm = zoomfactor * 7 * Math.exp((ZSCRLMAX - zoom)/50.0);
+    double zm = zoomfactor * 7 * Math.exp((ZSCRLMAX - zmv)/50.0);
 
     // t = Julian millennia from J2000.0
     double t = (jd - 2451545.0) / 365250;
 
+    double[] l = new double[1];
+    double[] b = new double[1];
+    double[] r = new double[1];
     int planet;
-    OrbitData orbit;
+    OrbitView v;
     for ( planet = 0; planet < NumPlanets; planet++ ) {
-      // Need Java 1.5: orbit = orbits.elementAt(planet);
-      orbit = (OrbitData)orbits.elementAt(planet);
-
-      /* Generate Keplerian orbit elements */
-      genKepOrbElements(planet, t, orbit);
-
-      /* Method for deriving screen coordinates from Keplerian orbit elements
-         1) Orbit will be initially layed out on an xy plane where
-            periapsis occurs along the positive x axis.  The derived (x,y)
-            values will be represented by (rp,rq), and they will be scaled
-            by zoom (vertical scrollbar on left side).
-         2) (rp,rq) will be multiplied by rot, a rotation matrix representing
-            Omega, omega, i, and rotation (RA of ascending node, argument of
-            periapsis, inclination, horizontal scrollbar on bottom).
-         3) The resulting (x,y,z) values will be rotated by tilt (vertical
-            scrollbar on right side).  The final values are:
-            orbit.x[]  ->  x pixels from sun (positive is to right of sun)
-            orbit.y[]  ->  y pixels from sun (positive is below sun)
-            orbit.z[]  ->  used to determine if nearer/farther from sun
-      */
-
-      /* Implement rotation matrix */
-      double[][] rot = new double[3][2]; // Normally [3][3] but since orbit
-        // will be 1st laid out in xy plane, last column unneeded
-      double cosin = Math.cos(orbit.i);
-      double sinin = Math.sin(orbit.i);
-      double cosOm = Math.cos(orbit.Omega + rotation);
-      double sinOm = Math.sin(orbit.Omega + rotation);
-      double cosom = Math.cos(orbit.omega);
-      double sinom = Math.sin(orbit.omega);
-      rot[0][0] =   cosOm * cosom - sinOm * sinom * cosin;
-      rot[0][1] = - cosOm * sinom - sinOm * cosom * cosin;
-      /* [0][2] =   sinOm * sinin;                          Not needed */
-      rot[1][0] =   sinOm * cosom + cosOm * sinom * cosin;
-      rot[1][1] = - sinOm * sinom + cosOm * cosom * cosin;
-      /* [1][2] = - cosOm * sinin;                          Not needed */
-      rot[2][0] =   sinom * sinin;
-      rot[2][1] =   cosom * sinin;
-      /* [2][2] =   cosin;                                  Not needed */
-
-      double p = orbit.p * zm;
-      double nu = orbit.nu;
-      double cosnu, sinnu, rp, rq, x, y, z;
-      for ( int n = 0; n < 180; n++ ) {
-        cosnu = Math.cos(nu);
-        sinnu = Math.sin(nu);
-        // Pre-rotated              p
-        //   orbit    r = ---------------------
-        // (xy plane)     1 + orbit.e * cos(nu)
-        rp = p * cosnu / (1 + orbit.e * cosnu);  // x component
-        rq = p * sinnu / (1 + orbit.e * cosnu);  // y component
-        // rw = 0;                               // z component = 0
-
-        x =   rot[0][0] * rp + rot[0][1] * rq /* + rot[0][2] * rw */;
-        y = - rot[1][0] * rp - rot[1][1] * rq /* - rot[1][2] * rw */;
-         // - since y > 0 is downward on monitor screen...
-        z =   rot[2][0] * rp + rot[2][1] * rq /* + rot[2][2] * rw */;
-
-        orbit.x[n] = x;
-        orbit.y[n] = y * costilt - z * sintilt;
-        orbit.z[n] = z * costilt + y * sintilt;
-
-        nu += .0349066; // Approx. 2 degree increment
+      // Need Java 1.5: v = orbits.elementAt(planet);
+      v = (OrbitView)orbits.elementAt(planet);
+
+      /* Get orbit, and project it if it or the view changed */
+      OrbitData orbit = getOrbit(planet, v, t);
+      if ( v.shown != orbit || v.tilt != tlt || v.rotate != rot ||
+           v.zoom != zmv ) {
+        project(v, orbit, zm, cosrot, sinrot, costilt, sintilt);
+        v.shown = orbit;
+        v.tilt = tlt;
+        v.rotate = rot;
+        v.zoom = zmv;
       }
+
+      /* Project planet's present position (same steps as project()) */
+      planets.getHCCoordinates(planet, t, l, b, r);
+      double x = r[0] * Math.cos(l[0]) * Math.cos(b[0]);
+      double y = r[0] * Math.sin(l[0]) * Math.cos(b[0]);
+      double z = r[0] * Math.sin(b[0]) * zm;
+      double xr = (x * cosrot - y * sinrot) * zm;
+      double yr = - (x * sinrot + y * cosrot) * zm;
+      v.px = xr;
+      v.py = yr * costilt - z * sintilt;
+      v.pz = z * costilt + yr * sintilt;
     }
 
-    /* Find point in each orbit where z transitions from - to + */
-    for ( planet = 0; planet < NumPlanets; planet++ ) {
-      // Need Java 1.5: orbit = orbits.elementAt(planet);
-      orbit = (OrbitData)orbits.elementAt(planet);
-      orbit.near = -1;
-      boolean z, zold = true;
-      for ( int n = 0; n < 360; n++ ) {
-        z = (orbit.z[n%180] >= 0);
-        if ( z == true && zold == false ) {
-          orbit.near = n%180;
-          break;
-        }
-        zold = z;
+    /* Arc colors */
+    Color planetclr = prefer.colorPlanet();
+    Color bckgnd = prefer.colorBackGnd();
+    if ( tlt != arcTilt || !planetclr.equals(arcPlanet) ||
+         !bckgnd.equals(arcBckgnd) ) {
+      double asintilt = Math.abs(sintilt);
+      for ( int k = 0; k < ARCADJ.length; k++ ) {
+        double adjust = ARCADJ[k] * asintilt;
+        arcColors[k] =
+          new Color((int)((planetclr.getRed()   * (100 + adjust) +
+                           bckgnd.getRed()      * (100 - adjust)) / 200.0),
+                    (int)((planetclr.getGreen() * (100 + adjust) +
+                           bckgnd.getGreen()    * (100 - adjust)) / 200.0),
+                    (int)((planetclr.getBlue()  * (100 + adjust) +
+                           bckgnd.getBlue()     * (100 - adjust)) / 200.0));
       }
-      if ( orbit.near == -1 ) // Just in case...
-        orbit.near = 0;       // (Shouldn't happen)
+      arcTilt = tlt;
+      arcPlanet = planetclr;
+      arcBckgnd = bckgnd;
     }
 
     // Draw horizontal dash at transition point (debugging purposes)
@@ -919,36 +940,28 @@ public class SSWin extends JFrame implements ActionListener,
     //for ( planet = 0; planet < NumPlanets; planet++ ) {
     //  if ( planet < 4 && !showinner ) continue;
     //  if ( planet > 3 && !showouter ) continue;
-    //  // Need Java 1.5: orbit = orbits.elementAt(planet);
-    //  orbit = (OrbitData)orbits.elementAt(planet);
-    //  if ( orbit.near >= 0 ) {
-    //    x = orbit.x[orbit.near];
-    //    y = orbit.y[orbit.near];
-    //    g.drawLine((int)(x-5), (int)(y), (int)(x+5), (int)(y));
-    //  }
+    //  // Need Java 1.5: v = orbits.elementAt(planet);
+    //  v = (OrbitView)orbits.elementAt(planet);
+    //  x = v.x[v.near];
+    //  y = v.y[v.near];
+    //  g.drawLine((int)(x-5), (int)(y), (int)(x+5), (int)(y));
     //}
 
-    // Note: Each step along orbits = ~ 2 degrees
+    // Note: Each step along orbits = 2 degrees
     // (each orbit defined by 180 points)
 
     /* Draw orbital arcs and planets farther than sun */
     for ( planet = NumPlanets-1; planet >= 0; planet-- ) {
       if ( planet < 4 && !showinner ) continue;
       if ( planet > 3 && !showouter ) continue;
-      // Need Java 1.5: orbit = orbits.elementAt(planet);
-      orbit = (OrbitData)orbits.elementAt(planet);
-      drawOrbitArc(g, orbit,  90,  97, 0.0);
-      drawOrbitArc(g, orbit,  97, 112, -20*asintilt);
-      drawOrbitArc(g, orbit, 112, 127, -35*asintilt);
-      drawOrbitArc(g, orbit, 127, 142, -40*asintilt);
-      drawOrbitArc(g, orbit, 142, 157, -35*asintilt);
-      drawOrbitArc(g, orbit, 157, 172, -20*asintilt);
-      drawOrbitArc(g, orbit, 172, 180, 0.0);
+      // Need Java 1.5: v = orbits.elementAt(planet);
+      v = (OrbitView)orbits.elementAt(planet);
+      drawArcs(g, v, NEARARCS, ARCADJ.length);
 
       /* Draw planet if farther than sun */
-      if ( orbit.z[0] < 0 ) {
-        g.setColor(prefer.colorPlanet());
-        ellipse.setFrame(orbit.x[0] - 4, orbit.y[0] - 4, 9, 9);
+      if ( v.pz < 0 ) {
+        g.setColor(planetclr);
+        ellipse.setFrame(v.px - 4, v.py - 4, 9, 9);
         g.fill(ellipse);
       }
     }
@@ -962,20 +975,14 @@ public class SSWin extends JFrame implements ActionListener,
     for ( planet = 0; planet < NumPlanets; planet++ ) {
       if ( planet < 4 && !showinner ) continue;
       if ( planet > 3 && !showouter ) continue;
-      // Need Java 1.5: orbit = orbits.elementAt(planet);
-      orbit = (OrbitData)orbits.elementAt(planet);
-      drawOrbitArc(g, orbit,  0,  7, 0.0);
-      drawOrbitArc(g, orbit,  7, 22, 20*asintilt);
-      drawOrbitArc(g, orbit, 22, 37, 35*asintilt);
-      drawOrbitArc(g, orbit, 37, 52, 40*asintilt);
-      drawOrbitArc(g, orbit, 52, 67, 35*asintilt);
-      drawOrbitArc(g, orbit, 67, 82, 20*asintilt);
-      drawOrbitArc(g, orbit, 82, 90, 0.0);
+      // Need Java 1.5: v = orbits.elementAt(planet);
+      v = (OrbitView)orbits.elementAt(planet);
+      drawArcs(g, v, 0, NEARARCS);
 
       /* Draw planet if nearer than sun (or at same distance) */
-      if ( orbit.z[0] >= 0 ) {
-        g.setColor(prefer.colorPlanet());
-        ellipse.setFrame(orbit.x[0] - 4, orbit.y[0] - 4, 9, 9);
+      if ( v.pz >= 0 ) {
+        g.setColor(planetclr);
+        ellipse.setFrame(v.px - 4, v.py - 4, 9, 9);
         g.fill(ellipse);
       }
     }
@@ -983,47 +990,177 @@ public class SSWin extends JFrame implements ActionListener,
     /* Planet names */
     FontMetrics fm = g.getFontMetrics();
     int yoffset = fm.getDescent() + 5;  // Descent + 5 pixels
-    g.setColor(prefer.colorPlanet());
+    g.setColor(planetclr);
     for ( planet = 0; planet < NumPlanets; planet++ ) {
       if ( planet < 4 && !showinner ) continue;
       if ( planet > 3 && !showouter ) continue;
-      // Need Java 1.5: orbit = orbits.elementAt(planet);
-      orbit = (OrbitData)orbits.elementAt(planet);
-      String name = orbit.name;
-      g.drawString(name, (int)(orbit.x[0]) - fm.stringWidth(name) / 2,
-                         (int)(orbit.y[0]) - yoffset);
+      // Need Java 1.5: v = orbits.elementAt(planet);
+      v = (OrbitView)orbits.elementAt(planet);
+      String name = v.name;
+      g.drawString(name, (int)(v.px) - fm.stringWidth(name) / 2,
+                         (int)(v.py) - yoffset);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the orbit of a planet for the epoch bucket (1/BUCKETS of T2)
+   * containing time t.  The orbit is kept until time leaves the bucket.
+   * Whenever a new bucket is entered, the orbit for the bucket that time
+   * will enter next if it keeps moving by the same amount is computed on
+   * a worker thread, so that when time runs, the next orbit is normally
+   * ready when needed.
+   *
+   * @param planet Planet (0 = Mercury, 1 = Venus, ...)
+   * @param v OrbitView of planet
+   * @param t Julian millennia from J2000.0
+   */
+  private OrbitData getOrbit(int planet, OrbitView v, double t) {
+    final int pl = planet;
+    final double span = T2[planet] / BUCKETS / 365250; // Millennia
+    long bucket = (long)Math.floor(t / span);
+    OrbitData orbit = v.orbit;
+    if ( orbit != null && orbit.bucket == bucket ) return orbit;
+
+    long step = ( orbit == null ) ? 1 : bucket - orbit.bucket;
+    orbit = null;
+    if ( v.next != null ) {
+      if ( v.nextBucket == bucket ) {
+        try { orbit = v.next.get(); } catch ( Exception e ) {}
+      }
+      else v.next.cancel(false);
+    }
+    if ( orbit == null ) orbit = genOrbit(planet, bucket, span);
+    v.orbit = orbit;
+
+    final long next = bucket + step;
+    v.nextBucket = next;
+    v.next = WorkerPool.submit(new Callable<OrbitData>() {
+      public OrbitData call() { return genOrbit(pl, next, span); }
+    });
+    return orbit;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Computes the orbit of a planet at the start of an epoch bucket.
+   * (Called on the image build thread or a worker thread.)
+   *
+   * @param planet Planet (0 = Mercury, 1 = Venus, ...)
+   * @param bucket Epoch bucket
+   * @param span Length of epoch buckets (Julian millennia)
+   */
+  private OrbitData genOrbit(int planet, long bucket, double span) {
+    OrbitData orbit = new OrbitData();
+    orbit.bucket = bucket;
+    orbit.t0 = bucket * span;
+
+    /* Generate Keplerian orbit elements */
+    genKepOrbElements(planet, orbit.t0, orbit);
+
+    /* Lay out the orbit on an xy plane where periapsis occurs along the
+       positive x axis, as (rp,rq), and multiply it by rot, a rotation
+       matrix representing Omega, omega, and i (RA of ascending node,
+       argument of periapsis, inclination) */
+    double[][] rot = new double[3][2]; // Normally [3][3] but since orbit
+      // is 1st laid out in xy plane, last column unneeded
+    double cosin = Math.cos(orbit.i);
+    double sinin = Math.sin(orbit.i);
+    double cosOm = Math.cos(orbit.Omega);
+    double sinOm = Math.sin(orbit.Omega);
+    double cosom = Math.cos(orbit.omega);
+    double sinom = Math.sin(orbit.omega);
+    rot[0][0] =   cosOm * cosom - sinOm * sinom * cosin;
+    rot[0][1] = - cosOm * sinom - sinOm * cosom * cosin;
+    /* [0][2] =   sinOm * sinin;                          Not needed */
+    rot[1][0] =   sinOm * cosom + cosOm * sinom * cosin;
+    rot[1][1] = - sinOm * sinom + cosOm * cosom * cosin;
+    /* [1][2] = - cosOm * sinin;                          Not needed */
+    rot[2][0] =   sinom * sinin;
+    rot[2][1] =   cosom * sinin;
+    /* [2][2] =   cosin;                                  Not needed */
+
+    double cosnu, sinnu, rp, rq;
+    for ( int n = 0; n < 180; n++ ) {
+      double nu = n * TwoPI / 180;
+      cosnu = Math.cos(nu);
+      sinnu = Math.sin(nu);
+      // Pre-rotated              p
+      //   orbit    r = ---------------------
+      // (xy plane)     1 + orbit.e * cos(nu)
+      rp = orbit.p * cosnu / (1 + orbit.e * cosnu);  // x component
+      rq = orbit.p * sinnu / (1 + orbit.e * cosnu);  // y component
+      // rw = 0;                                     // z component = 0
+
+      orbit.x[n] = rot[0][0] * rp + rot[0][1] * rq /* + rot[0][2] * rw */;
+      orbit.y[n] = rot[1][0] * rp + rot[1][1] * rq /* + rot[1][2] * rw */;
+      orbit.z[n] = rot[2][0] * rp + rot[2][1] * rq /* + rot[2][2] * rw */;
     }
+    return orbit;
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Draws a portion of an orbit.
+   * Projects an orbit for the view, and builds the arcs to draw.
+   * The orbit is 1) rotated by rotation (horizontal scrollbar on bottom),
+   * 2) scaled by zoom (vertical scrollbar on left side), and 3) rotated
+   * by tilt (vertical scrollbar on right side), giving:
+   *   v.x[]  ->  x pixels from sun (positive is to right of sun)
+   *   v.y[]  ->  y pixels from sun (positive is below sun)
+   *   v.z[]  ->  used to determine if nearer/farther from sun
+   */
+  private void project(OrbitView v, OrbitData orbit, double zm,
+                       double cosrot, double sinrot,
+                       double costilt, double sintilt) {
+    for ( int n = 0; n < 180; n++ ) {
+      double x = orbit.x[n], y = orbit.y[n];
+      double z = orbit.z[n] * zm;
+      double xr = (x * cosrot - y * sinrot) * zm;
+      double yr = - (x * sinrot + y * cosrot) * zm;
+       // - since y > 0 is downward on monitor screen...
+      v.x[n] = xr;
+      v.y[n] = yr * costilt - z * sintilt;
+      v.z[n] = z * costilt + yr * sintilt;
+    }
+
+    /* Find point in orbit where z transitions from - to + */
+    v.near = -1;
+    boolean z, zold = true;
+    for ( int n = 0; n < 360; n++ ) {
+      z = (v.z[n%180] >= 0);
+      if ( z == true && zold == false ) {
+        v.near = n%180;
+        break;
+      }
+      zold = z;
+    }
+    if ( v.near == -1 ) // Just in case...
+      v.near = 0;       // (Shouldn't happen)
+
+    /* Build arcs */
+    for ( int k = 0; k < v.arcs.length; k++ ) {
+      GeneralPath gp = v.arcs[k];
+      gp.reset();
+      for ( int n = ARCS[k]; n <= ARCS[k+1]; n++ ) {
+        int i = (v.near + n) % 180;
+        if ( n == ARCS[k] ) gp.moveTo((float)v.x[i], (float)v.y[i]);
+        else                gp.lineTo((float)v.x[i], (float)v.y[i]);
+      }
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws arcs of an orbit.  Arc brightness goes by arcColors (made with
+   * brightness adjustment ARCADJ * sine of tilt:  0 = half planet
+   * brightness, 100 = planet brightness, -100 = no brightness).
    *
    * @param g Graphics2D context to use for painting
-   * @param orbit OrbitData class containing orbit position points
-   * @param start Starting point of arc
-   * @param stop Ending point of arc
-   * @param adjust Brightness adjustment (0 = half planet brightness, 100 =
-   *        planet brightness, -100 = no brightness)
+   * @param v OrbitView containing the arcs
+   * @param first First arc to draw
+   * @param stop Arc after last arc to draw
    */
-  private void drawOrbitArc(Graphics2D g, OrbitData orbit,
-                            int start, int stop, double adjust) {
-    GeneralPath gp = new GeneralPath(GeneralPath.WIND_NON_ZERO, stop-start);
-    double x, y;
-    Color planet = prefer.colorPlanet();
-    Color bckgnd = prefer.colorBackGnd();
-    g.setColor(new Color((int)((planet.getRed()   * (100 + adjust) +
-                                bckgnd.getRed()   * (100 - adjust)) / 200.0),
-                         (int)((planet.getGreen() * (100 + adjust) +
-                                bckgnd.getGreen() * (100 - adjust)) / 200.0),
-                         (int)((planet.getBlue()  * (100 + adjust) +
-                                bckgnd.getBlue()  * (100 - adjust)) / 200.0)));
-    for ( int n = start; n <= stop; n++ ) {
-      x = orbit.x[(orbit.near + n) % 180];
-      y = orbit.y[(orbit.near + n) % 180];
-      if ( n == start ) gp.moveTo((float)x, (float)y);
-      else              gp.lineTo((float)x, (float)y);
+  private void drawArcs(Graphics2D g, OrbitView v, int first, int stop) {
+    for ( int k = first; k < stop; k++ ) {
+      g.setColor(arcColors[k]);
+      g.draw(v.arcs[k]);
     }
-    g.draw(gp);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -1183,13 +1320,10 @@ public class SSWin extends JFrame implements ActionListener,
     double[] b = new double[1];
     double[] r = new double[1];
 
-    /* No need for recalc if not much time has passed */
-    if ( (Math.abs(t - orbit.t0)) < (T2[planet] / 65745000) ) return;
-    orbit.t0 = t;
     //stem.out.println(planet); // Debugging aid
 
     // Get heliocentric ecliptical coordinates of present position
-    planets.getHCCoordinates(planet, t, l, b, r);
+    planets.getHCOrbitCoordinates(planet, t, l, b, r);
     Vector3 pos1 = new Vector3(r[0] * Math.cos(l[0]) * Math.cos(b[0]),
                                r[0] * Math.sin(l[0]) * Math.cos(b[0]),
                                r[0] * Math.sin(b[0]));
@@ -1201,7 +1335,7 @@ public class SSWin extends JFrame implements ActionListener,
     // Due to precession the equinox regresses about 1 degree every 72
     // years, causing future coordinates to have inflated longitude
     // values (relative to present), which must be adjusted for...
-    planets.getHCCoordinates(planet, t + T2[planet]/365250, l, b, r);
+    planets.getHCOrbitCoordinates(planet, t + T2[planet]/365250, l, b, r);
     l[0] -= T2[planet] * PAF;  // Quick and dirty adjustment for
             // equinox precession (mainly for outer planets)
     Vector3 pos2 = new Vector3(r[0] * Math.cos(l[0]) * Math.cos(b[0]),
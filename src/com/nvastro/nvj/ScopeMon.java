@@ -22,14 +22,50 @@ package com.nvastro.nvj;
 
 import java.io.*; // File, BufferedReader
 import java.awt.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
 import javax.swing.*;
 
 
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Scope monitor.  Reads telescope positions (and viewing locations) sent
+ * as lines of text, and draws a marker for each scope.
+ * <p>
+ * Input comes from the pipe named by the ScopeIn ini entry, and/or from
+ * any number of connections to the local TCP port given by the ScopePort
+ * ini entry.  The pipe has its own thread (a pipe cannot be used with a
+ * selector); the port and its connections share one thread, using a
+ * selector.  Lines look like:
+ * <pre>
+ *   RA:2.65452 Dec:0.20887 Epoch:2000.0
+ *   LONG:+12:39 LAT:+41:43 TZ:+1:00 DST:1
+ * </pre>
+ * Several scopes can be monitored by preceding the coordinates with
+ * "SCOPE:&lt;name&gt; ".  Up to 8 scopes each get their own marker shape,
+ * labeled with their names.  Lines without a name move the default scope.
+ * <p>
+ * Positions are coalesced:  A reading thread only records the latest
+ * position of each scope, and the event dispatch thread is asked to
+ * update the markers at most once at a time.  Only the areas of the old
+ * and new markers are repainted, so the window keeps up with positions
+ * arriving many times a second.
+ *
+ * @author Brian Simpson
+ */
 public class ScopeMon implements Runnable {
   private JComponent starwin = null;
   private Preferences prefer = null;
-  private SphereCoords coords = new SphereCoords(-1, -1);
-  private boolean valid = false;
+  private ArrayList<Scope> scopes = new ArrayList<Scope>(); // Sync on this
+  private boolean posted = false;       // Marker update pending
+  private MapParms lastmp = null;       // MapParms of last draw
+  private final Object parseLock = new Object();
   private int numerrors = 0;
   private final int maxerrors = 10;
   private boolean desiredLocatSyntaxShown = false;
@@ -40,6 +76,27 @@ public class ScopeMon implements Runnable {
   static final private double TwoPI =  Math.PI * 2;
   static final private double TooPI = (Math.PI * 2) * 1.00000001;
   static final private double HafPI = (Math.PI / 2) * 1.00000001;
+  static final private int MAXSCOPES = 8;       // (A marker shape each)
+  static final private int MAXLINE = 256;       // Longest line accepted
+  static final private int R = 15;              // Marker radius
+
+  /* State of a scope */
+  private static class Scope {
+    String name;                // "" for default scope
+    int shape;                  // Marker shape (0 to MAXSCOPES - 1)
+    double ra = -1, dec = -1;   // J2000 coordinates (-1 if invalid)
+    boolean moved = false;      // Moved since markers last updated
+    Rectangle drawn = null;     // Area of marker on screen (or null)
+                                // (Only used in event dispatch thread)
+    Scope(String name, int shape) { this.name = name; this.shape = shape; }
+  }
+
+  /* Partial line read from a connection */
+  private static class Connection {
+    ByteBuffer buf = ByteBuffer.allocate(1024);
+    StringBuilder line = new StringBuilder();
+    boolean overflow = false;   // Line too long, skip to end of line
+  }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Constructor.
@@ -49,17 +106,27 @@ public class ScopeMon implements Runnable {
   public ScopeMon(JComponent win, Preferences pref) {
     starwin = win;
     prefer = pref;
+    scopes.add(new Scope("", 0));
 
     scopein = Preferences.ScopeIn();
     //stem.out.println("scopein = " + scopein);
 
     if ( scopein != null && scopein.length() > 0 ) {
       if ( new File(scopein).exists() ) {
-        Thread scopein = new Thread(this);
+        Thread scopein = new Thread(this, "ScopeIn");
         scopein.setDaemon(true);
         scopein.start();
       }
     }
+
+    final int port = Preferences.ScopePort();
+    if ( port > 0 ) {
+      Thread scopenet = new Thread(new Runnable() {
+        public void run() { serve(port); }
+      }, "ScopePort");
+      scopenet.setDaemon(true);
+      scopenet.start();
+    }
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -72,33 +139,144 @@ public class ScopeMon implements Runnable {
     Thread me = Thread.currentThread();
     me.setPriority(me.getPriority() - 2);
 
-    try {
-      // This will block if there is no writer to pipe
-      in = new BufferedReader(new FileReader(scopein));
-      //stem.out.println("Connected to pipe");
+    /* A named pipe reaches end of file when its writer closes it;
+       reopening waits for the next writer.  A regular file is
+       followed as it grows. */
+    boolean pipe = !new File(scopein).isFile();
 
+    try {
       while ( true ) {
-        input = in.readLine(); // Doesn't block; null if nothing there
-        if ( input == null ) Thread.sleep(250);
-        else {
-          //stem.out.println(input);
-          parse(input);
+        // This will block if there is no writer to pipe
+        in = new BufferedReader(new FileReader(scopein));
+        //stem.out.println("Connected to pipe");
+
+        while ( true ) {
+          input = in.readLine(); // Blocks until a line or end of file
+          if ( input != null ) parse(input);
+          else if ( pipe ) break;
+          else Thread.sleep(50);
         }
+        in.close();
       }
     } catch(Exception e) {}
   } // End run
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Parse string from input pipe.
-   * (Called by run - runs in its thread)
+   * Listens on the local TCP port, and reads lines from its connections.
+   * (Runs in its own thread)
+   */
+  private void serve(int port) {
+    Selector selector = null;
+
+    Thread me = Thread.currentThread();
+    me.setPriority(me.getPriority() - 2);
+
+    try {
+      selector = Selector.open();
+      ServerSocketChannel server = ServerSocketChannel.open();
+      server.socket().setReuseAddress(true);
+      server.socket().bind(new InetSocketAddress(
+                           InetAddress.getByName(null), port)); // Local only
+      server.configureBlocking(false);
+      server.register(selector, SelectionKey.OP_ACCEPT);
+    } catch ( IOException e ) {
+      ErrLogger.logError("Cannot listen on scope port " + port + ": " +
+                         e.getMessage());
+      try { if ( selector != null ) selector.close(); }
+      catch ( IOException e2 ) {}
+      return;
+    }
+
+    while ( true ) {
+      try {
+        selector.select();
+      } catch ( IOException e ) {
+        return;
+      }
+
+      Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+      while ( it.hasNext() ) {
+        SelectionKey key = it.next();
+        it.remove();
+        if ( key.isAcceptable() ) {
+          /* On error, drop the new connection but keep listening */
+          SocketChannel ch = null;
+          try {
+            ch = ((ServerSocketChannel)key.channel()).accept();
+            if ( ch != null ) {
+              ch.configureBlocking(false);
+              ch.register(selector, SelectionKey.OP_READ, new Connection());
+            }
+          } catch ( IOException e ) {
+            ErrLogger.logError("Cannot accept scope connection: " +
+                               e.getMessage());
+            try { if ( ch != null ) ch.close(); }
+            catch ( IOException e2 ) {}
+          }
+        }
+        else if ( key.isReadable() ) {
+          try {
+            if ( !read((SocketChannel)key.channel(),
+                       (Connection)key.attachment()) ) {
+              key.cancel();
+              key.channel().close();
+            }
+          } catch ( IOException e ) {
+            ErrLogger.logError("Scope connection error: " + e.getMessage());
+            key.cancel();
+            try { key.channel().close(); }
+            catch ( IOException e2 ) {}
+          }
+        }
+      }
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Reads what is available from a connection, parsing complete lines.
+   * Returns false when the connection has been closed by the other end.
+   */
+  private boolean read(SocketChannel ch, Connection c) throws IOException {
+    int n;
+    while ( (n = ch.read(c.buf)) > 0 ) {
+      c.buf.flip();
+      while ( c.buf.hasRemaining() ) {
+        char b = (char)(c.buf.get() & 0xff);
+        if ( b == '\n' ) {
+          if ( !c.overflow ) parse(c.line.toString());
+          c.line.setLength(0);
+          c.overflow = false;
+        }
+        else if ( c.overflow || b == '\r' ) ;
+        else if ( c.line.length() >= MAXLINE ) {
+          logError("Input line too long", null);
+          c.overflow = true;
+        }
+        else c.line.append(b);
+      }
+      c.buf.clear();
+    }
+    return n >= 0;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Parse string from input pipe or port.
+   * (Called by run and serve - runs in their threads)
    */
   private void parse(String in) {
-    double ra = -1, dec = -1, ep;
+    synchronized ( parseLock ) {
+      parseLocked(in);
+    }
+  }
+
+  private void parseLocked(String in) {
+    double ra = -1, dec = -1;
+    String name = "";
 
     String IN = in.trim().toUpperCase();
 
     /* Location mod for Giampiero */
-    if ( IN.matches("LONG.*") ) {
+    if ( IN.startsWith("LONG") ) {
       //stem.out.println("LONG found");
 
       /* Look for something like: "LONG:+12:39 LAT:+41:43 TZ:+1:00 DST:1" */
@@ -143,15 +321,22 @@ public class ScopeMon implements Runnable {
               // doesn't turn off scope marker (below)
     }
 
-    /* Look for something like: "RA:2.65452 Dec:0.20887 Epoch:2000.0" */
-    if ( IN.matches("RA: ?-?[\\d\\.]+ DEC: ?-?[\\d\\.]+ EPOCH: ?[\\d\\.]+") ) {
-      String[] strs = in.trim().split("[: ]+");
-      ra  = Double.parseDouble(strs[1]);
-      dec = Double.parseDouble(strs[3]);
-      ep  = Double.parseDouble(strs[5]);
+    /* Look for something like: "RA:2.65452 Dec:0.20887 Epoch:2000.0",
+       possibly preceded by "SCOPE:<name> " */
+    String str = in.trim();
+    if ( str.regionMatches(true, 0, "SCOPE:", 0, 6) ) {
+      int end = str.indexOf(' ');
+      if ( end < 0 ) end = str.length();
+      name = str.substring(6, end);
+      str = str.substring(end).trim();
+    }
+    double[] val = new double[3];
+    if ( scanCoords(str, val) ) {
+      ra  = val[0];
+      dec = val[1];
       //stem.out.println("RA = "      + ra +
       //                 ", Dec = "   + dec +
-      //                 ", Epoch = " + ep);
+      //                 ", Epoch = " + val[2]);
 
       if ( ra < 0 ) ra += TwoPI;            // Fix
                                                // this
@@ -163,7 +348,7 @@ public class ScopeMon implements Runnable {
         logError("DEC out of range (-PI/2 - PI/2)", null);
         ra = dec = -1;
       }
-      else if ( ep != 2000 ) {
+      else if ( val[2] != 2000 ) {
         logError("EPOCH not 2000", null);
         ra = dec = -1;
       }
@@ -174,14 +359,49 @@ public class ScopeMon implements Runnable {
       desiredCoordSyntaxShown = true;
     }
 
-    set(ra, dec);
+    set(name, ra, dec);
     //stem.out.println("RA = " + ra + ", Dec = " + dec);
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Scans "RA:&lt;ra&gt; DEC:&lt;dec&gt; EPOCH:&lt;epoch&gt;" (ignoring
+   * case), as matched by "RA: ?-?[\d\.]+ DEC: ?-?[\d\.]+ EPOCH: ?[\d\.]+".
+   * Returns false if str does not match (or a number is malformed).
+   */
+  private static boolean scanCoords(String str, double[] val) {
+    int p = scanField(str, 0, "RA:", true, val, 0);
+    if ( p >= 0 ) p = scanField(str, p, " DEC:", true, val, 1);
+    if ( p >= 0 ) p = scanField(str, p, " EPOCH:", false, val, 2);
+    return p == str.length();
+  }
+
+  /* Scans tag, an optional blank, and a number into val[k].
+     Returns the position after the number, or -1 if no match. */
+  private static int scanField(String str, int p, String tag, boolean signed,
+                               double[] val, int k) {
+    int n = str.length();
+    if ( !str.regionMatches(true, p, tag, 0, tag.length()) ) return -1;
+    p += tag.length();
+    if ( p < n && str.charAt(p) == ' ' ) p++;
+    int start = p;
+    if ( signed && p < n && str.charAt(p) == '-' ) p++;
+    int digits = p;
+    char c;
+    while ( p < n && (((c = str.charAt(p)) >= '0' && c <= '9') || c == '.') )
+      p++;
+    if ( p == digits ) return -1;
+    try {
+      val[k] = Double.parseDouble(str.substring(start, p));
+    } catch ( NumberFormatException e ) {   // E.g. "1.2.3"
+      return -1;
+    }
+    return p;
+  }
+
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Logs input errors from pipe.  (Up to limit)
    */
-  private void logError(String msg1, String msg2) {
+  private synchronized void logError(String msg1, String msg2) {
     if ( ++numerrors <= maxerrors ) {
       ErrLogger.logError(msg1);
       if ( msg2 != null ) ErrLogger.logError(msg2);
@@ -193,55 +413,150 @@ public class ScopeMon implements Runnable {
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Sets coordinates.
-   * (Called by parse - runs in "run" thread)
+   * Sets coordinates of a scope, and asks for the markers to be updated.
+   * (Called by parse - runs in "run" or "serve" thread)
    */
-  private synchronized void set(double ra, double dec) {
-    if ( coords.getRA()  != ra || coords.getDec() != dec ) {
-      coords.set(ra, dec);
-      valid = (ra >= 0) ? true : false;
-      // repaint() can be called outside of event dispatch thread
-      if ( starwin != null ) starwin.repaint();
+  private synchronized void set(String name, double ra, double dec) {
+    Scope s = null;
+    for ( Scope t : scopes )
+      if ( t.name.equalsIgnoreCase(name) ) { s = t; break; }
+    if ( s == null ) {
+      if ( ra < 0 ) return;             // No need to add
+      if ( scopes.size() == MAXSCOPES ) {
+        logError("Too many scopes, ignoring " + name, null);
+        return;
+      }
+      s = new Scope(name, scopes.size());
+      scopes.add(s);
+    }
+
+    if ( s.ra != ra || s.dec != dec ) {
+      s.ra = ra;
+      s.dec = dec;
+      s.moved = true;
+      if ( !posted && starwin != null ) {
+        posted = true;
+        SwingUtilities.invokeLater(update);
+      }
     }
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Gets coordinates.
-   * (Called by draw - runs in event dispatch thread)
+   * Repaints the old and new areas of the markers of scopes that moved.
+   * (Runs in event dispatch thread)
    */
-  private synchronized SphereCoords get() {
-    return coords;
-  }
+  private final Runnable update = new Runnable() {
+    public void run() {
+      ArrayList<Scope> moved = new ArrayList<Scope>();
+      synchronized ( ScopeMon.this ) {
+        posted = false;
+        for ( Scope s : scopes )
+          if ( s.moved ) {
+            s.moved = false;
+            moved.add(s);
+          }
+      }
+
+      Font font = starwin.getFont();
+      if ( lastmp == null || font == null ) {
+        starwin.repaint();
+        return;
+      }
+      FontMetrics fm = starwin.getFontMetrics(font);
+      for ( Scope s : moved ) {
+        if ( s.drawn != null ) starwin.repaint(s.drawn);
+        Rectangle r = bounds(s, lastmp, fm, null);
+        if ( r != null ) starwin.repaint(r);
+      }
+    }
+  };
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Returns validity of coordinates.
+   * Returns validity of coordinates (of any scope).
    * (Called when in event dispatch thread)
    */
   public synchronized boolean isValid() {
-    return valid;
+    for ( Scope s : scopes )
+      if ( s.ra >= 0 ) return true;
+    return false;
   }
 
-  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Draw scope marker.
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the area covered by the marker (and label) of a scope,
+   * or null if it is not in the window.  The center of the marker
+   * is returned in xy (if not null).
    * (Runs in event dispatch thread)
    */
-  public void draw(MapParms mp, Graphics g) {
+  private Rectangle bounds(Scope s, MapParms mp, FontMetrics fm, int[] xy) {
     float[] x = new float[1];
     float[] y = new float[1];
-    int xd, yd;
+    double ra, dec;
 
-    SphereCoords c = get();
-    if ( c.getRA() >= 0 ) {
-      if ( mp.rd2xyhit(c, x, y) == 1 ) {
-        xd = (int)(x[0] + 0.5f);
-        yd = (int)(y[0] + 0.5f);
-        g.drawOval(xd - 15, yd - 15, 30, 30);
-        g.drawLine(xd - 15, yd, xd - 11, yd);
-        g.drawLine(xd + 15, yd, xd + 11, yd);
-        g.drawLine(xd, yd + 15, xd, yd + 11);
-        g.drawLine(xd, yd - 15, xd, yd - 11);
+    synchronized ( this ) {
+      ra = s.ra;
+      dec = s.dec;
+    }
+    if ( ra < 0 || mp.rd2xyhit(new SphereCoords(ra, dec), x, y) != 1 )
+      return null;
+
+    int xd = (int)(x[0] + 0.5f);
+    int yd = (int)(y[0] + 0.5f);
+    if ( xy != null ) { xy[0] = xd; xy[1] = yd; }
+    Rectangle r = new Rectangle(xd - R, yd - R, 2 * R + 1, 2 * R + 1);
+    if ( s.name.length() > 0 )
+      r.add(new Rectangle(xd + R + 2, yd - R - fm.getAscent(),
+                          fm.stringWidth(s.name) + 1, fm.getHeight()));
+    r.grow(1, 1);
+    return r;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draw scope markers.
+   * (Runs in event dispatch thread)
+   */
+  public void draw(MapParms mp, Graphics g) {
+    Scope[] all;
+    synchronized ( this ) {
+      all = scopes.toArray(new Scope[scopes.size()]);
+    }
+    lastmp = mp;
+
+    FontMetrics fm = g.getFontMetrics();
+    int[] xy = new int[2];
+    for ( Scope s : all ) {
+      Rectangle r = bounds(s, mp, fm, xy);
+      s.drawn = r;
+      if ( r == null ) continue;
+
+      int xd = xy[0];
+      int yd = xy[1];
+      int h = R / 2, w = R * 7 / 8;     // (Triangles fit in circle R)
+      switch ( s.shape ) {              // (One per scope, see MAXSCOPES)
+        case 0:  g.drawOval(xd - R, yd - R, 2 * R, 2 * R); break;
+        case 1:  g.drawRect(xd - R, yd - R, 2 * R, 2 * R); break;
+        case 2:  g.drawPolygon(new int[] { xd, xd + R, xd, xd - R },
+                               new int[] { yd - R, yd, yd + R, yd }, 4);
+                 break;
+        case 3:  g.drawOval(xd - h, yd - h, 2 * h, 2 * h); break;
+        case 4:  g.drawPolygon(new int[] { xd, xd + w, xd - w },
+                               new int[] { yd - R, yd + h, yd + h }, 3);
+                 break;
+        case 5:  g.drawPolygon(new int[] { xd, xd + w, xd - w },
+                               new int[] { yd + R, yd - h, yd - h }, 3);
+                 break;
+        case 6:  g.drawOval(xd - R, yd - R, 2 * R, 2 * R);
+                 g.drawOval(xd - h, yd - h, 2 * h, 2 * h);
+                 break;
+        default: g.drawRect(xd - R, yd - R, 2 * R, 2 * R);
+                 g.drawRect(xd - h, yd - h, 2 * h, 2 * h);
+                 break;
       }
+      g.drawLine(xd - R, yd, xd - 11, yd);
+      g.drawLine(xd + R, yd, xd + 11, yd);
+      g.drawLine(xd, yd + R, xd, yd + 11);
+      g.drawLine(xd, yd - R, xd, yd - 11);
+      if ( s.name.length() > 0 )
+        g.drawString(s.name, xd + R + 2, yd - R);
     }
   }
 }
-
@@ -0,0 +1,248 @@
+/*
+ * SearchIndex.java  -  Substring search index for the Find dialogs
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Substring search index over the names of a data base (deep sky objects,
+ * star names), used by the Find dialogs to filter their lists as the user
+ * types.
+ * <p>
+ * Each name is kept as given (for display) and lowercased (for matching).
+ * Every 3 character sequence (trigram) of the lowercased names is indexed,
+ * listing the entries containing it, so a query of 3 or more characters
+ * only looks at the entries containing all of its trigrams (which are
+ * then checked, as trigram codes can collide).  Shorter queries look at
+ * every entry, as would the trigram lists of 1 or 2 letters.  If a query
+ * extends the previous one (the usual case when typing), only the previous
+ * matches are looked at.
+ * <p>
+ * Matches are ranked:  names starting with the query first, then names
+ * with a word starting with the query, then the rest, each group in data
+ * base order.
+ * <p>
+ * A data base builds its index when first asked for it, and drops it when
+ * reloaded.  Not synchronized; used on the event dispatch thread.
+ *
+ * @author Brian Simpson
+ */
+public class SearchIndex {
+  static final private int[] NONE = new int[0];
+
+  private String[] names;       // As given
+  private String[] keys;        // Lowercased
+  private IntIntMap trigrams;   // Trigram code -> index into postings
+  private int[][] postings;     // Entries (ascending) containing trigram
+  private String lastquery = null;
+  private int[] lastfound = null;       // Matches of lastquery, unranked
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  Builds the index.
+   *
+   * @param names Names to index (entry i is names[i]); not copied
+   */
+  public SearchIndex(String[] names) {
+    int n = names.length;
+    this.names = names;
+    keys = new String[n];
+    for ( int i = 0; i < n; i++ ) keys[i] = normalize(names[i]);
+
+    /* Count the entries containing each trigram (once per entry) ... */
+    trigrams = new IntIntMap(n * 4);
+    int[] count = new int[64];
+    int[] last = new int[64];           // Last entry counted, per trigram
+    int num = 0;
+    for ( int i = 0; i < n; i++ ) {
+      String k = keys[i];
+      for ( int j = 0; j + 3 <= k.length(); j++ ) {
+        int code = code(k, j);
+        int t = trigrams.get(code);
+        if ( t < 0 ) {
+          t = num++;
+          trigrams.put(code, t);
+          if ( t == count.length ) {
+            count = copyOf(count, 2 * t);
+            last = copyOf(last, 2 * t);
+          }
+          count[t] = 0;
+          last[t] = -1;
+        }
+        if ( last[t] != i ) { count[t]++; last[t] = i; }
+      }
+    }
+
+    /* ... then fill in the lists */
+    postings = new int[num][];
+    for ( int t = 0; t < num; t++ ) {
+      postings[t] = new int[count[t]];
+      count[t] = 0;
+      last[t] = -1;
+    }
+    for ( int i = 0; i < n; i++ ) {
+      String k = keys[i];
+      for ( int j = 0; j + 3 <= k.length(); j++ ) {
+        int t = trigrams.get(code(k, j));
+        if ( last[t] != i ) { postings[t][count[t]++] = i; last[t] = i; }
+      }
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of entries.
+   */
+  public int size() { return names.length; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the name of an entry (as given).
+   *
+   * @param i Entry
+   */
+  public String getName(int i) { return names[i]; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the entries whose names contain the query (ignoring case and
+   * leading/trailing blanks), ranked.  A blank query matches all entries,
+   * in order.
+   *
+   * @param query Text to look for
+   * @return Entries found
+   */
+  public int[] find(String query) {
+    String q = normalize(query);
+    int n = names.length;
+    int[] found;
+
+    if ( q.length() == 0 ) {
+      found = new int[n];
+      for ( int i = 0; i < n; i++ ) found[i] = i;
+      lastquery = null;
+      return found;
+    }
+
+    /* Entries to check */
+    int[] cand;
+    int ncand;
+    if ( lastquery != null && q.startsWith(lastquery) ) {
+      cand = lastfound;                 // Query extended:  Look at previous
+      ncand = cand.length;
+    }
+    else if ( q.length() >= 3 ) {
+      cand = candidates(q);
+      ncand = cand.length;
+    }
+    else {
+      cand = null;                      // All
+      ncand = n;
+    }
+
+    /* Check them, sorting into ranks */
+    found = new int[ncand];
+    int[] rank = new int[ncand];
+    int nfound = 0;
+    int[] inrank = new int[3];
+    for ( int c = 0; c < ncand; c++ ) {
+      int i = (cand == null) ? c : cand[c];
+      int r = rank(keys[i], q);
+      if ( r >= 0 ) {
+        found[nfound] = i;
+        rank[nfound++] = r;
+        inrank[r]++;
+      }
+    }
+    lastquery = q;
+    lastfound = copyOf(found, nfound);
+
+    /* Order by rank (stable, so each rank stays in data base order) */
+    int[] start = { 0, inrank[0], inrank[0] + inrank[1] };
+    int[] ranked = new int[nfound];
+    for ( int f = 0; f < nfound; f++ )
+      ranked[start[rank[f]]++] = found[f];
+    return ranked;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a new array of length n, starting with the elements of a
+   * (like Arrays.copyOf, which needs Java 6).
+   */
+  static private int[] copyOf(int[] a, int n) {
+    int[] b = new int[n];
+    System.arraycopy(a, 0, b, 0, Math.min(a.length, n));
+    return b;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the entries containing every trigram of q (q.length() >= 3).
+   */
+  private int[] candidates(String q) {
+    /* Gather the lists, shortest first */
+    int m = q.length() - 2;
+    int[][] lists = new int[m][];
+    for ( int j = 0; j < m; j++ ) {
+      int t = trigrams.get(code(q, j));
+      if ( t < 0 ) return NONE;         // Trigram in no name
+      lists[j] = postings[t];
+    }
+    Arrays.sort(lists, new Comparator<int[]>() {
+      public int compare(int[] a, int[] b) { return a.length - b.length; }
+    });
+
+    /* Intersect them (they are in ascending order) */
+    int[] cand = lists[0].clone();
+    int ncand = cand.length;
+    for ( int l = 1; l < m && ncand > 0; l++ ) {
+      int[] list = lists[l];
+      int k = 0, p = 0;
+      for ( int c = 0; c < ncand; c++ ) {
+        while ( p < list.length && list[p] < cand[c] ) p++;
+        if ( p == list.length ) break;
+        if ( list[p] == cand[c] ) cand[k++] = cand[c];
+      }
+      ncand = k;
+    }
+    return copyOf(cand, ncand);
+  }
+
+  /* Returns the rank of key for q:  0 if it starts with q, 1 if a word
+     in it does, 2 if it otherwise contains q, -1 if it does not */
+  private static int rank(String key, String q) {
+    int j = key.indexOf(q);
+    if ( j < 0 ) return -1;
+    if ( j == 0 ) return 0;
+    while ( j > 0 ) {
+      if ( !Character.isLetterOrDigit(key.charAt(j - 1)) ) return 1;
+      j = key.indexOf(q, j + 1);
+    }
+    return 2;
+  }
+
+  /* Code for the trigram at key[j] */
+  private static int code(String key, int j) {
+    return ((key.charAt(j) * 31) + key.charAt(j + 1)) * 31 + key.charAt(j + 2);
+  }
+
+  /* Lowercased and trimmed */
+  private static String normalize(String s) {
+    return s.trim().toLowerCase();
+  }
+}
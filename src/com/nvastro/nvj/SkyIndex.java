@@ -0,0 +1,355 @@
+/*
+ * SkyIndex.java  -  Hierarchical sky tessellation index
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Hierarchical sky tessellation index.
+ * <p>
+ * The sky is divided as a "quadrilateralized sphere" (as the COBE sky
+ * cube):  The unit sphere is projected onto the 6 faces of a cube, and
+ * each face is recursively divided into 4 cells.  Cells within a face
+ * are numbered in Z order, so the 4 children of cell c (at one level) are
+ * cells 4c to 4c+3 (at the next level), and all of the finest cells lying
+ * under any coarser cell are contiguous.
+ * <p>
+ * Points (e.g. stars) are bucketed by finest cell, and the order of
+ * points within a cell is the same as their order in the input arrays.
+ * (Since StarDB is sorted by magnitude, each cell is also sorted by
+ * magnitude.)  Each cell at every level carries a bounding cone (axis and
+ * angular radius) so that the cells within a given distance of a point
+ * can be found by descending the hierarchy.
+ * <p>
+ * The index may be written out (see StarCatalog) and later read back from
+ * a memory mapped file, in which case only the cones are read into memory.
+ *
+ * @author Brian Simpson
+ */
+public class SkyIndex {
+  static private final int MAXLEVEL = 7;   // 6 * 4^7 = 98304 finest cells
+  static private final int PERCELL = 48;   // Desired average points per cell
+  static private final double EPS = 1e-6;  // Slop (radians) for round off
+  static private final double Q2R = 4 / Math.PI; // Quarter-pi to 1 factor
+  private int level;                       // Level of finest cells (0 = face)
+  private int nside;                       // Finest cells per face edge
+  private IntBuffer start;                 // order[start[c]] is 1st pt in c
+  private IntBuffer order;                 // Point numbers, grouped by cell
+  private double[][] cx, cy, cz;           // Cone axis per level & cell
+  private double[][] crad;                 // Cone radius (<0 if cell empty)
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  Builds the index for a set of unit vectors.
+   *
+   * @param rx x part of rectangular coordinates
+   * @param ry y part of rectangular coordinates
+   * @param rz z part of rectangular coordinates
+   * @param n Number of points
+   */
+  public SkyIndex(double[] rx, double[] ry, double[] rz, int n) {
+    int i, c;
+
+    /* Pick a depth giving about PERCELL points per cell */
+    for ( level = 0; level < MAXLEVEL; level++ )
+      if ( n <= PERCELL * 6 * (1 << (2 * level)) ) break;
+    nside = 1 << level;
+    int ncells = 6 * nside * nside;
+
+    /* Bucket the points (counting sort, which keeps the input order
+       of points within each cell) */
+    int[] cell = new int[n];
+    int[] start = new int[ncells + 1];
+    for ( i = 0; i < n; i++ ) {
+      cell[i] = getCell(rx[i], ry[i], rz[i]);
+      start[cell[i] + 1]++;
+    }
+    for ( c = 0; c < ncells; c++ ) start[c + 1] += start[c];
+    int[] next = new int[ncells];
+    System.arraycopy(start, 0, next, 0, ncells);
+    int[] order = new int[n];
+    for ( i = 0; i < n; i++ ) order[next[cell[i]]++] = i;
+    cell = next = null;
+    this.start = IntBuffer.wrap(start);
+    this.order = IntBuffer.wrap(order);
+
+    /* Bounding cones for the finest cells */
+    cx = new double[level + 1][];
+    cy = new double[level + 1][];
+    cz = new double[level + 1][];
+    crad = new double[level + 1][];
+    cx[level] = new double[ncells];
+    cy[level] = new double[ncells];
+    cz[level] = new double[ncells];
+    crad[level] = new double[ncells];
+    for ( c = 0; c < ncells; c++ ) {
+      double sx = 0, sy = 0, sz = 0, len, dot, min = 1;
+      for ( i = start[c]; i < start[c + 1]; i++ ) {
+        sx += rx[order[i]]; sy += ry[order[i]]; sz += rz[order[i]];
+      }
+      len = Math.sqrt(sx * sx + sy * sy + sz * sz);
+      if ( len == 0 ) { crad[level][c] = -1; continue; } // Empty cell
+      sx /= len; sy /= len; sz /= len;
+      for ( i = start[c]; i < start[c + 1]; i++ ) {
+        dot = sx * rx[order[i]] + sy * ry[order[i]] + sz * rz[order[i]];
+        if ( dot < min ) min = dot;
+      }
+      cx[level][c] = sx; cy[level][c] = sy; cz[level][c] = sz;
+      crad[level][c] = acos(min) + EPS;
+    }
+
+    /* Bounding cones for coarser cells, derived from their children */
+    for ( int l = level - 1; l >= 0; l-- ) {
+      int m = 6 << (2 * l);
+      cx[l] = new double[m];
+      cy[l] = new double[m];
+      cz[l] = new double[m];
+      crad[l] = new double[m];
+      for ( c = 0; c < m; c++ ) {
+        double sx = 0, sy = 0, sz = 0, len, r, max = -1;
+        for ( i = 4 * c; i < 4 * c + 4; i++ ) {
+          if ( crad[l + 1][i] < 0 ) continue;
+          sx += cx[l + 1][i]; sy += cy[l + 1][i]; sz += cz[l + 1][i];
+        }
+        len = Math.sqrt(sx * sx + sy * sy + sz * sz);
+        if ( len == 0 ) { crad[l][c] = -1; continue; }
+        sx /= len; sy /= len; sz /= len;
+        for ( i = 4 * c; i < 4 * c + 4; i++ ) {
+          if ( crad[l + 1][i] < 0 ) continue;
+          r = acos(sx * cx[l + 1][i] + sy * cy[l + 1][i] + sz * cz[l + 1][i])
+              + crad[l + 1][i];
+          if ( r > max ) max = r;
+        }
+        cx[l][c] = sx; cy[l][c] = sy; cz[l][c] = sz;
+        crad[l][c] = max + EPS;
+      }
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  Reads an index previously written by write().  The cell
+   * and point tables are not copied, but are used directly from buf.
+   *
+   * @param buf Buffer positioned at start of index; on return, positioned
+   *            just after the index
+   * @param n Number of points
+   * @param lvl Level of finest cells (see getLevel())
+   */
+  public SkyIndex(ByteBuffer buf, int n, int lvl) {
+    level = lvl;
+    nside = 1 << level;
+    int ncells = 6 * nside * nside;
+
+    start = slice(buf, ncells + 1);
+    order = slice(buf, n);
+
+    cx = new double[level + 1][];
+    cy = new double[level + 1][];
+    cz = new double[level + 1][];
+    crad = new double[level + 1][];
+    for ( int l = 0; l <= level; l++ ) {
+      int m = 6 << (2 * l);
+      cx[l] = new double[m];
+      cy[l] = new double[m];
+      cz[l] = new double[m];
+      crad[l] = new double[m];
+      for ( int c = 0; c < m; c++ ) {
+        cx[l][c] = buf.getDouble();
+        cy[l][c] = buf.getDouble();
+        cz[l][c] = buf.getDouble();
+        crad[l][c] = buf.getDouble();
+      }
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the next n ints of buf as an IntBuffer, and skips past them.
+   */
+  static private IntBuffer slice(ByteBuffer buf, int n) {
+    ByteBuffer b = buf.slice();
+    b.limit(4 * n);
+    buf.position(buf.position() + 4 * n);
+    return b.order(buf.order()).asIntBuffer();
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the index (in the form read by the ByteBuffer constructor).
+   *
+   * @param out Output stream
+   * @throws IOException If write fails
+   */
+  public void write(DataOutputStream out) throws IOException {
+    int i;
+
+    for ( i = 0; i < start.limit(); i++ ) out.writeInt(start.get(i));
+    for ( i = 0; i < order.limit(); i++ ) out.writeInt(order.get(i));
+    for ( int l = 0; l <= level; l++ ) {
+      for ( int c = 0; c < crad[l].length; c++ ) {
+        out.writeDouble(cx[l][c]);
+        out.writeDouble(cy[l][c]);
+        out.writeDouble(cz[l][c]);
+        out.writeDouble(crad[l][c]);
+      }
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of bytes that write() produces.
+   */
+  public long getByteSize() {
+    long cones = 0;
+    for ( int l = 0; l <= level; l++ ) cones += crad[l].length;
+    return 4L * (start.limit() + order.limit()) + 32 * cones;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the level of the finest cells (0 = cube faces).
+   */
+  public int getLevel() {
+    return level;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the finest cell containing a unit vector.
+   *
+   * @param x x part of rectangular coordinates
+   * @param y y part of rectangular coordinates
+   * @param z z part of rectangular coordinates
+   */
+  public int getCell(double x, double y, double z) {
+    double ax = Math.abs(x), ay = Math.abs(y), az = Math.abs(z), u, v;
+    int face;
+
+    if ( ax >= ay && ax >= az ) {
+      face = (x >= 0) ? 0 : 1;
+      u = y / ax; v = z / ax;
+    }
+    else if ( ay >= az ) {
+      face = (y >= 0) ? 2 : 3;
+      u = x / ay; v = z / ay;
+    }
+    else {
+      face = (z >= 0) ? 4 : 5;
+      u = x / az; v = y / az;
+    }
+
+    /* Tangent to angle on each face keeps the cells closer to equal area */
+    int i = (int)((Math.atan(u) * Q2R + 1) * 0.5 * nside);
+    int j = (int)((Math.atan(v) * Q2R + 1) * 0.5 * nside);
+    if ( i < 0 ) i = 0; else if ( i >= nside ) i = nside - 1;
+    if ( j < 0 ) j = 0; else if ( j >= nside ) j = nside - 1;
+
+    /* Interleave the bits of i & j (Z order) */
+    int m = 0;
+    for ( int b = 0; b < level; b++ )
+      m |= (((i >> b) & 1) << (2 * b)) | (((j >> b) & 1) << (2 * b + 1));
+    return (face << (2 * level)) + m;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of finest cells.
+   */
+  public int getNumberOfCells() {
+    return start.limit() - 1;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the position (in the cell ordering) of the 1st point of a cell.
+   * The points of cell c are at positions getCellStart(c) through
+   * getCellStart(c + 1) - 1.  (No bounds checking.)
+   *
+   * @param c Finest cell number (getNumberOfCells() is allowed)
+   */
+  public int getCellStart(int c) {
+    return start.get(c);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the point number at a position in the cell ordering.
+   * (No bounds checking.)
+   *
+   * @param k Position in the cell ordering
+   */
+  public int getPoint(int k) {
+    return order.get(k);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Finds the finest cells that may hold points within an angular distance
+   * of a unit vector.  The cells are returned as runs of consecutive cell
+   * numbers:  cells[2k] through cells[2k+1] - 1, for k = 0 to (return
+   * value) - 1.
+   *
+   * @param x x part of rectangular coordinates
+   * @param y y part of rectangular coordinates
+   * @param z z part of rectangular coordinates
+   * @param radius Angular distance in radians
+   * @param cells Array to return runs of cells
+   * @return Number of runs, or -1 if cells is too small to hold them
+   */
+  public int findCells(double x, double y, double z, double radius,
+                       int[] cells) {
+    int n = 0;
+    for ( int f = 0; f < 6 && n >= 0; f++ )
+      n = findCells(0, f, x, y, z, radius + EPS, cells, n);
+    return n;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Called only by findCells (above) and by itself.
+   */
+  private int findCells(int l, int c, double x, double y, double z,
+                        double radius, int[] cells, int n) {
+    if ( crad[l][c] < 0 ) return n;                  // Empty
+
+    double a = acos(x * cx[l][c] + y * cy[l][c] + z * cz[l][c]);
+    if ( a > radius + crad[l][c] ) return n;         // Disjoint
+
+    if ( l == level || a + crad[l][c] <= radius ) {  // Take all beneath
+      int shift = 2 * (level - l);
+      int first = c << shift, last = (c + 1) << shift;
+      if ( n > 0 && cells[2 * n - 1] == first ) {    // Extend previous run
+        cells[2 * n - 1] = last;
+        return n;
+      }
+      if ( 2 * n + 1 >= cells.length ) return -1;
+      cells[2 * n] = first;
+      cells[2 * n + 1] = last;
+      return n + 1;
+    }
+
+    for ( int i = 4 * c; i < 4 * c + 4 && n >= 0; i++ )
+      n = findCells(l + 1, i, x, y, z, radius, cells, n);
+    return n;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * acos clipped to valid input.
+   */
+  static private double acos(double d) {
+    if ( d >= 1 ) return 0;
+    if ( d <= -1 ) return Math.PI;
+    return Math.acos(d);
+  }
+}
@@ -0,0 +1,325 @@
+/*
+ * StarCatalog.java  -  Memory mapped binary star catalog
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Memory mapped binary star catalog.
+ * <p>
+ * This allows StarDB to serve catalogs that are too large to comfortably
+ * hold on the heap (millions of stars).  The file is mapped rather than
+ * read, so the operating system pages in only the parts that are used.
+ * Stars are stored in order of magnitude (as in star.db), and the file
+ * also holds a SkyIndex, so that drawing a zoomed-in field touches only
+ * the index entries for cells near the field, and only the star records
+ * up to the magnitude limit.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ *   Header   (HEADER_BYTES)
+ *     int    MAGIC ("NVSC")
+ *     int    VERSION
+ *     int    Number of stars (n)
+ *     int    SkyIndex level
+ *     (remainder of header is reserved, written as 0)
+ *   Stars    (n * STAR_BYTES, brightest first)
+ *     double RA (radians, J2000)
+ *     double Dec (radians, J2000)
+ *     float  x, y, z (rectangular J2000 unit vector)
+ *     short  Magnitude * 100
+ *     byte   Constellation, Greek, Flamsteed, Misc (as in star.db)
+ *     byte[4] Spectral data (ASCII, blank padded)
+ *     (2 bytes padding)
+ *   SkyIndex (see SkyIndex.write())
+ * </pre>
+ * A catalog is built from star.db or from an external star file
+ * (nvstars.txt format) by:
+ * <pre>
+ *   java -cp nvj.jar com.nvastro.nvj.StarCatalog [infile] outfile
+ * </pre>
+ * (With no infile, the built-in star.db is converted.)  StarDB uses a
+ * catalog named nvstars.cat in the working directory.
+ *
+ * @author Brian Simpson
+ */
+public class StarCatalog {
+  /** Name of catalog file (in working directory) */
+  static final public String SOURCE = "nvstars.cat";
+  static final private int MAGIC = 0x4E565343;  // "NVSC"
+  static final private int VERSION = 1;
+  static final private int HEADER_BYTES = 32;
+  /** Number of bytes in catalog per star */
+  static final public int STAR_BYTES = 40;
+  private MappedByteBuffer buf;
+  private int num;
+  private SkyIndex skyindex;
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.  (See open())
+   */
+  private StarCatalog(MappedByteBuffer buf, int num, int level) {
+    this.buf = buf;
+    this.num = num;
+    buf.position(HEADER_BYTES + num * STAR_BYTES);
+    skyindex = new SkyIndex(buf, num, level);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Opens (maps) a catalog file.
+   *
+   * @param file Catalog file
+   * @return The catalog, or null if file does not exist
+   * @throws IOException If file cannot be mapped or is not a valid catalog
+   */
+  public static StarCatalog open(File file) throws IOException {
+    if ( ! file.exists() ) return null;
+
+    RandomAccessFile raf = new RandomAccessFile(file, "r");
+    try {
+      FileChannel ch = raf.getChannel();
+      long size = ch.size();
+      if ( size < HEADER_BYTES || size > Integer.MAX_VALUE )
+        throw new IOException(file + ": Bad size");
+      MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      // (The mapping remains valid after the channel is closed)
+
+      if ( buf.getInt(0) != MAGIC )
+        throw new IOException(file + ": Not a star catalog");
+      if ( buf.getInt(4) != VERSION )
+        throw new IOException(file + ": Unsupported version " +
+                              buf.getInt(4));
+      int n = buf.getInt(8);
+      int level = buf.getInt(12);
+      if ( n <= 0 || level < 0 || level > 15 ||
+           size < HEADER_BYTES + (long)n * STAR_BYTES )
+        throw new IOException(file + ": Corrupted");
+
+      StarCatalog cat = new StarCatalog(buf, n, level);
+      if ( buf.position() != size )
+        throw new IOException(file + ": Corrupted");
+      return cat;
+    }
+    catch ( RuntimeException e ) {  // E.g. BufferUnderflowException
+      throw new IOException(file + ": Corrupted");
+    }
+    finally {
+      raf.close();
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes a catalog file.  The arrays are as in StarDB (sorted by
+   * magnitude).
+   *
+   * @param file Catalog file
+   * @param n Number of stars
+   * @param skyindex Sky index built from rx, ry, rz
+   * @throws IOException If file cannot be written
+   */
+  public static void write(File file, int n, double[] ra, double[] dec,
+                           double[] rx, double[] ry, double[] rz,
+                           short[] mag100, byte[] con, byte[] greek,
+                           byte[] flam, byte[] misc, String[] spect,
+                           SkyIndex skyindex) throws IOException {
+    if ( HEADER_BYTES + (long)n * STAR_BYTES + skyindex.getByteSize() >
+         Integer.MAX_VALUE )
+      throw new IOException("Too many stars for one catalog file");
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                                     new FileOutputStream(file), 65536));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(n);
+      out.writeInt(skyindex.getLevel());
+      for ( int i = 16; i < HEADER_BYTES; i++ ) out.writeByte(0);
+
+      for ( int i = 0; i < n; i++ ) {
+        // The order is important (must match getXxx functions)
+        out.writeDouble(ra[i]);
+        out.writeDouble(dec[i]);
+        out.writeFloat((float)rx[i]);
+        out.writeFloat((float)ry[i]);
+        out.writeFloat((float)rz[i]);
+        out.writeShort(mag100[i]);
+        out.writeByte(con[i]);
+        out.writeByte(greek[i]);
+        out.writeByte(flam[i]);
+        out.writeByte(misc[i]);
+        String sp = (spect[i] + "    ").substring(0, 4);
+        for ( int j = 0; j < 4; j++ ) out.writeByte(sp.charAt(j));
+        out.writeShort(0);
+      }
+
+      skyindex.write(out);
+    }
+    finally {
+      out.close();
+    }
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of stars.
+   */
+  public int getNumberOfStars() { return num; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the sky index stored with the catalog.
+   */
+  public SkyIndex getSkyIndex() { return skyindex; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns right ascension (radians) of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public double getRA(int i) {
+    return buf.getDouble(HEADER_BYTES + i * STAR_BYTES);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns declination (radians) of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public double getDec(int i) {
+    return buf.getDouble(HEADER_BYTES + i * STAR_BYTES + 8);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns rectangular x coordinate of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public double getX(int i) {
+    return buf.getFloat(HEADER_BYTES + i * STAR_BYTES + 16);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns rectangular y coordinate of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public double getY(int i) {
+    return buf.getFloat(HEADER_BYTES + i * STAR_BYTES + 20);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns rectangular z coordinate of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public double getZ(int i) {
+    return buf.getFloat(HEADER_BYTES + i * STAR_BYTES + 24);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns magnitude * 100 of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public short getMag100(int i) {
+    return buf.getShort(HEADER_BYTES + i * STAR_BYTES + 28);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns constellation number (+ 1, 0 if none) of star i.
+   * (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public byte getCon(int i) {
+    return buf.get(HEADER_BYTES + i * STAR_BYTES + 30);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns Greek (or other Bayer) designation of star i.
+   * (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public byte getGreek(int i) {
+    return buf.get(HEADER_BYTES + i * STAR_BYTES + 31);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns Flamsteed number of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public byte getFlam(int i) {
+    return buf.get(HEADER_BYTES + i * STAR_BYTES + 32);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns miscellaneous designation byte of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public byte getMisc(int i) {
+    return buf.get(HEADER_BYTES + i * STAR_BYTES + 33);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns spectral data of star i.  (No bounds checking.)
+   *
+   * @param i Index into star catalog
+   */
+  public String getSpect(int i) {
+    byte[] sp = new byte[4];
+    for ( int j = 0; j < 4; j++ )
+      sp[j] = buf.get(HEADER_BYTES + i * STAR_BYTES + 34 + j);
+    return new String(sp).trim();
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Converts star.db or an external star file into a catalog file.
+   *
+   * @param args [infile] outfile
+   */
+  public static void main(String[] args) {
+    if ( args.length < 1 || args.length > 2 ) {
+      System.err.println("Usage:  java com.nvastro.nvj.StarCatalog " +
+                         "[infile] outfile");
+      System.exit(1);
+    }
+
+    try {
+      File out = new File(args[args.length - 1]);
+      File in = (args.length == 2) ? new File(args[0]) : null;
+      int n = StarDB.writeCatalog(in, out);
+      System.out.println("Wrote " + n + " stars to " + out);
+    }
+    catch ( Exception e ) {
+      System.err.println(e.getMessage());
+      System.exit(1);
+    }
+  }
+}
@@ -21,17 +21,24 @@
 package com.nvastro.nvj;
 
 import java.awt.FontMetrics;
+import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.RenderingHints;
 import java.awt.geom.Ellipse2D;
+import java.awt.geom.Rectangle2D;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.StringTokenizer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 
 /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -63,8 +70,7 @@ class Star implements Comparable<Star> {
 public class StarDB {
   static final String SOURCE = "star.db";
   static final String EXTSOURCE = "nvstars.txt";
-  static private final int NUM_LAB = 2000; // I'll assume that I'll never need
-                                           // to show more than 2000 labels...
+  static private final int NUM_LAB = 2000; // Initial room for labels (grows)
                            // Once counted 1691 labels on a 180 degree view
   /** Number of bytes in DB per star */
   static public final int STAR_BYTES = 24; // Number of bytes in DB per star
@@ -82,15 +88,32 @@ public class StarDB {
   static private byte[]   misc;
   static private byte[]   con;
   static private String[] spect;
+  static private SkyIndex skyindex;     // Stars bucketed by sky cell
+  static private StarCatalog cat = null; // If not null, replaces arrays
   private StarImages starimages;
+  private float[] px, py;               // Work areas for parallel drawing
+  private byte[] hit;
+  private int[] bandlist;
+  private float[] xlab, ylab;           // Labeled stars and their x,y
+  private int[] ilab;                   //   positions (see draw())
 
   // Used for reading external star DB
   static private int numComplaints = 0;
   static private int linenum = 0;
   static private ArrayList<Star> extstars;
+  static private long key = 0;          // Identifies source of stars
+  static private IntIntMap dsgnindex;   // Designation -> first star index
+  static final private int SNAPVERSION = 1; // Of nvstars.txt snapshot
 
   final static private double h2r = Math.PI / 12;
   final static private double d2r = Math.PI / 180;
+  /* Fields wider than this (radians) are drawn without the sky index */
+  final static private double INDEXRADIUS = Math.PI / 3;
+  final static private int NUM_RUNS = 2048; // Max runs of cells per lookup
+  final static private int PAR_MIN = 20000;  // Min stars for parallel draw
+  final static private int PAR_CHUNK = 4096; // Min stars per projection task
+  final static private int MIN_BAND = 16;    // Min height of a drawing band
+  final static private int MARGIN = 8;       // Max reach (pels) of a star
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Constructor.
@@ -108,13 +131,20 @@ public class StarDB {
    */
   public static void init() {
     if ( initialized == false ) {
-      if ( ! tryExtFile() ) {   // Try external star DB 1st
+      File extsource = new File(Nvj.workingDir, EXTSOURCE);
+      if ( tryCatalog(new File(Nvj.workingDir, StarCatalog.SOURCE),
+                      extsource) ) {
+        // Using mapped catalog
+      }
+      else if ( ! tryExtFile(extsource) ) { // Try external star DB 1st
         try {                   // then try internal
-          DataInputStream in = new DataInputStream(
-                                   Nvj.class.getResourceAsStream(SOURCE));
+          CheckedInputStream cin = new CheckedInputStream(
+                      Nvj.class.getResourceAsStream(SOURCE), new CRC32());
+          DataInputStream in = new DataInputStream(cin);
           int len = in.available();
 
           internalDB(in, len / STAR_BYTES);
+          key = cin.getChecksum().getValue() ^ ((long)num << 32);
         }
         catch ( Exception e ) { // Should not happen
           System.err.println("Cannot open or read " + SOURCE);
@@ -125,12 +155,47 @@ public class StarDB {
       if ( num == 0 ) // Should not happen
         ErrLogger.die("No star DB available.");
 
+      if ( cat == null )
+        skyindex = new SkyIndex(rx, ry, rz, num);
+      indexDesignations();
       mag_format = new DecNumFormat("0.00");
 
       initialized = true;
     }
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Initialize via a mapped star catalog (see StarCatalog), if present.
+   * A catalog older than the external star file is ignored.
+   *
+   * @param source Catalog file
+   * @param extsource External star file
+   * @return True if catalog is in use
+   */
+  private static boolean tryCatalog(File source, File extsource) {
+    if ( ! source.exists() ) return false;
+    if ( extsource.exists() &&
+         extsource.lastModified() > source.lastModified() ) {
+      ErrLogger.logError("Ignoring " + source + ", as " + EXTSOURCE +
+                         " is newer");
+      return false;
+    }
+
+    try {
+      cat = StarCatalog.open(source);
+    }
+    catch ( IOException e ) {
+      ErrLogger.logError(e.getMessage());
+      cat = null;
+    }
+    if ( cat == null ) return false;
+
+    num = cat.getNumberOfStars();
+    skyindex = cat.getSkyIndex();
+    key = (source.lastModified() << 16) ^ source.length();
+    return true;
+  }
+
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Initialize via the internal star DB.
    *
@@ -183,12 +248,13 @@ public class StarDB {
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Experimental and undocumented function for reading an external star db.
    * Format read is likely to change.
+   *
+   * @param source External star file
    */
-  private static boolean tryExtFile() {
+  private static boolean tryExtFile(File source) {
     int i, j, k;
     String line;
     String[] field = new String[8];
-    File source = new File(Nvj.workingDir, EXTSOURCE);
 
     /*--------------------------------------------------------------------------
      * Rules
@@ -219,8 +285,15 @@ public class StarDB {
     num = 0;
     if ( ! source.exists() ) return false;
     BufferedReader in = null;
+    DBSnapshot snap = null;
+    int complaints = numComplaints;
     try {
-      in = new BufferedReader(new FileReader(source));
+      snap = new DBSnapshot(source, null, SNAPVERSION, 0);
+      if ( readSnapshot(snap.load()) ) {
+        key = snap.getKey();
+        return true;
+      }
+      in = snap.getReader();
       while ( (line = in.readLine()) != null ) {  // Can throw IOException
         linenum++;
         if ( (i = line.indexOf('#')) >= 0 ) line = line.substring(0, i);
@@ -312,9 +385,80 @@ public class StarDB {
       rz[i] = Math.sin(dec[i]);
     }
 
+    if ( numComplaints == complaints ) snap.save(new DBSnapshot.Content() {
+      public void write(DataOutputStream out) throws IOException {
+        writeSnapshot(out);
+      }
+    });
+    key = snap.getKey();
     return true;
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the stars read by tryExtFile() to a snapshot (see DBSnapshot).
+   */
+  static private void writeSnapshot(DataOutputStream out) throws IOException {
+    out.writeInt(num);
+    for ( int i = 0; i < num; i++ ) {
+      out.writeDouble(ra[i]);
+      out.writeDouble(dec[i]);
+      out.writeShort(mag100[i]);
+      out.writeUTF(spect[i]);
+      out.writeByte(con[i]);
+      out.writeByte(greek[i]);
+      out.writeByte(flam[i]);
+      out.writeByte(misc[i]);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Reads the stars of tryExtFile() from a snapshot.  Returns false
+   * (with num = 0) if there is no snapshot or it cannot be read.
+   */
+  static private boolean readSnapshot(DataInputStream in) {
+    if ( in == null ) return false;
+
+    try {
+      int n = in.readInt();
+      if ( n <= 0 ) return false;
+      ra     = new double[n];
+      dec    = new double[n];
+      rx     = new double[n];
+      ry     = new double[n];
+      rz     = new double[n];
+      mag100 = new short[n];
+      flam   = new byte[n];
+      greek  = new byte[n];
+      misc   = new byte[n];
+      con    = new byte[n];
+      spect  = new String[n];
+
+      double cosde;
+      for ( int i = 0; i < n; i++ ) {
+        ra[i]     = in.readDouble();
+        dec[i]    = in.readDouble();
+        mag100[i] = in.readShort();
+        spect[i]  = in.readUTF();
+        con[i]    = in.readByte();
+        greek[i]  = in.readByte();
+        flam[i]   = in.readByte();
+        misc[i]   = in.readByte();
+
+        // Derived numbers
+        cosde = Math.cos(dec[i]);
+        rx[i] = cosde * Math.cos(ra[i]);
+        ry[i] = cosde * Math.sin(ra[i]);
+        rz[i] = Math.sin(dec[i]);
+      }
+      num = n;
+      return true;
+    }
+    catch ( IOException e ) {
+      num = 0;
+      return false;
+    }
+  }
+
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Called only by tryExtFile().
    */
@@ -447,6 +591,85 @@ public class StarDB {
     return true;
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes a mapped star catalog (see StarCatalog).  Does not require
+   * (or affect) initialization.
+   *
+   * @param in Source: Null for star.db, a file ending in ".db" for a file
+   *           in star.db format, otherwise a file in nvstars.txt format
+   * @param out Catalog file to write
+   * @return Number of stars written
+   * @throws IOException If source cannot be read or catalog written
+   */
+  static int writeCatalog(File in, File out) throws IOException {
+    if ( initialized )
+      throw new IOException("Star DB already initialized");
+
+    if ( in == null ) {
+      DataInputStream din = new DataInputStream(
+                                Nvj.class.getResourceAsStream(SOURCE));
+      internalDB(din, din.available() / STAR_BYTES);
+      din.close();
+    }
+    else if ( in.getName().toLowerCase().endsWith(".db") ) {
+      DataInputStream din = new DataInputStream(new BufferedInputStream(
+                                new FileInputStream(in)));
+      try {
+        internalDB(din, (int)(in.length() / STAR_BYTES));
+      }
+      finally {
+        din.close();
+      }
+    }
+    else if ( ! tryExtFile(in) ) {
+      throw new IOException("Cannot read stars from " + in);
+    }
+    if ( num == 0 )
+      throw new IOException("No stars read");
+
+    StarCatalog.write(out, num, ra, dec, rx, ry, rz, mag100, con, greek, flam,
+                      misc, spect, new SkyIndex(rx, ry, rz, num));
+    return num;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Star field accessors.  These read from the mapped catalog if one is
+   * in use, otherwise from the in-memory arrays.
+   */
+  private static double starRA(int i) {
+    return (cat == null) ? ra[i] : cat.getRA(i);
+  }
+  private static double starDec(int i) {
+    return (cat == null) ? dec[i] : cat.getDec(i);
+  }
+  private static double starX(int i) {
+    return (cat == null) ? rx[i] : cat.getX(i);
+  }
+  private static double starY(int i) {
+    return (cat == null) ? ry[i] : cat.getY(i);
+  }
+  private static double starZ(int i) {
+    return (cat == null) ? rz[i] : cat.getZ(i);
+  }
+  private static short starMag(int i) {
+    return (cat == null) ? mag100[i] : cat.getMag100(i);
+  }
+  private static byte starCon(int i) {
+    return (cat == null) ? con[i] : cat.getCon(i);
+  }
+  private static byte starGreek(int i) {
+    return (cat == null) ? greek[i] : cat.getGreek(i);
+  }
+  private static byte starFlam(int i) {
+    return (cat == null) ? flam[i] : cat.getFlam(i);
+  }
+  private static byte starMisc(int i) {
+    return (cat == null) ? misc[i] : cat.getMisc(i);
+  }
+  private static String starSpect(int i) {
+    return (cat == null) ? spect[i] : cat.getSpect(i);
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Called only by StarNameDB.
    *
@@ -455,19 +678,47 @@ public class StarDB {
   public int getIndex(byte cns, byte grk, byte gnm, byte flm, short lim100) {
     int i;
 
-    if ( flm > 0 ) {
-      for ( i = 0; i < num && mag100[i] <= lim100; i++ )
-        if ( cns == con[i] && flm == flam[i] ) return i;
-    }
-    else {
-      for ( i = 0; i < num && mag100[i] <= lim100; i++ )
-        if ( cns == con[i] && grk == greek[i] &&
-             (gnm == 0 || gnm == misc[i]) ) return i;
-    }
+    // Stars are in order of magnitude, so the first star with the
+    // designation is the brightest, and if it is too dim, so are the rest
+    if ( flm > 0 )
+      i = dsgnindex.get(flamKey(cns, flm));
+    else if ( gnm == 0 )
+      i = dsgnindex.get(bayerKey(cns, grk));
+    else
+      i = dsgnindex.get(bayerKey(cns, grk, gnm));
 
+    if ( i >= 0 && starMag(i) <= lim100 ) return i;
     return -1;
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Indexes the stars by designation for getIndex():  Each Flamsteed
+   * designation, Bayer designation, and Bayer designation with number
+   * (e.g. alp2) maps to its first (brightest) star.
+   */
+  private static void indexDesignations() {
+    dsgnindex = new IntIntMap(num / 4);
+    for ( int i = 0; i < num; i++ ) {
+      byte c = starCon(i);
+      byte f = starFlam(i);
+      byte g = starGreek(i);
+      if ( f > 0 ) dsgnindex.putIfAbsent(flamKey(c, f), i);
+      dsgnindex.putIfAbsent(bayerKey(c, g), i);
+      dsgnindex.putIfAbsent(bayerKey(c, g, starMisc(i)), i);
+    }
+  }
+
+  /* Keys for indexDesignations() (the top byte keeps the kinds apart) */
+  private static int flamKey(byte cns, byte flm) {
+    return 0x01000000 | (cns & 0xff) << 8 | (flm & 0xff);
+  }
+  private static int bayerKey(byte cns, byte grk) {
+    return 0x02000000 | (cns & 0xff) << 16 | (grk & 0xff) << 8;
+  }
+  private static int bayerKey(byte cns, byte grk, byte gnm) {
+    return 0x03000000 | (cns & 0xff) << 16 | (grk & 0xff) << 8 | (gnm & 0xff);
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * January 2017 Added additional star designations coded in greek and misc.
    * This function extracts all of the designations.  (No bounds checking.)
@@ -490,39 +741,39 @@ public class StarDB {
   public String getDesignations(int i, int[] cns, int[] grk, int[] flm) {
     char[] chrs = new char[2];
 
-    cns[0] = con[i];
+    cns[0] = starCon(i);
     if ( cns[0] == 0 ) {
       return null;
     }
 
-    if ( flam[i] > 0 ) {
-      flm[0] = flam[i];
+    if ( starFlam(i) > 0 ) {
+      flm[0] = starFlam(i);
     } else {
       flm[0] = 0;
     }
 
     grk[0] = 0;
-    if ( greek[i] > 0 && greek[i] <= 24 ) {  // Greek letter
-      grk[0] = greek[i] * 10;
-      if ( misc[i] > 0 && misc[i] <= 9 ) {
-        grk[0] += misc[i];
-        return new String(Greek.tellGreek(greek[i]) + misc[i]);
+    if ( starGreek(i) > 0 && starGreek(i) <= 24 ) { // Greek letter
+      grk[0] = starGreek(i) * 10;
+      if ( starMisc(i) > 0 && starMisc(i) <= 9 ) {
+        grk[0] += starMisc(i);
+        return new String(Greek.tellGreek(starGreek(i)) + starMisc(i));
       }
       else
-        return Greek.tellGreek(greek[i]);
+        return Greek.tellGreek(starGreek(i));
     }
-    else if ( greek[i] > 24 ) {              // Alphanumeric
-      chrs[0] = (char) greek[i];
-      if ( misc[i] == 0 ) {
+    else if ( starGreek(i) > 24 ) {          // Alphanumeric
+      chrs[0] = (char) starGreek(i);
+      if ( starMisc(i) == 0 ) {
         return new String(chrs, 0, 1);
       } else {
-        chrs[1] = (char) misc[i];
+        chrs[1] = (char) starMisc(i);
         return new String(chrs, 0, 2);
       }
     }
-    else if ( greek[i] < 0 ) {               // V###
+    else if ( starGreek(i) < 0 ) {           // V###
       // Remove msb (sign) to recover the number
-      int V = ((int)(greek[i] & 0x7F)) * 100 + ((int)(misc[i]));
+      int V = ((int)(starGreek(i) & 0x7F)) * 100 + ((int)(starMisc(i)));
       return new String("V" + V);
     }
 
@@ -548,35 +799,35 @@ public class StarDB {
     char[] chrs = new char[2];
     String flamStr = null, bayrStr = null;
 
-    if ( con[i] == 0 ) {
+    if ( starCon(i) == 0 ) {
       return null;
     }
 
-    if ( flm && flam[i] > 0 )
-      flamStr = String.format("%d", flam[i]);
+    if ( flm && starFlam(i) > 0 )
+      flamStr = String.format("%d", starFlam(i));
 
 
     if ( byr ) {
-      if ( greek[i] > 0 && greek[i] <= 24 ) {  // Greek letter
-        if ( misc[i] > 0 && misc[i] <= 9 ) {
-          bayrStr = new Character(Greek.getgreek(greek[i])).toString() +
-                    Byte.toString(misc[i]);
+      if ( starGreek(i) > 0 && starGreek(i) <= 24 ) { // Greek letter
+        if ( starMisc(i) > 0 && starMisc(i) <= 9 ) {
+          bayrStr = new Character(Greek.getgreek(starGreek(i))).toString() +
+                    Byte.toString(starMisc(i));
         }
         else
-          bayrStr = new Character(Greek.getgreek(greek[i])).toString();
+          bayrStr = new Character(Greek.getgreek(starGreek(i))).toString();
       }
-      else if ( greek[i] > 24 ) {              // Alphanumeric
-        chrs[0] = (char) greek[i];
-        if ( misc[i] == 0 ) {
+      else if ( starGreek(i) > 24 ) {          // Alphanumeric
+        chrs[0] = (char) starGreek(i);
+        if ( starMisc(i) == 0 ) {
           bayrStr = new String(chrs, 0, 1);
         } else {
-          chrs[1] = (char) misc[i];
+          chrs[1] = (char) starMisc(i);
           bayrStr = new String(chrs, 0, 2);
         }
       }
-      else if ( greek[i] < 0 ) {               // V###
+      else if ( starGreek(i) < 0 ) {           // V###
         // Remove msb (sign) to recover the number
-        int V = ((int)(greek[i] & 0x7F)) * 100 + ((int)(misc[i]));
+        int V = ((int)(starGreek(i) & 0x7F)) * 100 + ((int)(starMisc(i)));
         bayrStr = new String("V" + V);
       }
     }
@@ -584,7 +835,7 @@ public class StarDB {
     if ( flamStr != null ) {
       if ( bayrStr != null ) {
         //return flamStr + "-" + bayrStr;
-        if ( greek[i] > 0 && greek[i] <= 24 ) return bayrStr;
+        if ( starGreek(i) > 0 && starGreek(i) <= 24 ) return bayrStr;
         else                                  return flamStr;
       }
       else
@@ -596,6 +847,15 @@ public class StarDB {
       return null;
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a key identifying the source of the stars (which changes if
+   * the stars, and so their indexes, may have changed).  Used by
+   * snapshots of data that refer to stars by index (see DBSnapshot).
+   */
+  static long getSourceKey() {
+    return key;
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns the number of stars.
    */
@@ -609,14 +869,14 @@ public class StarDB {
    * @param i Index into star database
    */
   public int getMag100(int i) {
-    return mag100[i];
+    return starMag(i);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns 100 x max magnitude of DB (dimmest star).
    */
   public int getMaxMag100() {
-    return mag100[num - 1];
+    return starMag(num - 1);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -625,7 +885,7 @@ public class StarDB {
    * @param i Index into star database
    */
   public double getRARad(int i) {
-    return ra[i];
+    return starRA(i);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -634,7 +894,7 @@ public class StarDB {
    * @param i Index into star database
    */
   public double getDecRad(int i) {
-    return dec[i];
+    return starDec(i);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -645,7 +905,7 @@ public class StarDB {
    * @return Coordinates of star (containing RA/Dec in radians)
    */
   public SphereCoords getJ2000Location(int i) {
-    return new SphereCoords(ra[i], dec[i]);
+    return new SphereCoords(starRA(i), starDec(i));
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -659,7 +919,7 @@ public class StarDB {
    */
   public SphereCoords getAppLocation(int i, MapParms mp,
                                      SphereCoords J2000Coords) {
-    SphereCoords sc = new SphereCoords(ra[i], dec[i]);
+    SphereCoords sc = new SphereCoords(starRA(i), starDec(i));
     if ( J2000Coords != null ) J2000Coords.set(sc);
     mp.precessNutate(sc);
     mp.adjustEquatForAberration(sc);
@@ -672,7 +932,7 @@ public class StarDB {
    * @param i Index into star database
    */
   public String tellMagnitude(int i) {
-    return mag_format.format(mag100[i]/100.0);
+    return mag_format.format(starMag(i)/100.0);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -681,7 +941,7 @@ public class StarDB {
    * @param i Index into star database
    */
   public String tellSpectral(int i) {
-    return spect[i];
+    return starSpect(i);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -692,7 +952,7 @@ public class StarDB {
    * @return True if viewable, false if not
    */
   public boolean isViewable(int i, Preferences pref) {
-    return mag100[i] <= getClipLimit100(pref);
+    return starMag(i) <= getClipLimit100(pref);
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -737,11 +997,19 @@ public class StarDB {
     String name0 = null, tmpname0;
     StarNameDB namedb = new StarNameDB();
 
-    for ( int i = 0; i < num; i++ ) {
-      if ( mag100[i] > limMag100 ) break;
-      dtmp = MapParms.separation(StarDB.ra[i], StarDB.dec[i], ra, dec);
+    /* Look only at stars in the sky cells around sc */
+    int[] count = new int[1];
+    double cosde = Math.cos(dec);
+    int[] near = starsNear(cosde * Math.cos(ra), cosde * Math.sin(ra),
+                           Math.sin(dec), sep[0], limMag100, count);
+    int n = (near == null) ? num : count[0];
+
+    for ( int k = 0; k < n; k++ ) {
+      int i = (near == null) ? k : near[k];
+      if ( starMag(i) > limMag100 ) break;
+      dtmp = MapParms.separation(starRA(i), starDec(i), ra, dec);
       if ( sep[0] > dtmp &&
-           mp.rd2xyhit(StarDB.ra[i], StarDB.dec[i], x, y) == 1 ) {
+           mp.rd2xyhit(starRA(i), starDec(i), x, y) == 1 ) {
         sep[0] = dtmp;
         close = i;
 
@@ -775,8 +1043,8 @@ public class StarDB {
 
       /* If next to named star */
       if ( n0 >= 0 && n0 != close ) {
-        dtmp = MapParms.separation(StarDB.ra[n0], StarDB.dec[n0],
-                                   StarDB.ra[close], StarDB.dec[close]);
+        dtmp = MapParms.separation(starRA(n0), starDec(n0),
+                                   starRA(close), starDec(close));
         if ( dtmp < .00175 &&                // If < .1 degree
              dtmp * mp.pelsPerRadian <= 3 )  // and <= 3 pels
           str.append(IdentifyDlg.NEARSTAR + name0 + "\n");
@@ -794,6 +1062,65 @@ public class StarDB {
     return close;
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Uses the sky index to gather the stars (up to a magnitude limit) that
+   * lie within an angular distance of a J2000 unit vector.  The star numbers
+   * are returned in ascending order, which is also the order of magnitude,
+   * so stars are visited just as they would be by a loop through the DB.
+   *
+   * @param x x part of rectangular coordinates
+   * @param y y part of rectangular coordinates
+   * @param z z part of rectangular coordinates
+   * @param radius Angular distance in radians
+   * @param lim100 Magnitude limit * 100
+   * @param count On return, count[0] is the number of stars returned
+   * @return Star numbers, or null if the area is too large to bother
+   *         with the index (caller should loop through all stars)
+   */
+  private int[] starsNear(double x, double y, double z, double radius,
+                          short lim100, int[] count) {
+    if ( radius >= INDEXRADIUS ) return null;
+
+    int[] cells = new int[2 * NUM_RUNS];
+    int runs = skyindex.findCells(x, y, z, radius, cells);
+    if ( runs < 0 ) return null;
+
+    int n = 0, i, k, end;
+    int[] stars = new int[256];
+    for ( int r = 0; r < runs; r++ ) {
+      for ( int c = cells[2 * r]; c < cells[2 * r + 1]; c++ ) {
+        end = skyindex.getCellStart(c + 1);
+        for ( k = skyindex.getCellStart(c); k < end; k++ ) {
+          i = skyindex.getPoint(k);
+          if ( starMag(i) > lim100 ) break;   // Rest of cell is dimmer
+          if ( n == stars.length ) {
+            int[] tmp = new int[2 * n];
+            System.arraycopy(stars, 0, tmp, 0, n);
+            stars = tmp;
+          }
+          stars[n++] = i;
+        }
+      }
+    }
+
+    Arrays.sort(stars, 0, n);
+    count[0] = n;
+    return stars;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the stars (up to a magnitude limit) that may be in the window,
+   * or null if all stars should be checked.  See starsNear.
+   */
+  private int[] starsInView(MapParms mp, short lim100, int[] count) {
+    // The view matrix takes J2000 rectangular coordinates to the window's
+    // coordinates, whose z axis is the center of the window.  So the
+    // bottom row of the view matrix is the J2000 center of the window.
+    double[] ctr = mp.getView().num[2];
+    return starsNear(ctr[0], ctr[1], ctr[2], mp.getFieldRadius(), lim100,
+                     count);
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Draws the star database.
    *
@@ -805,27 +1132,38 @@ public class StarDB {
     float a, b;
     boolean drawBayr, drawFlam;
     // To save time, I'll record labeled stars & their x,y positions
-    float[] xlab = null, ylab = null;    // = null avoids error msg
-    int[] ilab = null;                   // ditto
-    int nlab = 0;                        // ditto
+    // (in xlab, ylab, ilab)
+    int nlab = 0;
     String lbl;
+    int proj = 0, inwin = 0;             // (For drawing statistics)
 
     if ( !mp.isDrawing() ) return;
 
     /* Set up arrays, if needed, for Bayer and Flamsteed labels */
     drawBayr = mp.prefer.drawBayer();
     drawFlam = mp.prefer.drawFlamsteed();
-    if ( drawBayr || drawFlam ) {
+    if ( (drawBayr || drawFlam) && xlab == null ) {
       xlab = new float[NUM_LAB];
       ylab = new float[NUM_LAB];
       ilab = new int[NUM_LAB];
-      nlab = 0;
     }
 
     /* Set up magnitude clipping limit */
     short limMag100 = (short)getClipLimit100(mp.prefer);
 
+    /* If zoomed in, visit only the stars in sky cells near the window */
+    int[] count = new int[1];
+    int[] vis = starsInView(mp, limMag100, count);
+    int n = (vis == null) ? num : count[0];
+
     boolean bmpStars = mp.prefer.getBmpStars(); // Are we painting bmps?
+    // (Only with a rectangular clip; the band clips would otherwise
+    // change the rasterization of the clip edge)
+    boolean parallel = !mp.printing && !mp.serialStars &&
+                       Preferences.parallelStars &&
+                       n >= PAR_MIN && WorkerPool.getThreads() > 1 &&
+                       (mp.g.getClip() == null ||
+                        mp.g.getClip() instanceof Rectangle2D);
 
     if ( !mp.printing && bmpStars ) { // If bmp painting to screen
       /* Get star images and the offset needed to position them */
@@ -837,19 +1175,27 @@ public class StarDB {
       // Star size = int(a + b * mag100)
       // See bottom of file for derivation of a and b
       b = (mp.prefer.getSzDim() - mp.prefer.getSzBright() - 1) /
-          ((float)(limMag100 + 2 - mag100[0]));
-      a = mp.prefer.getSzBright() + b * (1 - mag100[0]);
+          ((float)(limMag100 + 2 - starMag(0)));
+      a = mp.prefer.getSzBright() + b * (1 - starMag(0));
 
       /* Loop through stars */
-      for ( int i = 0; i < num && mp.isDrawing(); i++ ) {
-        if ( mag100[i] > limMag100 ) break;
-
-        if ( mp.rd2xyhit(rx[i], ry[i], rz[i], x, y) > 0 ) {
-          mp.g.drawImage(stars[(int)(a + b * mag100[i])],
+      if ( parallel )
+        nlab = drawParallel(mp, vis, n, limMag100, stars, a, b, offset,
+                            drawBayr, drawFlam);
+      else
+      for ( int k = 0; k < n && mp.isDrawing(); k++ ) {
+        int i = (vis == null) ? k : vis[k];
+        if ( starMag(i) > limMag100 ) break;
+
+        proj++;
+        if ( mp.rd2xyhit(starX(i), starY(i), starZ(i), x, y) > 0 ) {
+          inwin++;
+          mp.g.drawImage(stars[(int)(a + b * starMag(i))],
                          (int)(x[0] - offset), (int)(y[0] - offset), null);
 
-          if ( ((drawBayr && greek[i] != 0) || (drawFlam && flam[i] > 0)) &&
-               nlab < NUM_LAB ) {
+          if ( (drawBayr && starGreek(i) != 0) ||
+               (drawFlam && starFlam(i) > 0) ) {
+            if ( nlab == xlab.length ) growLabels();
             xlab[nlab] = x[0];
             ylab[nlab] = y[0];
             ilab[nlab++] = i;
@@ -879,8 +1225,8 @@ public class StarDB {
       // for equation:  size = a + b * mag100
       // will yield a number between 1 and 11 (inclusive):
       b = (float)((mp.prefer.getSzDim() - mp.prefer.getSzBright()) /
-          ((double)limMag100 - mag100[0]));      // minmag100 = mag100[0]
-      a = mp.prefer.getSzBright() - b * mag100[0];
+          ((double)limMag100 - starMag(0)));      // minmag100 = mag100[0]
+      a = mp.prefer.getSzBright() - b * starMag(0);
       // Let's trim this down a bit when printing
       if ( mp.printing ) {
         a /= 1.5;
@@ -888,11 +1234,18 @@ public class StarDB {
       }
 
       /* Loop through stars */
-      for ( int i = 0; i < num && mp.isDrawing(); i++ ) {
-        if ( mag100[i] > limMag100 ) break;
+      if ( parallel )
+        nlab = drawParallel(mp, vis, n, limMag100, null, a, b, 0,
+                            drawBayr, drawFlam);
+      else
+      for ( int k = 0; k < n && mp.isDrawing(); k++ ) {
+        int i = (vis == null) ? k : vis[k];
+        if ( starMag(i) > limMag100 ) break;
 
-        if ( mp.rd2xyhit(rx[i], ry[i], rz[i], x, y) > 0 ) {
-          s = a + b * mag100[i];
+        proj++;
+        if ( mp.rd2xyhit(starX(i), starY(i), starZ(i), x, y) > 0 ) {
+          inwin++;
+          s = a + b * starMag(i);
 
           // To properly place the stars, need to right-shift & down-shift
           // by 0.5 when painting to screen (vs printing to paper),
@@ -902,8 +1255,9 @@ public class StarDB {
           circle.setFrame(x[0] - offset, y[0] - offset, s, s);
           mp.g.fill(circle);
 
-          if ( ((drawBayr && greek[i] != 0) || (drawFlam && flam[i] > 0)) &&
-               nlab < NUM_LAB ) {
+          if ( (drawBayr && starGreek(i) != 0) ||
+               (drawFlam && starFlam(i) > 0) ) {
+            if ( nlab == xlab.length ) growLabels();
             xlab[nlab] = x[0];
             ylab[nlab] = y[0];
             ilab[nlab++] = i;
@@ -925,6 +1279,7 @@ public class StarDB {
         mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                               RenderingHints.VALUE_ANTIALIAS_OFF);
     }
+    mp.count(proj, inwin);   // (drawParallel counts its own)
 
     /* Do star labels */
     if ( drawBayr || drawFlam ) {
@@ -935,22 +1290,18 @@ public class StarDB {
       float yoffset = fm.getAscent() / 2.0f;
       float xoffset = 4;    // Same as star names for painting
 
-      /* If printing, or if zoom sufficiently high to reduce number
-         of labels, then have time to call ssllloowww function ...
-         ... that trims out copies of star labels                   */
-      if ( mp.printing || mp.prefer.getZoom() > 4 )
-        trimStarLabels(mp, xlab, ylab, ilab, nlab, fm.getAscent() / 4);
-
+      /* Labels are recorded brightest first, so mp.labels (if set)
+         gives priority to brighter stars and drops overlapping copies */
       if ( mp.prefer.antialiasing && !mp.printing )
         mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
                               RenderingHints.VALUE_ANTIALIAS_ON);
       for ( int i = 0; i < nlab && mp.isDrawing(); i++ ) {
-        if ( ilab[i] < 0 ) continue;  // Star was "trimmed"
-
         lbl = getDesignation(ilab[i], drawBayr, drawFlam);
-        if ( lbl != null )
-          mp.g.drawString(lbl, xlab[i] - fm.stringWidth(lbl) - xoffset,
-                    ylab[i] + yoffset);
+        if ( lbl != null ) {
+          float lx = xlab[i] - fm.stringWidth(lbl) - xoffset;
+          if ( mp.placeLabel(lbl, fm, lx, ylab[i] + yoffset) )
+            mp.g.drawString(lbl, lx, ylab[i] + yoffset);
+        }
       }
       if ( mp.prefer.antialiasing && !mp.printing )
         mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
@@ -959,26 +1310,166 @@ public class StarDB {
   }
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
-   * Removes nearby copies of star labels that might overlay
-   * and produce bolder print.  1st occurrence is kept since
-   * succeeding copies represent dimmer stars.
+   * Multithreaded version of the star loops in draw() (painting only).
+   * Stars are first projected in parallel chunks, then the window is
+   * cut into horizontal bands, and each band is drawn by its own thread
+   * (through its own clipped Graphics) with the stars that reach it,
+   * in the same order as the single threaded loop.  Since each pixel
+   * sees the same sequence of drawing operations, the result is pixel
+   * identical to the single threaded loop.
+   *
+   * @param stars Star images, or null to draw (antialiased) circles
+   * @param a, b Star size coefficients (see draw())
+   * @param offset Image offset (for star images)
+   * @return Number of labeled stars recorded in xlab, ylab, ilab
    */
-  private void trimStarLabels(MapParms mp, float[] xlab, float[] ylab,
-                              int[] ilab, int n, int offset) {
-    for ( int i = 0; i < n && mp.isDrawing(); i++ ) {
-      if ( ilab[i] < 0 ) continue;
-
-      for ( int j = i + 1; j < n && mp.isDrawing(); j++ ) {
-        if ( ilab[j] < 0 ) continue;
-
-        if ( con[ilab[i]] == con[ilab[j]] && greek[ilab[i]] == greek[ilab[j]] &&
-             flam[ilab[i]] == flam[ilab[j]] && misc[ilab[i]] == misc[ilab[j]] &&
-             (offset * offset) >
-             ((xlab[i] - xlab[j]) * (xlab[i] - xlab[j]) +
-              (ylab[i] - ylab[j]) * (ylab[i] - ylab[j])) )
-          ilab[j] = -1;  // Disable this element
+  private int drawParallel(final MapParms mp, final int[] vis, int n,
+                           short limMag100, final Image[] stars,
+                           final float a, final float b, final float offset,
+                           boolean drawBayr, boolean drawFlam) {
+    int j, k, nlab = 0;
+
+    /* Stars are sorted by magnitude, so find the end of the visible ones */
+    int lo = 0, hi = n;
+    while ( lo < hi ) {
+      int mid = (lo + hi) >>> 1;
+      if ( starMag((vis == null) ? mid : vis[mid]) > limMag100 ) hi = mid;
+      else                                                      lo = mid + 1;
+    }
+    final int cnt = lo;
+
+    if ( px == null || px.length < cnt ) {
+      px = new float[cnt];
+      py = new float[cnt];
+      hit = new byte[cnt];
+    }
+    final float[] fx = px, fy = py;
+    final byte[] fh = hit;
+    final Projection proj = mp.getProjection();
+    int nt = WorkerPool.getThreads();
+    ArrayList<Runnable> tasks = new ArrayList<Runnable>();
+
+    /* Project stars */
+    int chunk = Math.max(PAR_CHUNK, (cnt + nt * 4 - 1) / (nt * 4));
+    for ( k = 0; k < cnt; k += chunk ) {
+      final int from = k, to = Math.min(cnt, k + chunk);
+      tasks.add(new Runnable() {
+        public void run() {
+          if ( vis == null && cat == null ) {
+            proj.project(rx, ry, rz, from, to, fx, fy, fh, from);
+            return;
+          }
+          for ( int kk = from; kk < to; kk++ ) {
+            int i = (vis == null) ? kk : vis[kk];
+            fh[kk] = (byte)proj.rd2xyhit(starX(i), starY(i), starZ(i),
+                                         fx, fy, kk);
+          }
+        }
+      });
+    }
+    WorkerPool.runAll(tasks);
+    tasks.clear();
+    if ( !mp.isDrawing() ) return 0;
+
+    /* Record labeled stars (in order, brightest first) */
+    if ( drawBayr || drawFlam ) {
+      for ( k = 0; k < cnt; k++ ) {
+        if ( fh[k] <= 0 ) continue;
+        int i = (vis == null) ? k : vis[k];
+        if ( (drawBayr && starGreek(i) != 0) ||
+             (drawFlam && starFlam(i) > 0) ) {
+          if ( nlab == xlab.length ) growLabels();
+          xlab[nlab] = fx[k];
+          ylab[nlab] = fy[k];
+          ilab[nlab++] = i;
+        }
       }
     }
+
+    /* Sort stars into bands (a star near an edge goes into both bands) */
+    final int width = mp.getWidth();
+    int height = mp.getHeight();
+    final int bh = Math.max(MIN_BAND, (height + nt * 4 - 1) / (nt * 4));
+    int nb = (height + bh - 1) / bh;
+    if ( nb < 1 ) nb = 1;
+    final int[] bstart = new int[nb + 1];
+    int inwin = 0;                      // (For drawing statistics)
+    for ( k = 0; k < cnt; k++ ) {
+      if ( fh[k] <= 0 ) continue;
+      inwin++;
+      int b0 = Math.max(0, (int)(fy[k] - MARGIN) / bh);
+      int b1 = Math.min(nb - 1, (int)(fy[k] + MARGIN) / bh);
+      for ( j = b0; j <= b1; j++ ) bstart[j + 1]++;
+    }
+    for ( j = 0; j < nb; j++ ) bstart[j + 1] += bstart[j];
+    mp.count(cnt, inwin);
+    if ( bandlist == null || bandlist.length < bstart[nb] )
+      bandlist = new int[bstart[nb]];
+    final int[] list = bandlist;
+    int[] fill = new int[nb];
+    System.arraycopy(bstart, 0, fill, 0, nb);
+    for ( k = 0; k < cnt; k++ ) {
+      if ( fh[k] <= 0 ) continue;
+      int b0 = Math.max(0, (int)(fy[k] - MARGIN) / bh);
+      int b1 = Math.min(nb - 1, (int)(fy[k] + MARGIN) / bh);
+      for ( j = b0; j <= b1; j++ ) list[fill[j]++] = k;
+    }
+
+    /* Draw bands */
+    for ( j = 0; j < nb; j++ ) {
+      if ( bstart[j] == bstart[j + 1] ) continue;
+      final int band = j;
+      // (Graphics are created here, as mp.g belongs to this thread)
+      final Graphics2D g = (Graphics2D)mp.g.create();
+      g.clipRect(0, band * bh, width, bh);
+      tasks.add(new Runnable() {
+        public void run() {
+          Ellipse2D.Float circle = new Ellipse2D.Float();
+          float s, off;
+          try {
+            for ( int jj = bstart[band]; jj < bstart[band + 1]; jj++ ) {
+              if ( (jj & 0x3FF) == 0 && !mp.isDrawing() ) break;
+              int kk = list[jj];
+              int i = (vis == null) ? kk : vis[kk];
+              if ( stars != null ) {
+                g.drawImage(stars[(int)(a + b * starMag(i))],
+                            (int)(fx[kk] - offset), (int)(fy[kk] - offset),
+                            null);
+              }
+              else {
+                s = a + b * starMag(i);
+                off = s / 2 - 0.5f;
+                circle.setFrame(fx[kk] - off, fy[kk] - off, s, s);
+                g.fill(circle);
+              }
+            }
+          }
+          finally {
+            g.dispose();
+          }
+        }
+      });
+    }
+    WorkerPool.runAll(tasks);
+
+    return nlab;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Doubles the room for labeled stars (xlab, ylab, ilab), keeping those
+   * already recorded.
+   */
+  private void growLabels() {
+    int n = xlab.length;
+    float[] x = new float[2 * n];
+    float[] y = new float[2 * n];
+    int[] i = new int[2 * n];
+    System.arraycopy(xlab, 0, x, 0, n);
+    System.arraycopy(ylab, 0, y, 0, n);
+    System.arraycopy(ilab, 0, i, 0, n);
+    xlab = x;
+    ylab = y;
+    ilab = i;
   }
 
   /* For testing */
@@ -23,10 +23,11 @@ package com.nvastro.nvj;
 import java.awt.FontMetrics;
 import java.awt.RenderingHints;
 import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.Collections;
 import java.util.Vector;
 
@@ -67,7 +68,10 @@ public class StarNameDB {
   static private boolean initialized = false;
   static private String nothing = "";
   static final private int LPAREN = '(';  // Marker for altname
+  static final private int SNAPVERSION = 1; // Of snapshot content
   static private StarDB stardb;
+  static private IntIntMap nameindex;     // Star index -> first name index
+  static private SearchIndex searchindex = null; // Built when 1st needed
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Constructor.
@@ -89,15 +93,18 @@ public class StarNameDB {
       stardb = new StarDB();
       File source = new File(Nvj.workingDir, SOURCE);
       String line;
-
-      try {                 // FileReader can throw FileNotFoundException
-        if ( source.exists() )
-          in = new BufferedReader(new FileReader(source));
-        else
-          in = new BufferedReader(new InputStreamReader(
-                   Nvj.class.getResourceAsStream("/com/nvastro/nvj/" +SOURCE)));
-
-        while ( (line = in.readLine()) != null ) {  // Can throw IOException
+      int errors = 0;
+
+      try {
+        /* Star names refer to stars by index, so depend on the star DB */
+        DBSnapshot snap = new DBSnapshot(source, SOURCE, SNAPVERSION,
+                                         StarDB.getSourceKey());
+        if ( ! snap.exists() ) throw new FileNotFoundException(SOURCE);
+        /* Use the snapshot if current, else parse the file */
+        in = readSnapshot(snap.load()) ? null : snap.getReader();
+
+        while ( in != null &&
+                (line = in.readLine()) != null ) {  // Can throw IOException
           /* line will not contain \r or \n or \0 */
           if ( line.length() == 0 || line.charAt(0) == '#' ) continue;
           line = line.trim();
@@ -106,10 +113,18 @@ public class StarNameDB {
           if ( ! addStarName(line) ) {
             ErrLogger.logError(ErrLogger.formatError(
                       TextBndl.getString("SNFile.LnErr"), SOURCE, "  " + line));
+            errors++;
           }
         }
 
-        Collections.sort(starnames);
+        if ( in != null ) {
+          Collections.sort(starnames);
+          if ( errors == 0 ) snap.save(new DBSnapshot.Content() {
+            public void write(DataOutputStream out) throws IOException {
+              writeSnapshot(out);
+            }
+          });
+        }
       }
       catch ( Exception e ) {
         String msg = TextBndl.getString("SNFile.RdErr");
@@ -120,10 +135,52 @@ public class StarNameDB {
       }
 
       starnames.trimToSize();
+      indexNames();
       initialized = true;
     }
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the (sorted) names to a snapshot (see DBSnapshot).
+   */
+  static private void writeSnapshot(DataOutputStream out) throws IOException {
+    int n = starnames.size();
+    out.writeInt(n);
+    for ( int i = 0; i < n; i++ ) {
+      StarName sn = starnames.elementAt(i);
+      out.writeUTF(sn.name);
+      out.writeUTF(sn.allnames);
+      out.writeInt(sn.starnum);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Reads the names from a snapshot.  Returns false (with no names)
+   * if there is no snapshot or it cannot be read.
+   */
+  static private boolean readSnapshot(DataInputStream in) {
+    if ( in == null ) return false;
+
+    try {
+      int n = in.readInt();
+      int numstars = stardb.getNumberOfStars();
+      starnames.ensureCapacity(n);
+      for ( int i = 0; i < n; i++ ) {
+        String name = in.readUTF();
+        String allnames = in.readUTF();
+        int starnum = in.readInt();
+        if ( starnum < 0 || starnum >= numstars )
+          throw new IOException("Bad star index");
+        starnames.addElement(new StarName(name, allnames, starnum));
+      }
+      return true;
+    }
+    catch ( IOException e ) {
+      starnames.removeAllElements();
+      return false;
+    }
+  }
+
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Add star name.
    */
@@ -221,6 +278,21 @@ public class StarNameDB {
     return starnames.elementAt(i).allnames;
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the search index of the star names (by tellName2()),
+   * building it if needed.  Used by FindStarDlg.
+   */
+  public SearchIndex getSearchIndex() {
+    synchronized ( starnames ) {
+      if ( searchindex == null ) {
+        String[] names = new String[starnames.size()];
+        for ( int i = 0; i < names.length; i++ ) names[i] = tellName2(i);
+        searchindex = new SearchIndex(names);
+      }
+      return searchindex;
+    }
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Returns name of star.
    *
@@ -228,14 +300,21 @@ public class StarNameDB {
    * @return null if out of range or no name available
    */
   public String tellNameForStarIndex(int i) {
-    int j;
+    int j = nameindex.get(i);
+
+    if ( j >= 0 ) return tellName(j);
+    else          return null;
+  }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Indexes the (sorted) names by star index for tellNameForStarIndex().
+   * A star with more than one entry maps to its first.
+   */
+  static private void indexNames() {
     int num = starnames.size();
-    for ( j = 0; j < num; j++ ) {
-      if ( i == starnames.elementAt(j).starnum ) break;
-    }
-    if ( j < num ) return tellName(j);
-    else           return null;
+    nameindex = new IntIntMap(num);
+    for ( int j = 0; j < num; j++ )
+      nameindex.putIfAbsent(starnames.elementAt(j).starnum, j);
   }
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
@@ -304,14 +383,19 @@ public class StarNameDB {
                             RenderingHints.VALUE_ANTIALIAS_ON);
 
     int num = starnames.size();
+    int inwin = 0;                      // (For drawing statistics)
     for ( int i = 0; i < num && mp.isDrawing(); i++ ) {
       index = starnames.elementAt(i).starnum;
       scoord = stardb.getJ2000Location(index);
 
       if ( mp.rd2xyhit(scoord, x, y) > 0 ) {
-        mp.g.drawString(tellName(i), x[0] + 4, y[0] + yoffset);
+        inwin++;
+        String name = tellName(i);
+        if ( mp.placeLabel(name, fm, x[0] + 4, y[0] + yoffset) )
+          mp.g.drawString(name, x[0] + 4, y[0] + yoffset);
       }
     }
+    mp.count(num, inwin);
 
     if ( mp.prefer.antialiasing && !mp.printing )
       mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
@@ -20,6 +20,7 @@
 
 package com.nvastro.nvj;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
@@ -34,6 +35,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Ellipse2D;
 import java.awt.image.BufferedImage;
@@ -85,11 +87,14 @@ public class StarWin extends JComponent implements Printable, Runnable,
                        idscPN_old = new SphereCoords(); // Previous idsc coords
                                            // that are precessed/nutated
   private SphereCoords dragsc = new SphereCoords(),  // Dragged spher. coords
-                       savesc = new SphereCoords();  // Save in case Esc pressed
+                       savesc = new SphereCoords(),  // Save in case Esc pressed
+                       dragnew = new SphereCoords(); // New drag position
+  private MapParms viewmp = null;           // Reused by currentView()
   private boolean prevID = false;          // True if previous ID done
   private Timer timer;                     // New image update timer
   private Timer timer2;                    // Updates scrn during image build
   private Timer timer3;                    // 1 second tmr for found objects
+  private Timer timer4;                    // Rebuilds after motion pauses
   private int   timer3cntr = 0;            // Counter for timer3 events
   private double dftPelsPerRadian;         // Default pels (pixels) per radian
   private boolean mouserect = false;       // Captures select/rect btn down
@@ -98,13 +103,51 @@ public class StarWin extends JComponent implements Printable, Runnable,
   private Dimension scrn;                  // Stores screen dimensions in pels
   private BufferedImage bufImage;          // Off-screen image of entire screen
   private Graphics2D bufGraph;             // 2D graphics for bufImage
+  private LayerCache layers;               // Images of individual layers
+                                           // (null: draw into bufImage)
+  private LabelPlacer labels;              // Keeps labels from overlapping
+  private RenderStats stats =              // Drawing times of layers
+                      new RenderStats(LAYERNAME);
+  private float[][] layerLabels =          // Labels placed by each layer
+                    new float[LAYERKIND.length][];
+  private boolean[] layerLabeled =         // Layer asked to place labels
+                    new boolean[LAYERKIND.length];
+  private boolean labelsMoved;             // A redrawn layer's labels moved
+  private final Object previewLock = new Object();
+  private BufferedImage lastImage = null;  // Copy of last complete image
+  private MapParms lastmp = null;          // Snapshot of mp for lastImage
+  private AffineTransform preview = null;  // If not null, show lastImage
+                           // with this transform until image is complete
   private boolean timerRinging = false;    // Time to update if true
   private boolean preferUpdated = true;    // True implies repaint window
                                            // because Preferences has changed
   private boolean silent = false;          // Silent image build
+  private volatile boolean building = false; // 2nd thread building image
+  private long ssUpdated = 0;              // When SSWin last told of time
   private Thread imageMaker = null;        // 2nd (image building) thread
   private int startImageMaker = 0;         // Count of 2nd thread starts
   private ScopeMon scopemon;               // Scope monitor (has thread)
+  private static final int PREVIEWDELAY = 200;  // Millisecs
+  /** Frames per second when animating (update period 0) */
+  static final int ANIMFPS = 30;
+
+  /* Layers, in drawing order */
+  private static final int MILKYWAY = 0, HORIZON = 1, CGRID = 2, AGRID = 3,
+                           ECLIPTIC = 4, CONSTLINES = 5, CONSTBOUNDS = 6,
+                           CONSTNAMES = 7, DEEPSKY = 8, STARS = 9,
+                           STARNAMES = 10, NEARSKY = 11;
+  private static final int[] LAYERKIND = {
+    LayerCache.SKY,  LayerCache.GROUND, LayerCache.SKY, LayerCache.GROUND,
+    LayerCache.SKY,  LayerCache.SKY,    LayerCache.SKY, LayerCache.SKY,
+    LayerCache.SKY,  LayerCache.SKY,    LayerCache.SKY, LayerCache.TIME
+  };
+  private static final String[] LAYERNAME = {
+    "Milky Way", "Horizon", "RA/Dec grid", "Az/Alt grid", "Ecliptic",
+    "Const lines", "Const bounds", "Const names", "Deep sky", "Stars",
+    "Star names", "Near sky"
+  };
+  /* Font of the drawing time statistics */
+  private static final Font STATSFONT = new Font("Monospaced", Font.PLAIN, 11);
 
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Constructor.
@@ -144,6 +187,8 @@ public class StarWin extends JComponent implements Printable, Runnable,
     /* Create an off-screen buffer */
     bufImage = LocalGraphics.getBufferedImage(scrn.width, scrn.height);
     bufGraph = bufImage.createGraphics();
+    layers = new LayerCache(scrn.width, scrn.height, LAYERKIND);
+    labels = new LabelPlacer(scrn.width, scrn.height);
 
     /* Create a timer for signaling screen updates per the user's
        preferred update rate */
@@ -154,8 +199,8 @@ public class StarWin extends JComponent implements Printable, Runnable,
       }
     };
     /* Start the timer */
-    timer = new Timer(prefer.getUpdatePeriod() * 1000, tmrlistener);
-    timer.setInitialDelay(prefer.getUpdatePeriod() * 1000);
+    timer = new Timer(updateDelay(), tmrlistener);
+    timer.setInitialDelay(updateDelay());
     timer.setCoalesce(true);
     timer.start();
 
@@ -189,6 +234,16 @@ public class StarWin extends JComponent implements Printable, Runnable,
     timer3.setCoalesce(true);
     timer3.setRepeats(true);
 
+    /* Create fourth timer, to rebuild the image once the view has stopped
+       changing (until then, a preview is shown; see previewpaint()) */
+    ActionListener tmrlistener4 = new ActionListener() {
+      public void actionPerformed(ActionEvent e) {
+        StarWin.this.restartpaint();
+      }
+    };
+    timer4 = new Timer(PREVIEWDELAY, tmrlistener4);
+    timer4.setRepeats(false);
+
     /* Declare "this" to be a MouseListener and a MouseMotionListener */
     addMouseListener(this);
     addMouseMotionListener(this);
@@ -229,7 +284,7 @@ public class StarWin extends JComponent implements Printable, Runnable,
       }
       else {
         mousedrag = true;
-        mp.xy2aa(e.getX(), e.getY(), dragsc);
+        currentView().xy2aa(e.getX(), e.getY(), dragsc);
         savesc.set(prefer.getAz(), prefer.getAlt());
       }
     }
@@ -254,12 +309,16 @@ public class StarWin extends JComponent implements Printable, Runnable,
         if ( Math.max(w, h) > 7 )  // If longest side > 7 pels
           ratio = Math.sqrt(mp.getWidth() * mp.getHeight() / ((double)(w * h)));
         SphereCoords aa = new SphereCoords();
-        mp.xy2aa((lastx + startx) / 2, (lasty + starty) / 2, aa);
+        MapParms cur = currentView();
+        cur.xy2aa((lastx + startx) / 2, (lasty + starty) / 2, aa);
         prefer.setAzAltZoom(aa, ratio);
+        cur.updateView(dftPelsPerRadian);
+        showPreview(cur);
         restartpaint();  // (setAzAltZoom doesn't always restartpaint)
       }
       else if ( mousedrag ) {
         mousedrag = false;
+        if ( timer4.isRunning() ) restartpaint();  // Don't wait for timer
       }
     }
   }
@@ -278,11 +337,13 @@ public class StarWin extends JComponent implements Printable, Runnable,
       g.dispose();
     }
     else if ( mousedrag ) {
-      SphereCoords newsc = new SphereCoords();
-      mp.xy2aa(e.getX(), e.getY(), newsc);
+      // (mp is not updated until the drag pauses, so use current view,
+      // set up by mousePressed; only the view changes during a drag)
+      MapParms cur = viewmp;
+      cur.xy2aa(e.getX(), e.getY(), dragnew);
 
-      double diffaz  = dragsc.getAz()  - newsc.getAz();
-      double diffalt = dragsc.getAlt() - newsc.getAlt();
+      double diffaz  = dragsc.getAz()  - dragnew.getAz();
+      double diffalt = dragsc.getAlt() - dragnew.getAlt();
       double newaz  = (prefer.getAz()  + diffaz)  / MapParms.Deg2Rad;
       double newalt = (prefer.getAlt() + diffalt) / MapParms.Deg2Rad;
 
@@ -292,7 +353,8 @@ public class StarWin extends JComponent implements Printable, Runnable,
       while ( newaz <  0  ) newaz += 360;
 
       prefer.setAzAltZoom(newaz, newalt, 1.0);
-      restartpaint();
+      cur.updateView(dftPelsPerRadian);
+      previewpaint(cur);
     }
   }
 
@@ -596,6 +658,14 @@ public class StarWin extends JComponent implements Printable, Runnable,
     restartpaint();
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the delay (millisecs) of the update timer.
+   */
+  private int updateDelay() {
+    int period = prefer.getUpdatePeriod();
+    return ( period == 0 ) ? 1000 / ANIMFPS : period * 1000;
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Freezes time.
    */
@@ -612,8 +682,8 @@ public class StarWin extends JComponent implements Printable, Runnable,
    */
    public void thawTime() {
      prefer.lst.start();
-     timer.setDelay(prefer.getUpdatePeriod() * 1000);
-     timer.setInitialDelay(prefer.getUpdatePeriod() * 1000);
+     timer.setDelay(updateDelay());
+     timer.setInitialDelay(updateDelay());
      timer.start();
    }
 
@@ -621,10 +691,73 @@ public class StarWin extends JComponent implements Printable, Runnable,
    * Calls repaint() after setting flag noting preferences were updated.
    */
   public void restartpaint() {
+    timer4.stop();
     preferUpdated = true;
     repaint();
   }
 
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Like restartpaint(), but for a view that may be changing rapidly
+   * (mouse drag, scroll bars, mouse wheel):  Shows a preview (the last
+   * complete image, moved and scaled to the new view) at once, and
+   * rebuilds the image only after the view stops changing for a moment.
+   */
+  public void previewpaint() {
+    previewpaint(currentView());
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * previewpaint() for the current view cur (see currentView()).
+   */
+  private void previewpaint(MapParms cur) {
+    showPreview(cur);
+    repaint();
+    timer4.restart();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns a MapParms for the current Preferences.  (mp is only updated
+   * when the image is rebuilt.)  The same MapParms is reused for each
+   * call (on the GUI thread), with precession and nutation interpolated,
+   * so that mouse drags and scrolling do little work per event.
+   */
+  private MapParms currentView() {
+    if ( viewmp == null ) viewmp = new MapParms(prefer);
+    viewmp.update(getSize(), dftPelsPerRadian, true);
+    return viewmp;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets up the preview transform:  Two points of lastImage, its center
+   * and a point to the right of center, are located in the current view,
+   * and lastImage is shifted, rotated and scaled to put them there.
+   *
+   * @param cur Current view (see currentView())
+   */
+  private void showPreview(MapParms cur) {
+    SphereCoords sc0 = new SphereCoords(), sc1 = new SphereCoords();
+    float[] x0 = new float[1], y0 = new float[1];
+    float[] x1 = new float[1], y1 = new float[1];
+    final int D = 50;   // Distance (pels) between points
+
+    synchronized ( previewLock ) {
+      preview = null;
+      if ( lastmp == null ) return;
+
+      int px = (int)lastmp.getMidX(), py = (int)lastmp.getMidY();
+      if ( !lastmp.xy2rd(px, py, sc0) || !lastmp.xy2rd(px + D, py, sc1) ||
+           cur.rd2xyhit(sc0, x0, y0) < 0 || cur.rd2xyhit(sc1, x1, y1) < 0 )
+        return;   // Too far off, no preview
+
+      // Map (px,py) to (x0,y0) and (px+D,py) to (x1,y1)
+      double a = (x1[0] - x0[0]) / D;   // scale * cos(rotation)
+      double b = (y1[0] - y0[0]) / D;   // scale * sin(rotation)
+      preview = new AffineTransform(a, b, -b, a,
+                                    x0[0] - (a * px - b * py),
+                                    y0[0] - (b * px + a * py));
+    }
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Paint function.
    *
@@ -646,27 +779,44 @@ public class StarWin extends JComponent implements Printable, Runnable,
     boolean rebuild = preferUpdated || // Handles orientation, zoom, & prefer
                       (size.width != mp.getWidth()) ||
                       (size.height != mp.getHeight());
+    boolean animating = prefer.getUpdatePeriod() == 0 && timer.isRunning();
     if ( timerRinging && !rebuild ) {
-      rebuild = true;
-      silent = true;
+      /* When animating, skip a frame if the last one is not done */
+      if ( animating && building ) timerRinging = false;
+      else {
+        rebuild = true;
+        silent = true;
+      }
     }
     else
       silent = false;
 
-    /* Paint the window (xfer image from bufImage) */
-    g.drawImage(bufImage, 0, 0, null);
-    drawMarkers(g);
+    /* Paint the window (xfer image from bufImage, or show preview) */
+    MapParms scopemp = mp;            // View to place scope markers in
+    synchronized ( previewLock ) {
+      if ( preview != null ) {
+        g.setColor(prefer.colorBackGnd());
+        g.fillRect(0, 0, size.width, size.height);
+        ((Graphics2D)g).drawImage(lastImage, preview, null);
+        scopemp = viewmp;             // (The view being previewed)
+      }
+      else
+        g.drawImage(bufImage, 0, 0, null);
+    }
+    drawMarkers(g, scopemp);
+    if ( Preferences.renderStats ) drawStats(g);
 
     if ( rebuild ) {
       /* if ( preferUpdated ) */ preferUpdated = false;
       if ( timer.isRunning() ) {
-        if ( timer.getDelay() == prefer.getUpdatePeriod() * 1000 )
-          timer.restart();
+        if ( timer.getDelay() == updateDelay() ) {
+          if ( !animating ) timer.restart(); // (Keep frames evenly spaced)
+        }
         else {
           //stem.out.println("Period = " + prefer.getUpdatePeriod());
           timer.stop();
-          timer.setDelay(prefer.getUpdatePeriod() * 1000);
-          timer.setInitialDelay(prefer.getUpdatePeriod() * 1000);
+          timer.setDelay(updateDelay());
+          timer.setInitialDelay(updateDelay());
           timer.start();
         }
       }
@@ -675,19 +825,27 @@ public class StarWin extends JComponent implements Printable, Runnable,
       /* Set up MapParms */
       mp.cancelDrawing();
       synchronized ( mp ) {
-        mp.update(size, dftPelsPerRadian);
+        mp.update(size, dftPelsPerRadian, animating);
+        building = true;
         mp.notify();
       }
 
-      /* Update status line */
+      /* Update status line (with frame rate if animating) */
+      String fps = !animating ? "" :
+                   ", " + Math.round(stats.getImageRate()) + "/" + ANIMFPS +
+                   " " + TextBndl.getString("Pgm.St.FPS");
       frame.setStatusLine(prefer.tellView() + ", " +
                           TextBndl.getString("Pgm.St.LocTime") + " " +
-                          mp.lst.tellLocDateTime(!prefer.is24Hr()));
+                          mp.lst.tellLocDateTime(!prefer.is24Hr()) + fps);
 
       /* Notify Solar System window, if it's up, that it may need to
          update it's contents.  Time may have been updated via a timer,
-         or done through the GUI. */
-      SSWin.updateTime();
+         or done through the GUI.  (Once a second if animating) */
+      long now = System.currentTimeMillis();
+      if ( !animating || now - ssUpdated >= 1000 ) {
+        ssUpdated = now;
+        SSWin.updateTime();
+      }
     }
 
     /* Start/restart 2nd thread */
@@ -707,8 +865,11 @@ public class StarWin extends JComponent implements Printable, Runnable,
 
   /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Draws the XOR stuff (markers, drag rectangle).
+   *
+   * @param scopemp View to place the scope markers in (mp, or the
+   *        current view while a preview is shown)
    */
-  private void drawMarkers(Graphics g) {
+  private void drawMarkers(Graphics g, MapParms scopemp) {
     /* Note:  Could not get XOR mode to work correctly by writing on
        bufImage and xfering to window.  Results were incorrect and
        inconsistent.  Only when a menu dropped down over the XOR'd
@@ -720,7 +881,7 @@ public class StarWin extends JComponent implements Printable, Runnable,
 
       drawIDMarker(g);
       drawFindMarker(g);
-      scopemon.draw(mp, g);
+      scopemon.draw(scopemp, g);
 
       /* If we are dragging a mouse, better show rectangle */
       if ( mouserect ) {
@@ -730,6 +891,25 @@ public class StarWin extends JComponent implements Printable, Runnable,
     }
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws the drawing time statistics over the upper left corner
+   * (see the "renderstats" option).
+   */
+  private void drawStats(Graphics g) {
+    String[] lines = stats.tellLines();
+    g.setFont(STATSFONT);
+    FontMetrics fm = g.getFontMetrics();
+    int w = 0;
+    for ( String l : lines ) w = Math.max(w, fm.stringWidth(l));
+    int h = fm.getHeight();
+
+    g.setColor(new Color(0, 0, 0, 160));
+    g.fillRect(4, 4, w + 8, h * lines.length + 6);
+    g.setColor(Color.white);
+    for ( int i = 0; i < lines.length; i++ )
+      g.drawString(lines[i], 8, 7 + fm.getAscent() + i * h);
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * 2nd thread does construction of image.
    */
@@ -774,20 +954,36 @@ public class StarWin extends JComponent implements Printable, Runnable,
 
         timer2.start();
 
-        milkyway.draw(mp);
-        horizon.draw(mp);
-        CGrid.draw(mp);
-        AGrid.draw(mp);
-        Ecliptic.draw(mp);
-        constlines.draw(mp);
-        constbounds.draw(mp);
-        Constellation.draw(mp);
-        deepskydb.draw(mp);
-        stardb.draw(mp);
-        starnamedb.draw(mp);
-        nearskydb.draw(mp);
+        long t0 = System.nanoTime();
+        labels.clear();
+        mp.labels = labels;
+        labelsMoved = false;
+        for ( int layer = 0; layer < LAYERKIND.length; layer++ )
+          paintLayer(layer);
+        mp.labels = null;
+        mp.g = bufGraph;
+
+        /* Save complete image for previews (see previewpaint()) */
+        if ( mp.isDrawing() ) {
+          int n = stats.recordImage(System.nanoTime() - t0);
+          if ( Preferences.renderStats && n % RenderStats.WINDOW == 0 )
+            System.err.println(stats.tellStats());
+
+          synchronized ( previewLock ) {
+            if ( lastImage == null )
+              lastImage = LocalGraphics.getBufferedImage(scrn.width,
+                                                         scrn.height);
+            Graphics2D g = lastImage.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(bufImage, 0, 0, null);
+            g.dispose();
+            lastmp = (MapParms) mp.clone();
+            preview = null;
+          }
+        }
 
         timer2.stop();
+        building = false;
         repaint();
 
         /* Put thread to sleep until next notify */
@@ -796,6 +992,160 @@ public class StarWin extends JComponent implements Printable, Runnable,
     } // End while ( true )
   }
 
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Puts a layer into bufImage (by 2nd thread), redrawing the layer's
+   * image only if something it depends on has changed.  Labels placed
+   * by earlier layers limit where a layer may put its labels, so a
+   * layer with labels is also redrawn if an earlier layer's labels moved.
+   * A layer that is not redrawn re-places the labels it placed last time.
+   */
+  private void paintLayer(int layer) {
+    if ( !mp.isDrawing() ) return;
+
+    if ( layers != null ) {
+      Object[] pref = layerPrefs(layer);
+      int mark = 0, req = 0;
+      if ( mp.labels != null ) {
+        mark = mp.labels.size();
+        req = mp.labels.getRequests();
+      }
+      if ( !layers.isCurrent(layer, mp, pref) ||
+           (labelsMoved && layerLabeled[layer]) ) {
+        try {
+          mp.g = layers.startLayer(layer);
+        }
+        catch ( OutOfMemoryError e ) {  // Fall back to drawing directly
+          layers = null;
+          mp.g = bufGraph;
+          timeLayer(layer);
+          return;
+        }
+        mp.g.setClip(mp.clip1);
+        mp.g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                              RenderingHints.VALUE_ANTIALIAS_OFF);
+        timeLayer(layer);
+        mp.g.dispose();
+        layers.endLayer(layer, mp, pref);
+        if ( mp.labels != null ) {
+          float[] r = mp.labels.getRects(mark);
+          if ( !LabelPlacer.same(r, layerLabels[layer]) ) labelsMoved = true;
+          layerLabels[layer] = r;
+          layerLabeled[layer] = mp.labels.getRequests() != req;
+        }
+      }
+      else if ( mp.labels != null && layerLabels[layer] != null )
+        mp.labels.addRects(layerLabels[layer]);
+      if ( mp.isDrawing() )
+        bufGraph.drawImage(layers.getImage(layer), 0, 0, null);
+    }
+    else {
+      mp.g = bufGraph;
+      timeLayer(layer);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws a layer (using mp.g), recording the time taken and the number
+   * of objects projected (unless drawing was cancelled).
+   */
+  private void timeLayer(int layer) {
+    mp.resetCounts();
+    long t0 = System.nanoTime();
+    drawLayer(layer);
+    if ( mp.isDrawing() )
+      stats.recordLayer(layer, System.nanoTime() - t0,
+                        mp.getProjected(), mp.getInWindow());
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws a layer (using mp.g).
+   */
+  private void drawLayer(int layer) {
+    switch ( layer ) {
+      case MILKYWAY:    milkyway.draw(mp);    break;
+      case HORIZON:     horizon.draw(mp);     break;
+      case CGRID:       CGrid.draw(mp);       break;
+      case AGRID:       AGrid.draw(mp);       break;
+      case ECLIPTIC:    Ecliptic.draw(mp);    break;
+      case CONSTLINES:  constlines.draw(mp);  break;
+      case CONSTBOUNDS: constbounds.draw(mp); break;
+      case CONSTNAMES:  Constellation.draw(mp); break;
+      case DEEPSKY:     deepskydb.draw(mp);   break;
+      case STARS:       stardb.draw(mp);      break;
+      case STARNAMES:   starnamedb.draw(mp);  break;
+      case NEARSKY:     nearskydb.draw(mp);   break;
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the values of the preferences that a layer depends on.
+   * (If a layer starts using another preference, add it here.)
+   */
+  private Object[] layerPrefs(int layer) {
+    Preferences p = mp.prefer;
+    Object[] common = { p.antialiasing, p.colorBackGnd() };
+    Object[] other;
+
+    switch ( layer ) {
+      case MILKYWAY:
+        other = new Object[] { p.drawMilkyWay(), p.colorMilkyWay() };
+        break;
+      case HORIZON:
+        other = new Object[] { p.drawHorizon(), p.colorHorizon(),
+                               p.fontHorizon(), p.shadeHorizon,
+                               p.getRARad(), p.getDecRad() };
+        break;
+      case CGRID:
+        other = new Object[] { p.drawCGrid(), p.drawCGridLabels(),
+                               p.colorCGrid(), p.fontCGrid() };
+        break;
+      case AGRID:
+        other = new Object[] { p.drawAGrid(), p.drawAGridLabels(),
+                               p.colorAGrid(), p.fontAGrid() };
+        break;
+      case ECLIPTIC:
+        other = new Object[] { p.drawEcliptic(), p.colorEcliptic() };
+        break;
+      case CONSTLINES:
+        other = new Object[] { p.drawConstLines(), p.colorConst() };
+        break;
+      case CONSTBOUNDS:
+        other = new Object[] { p.drawConstBounds(), p.colorConstBound() };
+        break;
+      case CONSTNAMES:
+        other = new Object[] { p.drawConstNames(), p.drawConstNFull(),
+                               p.colorConst(), p.fontConst() };
+        break;
+      case DEEPSKY:
+        other = new Object[] { p.drawDeepSky(), p.drawDeepSkyNames(),
+                               p.colorDeepSky(), p.fontDeepSky(),
+                               p.getZiDSLimMag10(), p.getZoDSLimMag10(),
+                               DeepSkyDB.getVersion() };     // (Catalog)
+        break;
+      case STARS:
+        other = new Object[] { p.colorStar(), p.colorStarLabel(),
+                               p.drawBayer(), p.drawFlamsteed(),
+                               p.fontStarLabel(), p.getBmpStars(),
+                               p.getSzBright(), p.getSzDim(),
+                               p.getZiLimMag10(), p.getZoLimMag10() };
+        break;
+      case STARNAMES:
+        other = new Object[] { p.drawStarNames(), p.colorStarName(),
+                               p.fontStarName() };
+        break;
+      default:   // NEARSKY
+        other = new Object[] { p.drawNearSky(), p.colorSun(), p.colorMoon(),
+                               p.colorPlanet(), p.fontSolarSys(),
+                               p.nSkySuppress };
+        break;
+    }
+
+    Object[] all = new Object[common.length + other.length];
+    System.arraycopy(common, 0, all, 0, common.length);
+    System.arraycopy(other, 0, all, common.length, other.length);
+    return all;
+  }
+
   /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
    * Prepare for printing:  Since print will be called multiple times,
    * freeze critical parameters.  Do not call this function for a subsequent
@@ -974,6 +1324,7 @@ public class StarWin extends JComponent implements Printable, Runnable,
     }
 
     /* Now draw the astronomy stuff */
+    mprint.labels = new LabelPlacer(mprint.getWidth(), mprint.getHeight());
     milkyway.draw(mprint);
     horizon.draw(mprint);
     CGrid.draw(mprint);
@@ -0,0 +1,733 @@
+/*
+ * SvgGraphics.java  -  Graphics2D that records drawing as SVG
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Paint;
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.Stroke;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Arc2D;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
+import java.awt.geom.PathIterator;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.AttributedCharacterIterator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Graphics2D that records what is drawn as SVG (Scalable Vector Graphics).
+ * <p>
+ * State (transform, clip, color, font, ...) is kept by a Graphics2D of
+ * a small image, which also supplies font metrics.  Shapes are written
+ * as paths in device coordinates (with the clip, if any, as a clipPath),
+ * text as text elements, and images as embedded PNG images (each image
+ * once, however many times it is drawn).
+ * <p>
+ * XOR mode, copyArea() and non-color paints are not supported (the
+ * current color is used for the latter).  Graphics objects made by
+ * create() write to the same document; writing is synchronized, but
+ * elements from different threads are written in no particular order.
+ *
+ * @author Brian Simpson
+ */
+public class SvgGraphics extends Graphics2D {
+  private Graphics2D g;         // Keeps state
+  private Doc doc;              // Document being built
+  private Color background = Color.black;
+
+  /* The SVG document, shared by an SvgGraphics and its children */
+  private static class Doc {
+    int width, height;
+    StringBuilder defs = new StringBuilder();
+    StringBuilder body = new StringBuilder();
+    Map<String, String> clips = new HashMap<String, String>();
+    Map<Image, String> images = new IdentityHashMap<Image, String>();
+    int ids = 0;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param width Width of document (pels)
+   * @param height Height of document (pels)
+   */
+  public SvgGraphics(int width, int height) {
+    doc = new Doc();
+    doc.width = width;
+    doc.height = height;
+    g = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    g.setClip(0, 0, width, height);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor used by create().
+   */
+  private SvgGraphics(SvgGraphics parent) {
+    doc = parent.doc;
+    g = (Graphics2D)parent.g.create();
+    background = parent.background;
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Writes the SVG document.
+   *
+   * @param out Output stream (not closed)
+   */
+  public void write(OutputStream out) throws IOException {
+    Writer w = new OutputStreamWriter(out, "UTF-8");
+    synchronized ( doc ) {
+      w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      w.write("<svg xmlns=\"http://www.w3.org/2000/svg\" " +
+              "xmlns:xlink=\"http://www.w3.org/1999/xlink\" " +
+              "version=\"1.1\" width=\"" + doc.width + "\" height=\"" +
+              doc.height + "\" viewBox=\"0 0 " + doc.width + " " +
+              doc.height + "\">\n");
+      w.write("<defs>\n");
+      w.append(doc.defs);
+      w.write("</defs>\n");
+      w.append(doc.body);
+      w.write("</svg>\n");
+    }
+    w.flush();
+  }
+
+  /*------------------------------------------------------------------------
+   * Drawing (everything comes down to draw(), fill(), drawString()
+   * and drawImage())
+   *------------------------------------------------------------------------*/
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws the outline of a shape.
+   */
+  public void draw(Shape s) {
+    Stroke stroke = g.getStroke();
+    AffineTransform at = g.getTransform();
+    int type = at.getType() & ~AffineTransform.TYPE_TRANSLATION;
+    if ( !(stroke instanceof BasicStroke) || type != 0 ) {
+      fill(stroke.createStrokedShape(s));  // Draw outline of stroke
+      return;
+    }
+
+    BasicStroke bs = (BasicStroke)stroke;
+    StringBuilder sb = new StringBuilder(128);
+    sb.append("<path d=\"");
+    path(sb, s, at);
+    sb.append("\" fill=\"none\"");
+    paint(sb, "stroke");
+    if ( bs.getLineWidth() != 1 ) {
+      sb.append(" stroke-width=\"");
+      num(sb, bs.getLineWidth());
+      sb.append('"');
+    }
+    if ( bs.getEndCap() != BasicStroke.CAP_BUTT )
+      sb.append((bs.getEndCap() == BasicStroke.CAP_ROUND) ?
+                " stroke-linecap=\"round\"" : " stroke-linecap=\"square\"");
+    if ( bs.getLineJoin() != BasicStroke.JOIN_MITER )
+      sb.append((bs.getLineJoin() == BasicStroke.JOIN_ROUND) ?
+                " stroke-linejoin=\"round\"" : " stroke-linejoin=\"bevel\"");
+    float[] dash = bs.getDashArray();
+    if ( dash != null ) {
+      sb.append(" stroke-dasharray=\"");
+      for ( int i = 0; i < dash.length; i++ ) {
+        if ( i > 0 ) sb.append(',');
+        num(sb, dash[i]);
+      }
+      sb.append('"');
+      if ( bs.getDashPhase() != 0 ) {
+        sb.append(" stroke-dashoffset=\"");
+        num(sb, bs.getDashPhase());
+        sb.append('"');
+      }
+    }
+    sb.append("/>");
+    emit(sb);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Fills a shape.
+   */
+  public void fill(Shape s) {
+    StringBuilder sb = new StringBuilder(128);
+    sb.append("<path d=\"");
+    path(sb, s, g.getTransform());
+    sb.append('"');
+    paint(sb, "fill");
+    sb.append("/>");
+    emit(sb);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws a string.
+   */
+  public void drawString(String str, float x, float y) {
+    if ( str.length() == 0 ) return;
+    Font f = g.getFont();
+    StringBuilder sb = new StringBuilder(128);
+    sb.append("<text");
+    AffineTransform at = g.getTransform();
+    if ( !at.isIdentity() ) {
+      sb.append(" transform=\"matrix(");
+      num(sb, at.getScaleX());  sb.append(' ');
+      num(sb, at.getShearY());  sb.append(' ');
+      num(sb, at.getShearX());  sb.append(' ');
+      num(sb, at.getScaleY());  sb.append(' ');
+      num(sb, at.getTranslateX());  sb.append(' ');
+      num(sb, at.getTranslateY());  sb.append(")\"");
+    }
+    sb.append(" x=\"");
+    num(sb, x);
+    sb.append("\" y=\"");
+    num(sb, y);
+    sb.append("\" font-family=\"");
+    String family = f.getFamily();
+    if      ( family.equals("SansSerif") || family.equals("Dialog") ||
+              family.equals("DialogInput") ) family = "sans-serif";
+    else if ( family.equals("Serif") ) family = "serif";
+    else if ( family.equals("Monospaced") ) family = "monospace";
+    escape(sb, family);
+    sb.append("\" font-size=\"");
+    num(sb, f.getSize2D());
+    sb.append('"');
+    if ( f.isBold() ) sb.append(" font-weight=\"bold\"");
+    if ( f.isItalic() ) sb.append(" font-style=\"italic\"");
+    paint(sb, "fill");
+    sb.append(" xml:space=\"preserve\"");
+    sb.append('>');
+    escape(sb, str);
+    sb.append("</text>");
+    emit(sb);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Draws an image (with a transform).
+   */
+  public boolean drawImage(Image img, AffineTransform xform,
+                           ImageObserver obs) {
+    if ( img == null ) return true;
+    String id = imageId(img, obs);
+    if ( id == null ) return false;
+
+    AffineTransform at = g.getTransform();
+    if ( xform != null ) at.concatenate(xform);
+    StringBuilder sb = new StringBuilder(96);
+    sb.append("<use xlink:href=\"#").append(id).append('"');
+    if ( (at.getType() & ~AffineTransform.TYPE_TRANSLATION) == 0 ) {
+      sb.append(" x=\"");
+      num(sb, at.getTranslateX());
+      sb.append("\" y=\"");
+      num(sb, at.getTranslateY());
+      sb.append('"');
+    }
+    else {
+      sb.append(" transform=\"matrix(");
+      num(sb, at.getScaleX());  sb.append(' ');
+      num(sb, at.getShearY());  sb.append(' ');
+      num(sb, at.getShearX());  sb.append(' ');
+      num(sb, at.getScaleY());  sb.append(' ');
+      num(sb, at.getTranslateX());  sb.append(' ');
+      num(sb, at.getTranslateY());  sb.append(")\"");
+    }
+    opacity(sb, "opacity", 1);
+    sb.append("/>");
+    emit(sb);
+    return true;
+  }
+
+  /*------------------------------------------------------------------------
+   * Drawing functions built on the above
+   *------------------------------------------------------------------------*/
+
+  public void drawLine(int x1, int y1, int x2, int y2) {
+    draw(new Line2D.Float(x1, y1, x2, y2));
+  }
+
+  public void fillRect(int x, int y, int width, int height) {
+    fill(new Rectangle(x, y, width, height));
+  }
+
+  public void clearRect(int x, int y, int width, int height) {
+    Paint p = g.getPaint();
+    Composite c = g.getComposite();
+    g.setColor(background);
+    g.setComposite(AlphaComposite.SrcOver);
+    fillRect(x, y, width, height);
+    g.setPaint(p);
+    g.setComposite(c);
+  }
+
+  public void drawRoundRect(int x, int y, int width, int height,
+                            int arcWidth, int arcHeight) {
+    draw(new RoundRectangle2D.Float(x, y, width, height,
+                                    arcWidth, arcHeight));
+  }
+
+  public void fillRoundRect(int x, int y, int width, int height,
+                            int arcWidth, int arcHeight) {
+    fill(new RoundRectangle2D.Float(x, y, width, height,
+                                    arcWidth, arcHeight));
+  }
+
+  public void drawOval(int x, int y, int width, int height) {
+    draw(new Ellipse2D.Float(x, y, width, height));
+  }
+
+  public void fillOval(int x, int y, int width, int height) {
+    fill(new Ellipse2D.Float(x, y, width, height));
+  }
+
+  public void drawArc(int x, int y, int width, int height,
+                      int startAngle, int arcAngle) {
+    draw(new Arc2D.Float(x, y, width, height, startAngle, arcAngle,
+                         Arc2D.OPEN));
+  }
+
+  public void fillArc(int x, int y, int width, int height,
+                      int startAngle, int arcAngle) {
+    fill(new Arc2D.Float(x, y, width, height, startAngle, arcAngle,
+                         Arc2D.PIE));
+  }
+
+  public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+    if ( nPoints < 1 ) return;
+    GeneralPath p = new GeneralPath();
+    p.moveTo(xPoints[0], yPoints[0]);
+    for ( int i = 1; i < nPoints; i++ )
+      p.lineTo(xPoints[i], yPoints[i]);
+    draw(p);
+  }
+
+  public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+    draw(new Polygon(xPoints, yPoints, nPoints));
+  }
+
+  public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+    fill(new Polygon(xPoints, yPoints, nPoints));
+  }
+
+  public void drawString(String str, int x, int y) {
+    drawString(str, (float)x, (float)y);
+  }
+
+  public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+    drawString(iterator, (float)x, (float)y);
+  }
+
+  public void drawString(AttributedCharacterIterator iterator,
+                         float x, float y) {
+    StringBuilder sb = new StringBuilder();
+    for ( char c = iterator.first(); c != AttributedCharacterIterator.DONE;
+          c = iterator.next() )
+      sb.append(c);
+    drawString(sb.toString(), x, y);
+  }
+
+  public void drawGlyphVector(GlyphVector gv, float x, float y) {
+    fill(gv.getOutline(x, y));
+  }
+
+  public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+    return drawImage(img, AffineTransform.getTranslateInstance(x, y),
+                     observer);
+  }
+
+  public boolean drawImage(Image img, int x, int y, int width, int height,
+                           ImageObserver observer) {
+    if ( img == null ) return true;
+    int w = img.getWidth(observer), h = img.getHeight(observer);
+    if ( w <= 0 || h <= 0 ) return false;
+    AffineTransform at = AffineTransform.getTranslateInstance(x, y);
+    at.scale((double)width / w, (double)height / h);
+    return drawImage(img, at, observer);
+  }
+
+  public boolean drawImage(Image img, int x, int y, Color bgcolor,
+                           ImageObserver observer) {
+    if ( img == null ) return true;
+    return drawImage(img, x, y, img.getWidth(observer),
+                     img.getHeight(observer), bgcolor, observer);
+  }
+
+  public boolean drawImage(Image img, int x, int y, int width, int height,
+                           Color bgcolor, ImageObserver observer) {
+    if ( bgcolor != null ) {
+      Paint p = g.getPaint();
+      g.setColor(bgcolor);
+      fillRect(x, y, width, height);
+      g.setPaint(p);
+    }
+    return drawImage(img, x, y, width, height, observer);
+  }
+
+  public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+                           int sx1, int sy1, int sx2, int sy2,
+                           ImageObserver observer) {
+    return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null,
+                     observer);
+  }
+
+  public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2,
+                           int sx1, int sy1, int sx2, int sy2,
+                           Color bgcolor, ImageObserver observer) {
+    if ( img == null || sx1 == sx2 || sy1 == sy2 ) return true;
+    int sw = Math.abs(sx2 - sx1), sh = Math.abs(sy2 - sy1);
+    BufferedImage sub = new BufferedImage(sw, sh,
+                                          BufferedImage.TYPE_INT_ARGB);
+    Graphics2D sg = sub.createGraphics();
+    sg.drawImage(img, 0, 0, sw, sh, sx1, sy1, sx2, sy2, bgcolor, observer);
+    sg.dispose();
+    AffineTransform at = AffineTransform.getTranslateInstance(dx1, dy1);
+    at.scale((double)(dx2 - dx1) / sw, (double)(dy2 - dy1) / sh);
+    return drawImage(sub, at, observer);
+  }
+
+  public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+    if ( op != null ) img = op.filter(img, null);
+    drawImage(img, x, y, null);
+  }
+
+  public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+    if ( img instanceof BufferedImage )
+      drawImage((BufferedImage)img, xform, null);
+  }
+
+  public void drawRenderableImage(RenderableImage img,
+                                  AffineTransform xform) {
+    drawRenderedImage(img.createDefaultRendering(), xform);
+  }
+
+  public void copyArea(int x, int y, int width, int height, int dx, int dy){
+    // Not supported (copies nothing)
+  }
+
+  /*------------------------------------------------------------------------
+   * State (kept by g)
+   *------------------------------------------------------------------------*/
+
+  public Graphics create() { return new SvgGraphics(this); }
+  public void dispose() { g.dispose(); }
+
+  public Color getColor() { return g.getColor(); }
+  public void setColor(Color c) { g.setColor(c); }
+  public Paint getPaint() { return g.getPaint(); }
+  public void setPaint(Paint paint) { g.setPaint(paint); }
+  public Composite getComposite() { return g.getComposite(); }
+  public void setComposite(Composite comp) { g.setComposite(comp); }
+  public void setPaintMode() { g.setPaintMode(); }
+  public void setXORMode(Color c1) { /* Not supported */ }
+  public Color getBackground() { return background; }
+  public void setBackground(Color color) { background = color; }
+  public Stroke getStroke() { return g.getStroke(); }
+  public void setStroke(Stroke s) { g.setStroke(s); }
+
+  public Font getFont() { return g.getFont(); }
+  public void setFont(Font font) { g.setFont(font); }
+  public FontMetrics getFontMetrics(Font f) { return g.getFontMetrics(f); }
+  public FontRenderContext getFontRenderContext() {
+    return g.getFontRenderContext();
+  }
+
+  public Object getRenderingHint(RenderingHints.Key hintKey) {
+    return g.getRenderingHint(hintKey);
+  }
+  public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+    g.setRenderingHint(hintKey, hintValue);
+  }
+  public void setRenderingHints(Map<?, ?> hints) { g.setRenderingHints(hints); }
+  public void addRenderingHints(Map<?, ?> hints) { g.addRenderingHints(hints); }
+  public RenderingHints getRenderingHints() { return g.getRenderingHints(); }
+
+  public void translate(int x, int y) { g.translate(x, y); }
+  public void translate(double tx, double ty) { g.translate(tx, ty); }
+  public void rotate(double theta) { g.rotate(theta); }
+  public void rotate(double theta, double x, double y) {
+    g.rotate(theta, x, y);
+  }
+  public void scale(double sx, double sy) { g.scale(sx, sy); }
+  public void shear(double shx, double shy) { g.shear(shx, shy); }
+  public void transform(AffineTransform tx) { g.transform(tx); }
+  public void setTransform(AffineTransform tx) { g.setTransform(tx); }
+  public AffineTransform getTransform() { return g.getTransform(); }
+
+  public Shape getClip() { return g.getClip(); }
+  public Rectangle getClipBounds() { return g.getClipBounds(); }
+  public void clip(Shape s) { g.clip(s); }
+  public void clipRect(int x, int y, int width, int height) {
+    g.clipRect(x, y, width, height);
+  }
+  public void setClip(int x, int y, int width, int height) {
+    g.setClip(x, y, width, height);
+  }
+  public void setClip(Shape clip) { g.setClip(clip); }
+  public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+    return g.hit(rect, s, onStroke);
+  }
+  public GraphicsConfiguration getDeviceConfiguration() {
+    return g.getDeviceConfiguration();
+  }
+
+  /*------------------------------------------------------------------------
+   * SVG writing
+   *------------------------------------------------------------------------*/
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds an element to the document, within a group with the
+   * current clip (if it clips anything).
+   */
+  private void emit(StringBuilder sb) {
+    Shape clip = g.getClip();     // (User space)
+    String path = null;
+    if ( clip != null ) {
+      Shape dclip = g.getTransform().createTransformedShape(clip);
+      if ( !dclip.intersects(0, 0, doc.width, doc.height) )
+        return;                  // Clips everything
+      StringBuilder p = new StringBuilder(64);
+      path(p, dclip, null);
+      path = p.toString().replace("fill-rule", "clip-rule");
+    }
+
+    synchronized ( doc ) {
+      String id = null;
+      if ( path != null ) {
+        id = doc.clips.get(path);
+        if ( id == null ) {
+          Area a = new Area(g.getTransform().createTransformedShape(clip));
+          if ( a.isRectangular() &&
+               a.getBounds2D().contains(0, 0, doc.width, doc.height) )
+            id = "";             // Clips nothing
+          else {
+            id = "c" + (++doc.ids);
+            doc.defs.append("<clipPath id=\"").append(id)
+                    .append("\"><path d=\"").append(path)
+                    .append("\"/></clipPath>\n");
+          }
+          doc.clips.put(path, id);
+        }
+        if ( id.length() == 0 ) id = null;
+      }
+      if ( id != null )
+        doc.body.append("<g clip-path=\"url(#").append(id).append(")\">");
+      doc.body.append(sb);
+      if ( id != null ) doc.body.append("</g>");
+      doc.body.append('\n');
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Appends the path data of a shape (transformed by at if non-null).
+   */
+  private static void path(StringBuilder sb, Shape s, AffineTransform at) {
+    PathIterator pi = s.getPathIterator(at);
+    double[] c = new double[6];
+    boolean first = true;
+    while ( !pi.isDone() ) {
+      if ( !first ) sb.append(' ');
+      first = false;
+      switch ( pi.currentSegment(c) ) {
+        case PathIterator.SEG_MOVETO:
+          sb.append('M');  pt(sb, c, 0);
+          break;
+        case PathIterator.SEG_LINETO:
+          sb.append('L');  pt(sb, c, 0);
+          break;
+        case PathIterator.SEG_QUADTO:
+          sb.append('Q');  pt(sb, c, 0);  sb.append(' ');  pt(sb, c, 2);
+          break;
+        case PathIterator.SEG_CUBICTO:
+          sb.append('C');  pt(sb, c, 0);  sb.append(' ');  pt(sb, c, 2);
+          sb.append(' ');  pt(sb, c, 4);
+          break;
+        case PathIterator.SEG_CLOSE:
+          sb.append('Z');
+          break;
+      }
+      pi.next();
+    }
+    if ( pi.getWindingRule() == PathIterator.WIND_EVEN_ODD )
+      sb.append("\" fill-rule=\"evenodd");
+  }
+
+  /* Appends point c[i], c[i+1] */
+  private static void pt(StringBuilder sb, double[] c, int i) {
+    num(sb, c[i]);
+    sb.append(',');
+    num(sb, c[i + 1]);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Appends a number with at most 2 decimal places.
+   */
+  private static void num(StringBuilder sb, double d) {
+    long l = Math.round(d * 100);
+    if ( l < 0 ) {
+      sb.append('-');
+      l = -l;
+    }
+    sb.append(l / 100);
+    int f = (int)(l % 100);
+    if ( f != 0 ) {
+      sb.append('.').append(f / 10);
+      if ( f % 10 != 0 ) sb.append(f % 10);
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Appends the current color as attribute attr (fill or stroke),
+   * with its opacity.
+   */
+  private void paint(StringBuilder sb, String attr) {
+    Paint p = g.getPaint();
+    Color c = (p instanceof Color) ? (Color)p : g.getColor();
+    sb.append(' ').append(attr).append("=\"#");
+    String hex = Integer.toHexString(c.getRGB() & 0xFFFFFF);
+    for ( int i = hex.length(); i < 6; i++ ) sb.append('0');
+    sb.append(hex).append('"');
+    opacity(sb, attr + "-opacity", c.getAlpha() / 255f);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Appends attribute attr if alpha times the composite's alpha is not 1.
+   */
+  private void opacity(StringBuilder sb, String attr, float alpha) {
+    Composite comp = g.getComposite();
+    if ( comp instanceof AlphaComposite )
+      alpha *= ((AlphaComposite)comp).getAlpha();
+    if ( alpha < 1 ) {
+      sb.append(' ').append(attr).append("=\"");
+      num(sb, alpha);
+      sb.append('"');
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Appends a string, escaping XML special characters.
+   */
+  private static void escape(StringBuilder sb, String s) {
+    for ( int i = 0; i < s.length(); i++ ) {
+      char c = s.charAt(i);
+      switch ( c ) {
+        case '<':  sb.append("&lt;");   break;
+        case '>':  sb.append("&gt;");   break;
+        case '&':  sb.append("&amp;");  break;
+        case '"':  sb.append("&quot;"); break;
+        default:
+          if ( c < ' ' ) sb.append(' ');
+          else           sb.append(c);
+      }
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the id of an image in the document, adding the image to the
+   * document if not already there.  Returns null if the image is not
+   * (yet) available.
+   */
+  private String imageId(Image img, ImageObserver obs) {
+    synchronized ( doc ) {
+      String id = doc.images.get(img);
+      if ( id != null ) return id;
+    }
+
+    int w = img.getWidth(obs), h = img.getHeight(obs);
+    if ( w <= 0 || h <= 0 ) return null;
+    BufferedImage bi;
+    if ( img instanceof BufferedImage )
+      bi = (BufferedImage)img;
+    else {
+      bi = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D bg = bi.createGraphics();
+      bg.drawImage(img, 0, 0, obs);
+      bg.dispose();
+    }
+    ByteArrayOutputStream png = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(bi, "png", png);
+    }
+    catch ( IOException e ) {  // (Should not happen for a byte array)
+      return null;
+    }
+
+    synchronized ( doc ) {
+      String id = doc.images.get(img);
+      if ( id != null ) return id;
+      id = "i" + (++doc.ids);
+      doc.images.put(img, id);
+      doc.defs.append("<image id=\"").append(id).append("\" width=\"")
+              .append(w).append("\" height=\"").append(h)
+              .append("\" xlink:href=\"data:image/png;base64,");
+      base64(doc.defs, png.toByteArray());
+      doc.defs.append("\"/>\n");
+      return id;
+    }
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Appends data in base 64.
+   */
+  private static void base64(StringBuilder sb, byte[] data) {
+    final String B64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ" +
+                       "abcdefghijklmnopqrstuvwxyz0123456789+/";
+    int i;
+    for ( i = 0; i + 2 < data.length; i += 3 ) {
+      int v = ((data[i] & 0xFF) << 16) | ((data[i+1] & 0xFF) << 8) |
+              (data[i+2] & 0xFF);
+      sb.append(B64.charAt(v >> 18)).append(B64.charAt((v >> 12) & 63))
+        .append(B64.charAt((v >> 6) & 63)).append(B64.charAt(v & 63));
+    }
+    if ( i < data.length ) {
+      int v = (data[i] & 0xFF) << 16;
+      if ( i + 1 < data.length ) v |= (data[i+1] & 0xFF) << 8;
+      sb.append(B64.charAt(v >> 18)).append(B64.charAt((v >> 12) & 63));
+      sb.append((i + 1 < data.length) ? B64.charAt((v >> 6) & 63) : '=');
+      sb.append('=');
+    }
+  }
+}
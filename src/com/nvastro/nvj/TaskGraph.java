@@ -0,0 +1,234 @@
+/*
+ * TaskGraph.java  -  Runs tasks concurrently, in order of dependency
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Runs tasks concurrently, each one after the tasks it depends on.
+ * Used at startup to read the data bases:  most of them are independent
+ * file parses, but e.g. the star names need the stars.
+ * <p>
+ * Tasks are added (with their dependencies) and then run() runs them all
+ * on its own threads, and returns when they are all done.  The time
+ * each task took is kept for reporting.
+ *
+ * @author Brian Simpson
+ */
+public class TaskGraph {
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Is told when each task starts (on the thread running the task).
+   */
+  public interface Listener {
+    /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+     * Called when a task starts.
+     *
+     * @param name Name of the task
+     * @param message Message given when the task was added (may be null)
+     */
+    public void started(String name, String message);
+  }
+
+  /* One task */
+  private static class Task {
+    String name, message;
+    Runnable run;
+    List<Task> dependents = new ArrayList<Task>();
+    int waiting;                 // Number of dependencies not yet done
+    long start, end;             // Nanoseconds, relative to run()
+  }
+
+  private List<Task> tasks = new ArrayList<Task>();
+  private Listener listener = null;
+  private int threads;
+  private long t0, total;        // (Nanoseconds)
+  private int remaining;
+  private Throwable failure = null;
+  private ExecutorService pool;
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Constructor.
+   *
+   * @param threads Maximum number of tasks run at once
+   */
+  public TaskGraph(int threads) {
+    this.threads = Math.max(1, threads);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Sets the listener told when each task starts.
+   *
+   * @param l Listener (or null)
+   */
+  public void setListener(Listener l) { listener = l; }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Adds a task.  Tasks it depends on must have been added first
+   * (so there can be no cycles).
+   *
+   * @param name Name of the task (unique)
+   * @param message Message for the listener (may be null)
+   * @param run What the task does
+   * @param after Names of the tasks that must be done first
+   * @throws IllegalArgumentException If a name in after is unknown
+   */
+  public void add(String name, String message, Runnable run,
+                  String... after) {
+    Task t = new Task();
+    t.name = name;
+    t.message = message;
+    t.run = run;
+    for ( String a : after ) {
+      Task d = find(a);
+      if ( d == null )
+        throw new IllegalArgumentException("Unknown task: " + a);
+      d.dependents.add(t);
+      t.waiting++;
+    }
+    tasks.add(t);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Runs all tasks and waits for them to complete.  If a task throws
+   * an exception (or error), the tasks that depend on it are not run,
+   * and the exception is rethrown here (after the other tasks are done).
+   */
+  public void run() {
+    pool = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      private int count = 0;
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "Init-" + (++count));
+        t.setDaemon(true);
+        return t;
+      }
+    });
+
+    t0 = System.nanoTime();
+    synchronized ( this ) {
+      remaining = tasks.size();
+      for ( Task t : tasks )
+        if ( t.waiting == 0 ) submit(t);
+      while ( remaining > 0 ) {
+        try {
+          wait();
+        }
+        catch ( InterruptedException e ) {
+          Thread.currentThread().interrupt();
+          break;
+        }
+      }
+    }
+    total = System.nanoTime() - t0;
+    pool.shutdown();
+
+    if ( failure instanceof RuntimeException )
+      throw (RuntimeException)failure;
+    if ( failure instanceof Error ) throw (Error)failure;
+    if ( failure != null ) throw new RuntimeException(failure);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the times taken, one line per task (in the order added),
+   * e.g. "StarDB  12 ms  (0 - 12 ms)", and a line for the total.
+   */
+  public String tellTimes() {
+    StringBuilder sb = new StringBuilder();
+    for ( Task t : tasks ) {
+      sb.append(t.name);
+      for ( int i = t.name.length(); i < 12; i++ ) sb.append(' ');
+      if ( t.end == 0 ) sb.append("not run\n");
+      else
+        sb.append(ms(t.end - t.start)).append(" ms  (")
+          .append(ms(t.start)).append(" - ").append(ms(t.end))
+          .append(" ms)\n");
+    }
+    sb.append("Total       ").append(ms(total)).append(" ms (")
+      .append(threads).append(" threads)\n");
+    return sb.toString();
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Submits a task to the pool.  Its dependents are submitted when it
+   * is done.
+   */
+  private void submit(final Task t) {
+    pool.execute(new Runnable() {
+      public void run() {
+        Throwable thrown = null;
+        t.start = System.nanoTime() - t0;
+        try {
+          if ( listener != null ) listener.started(t.name, t.message);
+          t.run.run();
+        }
+        catch ( Throwable e ) {
+          thrown = e;
+        }
+        t.end = Math.max(1, System.nanoTime() - t0);
+        done(t, thrown);
+      }
+    });
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Records that a task is done, and submits dependents that are ready
+   * (or, if the task failed, skips them).
+   */
+  private synchronized void done(Task t, Throwable thrown) {
+    remaining--;
+    if ( thrown != null ) {
+      if ( failure == null ) failure = thrown;
+      remaining -= skip(t);
+    }
+    else {
+      for ( Task d : t.dependents )
+        if ( --d.waiting == 0 ) submit(d);
+    }
+    notifyAll();
+  }
+
+  /* Marks the dependents of t (recursively) as never to run, returning
+     the number of tasks newly marked */
+  private int skip(Task t) {
+    int n = 0;
+    for ( Task d : t.dependents ) {
+      if ( d.waiting >= 0 ) {
+        d.waiting = -1;
+        n += 1 + skip(d);
+      }
+    }
+    return n;
+  }
+
+  /* Returns the task with the given name, or null */
+  private Task find(String name) {
+    for ( Task t : tasks )
+      if ( t.name.equals(name) ) return t;
+    return null;
+  }
+
+  /* Nanoseconds to milliseconds */
+  private static long ms(long ns) { return (ns + 500000) / 1000000; }
+}
@@ -46,7 +46,8 @@ public class TimeRateDlg extends EscapeDlg {
   static private TimeRateDlg dlg = null;
 
   /* The following two must be kept in sync with string values ! */
-  private static final int UPDTVALUES[] = { 1, 2, 4, 8, 15, 30, 60, 120 };
+  private static final int UPDTVALUES[] = { 0, 1, 2, 4, 8, 15, 30, 60, 120 };
+  // (0 is animation; see StarWin.ANIMFPS)
   private static final int TMSPVALUES[] = { 1, 10, 60, 1440, 10080,
     -10080, -1440, -60, -10, -1 };
   // Note:  There is a static final in Preferences:  MAXTIMEFACTOR = 10080
@@ -96,6 +97,7 @@ public class TimeRateDlg extends EscapeDlg {
     /* Create controls for this window */
     update = new EComboBox();
       /* Keep the following is sync with UPDTVALUES above! */
+      update.addItem(TextBndl.getString("TimeRateDlg.Anim"));
       update.addItem(TextBndl.getString("TimeRateDlg.1S"));
       update.addItem(TextBndl.getString("TimeRateDlg.2S"));
       update.addItem(TextBndl.getString("TimeRateDlg.4S"));
@@ -0,0 +1,155 @@
+/*
+ * WorkerPool.java  -  Shared pool of worker threads
+ * Copyright (C) 2011-2019 Brian Simpson
+ * This file is part of Night Vision.
+ *
+ * Night Vision is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Night Vision is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with Night Vision.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.nvastro.nvj;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+
+/** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+ * Shared pool of worker threads (one per processor), used to split
+ * up compute heavy jobs such as drawing large star fields.
+ * The threads are daemon threads, created when first needed.
+ * <p>
+ * Long jobs that the user does not wait on for each frame (e.g. event
+ * searches) run on a second pool of lower priority threads (see
+ * runAllInBackground()), so that drawing is not queued behind them.
+ *
+ * @author Brian Simpson
+ */
+public class WorkerPool {
+  static private ExecutorService pool = null;
+  static private ExecutorService background = null;
+  static private int threads = Runtime.getRuntime().availableProcessors();
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the number of worker threads.
+   */
+  public static int getThreads() { return threads; }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the pool, creating it if necessary.
+   */
+  private static synchronized ExecutorService getPool() {
+    if ( pool == null )
+      pool = newPool("Worker-", Thread.NORM_PRIORITY - 1);
+    return pool;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Returns the background pool, creating it if necessary.
+   */
+  private static synchronized ExecutorService getBackground() {
+    if ( background == null )
+      background = newPool("Background-", Thread.MIN_PRIORITY);
+    return background;
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Creates a pool of daemon threads.
+   */
+  private static ExecutorService newPool(final String name,
+                                         final int priority) {
+    return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+      private int count = 0;
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, name + (++count));
+        t.setDaemon(true);
+        t.setPriority(priority);
+        return t;
+      }
+    });
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Queues a task to run on the worker threads, without waiting for it.
+   * (The task must not itself wait for tasks queued after it.)
+   *
+   * @param task Task to run
+   * @return Result of the task, when done
+   */
+  public static <T> Future<T> submit(Callable<T> task) {
+    return getPool().submit(task);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Runs the tasks on the worker threads and waits for all of them
+   * to complete.  If a task throws an exception, it is rethrown here
+   * (after all tasks have completed).
+   *
+   * @param tasks Tasks to run
+   */
+  public static void runAll(List<? extends Runnable> tasks) {
+    runAll(getPool(), tasks);
+  }
+
+  /** <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Same as runAll(), but runs the tasks on the background pool, whose
+   * threads have a lower priority, and which drawing does not use.
+   *
+   * @param tasks Tasks to run
+   */
+  public static void runAllInBackground(List<? extends Runnable> tasks) {
+    runAll(getBackground(), tasks);
+  }
+
+  /* <!--~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~-->
+   * Runs the tasks on a pool (see runAll()).
+   */
+  private static void runAll(ExecutorService pool,
+                             List<? extends Runnable> tasks) {
+    List<Callable<Object>> calls =
+                           new ArrayList<Callable<Object>>(tasks.size());
+    for ( Runnable r : tasks )
+      calls.add(Executors.callable(r));
+
+    List<Future<Object>> results;
+    try {
+      results = pool.invokeAll(calls);
+    }
+    catch ( InterruptedException e ) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    for ( Future<Object> f : results ) {
+      try {
+        f.get();
+      }
+      catch ( InterruptedException e ) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      catch ( ExecutionException e ) {
+        Throwable t = e.getCause();
+        if ( t instanceof RuntimeException ) throw (RuntimeException)t;
+        if ( t instanceof Error ) throw (Error)t;
+        throw new RuntimeException(t);
+      }
+    }
+  }
+}